@@ -49,6 +49,8 @@ import com.avail.descriptor.A_Fiber;
 import com.avail.descriptor.A_Module;
 import com.avail.descriptor.FiberDescriptor.ExecutionState;
 import com.avail.interpreter.Interpreter;
+import com.avail.performance.SamplingProfiler;
+import com.avail.performance.StatisticReport;
 import com.avail.persistence.IndexedFileException;
 import com.avail.persistence.IndexedRepositoryManager;
 import com.avail.server.configuration.AvailServerConfiguration;
@@ -70,19 +72,14 @@ import com.avail.utility.evaluation.Continuation3NotNull;
 import com.avail.utility.json.JSONWriter;
 
 import javax.annotation.Nullable;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.concurrent.Semaphore;
 import java.util.logging.Logger;
 
@@ -169,8 +166,16 @@ public final class AvailServer
 		this.configuration = configuration;
 		this.runtime = runtime;
 		this.builder = new AvailBuilder(runtime);
+		this.moduleIndex = new ModuleIndex(runtime, builder);
 	}
 
+	/**
+	 * The {@linkplain ModuleIndex index} of source modules and entry points,
+	 * which answers the corresponding queries without rescanning the file
+	 * system.
+	 */
+	private final ModuleIndex moduleIndex;
+
 	/**
 	 * The catalog of pending upgrade requests, as a {@linkplain Map map} from
 	 * {@link UUID}s to the {@linkplain Continuation3NotNull continuations} that
@@ -970,36 +975,7 @@ public final class AvailServer
 	{
 		assert command.command() == Command.SOURCE_MODULES;
 		final Message message = newSuccessMessage(
-			command,
-			writer ->
-			{
-				final ModuleRoots roots = runtime.moduleRoots();
-				writer.startArray();
-				for (final ModuleRoot root : roots)
-				{
-					final MutableOrNull<ModuleNode> tree =
-						new MutableOrNull<>();
-					final @Nullable File directory = root.sourceDirectory();
-					if (directory != null)
-					{
-						try
-						{
-							Files.walkFileTree(
-								Paths.get(directory.getAbsolutePath()),
-								EnumSet.of(FileVisitOption.FOLLOW_LINKS),
-								Integer.MAX_VALUE,
-								sourceModuleVisitor(root, tree));
-						}
-						catch (final IOException e)
-						{
-							// This shouldn't happen, since we never raise
-							// any exceptions in the visitor.
-						}
-					}
-					tree.value().writeOn(writer);
-				}
-				writer.endArray();
-			});
+			command, moduleIndex::writeSourceModulesOn);
 		channel.enqueueMessageThen(message, continuation);
 	}
 
@@ -1023,38 +999,7 @@ public final class AvailServer
 	{
 		assert command.command() == Command.ENTRY_POINTS;
 		final Message message = newSuccessMessage(
-			command,
-			writer ->
-			{
-				final Map<String, List<String>> map =
-					synchronizedMap(new HashMap<>());
-				builder.traceDirectories(
-					(name, version, after) ->
-					{
-						final List<String> entryPoints =
-							version.getEntryPoints();
-						if (!entryPoints.isEmpty())
-						{
-							map.put(name.qualifiedName(), entryPoints);
-						}
-						after.value();
-					});
-				writer.startArray();
-				for (final Entry<String, List<String>> entry :
-					map.entrySet())
-				{
-					writer.startObject();
-					writer.write(entry.getKey());
-					writer.startArray();
-					for (final String entryPoint : entry.getValue())
-					{
-						writer.write(entryPoint);
-					}
-					writer.endArray();
-					writer.endObject();
-				}
-				writer.endArray();
-			});
+			command, moduleIndex::writeEntryPointsOn);
 		channel.enqueueMessageThen(message, continuation);
 	}
 
@@ -1086,6 +1031,7 @@ public final class AvailServer
 			{
 				root.clearRepository();
 			}
+			moduleIndex.invalidateEntryPoints();
 			message = newSimpleSuccessMessage(command);
 		}
 		catch (final IndexedFileException e)
@@ -1318,6 +1264,7 @@ public final class AvailServer
 				}
 			},
 			builder.buildProblemHandler);
+		moduleIndex.invalidateEntryPoints();
 		updater.cancel();
 		updater.run();
 		assert localUpdates.isEmpty();
@@ -1431,6 +1378,7 @@ public final class AvailServer
 			});
 		builder.setTextInterface(ioChannel.textInterface());
 		builder.unloadTarget(target);
+		moduleIndex.invalidateEntryPoints();
 		channel.enqueueMessageThen(
 			newSuccessMessage(command, writer -> writer.write("end")),
 			() -> IO.close(ioChannel));
@@ -1574,6 +1522,129 @@ public final class AvailServer
 		channel.enqueueMessageThen(message, continuation);
 	}
 
+	/**
+	 * Discard any previous samples and start the {@linkplain AvailRuntime
+	 * runtime}'s {@linkplain SamplingProfiler sampling profiler}.
+	 *
+	 * @param channel
+	 *        The {@linkplain AvailServerChannel channel} on which the
+	 *        {@linkplain CommandMessage response} should be sent.
+	 * @param command
+	 *        A {@link Command#START_PROFILING START_PROFILING} command
+	 *        message.
+	 * @param continuation
+	 *        What to do when sufficient processing has occurred (and the {@code
+	 *        AvailServer} wishes to begin receiving messages again).
+	 */
+	public void startProfilingThen (
+		final AvailServerChannel channel,
+		final SimpleCommandMessage command,
+		final Continuation0 continuation)
+	{
+		assert command.command() == Command.START_PROFILING;
+		final SamplingProfiler profiler = runtime.profiler();
+		profiler.stop();
+		profiler.reset();
+		profiler.start();
+		channel.enqueueMessageThen(
+			newSimpleSuccessMessage(command), continuation);
+	}
+
+	/**
+	 * Stop the {@linkplain AvailRuntime runtime}'s {@linkplain
+	 * SamplingProfiler sampling profiler}, and report the number of samples
+	 * and the sampled Avail call stacks, in collapsed stack format.
+	 *
+	 * @param channel
+	 *        The {@linkplain AvailServerChannel channel} on which the
+	 *        {@linkplain CommandMessage response} should be sent.
+	 * @param command
+	 *        A {@link Command#STOP_PROFILING STOP_PROFILING} command message.
+	 * @param continuation
+	 *        What to do when sufficient processing has occurred (and the {@code
+	 *        AvailServer} wishes to begin receiving messages again).
+	 */
+	public void stopProfilingThen (
+		final AvailServerChannel channel,
+		final SimpleCommandMessage command,
+		final Continuation0 continuation)
+	{
+		assert command.command() == Command.STOP_PROFILING;
+		final SamplingProfiler profiler = runtime.profiler();
+		profiler.stop();
+		final Message message = newSuccessMessage(
+			command,
+			writer ->
+			{
+				writer.startObject();
+				writer.write("samples");
+				writer.write(profiler.sampleCount());
+				writer.write("dropped");
+				writer.write(profiler.failedSampleCount());
+				writer.write("stacks");
+				writer.write(profiler.collapsedStacks());
+				writer.endObject();
+			});
+		channel.enqueueMessageThen(message, continuation);
+	}
+
+	/**
+	 * Report the aggregated statistics of every {@link StatisticReport},
+	 * including estimated percentiles, as JSON.  Recording continues while
+	 * the statistics are gathered.
+	 *
+	 * @param channel
+	 *        The {@linkplain AvailServerChannel channel} on which the
+	 *        {@linkplain CommandMessage response} should be sent.
+	 * @param command
+	 *        A {@link Command#STATISTICS STATISTICS} command message.
+	 * @param continuation
+	 *        What to do when sufficient processing has occurred (and the {@code
+	 *        AvailServer} wishes to begin receiving messages again).
+	 */
+	public void statisticsThen (
+		final AvailServerChannel channel,
+		final SimpleCommandMessage command,
+		final Continuation0 continuation)
+	{
+		assert command.command() == Command.STATISTICS;
+		final Message message = newSuccessMessage(
+			command,
+			writer -> StatisticReport.writeJSONOn(
+				EnumSet.allOf(StatisticReport.class), writer));
+		channel.enqueueMessageThen(message, continuation);
+	}
+
+	/**
+	 * Report the aggregated statistics of every {@link StatisticReport} in the
+	 * Prometheus text exposition format, so that a bridge can serve them to a
+	 * Prometheus scraper.  Recording continues while the statistics are
+	 * gathered.
+	 *
+	 * @param channel
+	 *        The {@linkplain AvailServerChannel channel} on which the
+	 *        {@linkplain CommandMessage response} should be sent.
+	 * @param command
+	 *        A {@link Command#PROMETHEUS_STATISTICS PROMETHEUS_STATISTICS}
+	 *        command message.
+	 * @param continuation
+	 *        What to do when sufficient processing has occurred (and the {@code
+	 *        AvailServer} wishes to begin receiving messages again).
+	 */
+	public void prometheusStatisticsThen (
+		final AvailServerChannel channel,
+		final SimpleCommandMessage command,
+		final Continuation0 continuation)
+	{
+		assert command.command() == Command.PROMETHEUS_STATISTICS;
+		final String metrics = StatisticReport.producePrometheusReports(
+			EnumSet.allOf(StatisticReport.class));
+		final Message message = newSuccessMessage(
+			command,
+			writer -> writer.write(metrics));
+		channel.enqueueMessageThen(message, continuation);
+	}
+
 	/**
 	 * Obtain the {@linkplain AvailServerConfiguration configuration} of the
 	 * {@code AvailServer}.
@@ -1643,6 +1714,7 @@ public final class AvailServer
 		}
 		finally
 		{
+			server.moduleIndex.close();
 			runtime.destroy();
 		}
 	}
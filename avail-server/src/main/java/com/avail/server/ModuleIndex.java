@@ -0,0 +1,471 @@
+/*
+ * ModuleIndex.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.server;
+
+import com.avail.AvailRuntime;
+import com.avail.annotations.InnerAccess;
+import com.avail.builder.AvailBuilder;
+import com.avail.builder.ModuleRoot;
+import com.avail.server.AvailServer.ModuleNode;
+import com.avail.utility.MutableOrNull;
+import com.avail.utility.json.JSONWriter;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.logging.Level;
+
+import static com.avail.server.AvailServer.logger;
+import static com.avail.server.AvailServer.sourceModuleVisitor;
+import static java.nio.file.StandardWatchEventKinds.*;
+import static java.util.Collections.synchronizedMap;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A {@code ModuleIndex} remembers the source module trees of the {@linkplain
+ * ModuleRoot module roots} and the entry points of their modules, so that an
+ * {@link AvailServer} can answer the corresponding queries without rescanning
+ * the file system every time.
+ *
+ * <p>The source directory of every module root is watched by a {@link
+ * WatchService}.  When something changes beneath a root, only that root's
+ * module tree is discarded, to be rebuilt upon the next request.  Entry points
+ * are derived from the module versions recorded in the repositories, so they
+ * are discarded whenever any source file changes, and whenever the {@linkplain
+ * AvailBuilder builder} finishes some work (see {@link
+ * #invalidateEntryPoints()}).</p>
+ *
+ * <p>If the platform cannot provide a {@code WatchService}, then nothing is
+ * retained, and every request rescans the file system as before.</p>
+ */
+final class ModuleIndex
+{
+	/** The {@linkplain AvailRuntime runtime} whose module roots are indexed. */
+	private final AvailRuntime runtime;
+
+	/** The {@linkplain AvailBuilder builder} that traces module versions. */
+	private final AvailBuilder builder;
+
+	/**
+	 * The {@link WatchService} that reports changes to the source directories,
+	 * or {@code null} if the platform doesn't support one.
+	 */
+	private final @Nullable WatchService watchService;
+
+	/**
+	 * The {@linkplain ModuleRoot module root} beneath which each watched
+	 * directory occurs, keyed by the directory's {@link WatchKey}.
+	 */
+	private final Map<WatchKey, ModuleRoot> watchedDirectories =
+		synchronizedMap(new HashMap<>());
+
+	/**
+	 * The cached tree of {@linkplain ModuleNode source modules} for each
+	 * {@linkplain ModuleRoot module root}.  Guarded by {@code this}.
+	 */
+	private final Map<ModuleRoot, ModuleNode> sourceTrees = new HashMap<>();
+
+	/**
+	 * The cached entry points, as a map from qualified module names to the
+	 * entry point names declared by those modules, or {@code null} if they
+	 * have to be recomputed.  Guarded by {@code this}.
+	 */
+	private @Nullable Map<String, List<String>> entryPoints;
+
+	/**
+	 * The number of invalidations that have happened so far.  A result that
+	 * was computed while this changed may already be stale, so it is not
+	 * retained.  Guarded by {@code this}.
+	 */
+	private long invalidations = 0;
+
+	/**
+	 * Construct a new {@code ModuleIndex}, and start watching the source
+	 * directories of the given {@linkplain AvailRuntime runtime}'s {@linkplain
+	 * ModuleRoot module roots}.
+	 *
+	 * @param runtime
+	 *        The runtime whose module roots should be indexed.
+	 * @param builder
+	 *        The {@linkplain AvailBuilder builder} that traces module versions.
+	 */
+	ModuleIndex (final AvailRuntime runtime, final AvailBuilder builder)
+	{
+		this.runtime = runtime;
+		this.builder = builder;
+		@Nullable WatchService service;
+		try
+		{
+			service = FileSystems.getDefault().newWatchService();
+		}
+		catch (final IOException|UnsupportedOperationException e)
+		{
+			logger.log(
+				Level.WARNING,
+				"module index disabled: unable to watch source directories",
+				e);
+			service = null;
+		}
+		watchService = service;
+		final @Nullable WatchService startedService = service;
+		if (startedService != null)
+		{
+			final Thread watcher = new Thread(
+				() -> watch(startedService), "Avail server module index");
+			watcher.setDaemon(true);
+			watcher.start();
+		}
+	}
+
+	/**
+	 * Process file system change notifications until the {@link WatchService}
+	 * is {@linkplain #close() closed}.
+	 *
+	 * @param service
+	 *        The watch service.
+	 */
+	@InnerAccess void watch (final WatchService service)
+	{
+		while (true)
+		{
+			final WatchKey key;
+			try
+			{
+				key = service.take();
+			}
+			catch (final ClosedWatchServiceException|InterruptedException e)
+			{
+				return;
+			}
+			final @Nullable ModuleRoot root = watchedDirectories.get(key);
+			boolean overflowed = false;
+			for (final WatchEvent<?> event : key.pollEvents())
+			{
+				overflowed |= event.kind() == OVERFLOW;
+			}
+			if (!key.reset())
+			{
+				// The directory is gone; its parent will report that too.
+				watchedDirectories.remove(key);
+			}
+			if (root == null || overflowed)
+			{
+				invalidateAll();
+			}
+			else
+			{
+				invalidate(root);
+			}
+		}
+	}
+
+	/**
+	 * Forget the source module tree of the specified {@linkplain ModuleRoot
+	 * module root}, and all entry points.
+	 *
+	 * @param root
+	 *        The module root that changed.
+	 */
+	private synchronized void invalidate (final ModuleRoot root)
+	{
+		invalidations++;
+		sourceTrees.remove(root);
+		entryPoints = null;
+	}
+
+	/**
+	 * Forget everything that has been indexed.
+	 */
+	private synchronized void invalidateAll ()
+	{
+		invalidations++;
+		sourceTrees.clear();
+		entryPoints = null;
+	}
+
+	/**
+	 * Forget the indexed entry points.  This should be called whenever the
+	 * {@linkplain AvailBuilder builder} has finished building, unloading, or
+	 * discarding compiled modules, since any of these may change the module
+	 * versions from which entry points are derived.
+	 */
+	synchronized void invalidateEntryPoints ()
+	{
+		invalidations++;
+		entryPoints = null;
+	}
+
+	/**
+	 * Answer a {@link FileVisitor} that registers every directory that it
+	 * visits with the {@link WatchService}, on behalf of the specified
+	 * {@linkplain ModuleRoot module root}, before forwarding to the given
+	 * visitor.
+	 *
+	 * @param root
+	 *        The module root being visited.
+	 * @param service
+	 *        The watch service.
+	 * @param visitor
+	 *        The visitor that builds the source module tree.
+	 * @return A {@code FileVisitor}.
+	 */
+	private FileVisitor<Path> watchingVisitor (
+		final ModuleRoot root,
+		final WatchService service,
+		final FileVisitor<Path> visitor)
+	{
+		return new FileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult preVisitDirectory (
+				final @Nullable Path dir,
+				final @Nullable BasicFileAttributes attrs)
+			throws IOException
+			{
+				assert dir != null;
+				try
+				{
+					watchedDirectories.put(
+						dir.register(
+							service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY),
+						root);
+				}
+				catch (final IOException|ClosedWatchServiceException e)
+				{
+					// The directory just won't be watched.
+				}
+				return visitor.preVisitDirectory(dir, attrs);
+			}
+
+			@Override
+			public FileVisitResult visitFile (
+				final @Nullable Path file,
+				final @Nullable BasicFileAttributes attrs)
+			throws IOException
+			{
+				return visitor.visitFile(file, attrs);
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed (
+				final @Nullable Path file,
+				final @Nullable IOException e)
+			throws IOException
+			{
+				return visitor.visitFileFailed(file, e);
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory (
+				final @Nullable Path dir,
+				final @Nullable IOException e)
+			throws IOException
+			{
+				return visitor.postVisitDirectory(dir, e);
+			}
+		};
+	}
+
+	/**
+	 * Answer the tree of {@linkplain ModuleNode source modules} beneath the
+	 * specified {@linkplain ModuleRoot module root}, scanning its source
+	 * directory only if nothing suitable has been indexed.
+	 *
+	 * @param root
+	 *        A module root.
+	 * @return The root's module tree.
+	 */
+	private ModuleNode sourceTree (final ModuleRoot root)
+	{
+		final long stamp;
+		synchronized (this)
+		{
+			final @Nullable ModuleNode cached = sourceTrees.get(root);
+			if (cached != null)
+			{
+				return cached;
+			}
+			stamp = invalidations;
+		}
+		final MutableOrNull<ModuleNode> tree = new MutableOrNull<>();
+		final @Nullable File directory = root.sourceDirectory();
+		if (directory != null)
+		{
+			final FileVisitor<Path> visitor = sourceModuleVisitor(root, tree);
+			final @Nullable WatchService service = watchService;
+			try
+			{
+				Files.walkFileTree(
+					Paths.get(directory.getAbsolutePath()),
+					EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+					Integer.MAX_VALUE,
+					service == null
+						? visitor
+						: watchingVisitor(root, service, visitor));
+			}
+			catch (final IOException e)
+			{
+				// This shouldn't happen, since we never raise any exceptions
+				// in the visitor.
+			}
+		}
+		final ModuleNode node = tree.value();
+		synchronized (this)
+		{
+			if (watchService != null && stamp == invalidations)
+			{
+				sourceTrees.put(root, node);
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Answer the entry points of all modules, as a map from qualified module
+	 * names to the names of the entry points that they declare, tracing the
+	 * module versions only if nothing suitable has been indexed.
+	 *
+	 * @return The entry points.
+	 */
+	private Map<String, List<String>> entryPoints ()
+	{
+		final long stamp;
+		synchronized (this)
+		{
+			final @Nullable Map<String, List<String>> cached = entryPoints;
+			if (cached != null)
+			{
+				return cached;
+			}
+			stamp = invalidations;
+		}
+		final Map<String, List<String>> map =
+			synchronizedMap(new HashMap<>());
+		builder.traceDirectories(
+			(name, version, after) ->
+			{
+				final List<String> names = version.getEntryPoints();
+				if (!names.isEmpty())
+				{
+					map.put(name.qualifiedName(), names);
+				}
+				after.value();
+			});
+		final Map<String, List<String>> result =
+			unmodifiableMap(new HashMap<>(map));
+		synchronized (this)
+		{
+			if (watchService != null && stamp == invalidations)
+			{
+				entryPoints = result;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Write the source module tree of every {@linkplain ModuleRoot module
+	 * root} onto the given {@link JSONWriter}, as a JSON array.
+	 *
+	 * @param writer
+	 *        A {@code JSONWriter}.
+	 */
+	void writeSourceModulesOn (final JSONWriter writer)
+	{
+		writer.startArray();
+		for (final ModuleRoot root : runtime.moduleRoots())
+		{
+			sourceTree(root).writeOn(writer);
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Write the entry points of every module onto the given {@link
+	 * JSONWriter}, as a JSON array of single-field objects that map qualified
+	 * module names to arrays of entry point names.
+	 *
+	 * @param writer
+	 *        A {@code JSONWriter}.
+	 */
+	void writeEntryPointsOn (final JSONWriter writer)
+	{
+		writer.startArray();
+		for (final Map.Entry<String, List<String>> entry :
+			entryPoints().entrySet())
+		{
+			writer.startObject();
+			writer.write(entry.getKey());
+			writer.startArray();
+			for (final String entryPoint : entry.getValue())
+			{
+				writer.write(entryPoint);
+			}
+			writer.endArray();
+			writer.endObject();
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Stop watching the source directories.
+	 */
+	void close ()
+	{
+		final @Nullable WatchService service = watchService;
+		if (service != null)
+		{
+			try
+			{
+				service.close();
+			}
+			catch (final IOException e)
+			{
+				// Nothing else can be done about it.
+			}
+		}
+	}
+}
@@ -38,6 +38,8 @@ import com.avail.builder.ModuleRoot;
 import com.avail.builder.ModuleRoots;
 import com.avail.descriptor.A_Fiber;
 import com.avail.descriptor.A_Module;
+import com.avail.performance.SamplingProfiler;
+import com.avail.performance.StatisticReport;
 import com.avail.persistence.IndexedRepositoryManager;
 import com.avail.server.AvailServer;
 import com.avail.server.io.AvailServerChannel;
@@ -299,7 +301,32 @@ public enum Command
 	 * View all {@linkplain A_Fiber fibers} associated with the {@linkplain
 	 * AvailServer server}'s {@linkplain AvailRuntime runtime}.
 	 */
-	ALL_FIBERS;
+	ALL_FIBERS,
+
+	/**
+	 * Discard any previous samples and start the {@linkplain AvailRuntime
+	 * runtime}'s {@linkplain SamplingProfiler sampling profiler}.
+	 */
+	START_PROFILING,
+
+	/**
+	 * Stop the {@linkplain AvailRuntime runtime}'s {@linkplain
+	 * SamplingProfiler sampling profiler} and report the sampled Avail call
+	 * stacks in collapsed stack format.
+	 */
+	STOP_PROFILING,
+
+	/**
+	 * Report the aggregated {@linkplain StatisticReport statistics} of every
+	 * report, including estimated percentiles, as JSON.
+	 */
+	STATISTICS,
+
+	/**
+	 * Report the aggregated {@linkplain StatisticReport statistics} of every
+	 * report in the Prometheus text exposition format.
+	 */
+	PROMETHEUS_STATISTICS;
 
 	/** An array of all {@link Command} enumeration values. */
 	private static final Command[] all = values();
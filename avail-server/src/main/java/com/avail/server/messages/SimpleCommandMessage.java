@@ -103,6 +103,18 @@ extends CommandMessage
 			case ALL_FIBERS:
 				server.allFibersThen(channel, this, continuation);
 				break;
+			case START_PROFILING:
+				server.startProfilingThen(channel, this, continuation);
+				break;
+			case STOP_PROFILING:
+				server.stopProfilingThen(channel, this, continuation);
+				break;
+			case STATISTICS:
+				server.statisticsThen(channel, this, continuation);
+				break;
+			case PROMETHEUS_STATISTICS:
+				server.prometheusStatisticsThen(channel, this, continuation);
+				break;
 			case VERSION:
 			case UPGRADE:
 			case LOAD_MODULE:
@@ -1101,6 +1101,9 @@ extends JFrame
 	@InnerAccess final ResetCCReportDataAction
 		resetCCReportDataAction;
 
+	/** The {@linkplain ToggleProfilerAction toggle profiler action}. */
+	@InnerAccess final ToggleProfilerAction toggleProfilerAction;
+
 	/** The {@linkplain TraceMacrosAction toggle trace macros action}. */
 	@InnerAccess final TraceMacrosAction debugMacroExpansionsAction =
 		new TraceMacrosAction(this);
@@ -2560,6 +2563,7 @@ extends JFrame
 		showCCReportAction = new ShowCCReportAction(this, runtime);
 		resetCCReportDataAction =
 			new ResetCCReportDataAction(this, runtime);
+		toggleProfilerAction = new ToggleProfilerAction(this, runtime);
 		parserIntegrityCheckAction =
 			new ParserIntegrityCheckAction(this, runtime);
 		examineRepositoryAction = new ExamineRepositoryAction(this, runtime);
@@ -2571,6 +2575,7 @@ extends JFrame
 					"Developer",
 					showVMReportAction, resetVMReportDataAction, null,
 					showCCReportAction, resetCCReportDataAction, null,
+					new JCheckBoxMenuItem(toggleProfilerAction), null,
 					new JCheckBoxMenuItem(debugMacroExpansionsAction),
 					new JCheckBoxMenuItem(debugCompilerAction),
 					new JCheckBoxMenuItem(traceSummarizeStatementsAction),
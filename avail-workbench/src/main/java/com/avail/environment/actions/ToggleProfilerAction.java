@@ -0,0 +1,95 @@
+/*
+ * ToggleProfilerAction.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.environment.actions;
+
+import com.avail.AvailRuntime;
+import com.avail.environment.AvailWorkbench;
+import com.avail.performance.SamplingProfiler;
+
+import javax.annotation.Nullable;
+import java.awt.event.ActionEvent;
+
+import static com.avail.environment.AvailWorkbench.StreamStyle.INFO;
+
+/**
+ * A {@code ToggleProfilerAction} starts the {@linkplain AvailRuntime
+ * runtime}'s {@linkplain SamplingProfiler sampling profiler}, or stops it and
+ * writes the sampled Avail call stacks to the transcript in collapsed stack
+ * format, suitable for producing a flame graph.
+ */
+@SuppressWarnings("serial")
+public final class ToggleProfilerAction
+extends AbstractWorkbenchAction
+{
+	/** The current runtime. */
+	private final AvailRuntime runtime;
+
+	@Override
+	public void actionPerformed (final @Nullable ActionEvent event)
+	{
+		final SamplingProfiler profiler = runtime.profiler();
+		if (!profiler.isRunning())
+		{
+			profiler.reset();
+			profiler.start();
+			return;
+		}
+		profiler.stop();
+		final String header = String.format(
+			"Collapsed Avail stacks (%d samples, %d dropped):%n",
+			profiler.sampleCount(),
+			profiler.failedSampleCount());
+		workbench.writeText(header + profiler.collapsedStacks(), INFO);
+	}
+
+	/**
+	 * Construct a new {@code ToggleProfilerAction}.
+	 *
+	 * @param workbench
+	 *        The owning {@link AvailWorkbench}.
+	 * @param runtime
+	 *        The current {@link AvailRuntime}.
+	 */
+	public ToggleProfilerAction (
+		final AvailWorkbench workbench,
+		final AvailRuntime runtime)
+	{
+		super(workbench, "Profile Avail stacks");
+		this.runtime = runtime;
+		putValue(
+			SHORT_DESCRIPTION,
+			"Start sampling Avail call stacks, or stop and write the samples"
+				+ " to the transcript in collapsed stack (flame graph) format.");
+		putValue(SELECTED_KEY, runtime.profiler().isRunning());
+	}
+}
@@ -59,6 +59,7 @@ import com.avail.interpreter.primitive.phrases.P_CreateToken;
 import com.avail.io.IOSystem;
 import com.avail.io.TextInterface;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+import com.avail.performance.SamplingProfiler;
 import com.avail.performance.Statistic;
 import com.avail.utility.evaluation.Continuation0;
 import com.avail.utility.evaluation.OnceSupplier;
@@ -72,6 +73,7 @@ import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
@@ -196,6 +198,34 @@ public final class AvailRuntime
 		return index;
 	}
 
+	/**
+	 * The {@link Interpreter}s of the {@linkplain AvailThread Avail threads}
+	 * created by the {@link #executor}, indexed by {@linkplain
+	 * Interpreter#interpreterIndex interpreter index}.
+	 */
+	private final AtomicReferenceArray<Interpreter> interpreters =
+		new AtomicReferenceArray<>(maxInterpreters);
+
+	/**
+	 * Answer the {@link Interpreter}s of the {@linkplain AvailThread Avail
+	 * threads} that have been created so far.
+	 *
+	 * @return A new list of interpreters.
+	 */
+	public List<Interpreter> interpreters ()
+	{
+		final List<Interpreter> list = new ArrayList<>(maxInterpreters);
+		for (int i = 0; i < maxInterpreters; i++)
+		{
+			final @Nullable Interpreter interpreter = interpreters.get(i);
+			if (interpreter != null)
+			{
+				list.add(interpreter);
+			}
+		}
+		return list;
+	}
+
 	/**
 	 * The {@linkplain ThreadPoolExecutor thread pool executor} for
 	 * this {@linkplain AvailRuntime Avail runtime}.
@@ -208,9 +238,30 @@ public final class AvailRuntime
 			10L,
 			TimeUnit.SECONDS,
 			new PriorityBlockingQueue<>(),
-			runnable -> new AvailThread(runnable, new Interpreter(this)),
+			runnable ->
+			{
+				final Interpreter interpreter = new Interpreter(this);
+				interpreters.set(interpreter.interpreterIndex, interpreter);
+				return new AvailThread(runnable, interpreter);
+			},
 			new AbortPolicy());
 
+	/**
+	 * The {@link SamplingProfiler} that samples the Avail call stacks of this
+	 * runtime's {@linkplain #interpreters() interpreters}.
+	 */
+	private final SamplingProfiler profiler = new SamplingProfiler(this);
+
+	/**
+	 * Answer the {@link SamplingProfiler} for this runtime.
+	 *
+	 * @return The profiler.
+	 */
+	public SamplingProfiler profiler ()
+	{
+		return profiler;
+	}
+
 	/**
 	 * Schedule the specified {@linkplain AvailTask task} for eventual
 	 * execution. The implementation is free to run the task immediately or
@@ -1176,7 +1227,8 @@ public final class AvailRuntime
 			TokenType.OPERATOR.atom,
 			TokenType.COMMENT.atom,
 			TokenType.WHITESPACE.atom,
-			P_CreateToken.tokenTypeOrdinalKey));
+			P_CreateToken.tokenTypeOrdinalKey,
+			SpecialAtom.JSON_DECODER_KEY.atom));
 
 		for (final A_Atom atom : specialAtomsList)
 		{
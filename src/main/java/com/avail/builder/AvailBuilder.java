@@ -72,6 +72,7 @@ import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -851,6 +852,51 @@ public final class AvailBuilder
 		semaphore.acquireUninterruptibly();
 	}
 
+	/**
+	 * Build the {@linkplain ModuleDescriptor target} and its dependencies,
+	 * then keep it built: whenever a source module beneath any {@linkplain
+	 * ModuleRoot module root} changes, build the target again.  Each rebuild
+	 * recompiles only the changed modules, and reloads their successors from
+	 * the repository unless the changed modules' interfaces differ.  Watching
+	 * continues until the answered {@link BuildWatcher} is {@linkplain
+	 * BuildWatcher#close() closed}.
+	 *
+	 * @param target
+	 *        The {@linkplain ModuleName canonical name} of the module that the
+	 *        builder must (recursively) load into the {@link AvailRuntime}.
+	 * @param localTracker
+	 *        A {@linkplain CompilerProgressReporter continuation} that reports
+	 *        progress on the module currently being compiled.
+	 * @param globalTracker
+	 *        A {@link GlobalProgressReporter} that reports progress on each
+	 *        build as a whole.
+	 * @param problemHandler
+	 *        How to handle or report {@link Problem}s that arise during the
+	 *        builds.
+	 * @param afterEachBuild
+	 *        What to do after each build, whether successful or not.  This
+	 *        runs in the watcher's {@link Thread}.
+	 * @return The {@link BuildWatcher}.
+	 * @throws IOException
+	 *         If the source directories can't be watched.
+	 */
+	public BuildWatcher watchTarget (
+		final ModuleName target,
+		final CompilerProgressReporter localTracker,
+		final GlobalProgressReporter globalTracker,
+		final ProblemHandler problemHandler,
+		final Continuation0 afterEachBuild)
+	throws IOException
+	{
+		return new BuildWatcher(
+			this,
+			target,
+			localTracker,
+			globalTracker,
+			problemHandler,
+			afterEachBuild);
+	}
+
 	/**
 	 * Unload the {@linkplain ModuleDescriptor target module} and its
 	 * dependents.  If {@code null} is provided, unload all modules.
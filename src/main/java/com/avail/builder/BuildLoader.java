@@ -303,7 +303,7 @@ final class BuildLoader
 				final LoadedModule loadedPredecessor =
 					stripNull(loadedModulesByName.get(imports.get(i)));
 				predecessorCompilationTimes[i] =
-					loadedPredecessor.compilation.compilationTime;
+					loadedPredecessor.compilation.interfaceTime;
 			}
 			final ModuleCompilationKey compilationKey =
 				new ModuleCompilationKey(predecessorCompilationTimes);
@@ -521,9 +521,10 @@ final class BuildLoader
 	 *        that should be loaded.
 	 * @param compilationKey
 	 *        The circumstances of compilation of this module.  Currently this
-	 *        is just the compilation times ({@code long}s) of the module's
-	 *        currently loaded predecessors, listed in the same order as the
-	 *        module's {@linkplain ModuleHeader#importedModules imports}.
+	 *        is just the {@linkplain ModuleCompilation#interfaceTime interface
+	 *        times} ({@code long}s) of the module's currently loaded
+	 *        predecessors, listed in the same order as the module's
+	 *        {@linkplain ModuleHeader#importedModules imports}.
 	 * @param completionAction
 	 *        What to do after loading the module successfully or
 	 *        unsuccessfully.
@@ -551,9 +552,22 @@ final class BuildLoader
 						compiler.compilationContext.serializerOutputStream;
 					// This is the moment of compilation.
 					final long compilationTime = System.currentTimeMillis();
+					// If the module's interface is the same as that of an
+					// earlier compilation, then successors compiled against
+					// that compilation are still valid, so keep its interface
+					// time.
+					final byte [] interfaceDigest =
+						ModuleInterface.digest(
+							module,
+							compilationKey,
+							compiler.compilationContext
+								.unsummarizedStatements());
 					final ModuleCompilation compilation =
 						repository.new ModuleCompilation(
 							compilationTime,
+							archive.interfaceTimeFor(
+								interfaceDigest, compilationTime),
+							interfaceDigest,
 							appendCRC(stream.toByteArray()));
 					archive.putCompilation(
 						versionKey, compilationKey, compilation);
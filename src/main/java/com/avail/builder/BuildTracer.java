@@ -40,15 +40,21 @@ import com.avail.descriptor.ModuleDescriptor;
 import com.avail.io.SimpleCompletionHandler;
 import com.avail.persistence.IndexedRepositoryManager;
 import com.avail.persistence.IndexedRepositoryManager.ModuleArchive;
+import com.avail.persistence.IndexedRepositoryManager.ModuleTrace;
 import com.avail.persistence.IndexedRepositoryManager.ModuleVersion;
 import com.avail.persistence.IndexedRepositoryManager.ModuleVersionKey;
 import com.avail.utility.evaluation.Continuation0;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import static com.avail.compiler.problems.ProblemType.TRACE;
@@ -73,6 +79,22 @@ final class BuildTracer
 	 */
 	private int traceCompletions;
 
+	/**
+	 * The {@linkplain ModuleNameResolver#configurationFingerprint()
+	 * fingerprint} of the module name resolver's configuration.  {@linkplain
+	 * ModuleTrace Traces} recorded under a different configuration are not
+	 * reused.
+	 */
+	private final long resolverFingerprint;
+
+	/**
+	 * The {@linkplain File#lastModified() modification times} of directories,
+	 * keyed by path, captured the first time that this tracer needed them.
+	 * Many modules share the same directories, so this avoids asking the file
+	 * system about the same directory repeatedly.
+	 */
+	private final Map<String, Long> directoryStamps = new ConcurrentHashMap<>();
+
 	/**
 	 * Create a {@code BuildTracer}.
 	 *
@@ -82,6 +104,80 @@ final class BuildTracer
 	BuildTracer (final AvailBuilder availBuilder)
 	{
 		this.availBuilder = availBuilder;
+		this.resolverFingerprint = availBuilder.runtime.moduleNameResolver()
+			.configurationFingerprint();
+	}
+
+	/**
+	 * Answer the {@linkplain File#lastModified() modification time} of the
+	 * directory with the given path, as first observed by this tracer.
+	 *
+	 * @param path
+	 *        The path of a directory.
+	 * @return The modification time, or {@code 0L} if the directory does not
+	 *         exist.
+	 */
+	private long directoryStamp (final String path)
+	{
+		return directoryStamps.computeIfAbsent(
+			path, p -> new File(p).lastModified());
+	}
+
+	/**
+	 * Resolve the given {@linkplain ModuleName module name}.  If resolution
+	 * fails, then stop the build and report a {@link Problem} whose
+	 * abortion will {@linkplain #indicateTraceCompleted() complete} the trace
+	 * request on whose behalf the resolution was attempted.
+	 *
+	 * @param qualifiedName
+	 *        A fully-qualified {@linkplain ModuleName module name}.
+	 * @param resolvedSuccessor
+	 *        The resolved name of the module using or extending this module, or
+	 *        {@code null} if this module is the start of the recursive
+	 *        resolution.
+	 * @param problemHandler
+	 *        How to handle or report {@link Problem}s that arise during the
+	 *        build.
+	 * @return The resolved name, or {@code null} if resolution failed.
+	 */
+	private @Nullable ResolvedModuleName resolveOrReport (
+		final ModuleName qualifiedName,
+		final @Nullable ResolvedModuleName resolvedSuccessor,
+		final ProblemHandler problemHandler)
+	{
+		try
+		{
+			AvailBuilder.log(Level.FINEST, "Resolve: %s", qualifiedName);
+			return availBuilder.runtime.moduleNameResolver().resolve(
+				qualifiedName, resolvedSuccessor);
+		}
+		catch (final Exception e)
+		{
+			AvailBuilder.log(
+				Level.WARNING,
+				e,
+				"Fail resolution: %s",
+				qualifiedName);
+			availBuilder.stopBuildReason("Module graph tracing failed");
+			final Problem problem = new Problem (
+				resolvedSuccessor != null
+					? resolvedSuccessor
+					: qualifiedName,
+				1,
+				0,
+				TRACE,
+				"Module resolution problem:\n{0}",
+				e)
+			{
+				@Override
+				protected void abortCompilation ()
+				{
+					indicateTraceCompleted();
+				}
+			};
+			problemHandler.handle(problem);
+			return null;
+		}
 	}
 
 	/**
@@ -127,40 +223,54 @@ final class BuildTracer
 					indicateTraceCompleted();
 					return;
 				}
-				final ResolvedModuleName resolvedName;
-				try
+				final @Nullable ResolvedModuleName resolvedName =
+					resolveOrReport(
+						qualifiedName, resolvedSuccessor, problemHandler);
+				if (resolvedName == null)
 				{
-					AvailBuilder.log(
-						Level.FINEST, "Resolve: %s", qualifiedName);
-					resolvedName =
-						availBuilder.runtime.moduleNameResolver().resolve(
-							qualifiedName, resolvedSuccessor);
+					return;
 				}
-				catch (final Exception e)
+				AvailBuilder.log(Level.FINEST, "Trace: %s", resolvedName);
+				traceModuleImports(
+					resolvedName,
+					resolvedSuccessor,
+					recursionSet,
+					problemHandler);
+			});
+	}
+
+	/**
+	 * Schedule tracing of the imports of the {@linkplain ModuleDescriptor
+	 * module} specified by the given already {@linkplain ResolvedModuleName
+	 * resolved name}.  As with {@link #scheduleTraceModuleImports(ModuleName,
+	 * ResolvedModuleName, LinkedHashSet, ProblemHandler)}, the {@link
+	 * #traceRequests} counter must already have been incremented for this
+	 * tracing.
+	 *
+	 * @param resolvedName
+	 *        A resolved {@linkplain ModuleName module name} to trace.
+	 * @param resolvedSuccessor
+	 *        The resolved name of the module using or extending this module.
+	 * @param recursionSet
+	 *        An insertion-ordered {@linkplain Set set} that remembers all
+	 *        modules visited along this branch of the trace.
+	 * @param problemHandler
+	 *        How to handle or report {@link Problem}s that arise during the
+	 *        build.
+	 */
+	private void scheduleTraceResolvedModuleImports (
+		final ResolvedModuleName resolvedName,
+		final ResolvedModuleName resolvedSuccessor,
+		final LinkedHashSet<ResolvedModuleName> recursionSet,
+		final ProblemHandler problemHandler)
+	{
+		availBuilder.runtime.execute(
+			tracerPriority,
+			() ->
+			{
+				if (availBuilder.shouldStopBuild())
 				{
-					AvailBuilder.log(
-						Level.WARNING,
-						e,
-						"Fail resolution: %s",
-						qualifiedName);
-					availBuilder.stopBuildReason("Module graph tracing failed");
-					final Problem problem = new Problem (
-						resolvedSuccessor != null
-							? resolvedSuccessor
-							: qualifiedName,
-						1,
-						0,
-						TRACE,
-						"Module resolution problem:\n{0}",
-						e)
-					{
-						@Override
-						protected void abortCompilation ()
-						{
-							indicateTraceCompleted();
-						}
-					};
-					problemHandler.handle(problem);
+					indicateTraceCompleted();
 					return;
 				}
 				AvailBuilder.log(Level.FINEST, "Trace: %s", resolvedName);
@@ -172,6 +282,53 @@ final class BuildTracer
 			});
 	}
 
+	/**
+	 * Determine whether the given {@link ModuleTrace} of a module still
+	 * describes how the module's imports resolve.  It does if the source
+	 * file's size and modification time are unchanged, the resolver is
+	 * configured the same way, none of the directories consulted during
+	 * resolution have been modified, and the {@link ModuleVersion} for the
+	 * recorded digest is still available.
+	 *
+	 * @param trace
+	 *        The recorded trace.
+	 * @param resolvedName
+	 *        The resolved name of the traced module.
+	 * @param archive
+	 *        The module's {@link ModuleArchive}.
+	 * @param sourceLastModified
+	 *        The current modification time of the module's source file.
+	 * @param sourceSize
+	 *        The current size of the module's source file.
+	 * @return Whether the trace can be reused.
+	 */
+	private boolean traceIsCurrent (
+		final ModuleTrace trace,
+		final ResolvedModuleName resolvedName,
+		final ModuleArchive archive,
+		final long sourceLastModified,
+		final long sourceSize)
+	{
+		if (trace.sourceLastModified != sourceLastModified
+			|| trace.sourceSize != sourceSize
+			|| trace.resolverFingerprint != resolverFingerprint)
+		{
+			return false;
+		}
+		for (final Entry<String, Long> entry
+			: trace.directoryStamps().entrySet())
+		{
+			if (directoryStamp(entry.getKey()) != entry.getValue())
+			{
+				return false;
+			}
+		}
+		// The loader expects to find the version, so make sure that it hasn't
+		// been discarded since the trace was recorded.
+		return archive.getVersion(
+			new ModuleVersionKey(resolvedName, trace.digest())) != null;
+	}
+
 	/**
 	 * Trace the imports of the {@linkplain ModuleDescriptor module} specified
 	 * by the given {@linkplain ModuleName module name}.  If a {@link Problem}
@@ -245,8 +402,41 @@ final class BuildTracer
 		final IndexedRepositoryManager repository = resolvedName.repository();
 		repository.commitIfStaleChanges(AvailBuilder.maximumStaleRepositoryMs);
 		final File sourceFile = resolvedName.sourceReference();
+		final long sourceLastModified = sourceFile.lastModified();
+		final long sourceSize = sourceFile.length();
 		final ModuleArchive archive = repository.getArchive(
 			resolvedName.rootRelativeName());
+		final @Nullable ModuleTrace trace = archive.getTrace();
+		if (trace != null
+			&& traceIsCurrent(
+				trace, resolvedName, archive, sourceLastModified, sourceSize))
+		{
+			// Nothing that could affect the module's imports has changed
+			// since it was last traced, so skip digesting the source and
+			// resolving the imports.
+			AvailBuilder.log(Level.FINEST, "Reuse trace: %s", resolvedName);
+			final ModuleRoots roots = availBuilder.runtime.moduleRoots();
+			final List<String> importNames = trace.resolvedImportNames();
+			final List<ResolvedModuleName> resolvedImports =
+				new ArrayList<>(importNames.size());
+			for (int i = 0; i < importNames.size(); i++)
+			{
+				final boolean isRename = trace.importIsRename(i);
+				resolvedImports.add(
+					new ResolvedModuleName(
+						new ModuleName(importNames.get(i), isRename),
+						roots,
+						isRename));
+			}
+			synchronized (this)
+			{
+				traceRequests += resolvedImports.size();
+			}
+			traceResolvedModules(
+				resolvedName, resolvedImports, recursionSet, problemHandler);
+			indicateTraceCompleted();
+			return;
+		}
 		final byte [] digest = archive.digestForFile(resolvedName);
 		final ModuleVersionKey versionKey =
 			new ModuleVersionKey(resolvedName, digest);
@@ -257,7 +447,14 @@ final class BuildTracer
 			// subsequent replay… like right now.  Reuse it.
 			final List<String> importNames = version.getImports();
 			traceModuleNames(
-				resolvedName, importNames, recursionSet, problemHandler);
+				resolvedName,
+				archive,
+				sourceLastModified,
+				sourceSize,
+				digest,
+				importNames,
+				recursionSet,
+				problemHandler);
 			indicateTraceCompleted();
 			return;
 		}
@@ -296,6 +493,10 @@ final class BuildTracer
 						archive.putVersion(versionKey, newVersion);
 						traceModuleNames(
 							resolvedName,
+							archive,
+							sourceLastModified,
+							sourceSize,
+							digest,
 							importNames,
 							recursionSet,
 							problemHandler);
@@ -308,12 +509,23 @@ final class BuildTracer
 
 	/**
 	 * Trace the imports of the {@linkplain ResolvedModuleName specified}
-	 * {@linkplain ModuleDescriptor module}.  Return only when these new
-	 * <em>requests</em> have been accounted for, so that the current request
-	 * can be considered completed in the caller.
+	 * {@linkplain ModuleDescriptor module}.  Resolve each import, record a
+	 * {@link ModuleTrace} in the module's {@link ModuleArchive} so that
+	 * subsequent builds can skip this work, then schedule tracing of the
+	 * resolved imports.  Return only when these new <em>requests</em> have
+	 * been accounted for, so that the current request can be considered
+	 * completed in the caller.
 	 *
 	 * @param moduleName
 	 *        The name of the module being traced.
+	 * @param archive
+	 *        The module's {@link ModuleArchive}.
+	 * @param sourceLastModified
+	 *        The modification time of the module's source file.
+	 * @param sourceSize
+	 *        The size of the module's source file.
+	 * @param digest
+	 *        The digest of the module's source file.
 	 * @param importNames
 	 *        The local names of the modules referenced by the current one.
 	 * @param recursionSet
@@ -325,9 +537,75 @@ final class BuildTracer
 	 */
 	@InnerAccess void traceModuleNames (
 		final ResolvedModuleName moduleName,
+		final ModuleArchive archive,
+		final long sourceLastModified,
+		final long sourceSize,
+		final byte [] digest,
 		final List<String> importNames,
 		final LinkedHashSet<ResolvedModuleName> recursionSet,
 		final ProblemHandler problemHandler)
+	{
+		synchronized (this)
+		{
+			traceRequests += importNames.size();
+		}
+		final ModuleNameResolver resolver =
+			availBuilder.runtime.moduleNameResolver();
+		final List<ResolvedModuleName> resolvedImports =
+			new ArrayList<>(importNames.size());
+		final Map<String, Long> stamps = new HashMap<>();
+		for (final String localImport : importNames)
+		{
+			final ModuleName importName = moduleName.asSibling(localImport);
+			final @Nullable ResolvedModuleName resolvedImport =
+				resolveOrReport(importName, moduleName, problemHandler);
+			if (resolvedImport != null)
+			{
+				resolvedImports.add(resolvedImport);
+				for (final File directory
+					: resolver.directoriesConsultedFor(importName))
+				{
+					final String path = directory.getPath();
+					stamps.put(path, directoryStamp(path));
+				}
+			}
+		}
+		if (resolvedImports.size() == importNames.size())
+		{
+			archive.putTrace(
+				new ModuleTrace(
+					sourceLastModified,
+					sourceSize,
+					digest,
+					resolverFingerprint,
+					resolvedImports,
+					stamps));
+		}
+		traceResolvedModules(
+			moduleName, resolvedImports, recursionSet, problemHandler);
+	}
+
+	/**
+	 * Schedule tracing of the already resolved imports of the {@linkplain
+	 * ResolvedModuleName specified} {@linkplain ModuleDescriptor module}.  The
+	 * {@link #traceRequests} counter must already account for each of them.
+	 *
+	 * @param moduleName
+	 *        The name of the module being traced.
+	 * @param resolvedImports
+	 *        The resolved names of the modules referenced by the current one.
+	 * @param recursionSet
+	 *        An insertion-ordered {@linkplain Set set} that remembers all
+	 *        modules visited along this branch of the trace.
+	 * @param problemHandler
+	 *        How to handle or report {@link Problem}s that arise during the
+	 *        build.
+	 */
+	private void traceResolvedModules (
+		final ResolvedModuleName moduleName,
+		final List<ResolvedModuleName> resolvedImports,
+		final LinkedHashSet<ResolvedModuleName> recursionSet,
+		final ProblemHandler problemHandler)
 	{
 		// Copy the recursion set to ensure the independence of each path of the
 		// tracing algorithm.
@@ -335,17 +613,11 @@ final class BuildTracer
 			new LinkedHashSet<>(recursionSet);
 		newSet.add(moduleName);
 
-		synchronized (this)
-		{
-			traceRequests += importNames.size();
-		}
-
 		// Recurse in parallel into each import.
-		for (final String localImport : importNames)
+		for (final ResolvedModuleName resolvedImport : resolvedImports)
 		{
-			final ModuleName importName = moduleName.asSibling(localImport);
-			scheduleTraceModuleImports(
-				importName, moduleName, newSet, problemHandler);
+			scheduleTraceResolvedModuleImports(
+				resolvedImport, moduleName, newSet, problemHandler);
 		}
 	}
 
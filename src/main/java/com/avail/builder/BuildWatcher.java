@@ -0,0 +1,295 @@
+/*
+ * BuildWatcher.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.builder;
+
+import com.avail.annotations.InnerAccess;
+import com.avail.compiler.AvailCompiler.CompilerProgressReporter;
+import com.avail.compiler.AvailCompiler.GlobalProgressReporter;
+import com.avail.compiler.problems.ProblemHandler;
+import com.avail.utility.evaluation.Continuation0;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import static com.avail.builder.ModuleNameResolver.availExtension;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * A {@code BuildWatcher} keeps a target module built while its sources are
+ * being edited.  It watches the source directories of every {@linkplain
+ * ModuleRoot module root}, and whenever a source module is created, modified,
+ * or deleted it {@linkplain AvailBuilder#buildTarget(ModuleName,
+ * CompilerProgressReporter, GlobalProgressReporter, ProblemHandler) rebuilds}
+ * the target.
+ *
+ * <p>The rebuild recompiles only the changed modules.  Their successors must
+ * still be unloaded and loaded again, since they refer to the previously
+ * loaded modules' atoms and definitions, but unless a changed module's
+ * {@linkplain ModuleInterface interface} is different, they're loaded from the
+ * repository rather than recompiled.</p>
+ */
+public final class BuildWatcher
+implements Closeable
+{
+	/**
+	 * How long, in milliseconds, the source directories must be quiet before
+	 * a rebuild starts.  Editors often save a file in several steps, and a
+	 * version control operation may touch many files, so this avoids starting
+	 * a build that would immediately be obsolete.
+	 */
+	private static final long quietPeriodMillis = 200L;
+
+	/** The {@link AvailBuilder} that builds the target. */
+	@InnerAccess final AvailBuilder availBuilder;
+
+	/** The target module. */
+	@InnerAccess final ModuleName target;
+
+	/** How to report progress on the current module. */
+	@InnerAccess final CompilerProgressReporter localTracker;
+
+	/** How to report progress on the whole build. */
+	@InnerAccess final GlobalProgressReporter globalTracker;
+
+	/** How to handle or report problems that arise during a build. */
+	@InnerAccess final ProblemHandler problemHandler;
+
+	/** What to do after each build, whether successful or not. */
+	@InnerAccess final Continuation0 afterEachBuild;
+
+	/** The {@link WatchService} that reports changes to the sources. */
+	private final WatchService watchService;
+
+	/**
+	 * The directories being watched, keyed by their {@link WatchKey}s.
+	 */
+	private final Map<WatchKey, Path> watchedDirectories =
+		new ConcurrentHashMap<>();
+
+	/**
+	 * Construct a new {@code BuildWatcher} and start watching.  Use {@link
+	 * AvailBuilder#watchTarget(ModuleName, CompilerProgressReporter,
+	 * GlobalProgressReporter, ProblemHandler, Continuation0)} instead.
+	 *
+	 * @param availBuilder
+	 *        The {@link AvailBuilder} that builds the target.
+	 * @param target
+	 *        The target module.
+	 * @param localTracker
+	 *        How to report progress on the current module.
+	 * @param globalTracker
+	 *        How to report progress on the whole build.
+	 * @param problemHandler
+	 *        How to handle or report problems that arise during a build.
+	 * @param afterEachBuild
+	 *        What to do after each build, whether successful or not.
+	 * @throws IOException
+	 *         If the source directories can't be watched.
+	 */
+	BuildWatcher (
+		final AvailBuilder availBuilder,
+		final ModuleName target,
+		final CompilerProgressReporter localTracker,
+		final GlobalProgressReporter globalTracker,
+		final ProblemHandler problemHandler,
+		final Continuation0 afterEachBuild)
+	throws IOException
+	{
+		this.availBuilder = availBuilder;
+		this.target = target;
+		this.localTracker = localTracker;
+		this.globalTracker = globalTracker;
+		this.problemHandler = problemHandler;
+		this.afterEachBuild = afterEachBuild;
+		watchService = FileSystems.getDefault().newWatchService();
+		for (final ModuleRoot root
+			: availBuilder.runtime.moduleNameResolver().moduleRoots())
+		{
+			final @Nullable File sourceDirectory = root.sourceDirectory();
+			if (sourceDirectory != null)
+			{
+				registerAll(sourceDirectory.toPath());
+			}
+		}
+		final Thread watcher = new Thread(this::watch, "Avail build watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/**
+	 * Watch the specified directory and every directory beneath it.
+	 *
+	 * @param start
+	 *        The topmost directory.
+	 */
+	@InnerAccess void registerAll (final Path start)
+	{
+		try
+		{
+			Files.walkFileTree(
+				start,
+				new SimpleFileVisitor<Path>()
+				{
+					@Override
+					public FileVisitResult preVisitDirectory (
+						final @Nullable Path dir,
+						final @Nullable BasicFileAttributes attrs)
+					throws IOException
+					{
+						assert dir != null;
+						watchedDirectories.put(
+							dir.register(
+								watchService,
+								ENTRY_CREATE,
+								ENTRY_DELETE,
+								ENTRY_MODIFY),
+							dir);
+						return FileVisitResult.CONTINUE;
+					}
+				});
+		}
+		catch (final IOException|ClosedWatchServiceException e)
+		{
+			AvailBuilder.log(
+				Level.WARNING, e, "Unable to watch: %s", start);
+		}
+	}
+
+	/**
+	 * Process the pending events of the given {@link WatchKey}, answering
+	 * whether any of them warrant a rebuild.  Watch newly created directories.
+	 *
+	 * @param key
+	 *        A signalled key.
+	 * @return Whether a source module or package may have changed.
+	 */
+	private boolean processEvents (final WatchKey key)
+	{
+		final @Nullable Path dir = watchedDirectories.get(key);
+		boolean relevant = false;
+		for (final WatchEvent<?> event : key.pollEvents())
+		{
+			if (event.kind() == OVERFLOW || dir == null)
+			{
+				relevant = true;
+				continue;
+			}
+			final Path path = dir.resolve((Path) event.context());
+			if (path.getFileName().toString().endsWith(availExtension))
+			{
+				relevant = true;
+				if (event.kind() == ENTRY_CREATE
+					&& Files.isDirectory(path))
+				{
+					registerAll(path);
+				}
+			}
+		}
+		if (!key.reset())
+		{
+			// The directory is gone; its parent will report that too.
+			watchedDirectories.remove(key);
+		}
+		return relevant;
+	}
+
+	/**
+	 * Build the target, then rebuild it after each relevant change, until the
+	 * watcher is {@linkplain #close() closed}.
+	 */
+	@InnerAccess void watch ()
+	{
+		boolean dirty = true;
+		while (true)
+		{
+			try
+			{
+				if (dirty)
+				{
+					// Wait for the sources to settle down.
+					@Nullable WatchKey key;
+					while ((key = watchService.poll(
+						quietPeriodMillis, TimeUnit.MILLISECONDS)) != null)
+					{
+						processEvents(key);
+					}
+					AvailBuilder.log(Level.FINE, "Watch rebuild: %s", target);
+					availBuilder.buildTarget(
+						target, localTracker, globalTracker, problemHandler);
+					afterEachBuild.value();
+					dirty = false;
+				}
+				dirty = processEvents(watchService.take());
+			}
+			catch (final ClosedWatchServiceException|InterruptedException e)
+			{
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Stop watching.  A build that is already underway will run to completion.
+	 */
+	@Override
+	public void close ()
+	{
+		try
+		{
+			watchService.close();
+		}
+		catch (final IOException e)
+		{
+			// Nothing else can be done.
+		}
+	}
+}
@@ -0,0 +1,460 @@
+/*
+ * ModuleInterface.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.builder;
+
+import com.avail.descriptor.A_Atom;
+import com.avail.descriptor.A_BasicObject;
+import com.avail.descriptor.A_Bundle;
+import com.avail.descriptor.A_Definition;
+import com.avail.descriptor.A_Function;
+import com.avail.descriptor.A_GrammaticalRestriction;
+import com.avail.descriptor.A_Lexer;
+import com.avail.descriptor.A_Map;
+import com.avail.descriptor.A_Method;
+import com.avail.descriptor.A_Module;
+import com.avail.descriptor.A_RawFunction;
+import com.avail.descriptor.A_SemanticRestriction;
+import com.avail.descriptor.A_Set;
+import com.avail.descriptor.A_Tuple;
+import com.avail.descriptor.A_Variable;
+import com.avail.descriptor.AvailObject;
+import com.avail.descriptor.MapDescriptor.Entry;
+import com.avail.persistence.IndexedRepositoryManager;
+import com.avail.persistence.IndexedRepositoryManager.ModuleCompilation;
+import com.avail.persistence.IndexedRepositoryManager.ModuleCompilationKey;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.avail.descriptor.CompiledCodeTypeDescriptor.mostGeneralCompiledCodeType;
+import static com.avail.descriptor.VariableTypeDescriptor.mostGeneralVariableType;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Computes the {@linkplain ModuleCompilation#interfaceTime interface} digest
+ * of a freshly compiled module.  The digest covers the interfaces of the
+ * module's predecessors, the state the module records about itself (its
+ * exported names, definitions, macros, semantic and grammatical restrictions,
+ * seals, lexers, and module constants and variables), and a structural
+ * rendering of every top-level statement whose effects the loader could not
+ * summarize, since such a statement may have changed state held elsewhere,
+ * such as atom properties or a predecessor's variables.  Source positions are
+ * excluded, so edits confined to comments or formatting usually leave the
+ * digest unchanged.
+ *
+ * <p>The digest is a conservative approximation, not a proof of equivalence.
+ * Unordered collections are rendered element by element and sorted, so the
+ * digest doesn't depend on hash order.  Where an element's rendering is
+ * nevertheless unstable (e.g., an enumeration type whose instances print in
+ * hash order), the only consequence is that successors are recompiled.</p>
+ */
+final class ModuleInterface
+{
+	/** The rendering of the interface, which is digested at the end. */
+	private final StringBuilder builder = new StringBuilder(4096);
+
+	/**
+	 * The variables whose values are currently being rendered, which guards
+	 * against cycles, such as a variable holding a function that refers to
+	 * the variable itself.
+	 */
+	private final Set<A_Variable> variablesInProgress = new HashSet<>();
+
+	/**
+	 * Forbid external instantiation.
+	 */
+	private ModuleInterface ()
+	{
+		// No implementation required.
+	}
+
+	/**
+	 * Compute the interface digest of the given module.
+	 *
+	 * @param module
+	 *        The module that was just compiled.
+	 * @param compilationKey
+	 *        The {@link ModuleCompilationKey} under which it was compiled,
+	 *        which captures the interfaces of its predecessors.
+	 * @param unsummarizedStatements
+	 *        The top-level statements that the loader could not summarize, in
+	 *        the order they ran.
+	 * @return The digest.
+	 */
+	static byte [] digest (
+		final A_Module module,
+		final ModuleCompilationKey compilationKey,
+		final List<A_Function> unsummarizedStatements)
+	{
+		final ModuleInterface moduleInterface = new ModuleInterface();
+		moduleInterface.render(module, compilationKey, unsummarizedStatements);
+		try
+		{
+			final MessageDigest hasher = MessageDigest.getInstance(
+				IndexedRepositoryManager.DIGEST_ALGORITHM);
+			return hasher.digest(
+				moduleInterface.builder.toString().getBytes(UTF_8));
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Render the interface of the given module into the {@link #builder}.
+	 *
+	 * @param module
+	 *        The module.
+	 * @param compilationKey
+	 *        The {@link ModuleCompilationKey} under which it was compiled.
+	 * @param unsummarizedStatements
+	 *        The top-level statements that the loader could not summarize, in
+	 *        the order they ran.
+	 */
+	private void render (
+		final A_Module module,
+		final ModuleCompilationKey compilationKey,
+		final List<A_Function> unsummarizedStatements)
+	{
+		builder.append("predecessors:");
+		for (final long time : compilationKey.predecessorCompilationTimes)
+		{
+			builder.append(time).append(',');
+		}
+		builder.append('\n');
+
+		final List<String> exports = new ArrayList<>();
+		for (final A_Atom atom : module.exportedNames())
+		{
+			exports.add(atomString(atom));
+		}
+		section("exports", exports);
+
+		final List<String> definitions = new ArrayList<>();
+		for (final A_Definition definition : module.methodDefinitions())
+		{
+			definitions.add(definitionString(definition));
+		}
+		section("definitions", definitions);
+
+		final List<String> semanticRestrictions = new ArrayList<>();
+		for (final A_SemanticRestriction restriction
+			: module.moduleSemanticRestrictions())
+		{
+			semanticRestrictions.add(
+				methodString(restriction.definitionMethod())
+					+ " " + functionString(restriction.function()));
+		}
+		section("semantic restrictions", semanticRestrictions);
+
+		final List<String> grammaticalRestrictions = new ArrayList<>();
+		for (final A_GrammaticalRestriction restriction
+			: module.moduleGrammaticalRestrictions())
+		{
+			grammaticalRestrictions.add(
+				grammaticalRestrictionString(restriction));
+		}
+		section("grammatical restrictions", grammaticalRestrictions);
+
+		final List<String> seals = new ArrayList<>();
+		for (final Entry entry : module.moduleSeals().mapIterable())
+		{
+			for (final A_Tuple argumentTypes : entry.value())
+			{
+				seals.add(atomString(entry.key()) + " " + argumentTypes);
+			}
+		}
+		section("seals", seals);
+
+		final List<String> lexers = new ArrayList<>();
+		for (final A_Lexer lexer : module.moduleLexers())
+		{
+			lexers.add(
+				methodString(lexer.lexerMethod())
+					+ " " + functionString(lexer.lexerFilterFunction())
+					+ " " + functionString(lexer.lexerBodyFunction()));
+		}
+		section("lexers", lexers);
+
+		section("constants", bindingStrings(module.constantBindings()));
+		section("variables", bindingStrings(module.variableBindings()));
+
+		// These ran in order, and their order may matter, so don't sort them.
+		builder.append("statements:")
+			.append(unsummarizedStatements.size())
+			.append('\n');
+		for (final A_Function statement : unsummarizedStatements)
+		{
+			builder.append(functionString(statement)).append('\n');
+		}
+	}
+
+	/**
+	 * Append a titled section comprising the given lines, sorted.
+	 *
+	 * @param title
+	 *        The title of the section.
+	 * @param lines
+	 *        The lines of the section, in any order.
+	 */
+	private void section (final String title, final List<String> lines)
+	{
+		Collections.sort(lines);
+		builder.append(title).append(':').append(lines.size()).append('\n');
+		for (final String line : lines)
+		{
+			builder.append(line).append('\n');
+		}
+	}
+
+	/**
+	 * Render a module constant or variable binding map.  The bindings'
+	 * values are rendered too, since a successor may have captured them
+	 * during its own compilation.
+	 *
+	 * @param bindings
+	 *        A map from binding names to values or variables.
+	 * @return The rendered bindings.
+	 */
+	private List<String> bindingStrings (final A_Map bindings)
+	{
+		final List<String> lines = new ArrayList<>();
+		for (final Entry entry : bindings.mapIterable())
+		{
+			lines.add(
+				entry.key().asNativeString()
+					+ " " + literalString(entry.value()));
+		}
+		return lines;
+	}
+
+	/**
+	 * Render an atom as its name qualified by its issuing module.
+	 *
+	 * @param atom
+	 *        An atom.
+	 * @return The rendering.
+	 */
+	private static String atomString (final A_Atom atom)
+	{
+		final A_Module issuer = atom.issuingModule();
+		return atom.atomName().asNativeString()
+			+ "@"
+			+ (issuer.equalsNil() ? "" : issuer.moduleName().asNativeString());
+	}
+
+	/**
+	 * Render a method as the sorted names of its bundles.
+	 *
+	 * @param method
+	 *        A method.
+	 * @return The rendering.
+	 */
+	private static String methodString (final A_Method method)
+	{
+		final List<String> names = new ArrayList<>();
+		for (final A_Bundle bundle : method.bundles())
+		{
+			names.add(atomString(bundle.message()));
+		}
+		Collections.sort(names);
+		return names.toString();
+	}
+
+	/**
+	 * Render a definition as its method, kind, signature, and body.
+	 *
+	 * @param definition
+	 *        A method, abstract, forward, or macro definition.
+	 * @return The rendering.
+	 */
+	private String definitionString (final A_Definition definition)
+	{
+		final StringBuilder line = new StringBuilder(200);
+		line.append(methodString(definition.definitionMethod()));
+		line.append(' ');
+		if (definition.isMacroDefinition())
+		{
+			line.append("macro ");
+			line.append(definition.bodySignature());
+			line.append(' ');
+			line.append(functionString(definition.bodyBlock()));
+			for (final A_Function prefixFunction
+				: definition.prefixFunctions())
+			{
+				line.append(' ');
+				line.append(functionString(prefixFunction));
+			}
+		}
+		else if (definition.isMethodDefinition())
+		{
+			line.append("method ");
+			line.append(definition.bodySignature());
+			line.append(' ');
+			line.append(functionString(definition.bodyBlock()));
+		}
+		else
+		{
+			line.append(definition.isAbstractDefinition()
+				? "abstract "
+				: "forward ");
+			line.append(definition.bodySignature());
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Render a grammatical restriction as its bundle and the sorted names of
+	 * the bundles excluded from each argument position.
+	 *
+	 * @param restriction
+	 *        A grammatical restriction.
+	 * @return The rendering.
+	 */
+	private static String grammaticalRestrictionString (
+		final A_GrammaticalRestriction restriction)
+	{
+		final StringBuilder line = new StringBuilder(200);
+		line.append(atomString(restriction.restrictedBundle().message()));
+		for (final A_Set exclusions : restriction.argumentRestrictionSets())
+		{
+			final List<String> names = new ArrayList<>();
+			for (final A_Bundle bundle : exclusions)
+			{
+				names.add(atomString(bundle.message()));
+			}
+			Collections.sort(names);
+			line.append(' ');
+			line.append(names);
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Render a function as its code and captured outer values.
+	 *
+	 * @param function
+	 *        A function.
+	 * @return The rendering.
+	 */
+	private String functionString (final A_Function function)
+	{
+		final StringBuilder line = new StringBuilder(200);
+		line.append(codeString(function.code()));
+		for (int i = 1, end = function.numOuterVars(); i <= end; i++)
+		{
+			line.append(" outer:");
+			line.append(literalString(function.outerVarAt(i)));
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Render a raw function as its type, primitive, frame shape, nybblecodes,
+	 * and literals, but not its source positions.
+	 *
+	 * @param code
+	 *        A raw function.
+	 * @return The rendering.
+	 */
+	private String codeString (final A_RawFunction code)
+	{
+		final StringBuilder line = new StringBuilder(200);
+		line.append("code(");
+		line.append(code.functionType());
+		line.append(" prim=").append(code.primitiveNumber());
+		line.append(" locals=").append(code.numLocals());
+		line.append(" constants=").append(code.numConstants());
+		line.append(" outers=").append(code.numOuters());
+		line.append(" nybbles=");
+		final A_Tuple nybbles = code.nybbles();
+		for (int i = 1, end = nybbles.tupleSize(); i <= end; i++)
+		{
+			line.append(Character.forDigit(nybbles.tupleIntAt(i), 16));
+		}
+		for (int i = 1, end = code.numLiterals(); i <= end; i++)
+		{
+			line.append(" literal:");
+			line.append(literalString(code.literalAt(i)));
+		}
+		line.append(')');
+		return line.toString();
+	}
+
+	/**
+	 * Render a literal.  Atoms are qualified by their issuing modules,
+	 * functions are rendered structurally, since their default printed forms
+	 * include source positions, and variables are rendered as their kind and
+	 * current value, since their default printed forms include their random
+	 * hashes.
+	 *
+	 * @param literal
+	 *        An arbitrary value.
+	 * @return The rendering.
+	 */
+	private String literalString (final A_BasicObject literal)
+	{
+		if (literal.isAtom())
+		{
+			return atomString((A_Atom) literal);
+		}
+		if (literal.isFunction())
+		{
+			return functionString((A_Function) literal);
+		}
+		if (literal.isInstanceOf(mostGeneralCompiledCodeType()))
+		{
+			return codeString((A_RawFunction) literal);
+		}
+		if (literal.isInstanceOf(mostGeneralVariableType()))
+		{
+			final A_Variable variable = (A_Variable) literal;
+			if (!variablesInProgress.add(variable))
+			{
+				return "variable(" + variable.kind() + " cycle)";
+			}
+			final AvailObject value = variable.value();
+			final String valueString =
+				value.equalsNil() ? "unassigned" : literalString(value);
+			variablesInProgress.remove(variable);
+			return "variable(" + variable.kind() + " " + valueString + ")";
+		}
+		return ((AvailObject) literal).toString();
+	}
+}
@@ -45,6 +45,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 import static com.avail.utility.Nulls.stripNull;
@@ -266,7 +267,8 @@ public final class ModuleNameResolver
 		{
 			return new ModuleNameResolutionResult(
 				new UnresolvedRootException(
-					null, qualifiedName.localName(), enclosingRoot));
+					null, qualifiedName.localName(), enclosingRoot),
+				Collections.emptyList());
 		}
 
 		final String[] components = canonicalName.packageName().split("/");
@@ -302,6 +304,7 @@ public final class ModuleNameResolver
 
 		// If the source directory is available, then search the file system.
 		final ArrayList<ModuleName> checkedPaths = new ArrayList<>();
+		final List<File> consultedDirectories = new ArrayList<>();
 		@Nullable IndexedRepositoryManager repository = null;
 		@Nullable File sourceFile = null;
 		if (sourceDirectory != null)
@@ -316,8 +319,10 @@ public final class ModuleNameResolver
 					canonicalName.localName(),
 					canonicalName.isRename());
 				checkedPaths.add(canonicalName);
+				final File directory = pathStack.removeLast();
+				consultedDirectories.add(directory);
 				final File trial = new File(filenameFor(
-					pathStack.removeLast().getPath(),
+					directory.getPath(),
 					canonicalName.localName()));
 				if (trial.exists())
 				{
@@ -346,6 +351,7 @@ public final class ModuleNameResolver
 					sourceDirectory = root.sourceDirectory();
 					if (sourceDirectory != null)
 					{
+						consultedDirectories.add(sourceDirectory);
 						final File trial = new File(
 							sourceDirectory,
 							canonicalName.localName() + availExtension);
@@ -367,6 +373,7 @@ public final class ModuleNameResolver
 			// the package representative.
 			if (sourceFile.isDirectory())
 			{
+				consultedDirectories.add(sourceFile);
 				sourceFile = new File(
 					sourceFile,
 					canonicalName.localName() + availExtension);
@@ -379,18 +386,21 @@ public final class ModuleNameResolver
 					// Alas, the package representative did not exist.
 					return new ModuleNameResolutionResult(
 						new UnresolvedModuleException(
-							null, qualifiedName.localName(), checkedPaths));
+							null, qualifiedName.localName(), checkedPaths),
+						consultedDirectories);
 				}
 			}
 			return new ModuleNameResolutionResult(
 				new ResolvedModuleName(
-					canonicalName, moduleRoots(), canonicalName.isRename()));
+					canonicalName, moduleRoots(), canonicalName.isRename()),
+				consultedDirectories);
 		}
 
 		// Resolution failed.
 		return new ModuleNameResolutionResult(
 			new UnresolvedModuleException(
-				null, qualifiedName.localName(), checkedPaths));
+				null, qualifiedName.localName(), checkedPaths),
+			consultedDirectories);
 	}
 
 	/**
@@ -406,6 +416,12 @@ public final class ModuleNameResolver
 		/** An exception if the module was not found, or null if it was. */
 		private final @Nullable UnresolvedDependencyException exception;
 
+		/**
+		 * The directories whose contents determined the outcome of the
+		 * resolution, in the order they were consulted.
+		 */
+		@InnerAccess final List<File> consultedDirectories;
+
 		/**
 		 * Answer whether the resolution produced a {@link ResolvedModuleName},
 		 * rather than an exception.
@@ -441,13 +457,18 @@ public final class ModuleNameResolver
 		 * Construct a new {@code ModuleNameResolutionResult}, upon successful
 		 * resolution, with the {@linkplain ResolvedModuleName resolved module}.
 		 *
-		 * @param resolvedModule The module that was successfully resolved.
+		 * @param resolvedModule
+		 *        The module that was successfully resolved.
+		 * @param consultedDirectories
+		 *        The directories whose contents determined the outcome.
 		 */
 		ModuleNameResolutionResult (
-			final ResolvedModuleName resolvedModule)
+			final ResolvedModuleName resolvedModule,
+			final List<File> consultedDirectories)
 		{
 			this.resolvedModule = resolvedModule;
 			this.exception = null;
+			this.consultedDirectories = consultedDirectories;
 		}
 
 		/**
@@ -459,12 +480,16 @@ public final class ModuleNameResolver
 		 * @param e
 		 *        The {@link UnresolvedDependencyException} that was thrown
 		 *        while resolving a module.
+		 * @param consultedDirectories
+		 *        The directories whose contents determined the outcome.
 		 */
 		ModuleNameResolutionResult (
-			final UnresolvedDependencyException e)
+			final UnresolvedDependencyException e,
+			final List<File> consultedDirectories)
 		{
 			this.resolvedModule = null;
 			this.exception = e;
+			this.consultedDirectories = consultedDirectories;
 		}
 	}
 
@@ -501,6 +526,45 @@ public final class ModuleNameResolver
 		return result.resolvedModule();
 	}
 
+	/**
+	 * Answer the directories whose contents determined how the specified
+	 * fully-qualified module name {@linkplain #resolve(ModuleName,
+	 * ResolvedModuleName) resolves}.  As long as none of these directories
+	 * has been modified, and neither the {@linkplain #moduleRoots() module
+	 * roots} nor the {@linkplain #renameRules() renaming rules} have changed,
+	 * the name will resolve the same way.
+	 *
+	 * @param qualifiedName
+	 *        A fully-qualified {@linkplain ModuleName module name}.
+	 * @return The consulted directories, in the order they were consulted.
+	 */
+	public List<File> directoriesConsultedFor (final ModuleName qualifiedName)
+	{
+		return Collections.unmodifiableList(
+			stripNull(resolutionCache.get(qualifiedName)).consultedDirectories);
+	}
+
+	/**
+	 * Answer a fingerprint of this resolver's configuration, namely its
+	 * {@linkplain #moduleRoots() module roots} and {@linkplain #renameRules()
+	 * renaming rules}.  Resolutions performed under configurations with
+	 * different fingerprints may differ.
+	 *
+	 * @return A 64-bit FNV-1a hash of the configuration.
+	 */
+	public long configurationFingerprint ()
+	{
+		final String configuration =
+			moduleRoots.modulePath() + '\0' + renames;
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0, size = configuration.length(); i < size; i++)
+		{
+			hash ^= configuration.charAt(i);
+			hash *= 0x100000001B3L;
+		}
+		return hash;
+	}
+
 	/**
 	 * Commit all dirty repositories.
 	 */
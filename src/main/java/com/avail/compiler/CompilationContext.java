@@ -59,6 +59,8 @@ import com.avail.utility.evaluation.Continuation1NotNull;
 
 import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -94,6 +96,85 @@ public class CompilationContext
 	public static final Logger logger = Logger.getLogger(
 		CompilationContext.class.getName());
 
+	/**
+	 * The {@linkplain System#getProperty(String) system property} that
+	 * overrides the {@linkplain #defaultMaximumInlineWorkUnits default} number
+	 * of work units that may be run inline by a single task.  Zero disables
+	 * inline execution, so that every work unit is scheduled separately.
+	 */
+	private static final String maximumInlineWorkUnitsProperty =
+		String.format(
+			"%s.maximumInlineWorkUnits",
+			CompilationContext.class.getCanonicalName());
+
+	/**
+	 * The default number of work units that may be run inline by a single
+	 * task.
+	 */
+	private static final int defaultMaximumInlineWorkUnits = 64;
+
+	/**
+	 * The number of work units that may be run inline by a single task before
+	 * further work units are scheduled on the {@link AvailRuntime} again.
+	 */
+	private static final int maximumInlineWorkUnits;
+
+	// Initialize maximumInlineWorkUnits.
+	static
+	{
+		int value = defaultMaximumInlineWorkUnits;
+		try
+		{
+			final @Nullable String property =
+				System.getProperty(maximumInlineWorkUnitsProperty);
+			if (property != null)
+			{
+				value = Math.max(Integer.parseInt(property), 0);
+			}
+		}
+		catch (final Exception e)
+		{
+			// Just use the default.
+		}
+		maximumInlineWorkUnits = value;
+	}
+
+	/**
+	 * The work units that a thread has agreed to run inline, after the work
+	 * unit that it's currently running.  Running them from a loop, rather than
+	 * calling them directly, keeps the Java stack from growing as each work
+	 * unit continues parsing with the next.
+	 */
+	private static final class InlineWorkUnits
+	{
+		/** The {@link CompilationContext} whose work units these are. */
+		final CompilationContext compilationContext;
+
+		/** The work units that have yet to run, in order. */
+		final ArrayDeque<Continuation0> pending = new ArrayDeque<>();
+
+		/** How many work units have been accepted for inline execution. */
+		int acceptedCount = 0;
+
+		/**
+		 * Construct a new {@code InlineWorkUnits}.
+		 *
+		 * @param compilationContext
+		 *        The {@link CompilationContext} whose work units will run.
+		 */
+		InlineWorkUnits (final CompilationContext compilationContext)
+		{
+			this.compilationContext = compilationContext;
+		}
+	}
+
+	/**
+	 * The {@link InlineWorkUnits} of the current thread, or {@code null} if the
+	 * thread isn't running compiler work units.
+	 */
+	private static final ThreadLocal<InlineWorkUnits> inlineWorkUnits =
+		new ThreadLocal<>();
+
 	/**
 	 * The {@link CompilerDiagnostics} that tracks potential errors during
 	 * compilation.
@@ -286,6 +367,24 @@ public class CompilationContext
 	 */
 	final Serializer serializer;
 
+	/**
+	 * The top-level statements that could not be summarized, in the order
+	 * they ran.  Their effects aren't otherwise visible in the module, so the
+	 * {@code ModuleInterface} digest includes them.
+	 */
+	private final List<A_Function> unsummarizedStatements = new ArrayList<>();
+
+	/**
+	 * Answer the top-level statements that could not be summarized, in the
+	 * order they ran.
+	 *
+	 * @return A copy of the list of statement {@link A_Function}s.
+	 */
+	public synchronized List<A_Function> unsummarizedStatements ()
+	{
+		return new ArrayList<>(unsummarizedStatements);
+	}
+
 	/**
 	 * Create a {@code CompilationContext} for compiling an {@link A_Module}.
 	 *
@@ -575,13 +674,102 @@ public class CompilationContext
 		// new unit being queued, to increment the completed count when it
 		// completes, and to run the noMoreWorkUnits action as soon the counters
 		// coincide (indicating the last work unit just completed).
+		if (continuations.size() == 1)
+		{
+			// There's no fan-out, so the thread that's already running a work
+			// unit can run this one next, without involving the scheduler.
+			final Continuation1NotNull<ArgType> workUnit =
+				workUnitCompletion(lexingState, null, continuations.get(0));
+			executeWorkUnit(() -> workUnit.value(argument));
+			return;
+		}
 		for (final Continuation1NotNull<ArgType> continuation : continuations)
 		{
 			final Continuation1NotNull<ArgType> workUnit =
 				workUnitCompletion(lexingState, null, continuation);
-			runtime.execute(
-				FiberDescriptor.compilerPriority,
-				() -> workUnit.value(argument));
+			scheduleWorkUnit(() -> workUnit.value(argument));
+		}
+	}
+
+	/**
+	 * Run the specified work unit on the current thread as soon as the work
+	 * unit that it's running completes, if the current thread is running this
+	 * context's work units and hasn't yet exhausted its {@linkplain
+	 * #maximumInlineWorkUnits budget} for inline work units.  Otherwise
+	 * {@linkplain #scheduleWorkUnit(Continuation0) schedule} it.
+	 *
+	 * @param workUnit
+	 *        The work unit, already wrapped by {@link
+	 *        #workUnitCompletion(LexingState, AtomicBoolean,
+	 *        Continuation1NotNull) workUnitCompletion}.
+	 */
+	private void executeWorkUnit (final Continuation0 workUnit)
+	{
+		final @Nullable InlineWorkUnits inline = inlineWorkUnits.get();
+		if (inline != null
+			&& inline.compilationContext == this
+			&& inline.acceptedCount < maximumInlineWorkUnits)
+		{
+			inline.acceptedCount++;
+			inline.pending.add(workUnit);
+			return;
+		}
+		scheduleWorkUnit(workUnit);
+	}
+
+	/**
+	 * Schedule the specified work unit to run on the {@link AvailRuntime}.
+	 * The task that runs it will also run any work units that it queues
+	 * {@linkplain #executeWorkUnit(Continuation0) inline}.
+	 *
+	 * @param workUnit
+	 *        The work unit, already wrapped by {@link
+	 *        #workUnitCompletion(LexingState, AtomicBoolean,
+	 *        Continuation1NotNull) workUnitCompletion}.
+	 */
+	private void scheduleWorkUnit (final Continuation0 workUnit)
+	{
+		runtime.execute(
+			FiberDescriptor.compilerPriority,
+			() -> runWorkUnits(workUnit));
+	}
+
+	/**
+	 * Run the specified work unit, followed by any work units that it (or its
+	 * successors) arranged to run inline.
+	 *
+	 * @param firstWorkUnit
+	 *        The first work unit to run.
+	 */
+	private void runWorkUnits (final Continuation0 firstWorkUnit)
+	{
+		if (maximumInlineWorkUnits == 0)
+		{
+			firstWorkUnit.value();
+			return;
+		}
+		final @Nullable InlineWorkUnits saved = inlineWorkUnits.get();
+		final InlineWorkUnits inline = new InlineWorkUnits(this);
+		inlineWorkUnits.set(inline);
+		try
+		{
+			for (
+				@Nullable Continuation0 workUnit = firstWorkUnit;
+				workUnit != null;
+				workUnit = inline.pending.poll())
+			{
+				workUnit.value();
+			}
+		}
+		finally
+		{
+			inlineWorkUnits.set(saved);
+			// If a work unit failed catastrophically, hand off the rest rather
+			// than lose them, which would prevent compilation from finishing.
+			for (final Continuation0 workUnit : inline.pending)
+			{
+				scheduleWorkUnit(workUnit);
+			}
 		}
 	}
 
@@ -796,6 +984,7 @@ public class CompilationContext
 						+ " Unsummarized -- " + function);
 			}
 			serializer.serialize(function);
+			unsummarizedStatements.add(function);
 		}
 	}
 
@@ -35,6 +35,7 @@ import com.avail.annotations.InnerAccess;
 import com.avail.builder.ModuleName;
 import com.avail.compiler.ParserState;
 import com.avail.compiler.scanning.LexingState;
+import com.avail.descriptor.A_Character;
 import com.avail.descriptor.A_String;
 import com.avail.descriptor.A_Token;
 import com.avail.descriptor.A_Tuple;
@@ -1038,14 +1039,8 @@ public class CompilerDiagnostics
 		final int startIndex,
 		final int endIndex)
 	{
-		for (int i = startIndex; i <= endIndex; i++)
-		{
-			if (string.tupleCodePointAt(i) == codePoint)
-			{
-				return i;
-			}
-		}
-		return 0;
+		return string.firstIndexOf(
+			fromCodePoint(codePoint), startIndex, endIndex);
 	}
 
 	/**
@@ -1106,13 +1101,14 @@ public class CompilerDiagnostics
 		final int startIndex,
 		final int endIndex)
 	{
+		final A_Character character = fromCodePoint(codePoint);
 		int count = 0;
-		for (int i = startIndex; i <= endIndex; i++)
+		for (
+			int i = string.firstIndexOf(character, startIndex, endIndex);
+			i != 0;
+			i = string.firstIndexOf(character, i + 1, endIndex))
 		{
-			if (string.tupleCodePointAt(i) == codePoint)
-			{
-				count++;
-			}
+			count++;
 		}
 		return count;
 	}
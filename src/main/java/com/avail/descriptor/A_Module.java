@@ -221,6 +221,23 @@ extends A_BasicObject
 	 */
 	A_Set moduleSemanticRestrictions ();
 
+	/**
+	 * Answer this module's {@linkplain A_Map map} from {@linkplain A_Atom
+	 * method names} to {@linkplain A_Tuple tuples} of sealed argument type
+	 * tuples.
+	 *
+	 * @return The seals placed by this module.
+	 */
+	A_Map moduleSeals ();
+
+	/**
+	 * Answer this module's {@linkplain A_Set set} of {@linkplain A_Lexer
+	 * lexers}.
+	 *
+	 * @return The lexers defined by this module.
+	 */
+	A_Set moduleLexers ();
+
 	/**
 	 * Dispatch to the descriptor.
 	 */
@@ -38,6 +38,8 @@ import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelOne.L1Operation;
 import com.avail.interpreter.levelTwo.L2Chunk;
 import com.avail.optimizer.L2Generator;
+import com.avail.optimizer.jvm.L1BaselineCode;
+import com.avail.optimizer.jvm.L1BaselineTranslator;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 import com.avail.performance.Statistic;
 import com.avail.utility.evaluation.Continuation0;
@@ -91,6 +93,32 @@ extends A_BasicObject
 	void decrementCountdownToReoptimize (
 		Continuation1NotNull<Boolean> continuation);
 
+	/**
+	 * Answer the {@link L1BaselineCode} that runs this raw function's
+	 * nybblecodes without decoding them, if it has been produced yet.
+	 *
+	 * @return The baseline code, or {@code null} if there isn't any.
+	 */
+	@Nullable L1BaselineCode baselineCode ();
+
+	/**
+	 * Set the {@link L1BaselineCode} that runs this raw function's
+	 * nybblecodes without decoding them.
+	 *
+	 * @param baselineCode
+	 *        The baseline code.
+	 */
+	void setBaselineCode (L1BaselineCode baselineCode);
+
+	/**
+	 * Atomically decrement the countdown to translation by the {@link
+	 * L1BaselineTranslator}, answering whether this decrement is the one that
+	 * reached zero ({@code 0}).  Exactly one caller sees {@code true}.
+	 *
+	 * @return Whether the caller should produce the baseline code.
+	 */
+	boolean decrementCountdownToBaseline ();
+
 	/**
 	 * Answer the {@linkplain FunctionTypeDescriptor function type} associated
 	 * with this raw function.
@@ -487,6 +487,48 @@ extends A_BasicObject, Iterable<AvailObject>
 	 */
 	byte extractNybbleFromTupleAt (int index);
 
+	/**
+	 * Answer the index of the first occurrence of the given value within the
+	 * specified range of the receiver.
+	 *
+	 * @param value
+	 *        The value to look for.
+	 * @param startIndex
+	 *        The one-based index at which to start looking.
+	 * @param endIndex
+	 *        The one-based index at which to stop looking.
+	 * @return The one-based index of the first element in the range that
+	 *         equals the value, or zero if there is no such element.
+	 */
+	int firstIndexOf (
+		A_BasicObject value,
+		int startIndex,
+		int endIndex);
+
+	/**
+	 * Compare a subrange of the {@linkplain AvailObject receiver} with a
+	 * subrange of another tuple, and answer where they first differ.  The size
+	 * of the subrange of both tuples is determined by the index range supplied
+	 * for the receiver.
+	 *
+	 * @param startIndex1
+	 *        The inclusive lower bound of the receiver's subrange.
+	 * @param endIndex1
+	 *        The inclusive upper bound of the receiver's subrange.
+	 * @param anotherObject
+	 *        The other tuple used in the comparison.
+	 * @param startIndex2
+	 *        The inclusive lower bound of the other tuple's subrange.
+	 * @return The one-based index within the receiver of the first element
+	 *         that differs from the corresponding element of the other tuple,
+	 *         or zero if the subranges match exactly.
+	 */
+	int firstMismatchFromToWithStartingAt (
+		int startIndex1,
+		int endIndex1,
+		A_Tuple anotherObject,
+		int startIndex2);
+
 	/**
 	 * Calculate the hash of the subtuple spanning the two indices.
 	 *
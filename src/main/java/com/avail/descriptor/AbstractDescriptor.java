@@ -67,6 +67,7 @@ import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.L2Chunk;
 import com.avail.interpreter.levelTwo.operand.TypeRestriction;
 import com.avail.io.TextInterface;
+import com.avail.optimizer.jvm.L1BaselineCode;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 import com.avail.performance.Statistic;
 import com.avail.serialization.SerializerOperation;
@@ -1886,6 +1887,34 @@ public abstract class AbstractDescriptor
 		AvailObject object,
 		int index);
 
+	/**
+	 * @param object
+	 * @param value
+	 * @param startIndex
+	 * @param endIndex
+	 * @return
+	 */
+	abstract int o_FirstIndexOf (
+		AvailObject object,
+		A_BasicObject value,
+		int startIndex,
+		int endIndex);
+
+	/**
+	 * @param object
+	 * @param startIndex1
+	 * @param endIndex1
+	 * @param anotherObject
+	 * @param startIndex2
+	 * @return
+	 */
+	abstract int o_FirstMismatchFromToWithStartingAt (
+		AvailObject object,
+		int startIndex1,
+		int endIndex1,
+		A_Tuple anotherObject,
+		int startIndex2);
+
 	/**
 	 * @param object
 	 * @param argTypes
@@ -3266,6 +3295,26 @@ public abstract class AbstractDescriptor
 		AvailObject object,
 		Continuation1NotNull<Boolean> continuation);
 
+	/**
+	 * @param object
+	 * @return
+	 */
+	abstract @Nullable L1BaselineCode o_BaselineCode (AvailObject object);
+
+	/**
+	 * @param object
+	 * @param baselineCode
+	 */
+	abstract void o_SetBaselineCode (
+		AvailObject object,
+		L1BaselineCode baselineCode);
+
+	/**
+	 * @param object
+	 * @return
+	 */
+	abstract boolean o_DecrementCountdownToBaseline (AvailObject object);
+
 	/**
 	 * @param object
 	 * @return
@@ -6627,6 +6676,18 @@ public abstract class AbstractDescriptor
 	 */
 	abstract A_Set o_ModuleGrammaticalRestrictions (final AvailObject object);
 
+	/**
+	 * @param object
+	 * @return
+	 */
+	abstract A_Map o_ModuleSeals (final AvailObject object);
+
+	/**
+	 * @param object
+	 * @return
+	 */
+	abstract A_Set o_ModuleLexers (final AvailObject object);
+
 	/**
 	 * @param object
 	 * @param field
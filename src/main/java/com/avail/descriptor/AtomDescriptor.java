@@ -675,6 +675,12 @@ extends Descriptor
 		 */
 		SOCKET_KEY("socket key"),
 
+		/**
+		 * The atom used as a property key under which to store an incremental
+		 * JSON decoder.
+		 */
+		JSON_DECODER_KEY("JSON decoder key"),
+
 		/**
 		 * The property key that indicates that a {@linkplain FiberDescriptor
 		 * fiber} global is inheritable.
@@ -0,0 +1,408 @@
+/*
+ * AtomPropertyStore.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.descriptor;
+
+import javax.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import static com.avail.descriptor.NilDescriptor.nil;
+import static com.avail.utility.Casts.cast;
+
+/**
+ * An {@code AtomPropertyStore} holds the properties of an {@linkplain
+ * AtomWithPropertiesDescriptor atom with properties}.  Property keys are held
+ * weakly, as they were when this was a {@link java.util.WeakHashMap}, but
+ * neither reads nor writes acquire a lock.
+ *
+ * <p>Most atoms have only a handful of properties (a file or socket handle
+ * typically has just one), so the store starts out as an immutable array of
+ * entries that is replaced wholesale, via compare-and-set, whenever a property
+ * is added, replaced, or removed.  A read is then just a volatile load and a
+ * short linear scan.  If the number of properties grows past {@link
+ * #maximumArraySize}, the store is promoted, once and for all, to a {@link
+ * ConcurrentHashMap} keyed by weak references.  Lookups in the promoted map
+ * use a per-thread {@link Probe} rather than allocating a weak reference.</p>
+ */
+final class AtomPropertyStore
+{
+	/**
+	 * The largest number of properties to keep in the copy-on-write array
+	 * before promoting the store to a concurrent map.
+	 */
+	private static final int maximumArraySize = 4;
+
+	/**
+	 * A weak reference to a property key, remembering the key's hash so that
+	 * it can still be found (and removed) from a hashed structure after the
+	 * key has been collected.  Two {@code WeakKey}s are equal if they refer to
+	 * equal atoms, or if they are the same reference.
+	 */
+	private static final class WeakKey
+	extends WeakReference<A_Atom>
+	{
+		/** The hash of the key atom. */
+		final int hash;
+
+		/**
+		 * Construct a new {@code WeakKey}.
+		 *
+		 * @param key
+		 *        The property key.
+		 * @param queue
+		 *        The {@link ReferenceQueue} on which to enqueue this reference
+		 *        when the key is collected, or {@code null} if the reference
+		 *        shouldn't be enqueued.
+		 */
+		WeakKey (
+			final A_Atom key,
+			final @Nullable ReferenceQueue<A_Atom> queue)
+		{
+			super(key, queue);
+			this.hash = key.hash();
+		}
+
+		/**
+		 * Answer whether this key still refers to an atom equal to the given
+		 * one.
+		 *
+		 * @param key
+		 *        The atom to compare against.
+		 * @param keyHash
+		 *        The hash of that atom.
+		 * @return Whether this key refers to the given atom.
+		 */
+		boolean refersTo (final A_Atom key, final int keyHash)
+		{
+			if (hash != keyHash)
+			{
+				return false;
+			}
+			final @Nullable A_Atom referent = get();
+			return referent != null && referent.equals(key);
+		}
+
+		@Override
+		public boolean equals (final @Nullable Object other)
+		{
+			if (this == other)
+			{
+				return true;
+			}
+			if (!(other instanceof WeakKey))
+			{
+				return false;
+			}
+			final WeakKey otherKey = (WeakKey) other;
+			final @Nullable A_Atom referent = otherKey.get();
+			return referent != null && refersTo(referent, otherKey.hash);
+		}
+
+		@Override
+		public int hashCode ()
+		{
+			return hash;
+		}
+	}
+
+	/**
+	 * A reusable key for looking up a property in the promoted map without
+	 * allocating a {@link WeakKey}.  A {@link ConcurrentHashMap} compares the
+	 * key being sought against its stored keys by calling the sought key's
+	 * {@link #equals(Object)}, so a probe only needs to recognize the {@code
+	 * WeakKey}s that refer to its atom.  A probe is never stored in the map.
+	 */
+	private static final class Probe
+	{
+		/** The atom being sought, or {@code null} between lookups. */
+		@Nullable A_Atom key;
+
+		/** The hash of the atom being sought. */
+		int hash;
+
+		@Override
+		public boolean equals (final @Nullable Object other)
+		{
+			final @Nullable A_Atom sought = key;
+			return other instanceof WeakKey
+				&& sought != null
+				&& ((WeakKey) other).refersTo(sought, hash);
+		}
+
+		@Override
+		public int hashCode ()
+		{
+			return hash;
+		}
+	}
+
+	/** Each thread's {@link Probe}. */
+	private static final ThreadLocal<Probe> probes =
+		ThreadLocal.withInitial(Probe::new);
+
+	/**
+	 * An immutable pairing of a {@link WeakKey} and the property value stored
+	 * under it, used by the small, copy-on-write representation.
+	 */
+	private static final class Entry
+	{
+		/** The weakly held property key. */
+		final WeakKey key;
+
+		/** The property value. */
+		final AvailObject value;
+
+		/**
+		 * Construct a new {@code Entry}.
+		 *
+		 * @param key
+		 *        The weakly held property key.
+		 * @param value
+		 *        The property value.
+		 */
+		Entry (final WeakKey key, final AvailObject value)
+		{
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/** The representation of a store with no properties. */
+	private static final Entry[] noEntries = new Entry[0];
+
+	/**
+	 * The current representation: either an immutable {@code Entry[]} or,
+	 * after promotion, a {@link ConcurrentHashMap} from {@link WeakKey}s to
+	 * property values.
+	 */
+	private volatile Object state = noEntries;
+
+	/** The {@link AtomicReferenceFieldUpdater} for the {@link #state}. */
+	private static final AtomicReferenceFieldUpdater<AtomPropertyStore, Object>
+		stateUpdater = AtomicReferenceFieldUpdater.newUpdater(
+			AtomPropertyStore.class, Object.class, "state");
+
+	/**
+	 * The queue onto which the {@link WeakKey}s of collected property keys are
+	 * enqueued, so that they can be expunged from the promoted map.  The keys
+	 * of the copy-on-write array aren't registered with it, since each update
+	 * of the array drops the dead entries anyway, and nothing would ever
+	 * drain their references.
+	 */
+	private final ReferenceQueue<A_Atom> collectedKeys = new ReferenceQueue<>();
+
+	/**
+	 * Answer the value of the specified property, or {@linkplain
+	 * NilDescriptor#nil nil} if there is no such property.
+	 *
+	 * @param key
+	 *        The property key.
+	 * @return The property value, or nil.
+	 */
+	AvailObject get (final A_Atom key)
+	{
+		final Object current = state;
+		final int keyHash = key.hash();
+		if (current instanceof Entry[])
+		{
+			for (final Entry entry : (Entry[]) current)
+			{
+				if (entry.key.refersTo(key, keyHash))
+				{
+					return entry.value;
+				}
+			}
+			return nil;
+		}
+		final ConcurrentHashMap<WeakKey, AvailObject> map = cast(current);
+		final Probe probe = probes.get();
+		probe.key = key;
+		probe.hash = keyHash;
+		try
+		{
+			final @Nullable AvailObject value = map.get(probe);
+			return value == null ? nil : value;
+		}
+		finally
+		{
+			probe.key = null;
+		}
+	}
+
+	/**
+	 * Set the specified property to the given value, or remove it if the
+	 * value is {@linkplain NilDescriptor#nil nil}.
+	 *
+	 * @param key
+	 *        The property key.
+	 * @param value
+	 *        The property value, or nil.
+	 */
+	void put (final A_Atom key, final AvailObject value)
+	{
+		final int keyHash = key.hash();
+		while (true)
+		{
+			final Object current = state;
+			if (!(current instanceof Entry[]))
+			{
+				final ConcurrentHashMap<WeakKey, AvailObject> map =
+					cast(current);
+				expungeCollectedKeys(map);
+				if (value.equalsNil())
+				{
+					final Probe probe = probes.get();
+					probe.key = key;
+					probe.hash = keyHash;
+					try
+					{
+						map.remove(probe);
+					}
+					finally
+					{
+						probe.key = null;
+					}
+				}
+				else
+				{
+					map.put(new WeakKey(key, collectedKeys), value);
+				}
+				return;
+			}
+			final Entry[] entries = (Entry[]) current;
+			// Copy the live entries other than the one for this key.
+			final List<Entry> survivors = new ArrayList<>(entries.length + 1);
+			for (final Entry entry : entries)
+			{
+				if (entry.key.get() != null
+					&& !entry.key.refersTo(key, keyHash))
+				{
+					survivors.add(entry);
+				}
+			}
+			if (!value.equalsNil())
+			{
+				survivors.add(new Entry(new WeakKey(key, null), value));
+			}
+			final Object replacement;
+			if (survivors.size() <= maximumArraySize)
+			{
+				replacement = survivors.toArray(noEntries);
+			}
+			else
+			{
+				final ConcurrentHashMap<WeakKey, AvailObject> map =
+					new ConcurrentHashMap<>();
+				for (final Entry entry : survivors)
+				{
+					// Register the keys now, so that collected ones will be
+					// expunged from the map.
+					final @Nullable A_Atom survivorKey = entry.key.get();
+					if (survivorKey != null)
+					{
+						map.put(
+							new WeakKey(survivorKey, collectedKeys),
+							entry.value);
+					}
+				}
+				replacement = map;
+			}
+			if (stateUpdater.compareAndSet(this, current, replacement))
+			{
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Make every live property key and value {@linkplain Mutability#SHARED
+	 * shared}.  This must only be used while the owning atom is not visible to
+	 * other threads, i.e., while it is being made shared itself.
+	 */
+	void makeShared ()
+	{
+		final Object current = state;
+		if (current instanceof Entry[])
+		{
+			final Entry[] entries = ((Entry[]) current).clone();
+			for (int i = 0; i < entries.length; i++)
+			{
+				final Entry entry = entries[i];
+				final @Nullable A_Atom key = entry.key.get();
+				if (key != null)
+				{
+					key.makeShared();
+				}
+				entries[i] = new Entry(entry.key, entry.value.makeShared());
+			}
+			state = entries;
+		}
+		else
+		{
+			final ConcurrentHashMap<WeakKey, AvailObject> map = cast(current);
+			map.replaceAll((weakKey, value) ->
+			{
+				final @Nullable A_Atom key = weakKey.get();
+				if (key != null)
+				{
+					key.makeShared();
+				}
+				return value.makeShared();
+			});
+		}
+	}
+
+	/**
+	 * Remove the entries whose keys have been garbage collected from the
+	 * promoted map.
+	 *
+	 * @param map
+	 *        The promoted map.
+	 */
+	private void expungeCollectedKeys (
+		final ConcurrentHashMap<WeakKey, AvailObject> map)
+	{
+		@Nullable Reference<? extends A_Atom> reference;
+		while ((reference = collectedKeys.poll()) != null)
+		{
+			// Remove exactly this reference, by identity, since its referent
+			// is gone and it is no longer equal to anything else.
+			map.remove(reference);
+		}
+	}
+}
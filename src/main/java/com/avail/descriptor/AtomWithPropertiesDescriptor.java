@@ -37,16 +37,11 @@ import com.avail.annotations.HideFieldInDebugger;
 import com.avail.serialization.Serializer;
 
 import javax.annotation.Nullable;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.WeakHashMap;
 
 import static com.avail.descriptor.AtomWithPropertiesDescriptor.IntegerSlots.HASH_AND_MORE;
 import static com.avail.descriptor.AtomWithPropertiesDescriptor.IntegerSlots.HASH_OR_ZERO;
 import static com.avail.descriptor.AtomWithPropertiesDescriptor.ObjectSlots.*;
-import static com.avail.descriptor.NilDescriptor.nil;
 import static com.avail.descriptor.RawPojoDescriptor.identityPojo;
-import static java.util.Collections.synchronizedMap;
 
 /**
  * An {@code atom} is an object that has identity by fiat, i.e., it is
@@ -124,7 +119,9 @@ extends AtomDescriptor
 		ISSUING_MODULE,
 
 		/**
-		 * A weak map from this atom's property keys (atoms) to property values.
+		 * A {@linkplain RawPojoDescriptor raw pojo} wrapping an {@link
+		 * AtomPropertyStore}, which weakly maps this atom's property keys
+		 * (atoms) to property values.
 		 */
 		PROPERTY_MAP_POJO;
 
@@ -154,14 +151,9 @@ extends AtomDescriptor
 		// indirection.
 		final AvailObject propertyMapPojo = object.slot(PROPERTY_MAP_POJO);
 		propertyMapPojo.makeShared();
-		final Map<A_Atom, AvailObject> propertyMap =
+		final AtomPropertyStore propertyStore =
 			propertyMapPojo.javaObjectNotNull();
-		for (final Entry<A_Atom, AvailObject> entry :
-			propertyMap.entrySet())
-		{
-			entry.getKey().makeShared();
-			entry.setValue(entry.getValue().makeShared());
-		}
+		propertyStore.makeShared();
 		object.descriptor = AtomWithPropertiesSharedDescriptor.shared;
 		return object;
 	}
@@ -182,16 +174,10 @@ extends AtomDescriptor
 	{
 		assert key.isAtom();
 		final A_BasicObject propertyMapPojo = object.slot(PROPERTY_MAP_POJO);
-		final Map<A_Atom, A_BasicObject> propertyMap =
+		final AtomPropertyStore propertyStore =
 			propertyMapPojo.javaObjectNotNull();
-		if (value.equalsNil())
-		{
-			propertyMap.remove(key);
-		}
-		else
-		{
-			propertyMap.put(key.makeImmutable(), value.makeImmutable());
-		}
+		propertyStore.put(
+			key.makeImmutable(), value.makeImmutable());
 	}
 
 	/**
@@ -209,10 +195,9 @@ extends AtomDescriptor
 	{
 		assert key.isAtom();
 		final A_BasicObject propertyMapPojo = object.slot(PROPERTY_MAP_POJO);
-		final Map<A_Atom, AvailObject> propertyMap =
+		final AtomPropertyStore propertyStore =
 			propertyMapPojo.javaObjectNotNull();
-		final @Nullable AvailObject value = propertyMap.get(key);
-		return value == null ? nil : value;
+		return propertyStore.get(key);
 	}
 
 	/**
@@ -238,8 +223,7 @@ extends AtomDescriptor
 		instance.setSlot(ISSUING_MODULE, issuingModule);
 		instance.setSlot(
 			PROPERTY_MAP_POJO,
-			identityPojo(
-				synchronizedMap(new WeakHashMap<A_Atom, A_BasicObject>())));
+			identityPojo(new AtomPropertyStore()));
 		instance.setSlot(HASH_OR_ZERO, 0);
 		return instance.makeShared();
 	}
@@ -274,8 +258,7 @@ extends AtomDescriptor
 		instance.setSlot(ISSUING_MODULE, issuingModule);
 		instance.setSlot(
 			PROPERTY_MAP_POJO,
-			identityPojo(
-				synchronizedMap(new WeakHashMap<A_Atom, A_BasicObject>())));
+			identityPojo(new AtomPropertyStore()));
 		instance.setSlot(HASH_OR_ZERO, originalHash);
 		return instance.makeShared();
 	}
@@ -163,29 +163,15 @@ extends AtomWithPropertiesDescriptor
 		return hash;
 	}
 
-	@Override @AvailMethod
-	AvailObject o_GetAtomProperty (
-		final AvailObject object,
-		final A_Atom key)
-	{
-		synchronized (object)
-		{
-			return super.o_GetAtomProperty(object, key);
-		}
-	}
-
 	@Override @AvailMethod
 	void o_SetAtomProperty (
 		final AvailObject object,
 		final A_Atom key,
 		final A_BasicObject value)
 	{
-		final A_Atom sharedKey = key.makeShared();
-		final A_BasicObject sharedValue = value.makeShared();
-		synchronized (object)
-		{
-			super.o_SetAtomProperty(object, sharedKey, sharedValue);
-		}
+		// The property store is safe for concurrent access, so no lock is
+		// needed.
+		super.o_SetAtomProperty(object, key.makeShared(), value.makeShared());
 	}
 
 	@Override @AvailMethod
@@ -64,6 +64,7 @@ import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.L2Chunk;
 import com.avail.interpreter.levelTwo.operand.TypeRestriction;
 import com.avail.io.TextInterface;
+import com.avail.optimizer.jvm.L1BaselineCode;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 import com.avail.performance.Statistic;
 import com.avail.serialization.SerializerOperation;
@@ -1996,6 +1997,26 @@ implements
 		return descriptor.o_ExtractNybbleFromTupleAt(this, index);
 	}
 
+	@Override
+	public int firstIndexOf (
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		return descriptor.o_FirstIndexOf(this, value, startIndex, endIndex);
+	}
+
+	@Override
+	public int firstMismatchFromToWithStartingAt (
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		return descriptor.o_FirstMismatchFromToWithStartingAt(
+			this, startIndex1, endIndex1, anotherObject, startIndex2);
+	}
+
 	@Override
 	public A_Map fieldMap ()
 	{
@@ -2127,6 +2148,24 @@ implements
 		descriptor.o_CountdownToReoptimize(this, value);
 	}
 
+	@Override
+	public @Nullable L1BaselineCode baselineCode ()
+	{
+		return descriptor.o_BaselineCode(this);
+	}
+
+	@Override
+	public void setBaselineCode (final L1BaselineCode baselineCode)
+	{
+		descriptor.o_SetBaselineCode(this, baselineCode);
+	}
+
+	@Override
+	public boolean decrementCountdownToBaseline ()
+	{
+		return descriptor.o_DecrementCountdownToBaseline(this);
+	}
+
 	@Override
 	public boolean isAbstract ()
 	{
@@ -5836,6 +5875,18 @@ implements
 		return descriptor.o_ModuleGrammaticalRestrictions(this);
 	}
 
+	@Override
+	public A_Map moduleSeals ()
+	{
+		return descriptor.o_ModuleSeals(this);
+	}
+
+	@Override
+	public A_Set moduleLexers ()
+	{
+		return descriptor.o_ModuleLexers(this);
+	}
+
 	@Override
 	public AvailObject fieldAt (final A_Atom field)
 	{
@@ -385,6 +385,156 @@ implements A_BasicObject
 		longSlots[wordIndex] = word;
 	}
 
+	/**
+	 * Extract the 64 bits that start at the given zero-based byte offset
+	 * within the given {@code long} array, treating the array as a
+	 * little-endian sequence of bytes.  The offset need not be aligned, but all
+	 * eight bytes must be within the array.
+	 *
+	 * @param slots The {@code long}s to read.
+	 * @param byteOffset The zero-based offset of the first byte to read.
+	 * @return The eight bytes, the first of which is in the low bits.
+	 */
+	private static long rawBytesAt (
+		final long[] slots,
+		final int byteOffset)
+	{
+		final int wordIndex = byteOffset >>> 3;
+		final int shift = (byteOffset & 7) << 3;
+		final long low = slots[wordIndex];
+		return shift == 0
+			? low
+			: (low >>> shift) | (slots[wordIndex + 1] << (64 - shift));
+	}
+
+	/**
+	 * Compare a run of bytes within the specified field of the receiver with a
+	 * run of bytes within a field of another object, eight bytes at a time.
+	 * Fields holding {@linkplain #shortSlot(IntegerSlotsEnum, int) shorts} or
+	 * {@linkplain #intSlot(IntegerSlotsEnum, int) ints} can be compared by
+	 * scaling the subscripts and count, since every representation is
+	 * little-endian.
+	 *
+	 * @param field
+	 *        The receiver's field.
+	 * @param byteSubscript
+	 *        The one-based byte subscript within the receiver's field at which
+	 *        to start.
+	 * @param other
+	 *        The object to compare against.
+	 * @param otherField
+	 *        The other object's field.
+	 * @param otherByteSubscript
+	 *        The one-based byte subscript within the other object's field at
+	 *        which to start.
+	 * @param byteCount
+	 *        How many bytes to compare.
+	 * @return The zero-based offset of the first byte that differs, or -1 if
+	 *         all of the bytes are the same.
+	 */
+	public final int firstMismatchedByte (
+		final IntegerSlotsEnum field,
+		final int byteSubscript,
+		final AvailObjectRepresentation other,
+		final IntegerSlotsEnum otherField,
+		final int otherByteSubscript,
+		final int byteCount)
+	{
+		checkSlot(field);
+		other.checkSlot(otherField);
+		final long[] slots1 = longSlots;
+		final long[] slots2 = other.longSlots;
+		final int base1 = (field.ordinal() << 3) + byteSubscript - 1;
+		final int base2 = (otherField.ordinal() << 3) + otherByteSubscript - 1;
+		int offset = 0;
+		for (; offset <= byteCount - 8; offset += 8)
+		{
+			final long difference = rawBytesAt(slots1, base1 + offset)
+				^ rawBytesAt(slots2, base2 + offset);
+			if (difference != 0)
+			{
+				return offset + (Long.numberOfTrailingZeros(difference) >>> 3);
+			}
+		}
+		for (; offset < byteCount; offset++)
+		{
+			final int index1 = base1 + offset;
+			final int index2 = base2 + offset;
+			if ((((slots1[index1 >>> 3] >>> ((index1 & 7) << 3))
+				^ (slots2[index2 >>> 3] >>> ((index2 & 7) << 3)))
+				& 0xFFL) != 0)
+			{
+				return offset;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Search the specified field for the first element that has the given
+	 * value, treating the field as packed little-endian elements of {@code
+	 * bitsPerElement} bits each.  Eight bytes are examined at a time, using the
+	 * classic trick for detecting a zero lane within a word.
+	 *
+	 * @param field
+	 *        The field to search.
+	 * @param bitsPerElement
+	 *        The width of each element: 8, 16, or 32.
+	 * @param value
+	 *        The value to find.  Only its low {@code bitsPerElement} bits are
+	 *        significant.
+	 * @param startIndex
+	 *        The one-based element index at which to start.
+	 * @param endIndex
+	 *        The one-based element index at which to stop.
+	 * @return The one-based index of the first occurrence, or zero if there
+	 *         is none.
+	 */
+	public final int firstIndexOfElement (
+		final IntegerSlotsEnum field,
+		final int bitsPerElement,
+		final long value,
+		final int startIndex,
+		final int endIndex)
+	{
+		assert bitsPerElement == 8
+			|| bitsPerElement == 16
+			|| bitsPerElement == 32;
+		checkSlot(field);
+		final long[] slots = longSlots;
+		final int bytesPerElement = bitsPerElement >>> 3;
+		final int elementsPerWord = 64 / bitsPerElement;
+		final long mask = (1L << bitsPerElement) - 1;
+		// A one in the low bit of each lane, and in the high bit of each lane.
+		final long lows = Long.divideUnsigned(-1L, mask);
+		final long highs = lows << (bitsPerElement - 1);
+		final long pattern = (value & mask) * lows;
+		final int base = field.ordinal() << 3;
+		int index = startIndex;
+		for (; index <= endIndex - elementsPerWord + 1; index += elementsPerWord)
+		{
+			final long word = rawBytesAt(
+				slots, base + (index - 1) * bytesPerElement) ^ pattern;
+			final long zeroLanes = (word - lows) & ~word & highs;
+			if (zeroLanes != 0)
+			{
+				return index
+					+ Long.numberOfTrailingZeros(zeroLanes) / bitsPerElement;
+			}
+		}
+		for (; index <= endIndex; index++)
+		{
+			final int byteOffset = base + (index - 1) * bytesPerElement;
+			final long element =
+				(slots[byteOffset >>> 3] >>> ((byteOffset & 7) << 3)) & mask;
+			if (element == (value & mask))
+			{
+				return index;
+			}
+		}
+		return 0;
+	}
+
 	@Override
 	public final int integerSlotsCount ()
 	{
@@ -1295,6 +1445,41 @@ implements A_BasicObject
 		setVolatileSlot(field, anAvailObject);
 	}
 
+	/**
+	 * Atomically replace the {@linkplain AvailObject object} in the specified
+	 * slot of the receiver with a new value, but only if the slot still holds
+	 * the (identical) expected value.  If the receiver is {@linkplain
+	 * Mutability#SHARED shared}, the new value is made shared before it is
+	 * stored, and the swap has volatile semantics.
+	 *
+	 * @param field An enumeration value that defines the field ordering.
+	 * @param expected The object that must currently occupy the slot.
+	 * @param anAvailObject The object to store at the specified slot.
+	 * @return Whether the slot held the expected value and was updated.
+	 */
+	final boolean compareAndSetVolatileSlot (
+		final ObjectSlotsEnum field,
+		final A_BasicObject expected,
+		final A_BasicObject anAvailObject)
+	{
+		checkSlot(field);
+		checkWriteForField(field);
+		if (descriptor.isShared())
+		{
+			return VolatileSlotHelper.compareAndSet(
+				objectSlots,
+				field.ordinal(),
+				(AvailObject) expected,
+				anAvailObject.makeShared());
+		}
+		if (objectSlots[field.ordinal()] != expected)
+		{
+			return false;
+		}
+		objectSlots[field.ordinal()] = (AvailObject) anAvailObject;
+		return true;
+	}
+
 	/**
 	 * Extract the {@linkplain AvailObject object} at the specified slot of the
 	 * receiver, using volatile-read semantics if the receiver is shared.
@@ -36,6 +36,9 @@ import com.avail.annotations.AvailMethod;
 import com.avail.annotations.HideFieldInDebugger;
 import com.avail.utility.json.JSONWriter;
 
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
@@ -52,6 +55,7 @@ import static com.avail.descriptor.TreeTupleDescriptor.concatenateAtLeastOneTree
 import static com.avail.descriptor.TreeTupleDescriptor.createTwoPartTreeTuple;
 import static com.avail.descriptor.TypeDescriptor.Types.NONTYPE;
 import static java.lang.Math.min;
+import static java.lang.invoke.MethodType.methodType;
 
 /**
  * {@code ByteArrayTupleDescriptor} represents a tuple of integers that happen
@@ -114,6 +118,91 @@ extends NumericTupleDescriptor
 	 */
 	private static final int maximumCopySize = 64;
 
+	/**
+	 * A {@link MethodHandle} on {@code Arrays.mismatch(byte[], int, int,
+	 * byte[], int, int)}, which compares many bytes per instruction, or {@code
+	 * null} if the running JVM is too old to have it.
+	 */
+	private static final @Nullable MethodHandle arraysMismatch;
+
+	static
+	{
+		@Nullable MethodHandle handle;
+		try
+		{
+			handle = MethodHandles.publicLookup().findStatic(
+				Arrays.class,
+				"mismatch",
+				methodType(
+					int.class,
+					byte[].class,
+					int.class,
+					int.class,
+					byte[].class,
+					int.class,
+					int.class));
+		}
+		catch (final NoSuchMethodException | IllegalAccessException e)
+		{
+			handle = null;
+		}
+		arraysMismatch = handle;
+	}
+
+	/**
+	 * Compare runs of bytes within two byte arrays, using {@code
+	 * Arrays.mismatch} if it's available.
+	 *
+	 * @param array1
+	 *        The first byte array.
+	 * @param start1
+	 *        The zero-based index of the first run.
+	 * @param array2
+	 *        The second byte array.
+	 * @param start2
+	 *        The zero-based index of the second run.
+	 * @param count
+	 *        The number of bytes to compare.
+	 * @return The zero-based offset of the first byte that differs, or -1 if
+	 *         the runs are the same.
+	 */
+	static int firstMismatchedByte (
+		final byte[] array1,
+		final int start1,
+		final byte[] array2,
+		final int start2,
+		final int count)
+	{
+		final @Nullable MethodHandle mismatch = arraysMismatch;
+		if (mismatch != null)
+		{
+			try
+			{
+				return (int) mismatch.invokeExact(
+					array1,
+					start1,
+					start1 + count,
+					array2,
+					start2,
+					start2 + count);
+			}
+			catch (final Throwable e)
+			{
+				// The arguments have already been checked, so this can't
+				// happen.
+				throw new RuntimeException(e);
+			}
+		}
+		for (int offset = 0; offset < count; offset++)
+		{
+			if (array1[start1 + offset] != array2[start2 + offset])
+			{
+				return offset;
+			}
+		}
+		return -1;
+	}
+
 	@Override @AvailMethod
 	A_Tuple o_AppendCanDestroy (
 		final AvailObject object,
@@ -166,21 +255,13 @@ extends NumericTupleDescriptor
 		{
 			return true;
 		}
-		final byte[] array1 = object.byteArray();
-		final byte[] array2 = aByteArrayTuple.byteArray();
-		for (
-			int index1 = startIndex1 - 1,
-				index2 = startIndex2 - 1,
-				lastIndex = endIndex1 - 1;
-			index1 <= lastIndex;
-			index1++, index2++)
-		{
-			if (array1[index1] != array2[index2])
-			{
-				return false;
-			}
-		}
-		return true;
+		return firstMismatchedByte(
+				object.byteArray(),
+				startIndex1 - 1,
+				aByteArrayTuple.byteArray(),
+				startIndex2 - 1,
+				endIndex1 - startIndex1 + 1)
+			== -1;
 	}
 
 	@Override @AvailMethod
@@ -206,8 +287,22 @@ extends NumericTupleDescriptor
 	{
 		// See comment in superclass. This method must produce the same value.
 		final byte[] array = object.slot(BYTE_ARRAY_POJO).javaObjectNotNull();
+		final int first = start - 1;
 		int hash = 0;
-		for (int index = end - 1, first = start - 1; index >= first; index--)
+		int index = end - 1;
+		for (; index - 3 >= first; index -= 4)
+		{
+			hash = hashFourMoreElements(
+				hash,
+				hashOfUnsignedByte((short) (array[index] & 0xFF)) ^ preToggle,
+				hashOfUnsignedByte((short) (array[index - 1] & 0xFF))
+					^ preToggle,
+				hashOfUnsignedByte((short) (array[index - 2] & 0xFF))
+					^ preToggle,
+				hashOfUnsignedByte((short) (array[index - 3] & 0xFF))
+					^ preToggle);
+		}
+		for (; index >= first; index--)
 		{
 			final int itemHash = hashOfUnsignedByte(
 				(short) (array[index] & 0xFF)) ^ preToggle;
@@ -216,6 +311,51 @@ extends NumericTupleDescriptor
 		return hash;
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		if (!value.isUnsignedByte())
+		{
+			return 0;
+		}
+		final byte target = (byte) ((A_Number) value).extractUnsignedByte();
+		final byte[] array = object.byteArray();
+		for (int index = startIndex - 1; index < endIndex; index++)
+		{
+			if (array[index] == target)
+			{
+				return index + 1;
+			}
+		}
+		return 0;
+	}
+
+	@Override @AvailMethod
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		if (!anotherObject.isByteArrayTuple())
+		{
+			return super.o_FirstMismatchFromToWithStartingAt(
+				object, startIndex1, endIndex1, anotherObject, startIndex2);
+		}
+		final int offset = firstMismatchedByte(
+			object.byteArray(),
+			startIndex1 - 1,
+			anotherObject.byteArray(),
+			startIndex2 - 1,
+			endIndex1 - startIndex1 + 1);
+		return offset == -1 ? 0 : startIndex1 + offset;
+	}
+
 	@Override
 	A_Tuple o_ConcatenateWith (
 		final AvailObject object,
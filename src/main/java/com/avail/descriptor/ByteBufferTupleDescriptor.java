@@ -39,6 +39,7 @@ import com.avail.utility.json.JSONWriter;
 import java.nio.ByteBuffer;
 
 import static com.avail.descriptor.AvailObject.multiplier;
+import static com.avail.descriptor.ByteArrayTupleDescriptor.firstMismatchedByte;
 import static com.avail.descriptor.ByteBufferTupleDescriptor.IntegerSlots.HASH_OR_ZERO;
 import static com.avail.descriptor.ByteBufferTupleDescriptor.ObjectSlots.BYTE_BUFFER;
 import static com.avail.descriptor.ByteTupleDescriptor.generateByteTupleFrom;
@@ -157,8 +158,23 @@ extends NumericTupleDescriptor
 	{
 		// See comment in superclass. This method must produce the same value.
 		final ByteBuffer buffer = object.slot(BYTE_BUFFER).javaObjectNotNull();
+		final int first = start - 1;
 		int hash = 0;
-		for (int index = end - 1, first = start - 1; index >= first; index--)
+		int index = end - 1;
+		for (; index - 3 >= first; index -= 4)
+		{
+			hash = hashFourMoreElements(
+				hash,
+				hashOfUnsignedByte((short) (buffer.get(index) & 0xFF))
+					^ preToggle,
+				hashOfUnsignedByte((short) (buffer.get(index - 1) & 0xFF))
+					^ preToggle,
+				hashOfUnsignedByte((short) (buffer.get(index - 2) & 0xFF))
+					^ preToggle,
+				hashOfUnsignedByte((short) (buffer.get(index - 3) & 0xFF))
+					^ preToggle);
+		}
+		for (; index >= first; index--)
 		{
 			final int itemHash = hashOfUnsignedByte(
 				(short) (buffer.get(index) & 0xFF)) ^ preToggle;
@@ -167,6 +183,67 @@ extends NumericTupleDescriptor
 		return hash;
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		if (!value.isUnsignedByte())
+		{
+			return 0;
+		}
+		final byte target = (byte) ((A_Number) value).extractUnsignedByte();
+		final ByteBuffer buffer = object.byteBuffer();
+		for (int index = startIndex - 1; index < endIndex; index++)
+		{
+			if (buffer.get(index) == target)
+			{
+				return index + 1;
+			}
+		}
+		return 0;
+	}
+
+	@Override @AvailMethod
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		if (!anotherObject.isByteBufferTuple())
+		{
+			return super.o_FirstMismatchFromToWithStartingAt(
+				object, startIndex1, endIndex1, anotherObject, startIndex2);
+		}
+		final ByteBuffer buffer1 = object.byteBuffer();
+		final ByteBuffer buffer2 = anotherObject.byteBuffer();
+		final int count = endIndex1 - startIndex1 + 1;
+		if (buffer1.hasArray() && buffer2.hasArray())
+		{
+			// Compare the backing arrays directly.
+			final int offset = firstMismatchedByte(
+				buffer1.array(),
+				buffer1.arrayOffset() + startIndex1 - 1,
+				buffer2.array(),
+				buffer2.arrayOffset() + startIndex2 - 1,
+				count);
+			return offset == -1 ? 0 : startIndex1 + offset;
+		}
+		for (int offset = 0; offset < count; offset++)
+		{
+			if (buffer1.get(startIndex1 - 1 + offset)
+				!= buffer2.get(startIndex2 - 1 + offset))
+			{
+				return startIndex1 + offset;
+			}
+		}
+		return 0;
+	}
+
 	@Override @AvailMethod
 	boolean o_Equals (final AvailObject object, final A_BasicObject another)
 	{
@@ -340,7 +417,8 @@ extends NumericTupleDescriptor
 			return object.copyAsMutableObjectTuple().tupleAtPuttingCanDestroy(
 				index, newValueObject, true);
 		}
-		if (!canDestroy || !isMutable())
+		final ByteBuffer buffer = object.slot(BYTE_BUFFER).javaObjectNotNull();
+		if (!canDestroy || !isMutable() || buffer.isReadOnly())
 		{
 			return copyAsMutableByteBufferTuple(object)
 				.tupleAtPuttingCanDestroy(
@@ -351,7 +429,6 @@ extends NumericTupleDescriptor
 		// Clobber the object in place...
 		final byte theByte =
 			(byte) ((A_Number)newValueObject).extractUnsignedByte();
-		final ByteBuffer buffer = object.slot(BYTE_BUFFER).javaObjectNotNull();
 		buffer.put(index - 1, theByte);
 		object.hashOrZero(0);
 		//  ...invalidate the hash value.
@@ -481,6 +558,20 @@ extends NumericTupleDescriptor
 			result.hashOrZero(0);
 			return result;
 		}
+		if (size >= maximumCopySize && size < tupleSize)
+		{
+			// It's big and it's not a total copy.  Answer a tuple backed by a
+			// slice of the same buffer, so that large (e.g., memory-mapped)
+			// buffers can be carved up without copying.  Since the buffer is
+			// now aliased, neither tuple may be clobbered in place.
+			object.makeImmutable();
+			final ByteBuffer slice = object.byteBuffer().duplicate();
+			slice.position(start - 1);
+			slice.limit(end);
+			final AvailObject result = tupleForByteBuffer(slice.slice());
+			result.makeImmutable();
+			return result;
+		}
 		return super.o_CopyTupleFromToCanDestroy(
 			object, start, end, canDestroy);
 	}
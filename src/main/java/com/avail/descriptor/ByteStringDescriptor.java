@@ -179,17 +179,17 @@ extends StringDescriptor
 		{
 			return true;
 		}
-		// Compare actual bytes.
-		for (
-			int index1 = startIndex1, index2 = startIndex2;
-			index1 <= endIndex1;
-			index1++, index2++)
+		// Compare actual bytes, eight at a time.
+		if (object.firstMismatchedByte(
+				RAW_LONGS_,
+				startIndex1,
+				aByteString.traversed(),
+				RAW_LONGS_,
+				startIndex2,
+				endIndex1 - startIndex1 + 1)
+			!= -1)
 		{
-			if (object.rawByteForCharacterAt(index1)
-				!= aByteString.rawByteForCharacterAt(index2))
-			{
-				return false;
-			}
+			return false;
 		}
 		if (startIndex1 == 1
 			&& startIndex2 == 1
@@ -375,7 +375,21 @@ extends StringDescriptor
 		final int end)
 	{
 		int hash = 0;
-		for (int index = end; index >= start; index--)
+		int index = end;
+		for (; index - 3 >= start; index -= 4)
+		{
+			hash = hashFourMoreElements(
+				hash,
+				hashOfByteCharacterWithCodePoint(
+					object.byteSlot(RAW_LONGS_, index)) ^ preToggle,
+				hashOfByteCharacterWithCodePoint(
+					object.byteSlot(RAW_LONGS_, index - 1)) ^ preToggle,
+				hashOfByteCharacterWithCodePoint(
+					object.byteSlot(RAW_LONGS_, index - 2)) ^ preToggle,
+				hashOfByteCharacterWithCodePoint(
+					object.byteSlot(RAW_LONGS_, index - 3)) ^ preToggle);
+		}
+		for (; index >= start; index--)
 		{
 			final int itemHash =
 				hashOfByteCharacterWithCodePoint(
@@ -386,6 +400,49 @@ extends StringDescriptor
 		return hash;
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		if (!value.isCharacter())
+		{
+			return 0;
+		}
+		final int codePoint = ((A_Character) value).codePoint();
+		if (codePoint > 255)
+		{
+			return 0;
+		}
+		return object.firstIndexOfElement(
+			RAW_LONGS_, 8, codePoint, startIndex, endIndex);
+	}
+
+	@Override @AvailMethod
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		if (!anotherObject.isByteString())
+		{
+			return super.o_FirstMismatchFromToWithStartingAt(
+				object, startIndex1, endIndex1, anotherObject, startIndex2);
+		}
+		final int offset = object.firstMismatchedByte(
+			RAW_LONGS_,
+			startIndex1,
+			anotherObject.traversed(),
+			RAW_LONGS_,
+			startIndex2,
+			endIndex1 - startIndex1 + 1);
+		return offset == -1 ? 0 : startIndex1 + offset;
+	}
+
 	@Override @AvailMethod @ThreadSafe
 	SerializerOperation o_SerializerOperation (final AvailObject object)
 	{
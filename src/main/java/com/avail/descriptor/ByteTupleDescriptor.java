@@ -173,18 +173,15 @@ extends NumericTupleDescriptor
 		{
 			return true;
 		}
-		// Compare actual bytes.
-		for (
-			int index1 = startIndex1, index2 = startIndex2;
-			index1 <= endIndex1;
-			index1++, index2++)
-		{
-			if (object.tupleIntAt(index1) != aByteTuple.tupleIntAt(index2))
-			{
-				return false;
-			}
-		}
-		return true;
+		// Compare actual bytes, eight at a time.
+		return object.firstMismatchedByte(
+				RAW_LONG_AT_,
+				startIndex1,
+				aByteTuple.traversed(),
+				RAW_LONG_AT_,
+				startIndex2,
+				endIndex1 - startIndex1 + 1)
+			== -1;
 	}
 
 	@Override @AvailMethod
@@ -210,15 +207,72 @@ extends NumericTupleDescriptor
 	{
 		// See comment in superclass. This method must produce the same value.
 		int hash = 0;
-		for (int index = end; index >= start; index--)
+		int index = end;
+		for (; index - 3 >= start; index -= 4)
+		{
+			hash = hashFourMoreElements(
+				hash,
+				hashOfUnsignedByte(
+					object.byteSlot(RAW_LONG_AT_, index)) ^ preToggle,
+				hashOfUnsignedByte(
+					object.byteSlot(RAW_LONG_AT_, index - 1)) ^ preToggle,
+				hashOfUnsignedByte(
+					object.byteSlot(RAW_LONG_AT_, index - 2)) ^ preToggle,
+				hashOfUnsignedByte(
+					object.byteSlot(RAW_LONG_AT_, index - 3)) ^ preToggle);
+		}
+		for (; index >= start; index--)
 		{
 			final int itemHash = hashOfUnsignedByte(
-				(short) object.tupleIntAt(index)) ^ preToggle;
+				object.byteSlot(RAW_LONG_AT_, index)) ^ preToggle;
 			hash = (hash + itemHash) * multiplier;
 		}
 		return hash;
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		if (!value.isUnsignedByte())
+		{
+			return 0;
+		}
+		return object.firstIndexOfElement(
+			RAW_LONG_AT_,
+			8,
+			((A_Number) value).extractUnsignedByte(),
+			startIndex,
+			endIndex);
+	}
+
+	@Override @AvailMethod
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		final AvailObject traversed = anotherObject.traversed();
+		if (!(traversed.descriptor() instanceof ByteTupleDescriptor))
+		{
+			return super.o_FirstMismatchFromToWithStartingAt(
+				object, startIndex1, endIndex1, anotherObject, startIndex2);
+		}
+		final int offset = object.firstMismatchedByte(
+			RAW_LONG_AT_,
+			startIndex1,
+			traversed,
+			RAW_LONG_AT_,
+			startIndex2,
+			endIndex1 - startIndex1 + 1);
+		return offset == -1 ? 0 : startIndex1 + offset;
+	}
+
 	@Override
 	A_Tuple o_ConcatenateWith (
 		final AvailObject object,
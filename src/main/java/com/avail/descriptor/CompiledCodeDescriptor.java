@@ -47,7 +47,9 @@ import com.avail.interpreter.levelOne.L1InstructionWriter;
 import com.avail.interpreter.levelOne.L1OperandType;
 import com.avail.interpreter.levelOne.L1Operation;
 import com.avail.interpreter.levelTwo.L2Chunk;
-import com.avail.interpreter.levelTwo.L2Chunk.Generation;
+import com.avail.interpreter.levelTwo.L2ChunkCache;
+import com.avail.optimizer.jvm.L1BaselineCode;
+import com.avail.optimizer.jvm.L1BaselineTranslator;
 import com.avail.performance.Statistic;
 import com.avail.performance.StatisticReport;
 import com.avail.serialization.SerializerOperation;
@@ -313,6 +315,21 @@ extends Descriptor
 		 */
 		final AtomicLong countdownToReoptimize = new AtomicLong(0);
 
+		/**
+		 * An {@link AtomicLong} that indicates how many more runs of the
+		 * nybblecodes can take place before they should be translated by the
+		 * {@link L1BaselineTranslator}.
+		 */
+		final AtomicLong countdownToBaseline =
+			new AtomicLong(L2Chunk.countdownForBaselineCode());
+
+		/**
+		 * The {@link L1BaselineCode} for this code, or {@code null} if it
+		 * hasn't been produced.  Baseline code has no dependencies on
+		 * definitions, so it's never invalidated.
+		 */
+		volatile @Nullable L1BaselineCode baselineCode = null;
+
 		/** A statistic for all functions that return. */
 		volatile @Nullable Statistic returnerCheckStat = null;
 
@@ -816,6 +833,27 @@ extends Descriptor
 		}
 	}
 
+	@Override @AvailMethod
+	@Nullable L1BaselineCode o_BaselineCode (final AvailObject object)
+	{
+		return getInvocationStatistic(object).baselineCode;
+	}
+
+	@Override @AvailMethod
+	void o_SetBaselineCode (
+		final AvailObject object,
+		final L1BaselineCode baselineCode)
+	{
+		getInvocationStatistic(object).baselineCode = baselineCode;
+	}
+
+	@Override @AvailMethod
+	boolean o_DecrementCountdownToBaseline (final AvailObject object)
+	{
+		return getInvocationStatistic(object)
+			.countdownToBaseline.decrementAndGet() == 0;
+	}
+
 	@Override @AvailMethod
 	int o_NumNybbles (final AvailObject object)
 	{
@@ -1002,7 +1040,13 @@ extends Descriptor
 			object.mutableSlot(STARTING_CHUNK).javaObjectNotNull();
 		if (chunk != unoptimizedChunk)
 		{
-			Generation.usedChunk(chunk);
+			if (!chunk.isValid())
+			{
+				// The chunk was invalidated concurrently, after this slot was
+				// read.  Don't start running it.
+				return unoptimizedChunk;
+			}
+			L2ChunkCache.usedChunk(chunk);
 		}
 		return chunk;
 	}
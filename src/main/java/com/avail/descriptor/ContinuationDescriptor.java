@@ -42,7 +42,7 @@ import com.avail.interpreter.Interpreter;
 import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelOne.L1Operation;
 import com.avail.interpreter.levelTwo.L2Chunk;
-import com.avail.interpreter.levelTwo.L2Chunk.Generation;
+import com.avail.interpreter.levelTwo.L2ChunkCache;
 import com.avail.interpreter.primitive.continuations.P_ContinuationStackData;
 import com.avail.interpreter.primitive.controlflow.P_CatchException;
 import com.avail.interpreter.primitive.controlflow.P_ExitContinuationWithResult;
@@ -374,7 +374,7 @@ extends Descriptor
 			object.mutableSlot(LEVEL_TWO_CHUNK).javaObjectNotNull();
 		if (chunk != unoptimizedChunk && chunk.isValid())
 		{
-			Generation.usedChunk(chunk);
+			L2ChunkCache.usedChunk(chunk);
 		}
 		return chunk;
 	}
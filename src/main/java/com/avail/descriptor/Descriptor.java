@@ -63,6 +63,7 @@ import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.L2Chunk;
 import com.avail.interpreter.levelTwo.operand.TypeRestriction;
 import com.avail.io.TextInterface;
+import com.avail.optimizer.jvm.L1BaselineCode;
 import com.avail.performance.Statistic;
 import com.avail.serialization.SerializerOperation;
 import com.avail.utility.IteratorNotNull;
@@ -78,6 +79,7 @@ import com.avail.utility.visitor.BeSharedSubobjectVisitor;
 import javax.annotation.Nullable;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -728,6 +730,27 @@ extends AbstractDescriptor
 		throw unsupportedOperationException();
 	}
 
+	@Override
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		throw unsupportedOperationException();
+	}
+
+	@Override
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		throw unsupportedOperationException();
+	}
+
 	@Override
 	List<A_Definition> o_FilterByTypes (
 		final AvailObject object,
@@ -1803,6 +1826,26 @@ extends AbstractDescriptor
 		throw unsupportedOperationException();
 	}
 
+	@Override
+	@Nullable L1BaselineCode o_BaselineCode (final AvailObject object)
+	{
+		throw unsupportedOperationException();
+	}
+
+	@Override
+	void o_SetBaselineCode (
+		final AvailObject object,
+		final L1BaselineCode baselineCode)
+	{
+		throw unsupportedOperationException();
+	}
+
+	@Override
+	boolean o_DecrementCountdownToBaseline (final AvailObject object)
+	{
+		throw unsupportedOperationException();
+	}
+
 	@Override
 	boolean o_IsAbstract (final AvailObject object)
 	{
@@ -2476,17 +2519,104 @@ extends AbstractDescriptor
 		return false;
 	}
 
+	/**
+	 * A {@code SubobjectWorklist} holds, for one thread, the objects whose own
+	 * mutability has already been changed, but whose subobjects have yet to be
+	 * visited.  It lets {@link #o_MakeImmutable(AvailObject)} and {@link
+	 * #o_MakeShared(AvailObject)} process deep structures (e.g., long chains
+	 * of tree tuples) with an explicit stack instead of Java recursion.
+	 */
+	private static final class SubobjectWorklist
+	{
+		/**
+		 * The objects whose subobjects have not yet been visited.  Entries
+		 * above a traversal's starting mark belong to that traversal.
+		 */
+		final ArrayDeque<AvailObject> pending = new ArrayDeque<>();
+
+		/** Whether a traversal is in progress on this thread. */
+		boolean active = false;
+	}
+
+	/** The per-thread worklist used for making objects immutable. */
+	private static final ThreadLocal<SubobjectWorklist> immutableWorklist =
+		ThreadLocal.withInitial(SubobjectWorklist::new);
+
+	/** The per-thread worklist used for making objects shared. */
+	private static final ThreadLocal<SubobjectWorklist> sharedWorklist =
+		ThreadLocal.withInitial(SubobjectWorklist::new);
+
+	/**
+	 * Visit the subobjects of the given object with the given visitor, and
+	 * likewise the subobjects of every object that gets added to the worklist
+	 * during the visit, until all of them have been processed.
+	 *
+	 * <p>If {@code mayDefer} is true and a traversal is already in progress
+	 * on this thread, simply add the object to the worklist, to be processed
+	 * by the outermost traversal before it completes.  Otherwise process the
+	 * object and everything added to the worklist on its behalf before
+	 * returning.</p>
+	 *
+	 * @param object
+	 *        The object whose subobjects should be visited.
+	 * @param worklistHolder
+	 *        The {@link ThreadLocal} holding this thread's {@link
+	 *        SubobjectWorklist}.
+	 * @param visitor
+	 *        The {@link AvailSubobjectVisitor} to apply to each subobject.
+	 * @param mayDefer
+	 *        Whether the object's subobjects may be visited after this method
+	 *        returns, as part of an enclosing traversal.
+	 */
+	private static void visitSubobjectsIteratively (
+		final AvailObject object,
+		final ThreadLocal<SubobjectWorklist> worklistHolder,
+		final AvailSubobjectVisitor visitor,
+		final boolean mayDefer)
+	{
+		final SubobjectWorklist worklist = worklistHolder.get();
+		final ArrayDeque<AvailObject> pending = worklist.pending;
+		if (mayDefer && worklist.active)
+		{
+			pending.push(object);
+			return;
+		}
+		final boolean wasActive = worklist.active;
+		final int mark = pending.size();
+		worklist.active = true;
+		try
+		{
+			object.scanSubobjects(visitor);
+			while (pending.size() > mark)
+			{
+				pending.pop().scanSubobjects(visitor);
+			}
+		}
+		finally
+		{
+			while (pending.size() > mark)
+			{
+				pending.pop();
+			}
+			worklist.active = wasActive;
+		}
+	}
+
 	@Override
 	AvailObject o_MakeImmutable (final AvailObject object)
 	{
-		// Make the object immutable. If I was mutable I have to scan my
-		// children and make them immutable as well (recursively down to
+		// Make the object immutable. If I was mutable I have to visit my
+		// children and make them immutable as well (iteratively down to
 		// immutable descendants).
 		if (isMutable())
 		{
 			//noinspection NonAtomicOperationOnVolatileField
 			object.descriptor = object.descriptor.immutable();
-			object.makeSubobjectsImmutable();
+			visitSubobjectsIteratively(
+				object,
+				immutableWorklist,
+				BeImmutableSubobjectVisitor.instance,
+				true);
 		}
 		return object;
 	}
@@ -2494,14 +2624,18 @@ extends AbstractDescriptor
 	@Override
 	AvailObject o_MakeShared (final AvailObject object)
 	{
-		// Make the object shared. If I wasn't shared I have to scan my
-		// children and make them shared as well (recursively down to
-		// shared descendants).
+		// Make the object shared. If I wasn't shared I have to visit my
+		// children and make them shared as well (iteratively down to shared
+		// descendants).
 		if (!isShared())
 		{
 			//noinspection NonAtomicOperationOnVolatileField
 			object.descriptor = object.descriptor.shared();
-			object.makeSubobjectsShared();
+			visitSubobjectsIteratively(
+				object,
+				sharedWorklist,
+				BeSharedSubobjectVisitor.instance,
+				true);
 		}
 		return object;
 	}
@@ -2514,12 +2648,15 @@ extends AbstractDescriptor
 	 * Also, ignore my mutability state, as it should be tested (and sometimes
 	 * set preemptively to immutable) prior to invoking this method.
 	 * </p>
-	 * @return
 	 */
 	@Override
 	final AvailObject o_MakeSubobjectsImmutable (final AvailObject object)
 	{
-		object.scanSubobjects(BeImmutableSubobjectVisitor.instance);
+		visitSubobjectsIteratively(
+			object,
+			immutableWorklist,
+			BeImmutableSubobjectVisitor.instance,
+			false);
 		return object;
 	}
 
@@ -2535,7 +2672,11 @@ extends AbstractDescriptor
 	@Override
 	final void o_MakeSubobjectsShared (final AvailObject object)
 	{
-		object.scanSubobjects(BeSharedSubobjectVisitor.instance);
+		visitSubobjectsIteratively(
+			object,
+			sharedWorklist,
+			BeSharedSubobjectVisitor.instance,
+			false);
 	}
 
 	@Override
@@ -4749,6 +4890,18 @@ extends AbstractDescriptor
 		throw unsupportedOperationException();
 	}
 
+	@Override
+	A_Map o_ModuleSeals (final AvailObject object)
+	{
+		throw unsupportedOperationException();
+	}
+
+	@Override
+	A_Set o_ModuleLexers (final AvailObject object)
+	{
+		throw unsupportedOperationException();
+	}
+
 	@Override
 	TypeTag o_ComputeTypeTag (final AvailObject object)
 	{
@@ -64,6 +64,7 @@ import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.L2Chunk;
 import com.avail.interpreter.levelTwo.operand.TypeRestriction;
 import com.avail.io.TextInterface;
+import com.avail.optimizer.jvm.L1BaselineCode;
 import com.avail.performance.Statistic;
 import com.avail.serialization.SerializerOperation;
 import com.avail.utility.IteratorNotNull;
@@ -1057,6 +1058,28 @@ extends AbstractDescriptor
 		return o_Traversed(object).extractNybbleFromTupleAt(index);
 	}
 
+	@Override
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		return o_Traversed(object).firstIndexOf(value, startIndex, endIndex);
+	}
+
+	@Override
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		return o_Traversed(object).firstMismatchFromToWithStartingAt(
+			startIndex1, endIndex1, anotherObject, startIndex2);
+	}
+
 	@Override
 	List<A_Definition> o_FilterByTypes (
 		final AvailObject object,
@@ -2269,6 +2292,26 @@ extends AbstractDescriptor
 		o_Traversed(object).decrementCountdownToReoptimize(continuation);
 	}
 
+	@Override
+	@Nullable L1BaselineCode o_BaselineCode (final AvailObject object)
+	{
+		return o_Traversed(object).baselineCode();
+	}
+
+	@Override
+	void o_SetBaselineCode (
+		final AvailObject object,
+		final L1BaselineCode baselineCode)
+	{
+		o_Traversed(object).setBaselineCode(baselineCode);
+	}
+
+	@Override
+	boolean o_DecrementCountdownToBaseline (final AvailObject object)
+	{
+		return o_Traversed(object).decrementCountdownToBaseline();
+	}
+
 	@Override
 	boolean o_IsAbstractDefinition (final AvailObject object)
 	{
@@ -4849,6 +4892,18 @@ extends AbstractDescriptor
 		return o_Traversed(object).moduleGrammaticalRestrictions();
 	}
 
+	@Override
+	A_Map o_ModuleSeals (final AvailObject object)
+	{
+		return o_Traversed(object).moduleSeals();
+	}
+
+	@Override
+	A_Set o_ModuleLexers (final AvailObject object)
+	{
+		return o_Traversed(object).moduleLexers();
+	}
+
 	@Override
 	TypeTag o_ComputeTypeTag (final AvailObject object)
 	{
@@ -196,18 +196,15 @@ extends NumericTupleDescriptor
 		{
 			return true;
 		}
-		// Compare the argument's bytes to my ints.
-		for (
-			int index1 = startIndex1, index2 = startIndex2;
-			index1 <= endIndex1;
-			index1++, index2++)
-		{
-			if (object.tupleIntAt(index1) != anIntTuple.tupleIntAt(index2))
-			{
-				return false;
-			}
-		}
-		return true;
+		// Compare the underlying bytes, eight at a time.
+		return object.firstMismatchedByte(
+				RAW_LONG_AT_,
+				(startIndex1 << 2) - 3,
+				anIntTuple.traversed(),
+				RAW_LONG_AT_,
+				(startIndex2 << 2) - 3,
+				(endIndex1 - startIndex1 + 1) << 2)
+			== -1;
 	}
 
 	@Override @AvailMethod
@@ -233,15 +230,73 @@ extends NumericTupleDescriptor
 	{
 		// See comment in superclass. This method must produce the same value.
 		int hash = 0;
-		for (int index = end; index >= start; index--)
+		int index = end;
+		for (; index - 3 >= start; index -= 4)
+		{
+			hash = hashFourMoreElements(
+				hash,
+				computeHashOfInt(
+					object.intSlot(RAW_LONG_AT_, index)) ^ preToggle,
+				computeHashOfInt(
+					object.intSlot(RAW_LONG_AT_, index - 1)) ^ preToggle,
+				computeHashOfInt(
+					object.intSlot(RAW_LONG_AT_, index - 2)) ^ preToggle,
+				computeHashOfInt(
+					object.intSlot(RAW_LONG_AT_, index - 3)) ^ preToggle);
+		}
+		for (; index >= start; index--)
 		{
 			final int itemHash =
-				computeHashOfInt(object.tupleIntAt(index)) ^ preToggle;
+				computeHashOfInt(object.intSlot(RAW_LONG_AT_, index))
+					^ preToggle;
 			hash = (hash + itemHash) * multiplier;
 		}
 		return hash;
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		if (!value.isInt())
+		{
+			return 0;
+		}
+		return object.firstIndexOfElement(
+			RAW_LONG_AT_,
+			32,
+			((A_Number) value).extractInt(),
+			startIndex,
+			endIndex);
+	}
+
+	@Override @AvailMethod
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		final AvailObject traversed = anotherObject.traversed();
+		if (!(traversed.descriptor() instanceof IntTupleDescriptor))
+		{
+			return super.o_FirstMismatchFromToWithStartingAt(
+				object, startIndex1, endIndex1, anotherObject, startIndex2);
+		}
+		final int offset = object.firstMismatchedByte(
+			RAW_LONG_AT_,
+			(startIndex1 << 2) - 3,
+			traversed,
+			RAW_LONG_AT_,
+			(startIndex2 << 2) - 3,
+			(endIndex1 - startIndex1 + 1) << 2);
+		return offset == -1 ? 0 : startIndex1 + (offset >>> 2);
+	}
+
 	@Override
 	A_Tuple o_ConcatenateWith (
 		final AvailObject object,
@@ -357,9 +357,8 @@ extends Descriptor
 		final L2Chunk chunk)
 	{
 		// Record the fact that the given chunk depends on this object not
-		// changing.  Local synchronization is sufficient, since invalidation
-		// can't happen while L2 code is running (and therefore when the
-		// L2Generator could be calling this).
+		// changing.  The caller holds the L2Chunk.invalidationLock, so this
+		// can't interleave with invalidation.
 		synchronized (object)
 		{
 			final A_BasicObject pojo =
@@ -572,7 +571,7 @@ extends Descriptor
 	throws MethodDefinitionException
 	{
 		final LookupTree<A_Definition, A_Tuple, Boolean> tree =
-			object.slot(PRIVATE_TESTING_TREE).javaObjectNotNull();
+			object.volatileSlot(PRIVATE_TESTING_TREE).javaObjectNotNull();
 		final A_Tuple resultTuple =
 			runtimeDispatcher.lookupByTypes(tree, argumentTypeTuple, TRUE);
 		return MethodDefinitionException.extractUniqueMethod(resultTuple);
@@ -590,7 +589,7 @@ extends Descriptor
 	throws MethodDefinitionException
 	{
 		final LookupTree<A_Definition, A_Tuple, Boolean> tree =
-			object.slot(PRIVATE_TESTING_TREE).javaObjectNotNull();
+			object.volatileSlot(PRIVATE_TESTING_TREE).javaObjectNotNull();
 		final A_Tuple results =
 			runtimeDispatcher.lookupByValues(tree, argumentList, TRUE);
 		return MethodDefinitionException.extractUniqueMethod(results);
@@ -614,7 +613,7 @@ extends Descriptor
 		final A_Tuple argumentPhraseTuple)
 	{
 		final LookupTree<A_Definition, A_Tuple, Boolean> tree =
-			object.slot(MACRO_TESTING_TREE).javaObjectNotNull();
+			object.volatileSlot(MACRO_TESTING_TREE).javaObjectNotNull();
 		return runtimeDispatcher.lookupByValues(
 			tree, argumentPhraseTuple, TRUE);
 	}
@@ -655,10 +654,10 @@ extends Descriptor
 		final A_Definition definition)
 	throws SignatureException
 	{
-		// Method manipulation takes place while all fibers are L1-precise and
-		// suspended.  Use a global lock at the outermost calls to side-step
-		// deadlocks.  Because no fiber is running we don't have to protect
-		// subsystems like the L2Generator from these changes.
+		// Method manipulation may take place while other fibers are running.
+		// Use a global lock at the outermost calls to side-step deadlocks.
+		// An L2Generator that is optimizing concurrently with this change will
+		// notice the dependency change count moving, and invalidate its chunk.
 		//
 		// Also create definition parsing plans for each bundle.  HOWEVER, note
 		// that we don't update the current module's message bundle tree here,
@@ -729,10 +728,10 @@ extends Descriptor
 		final A_Definition definition)
 	{
 		assert !definition.definitionModule().equalsNil();
-		// Method manipulation takes place while all fibers are L1-precise and
-		// suspended.  Use a global lock at the outermost calls to side-step
-		// deadlocks.  Because no fiber is running we don't have to protect
-		// subsystems like the L2Generator from these changes.
+		// Method manipulation may take place while other fibers are running.
+		// Use a global lock at the outermost calls to side-step deadlocks.
+		// An L2Generator that is optimizing concurrently with this change will
+		// notice the dependency change count moving, and invalidate its chunk.
 		L2Chunk.invalidationLock.lock();
 		try
 		{
@@ -836,7 +835,7 @@ extends Descriptor
 	LookupTree<A_Definition, A_Tuple, Boolean> o_TestingTree (
 		final AvailObject object)
 	{
-		return object.slot(PRIVATE_TESTING_TREE).javaObjectNotNull();
+		return object.volatileSlot(PRIVATE_TESTING_TREE).javaObjectNotNull();
 	}
 
 	@Override
@@ -967,6 +966,11 @@ extends Descriptor
 	 * {@linkplain ObjectSlots#DEPENDENT_CHUNKS_WEAK_SET_POJO dependent}
 	 * {@link L2Chunk}s.
 	 *
+	 * <p>The new lookup trees are published before the {@linkplain
+	 * L2Chunk#noteDependencyChange() dependency change} is noted, so that a
+	 * chunk whose optimization started after the count was read cannot have
+	 * been built from the old trees.</p>
+	 *
 	 * @param object The method that changed.
 	 */
 	private static void membershipChanged (final AvailObject object)
@@ -992,7 +996,7 @@ extends Descriptor
 				TupleDescriptor.toList(object.slot(DEFINITIONS_TUPLE)),
 				initialTypes,
 				TRUE);
-		object.setSlot(
+		object.setVolatileSlot(
 			PRIVATE_TESTING_TREE,
 			identityPojo(definitionsTree).makeShared());
 		final LookupTree<A_Definition, A_Tuple, Boolean> macrosTree =
@@ -1000,9 +1004,10 @@ extends Descriptor
 				TupleDescriptor.toList(object.slot(MACRO_DEFINITIONS_TUPLE)),
 				initialTypes,
 				TRUE);
-		object.setSlot(
+		object.setVolatileSlot(
 			MACRO_TESTING_TREE,
 			identityPojo(macrosTree).makeShared());
+		L2Chunk.noteDependencyChange();
 	}
 
 	/**
@@ -669,6 +669,18 @@ extends Descriptor
 		return object.slot(GRAMMATICAL_RESTRICTIONS);
 	}
 
+	@Override
+	A_Map o_ModuleSeals (final AvailObject object)
+	{
+		return object.slot(SEALS);
+	}
+
+	@Override
+	A_Set o_ModuleLexers (final AvailObject object)
+	{
+		return object.slot(LEXERS);
+	}
+
 	@Override
 	A_Set o_ModuleSemanticRestrictions (final AvailObject object)
 	{
@@ -0,0 +1,145 @@
+/*
+ * ObjectFieldInlineCache.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.descriptor;
+
+import com.avail.interpreter.levelTwo.operation.L2_GET_OBJECT_FIELD;
+import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+
+import javax.annotation.Nullable;
+
+/**
+ * An {@code ObjectFieldInlineCache} remembers, for a single field-reading site
+ * in Level Two code, the {@link ObjectLayoutVariant} most recently encountered
+ * there and the slot index at which that variant stores the field.  When the
+ * next object read at that site has the same variant – by far the common case
+ * – the field can be fetched directly from its slot, without consulting the
+ * variant's {@link ObjectLayoutVariant#fieldToSlotIndex map}.
+ *
+ * <p>The cache is monomorphic.  A site that sees a different variant simply
+ * replaces the cached entry.  Entries are immutable, so an entry written by
+ * one thread is always seen in a consistent state by another, without
+ * locking.</p>
+ *
+ * @see L2_GET_OBJECT_FIELD
+ */
+public final class ObjectFieldInlineCache
+{
+	/**
+	 * An immutable pairing of an {@link ObjectLayoutVariant} and the slot
+	 * index of the cache's field within objects of that variant.
+	 */
+	private static final class Entry
+	{
+		/** The variant for which the {@link #slotIndex} is valid. */
+		final ObjectLayoutVariant variant;
+
+		/**
+		 * The slot index of the field in objects with the {@link #variant},
+		 * or zero if the field is only present for explicit subclassing.
+		 */
+		final int slotIndex;
+
+		/**
+		 * Construct a new {@code Entry}.
+		 *
+		 * @param variant
+		 *        The {@link ObjectLayoutVariant}.
+		 * @param slotIndex
+		 *        The field's slot index within that variant.
+		 */
+		Entry (final ObjectLayoutVariant variant, final int slotIndex)
+		{
+			this.variant = variant;
+			this.slotIndex = slotIndex;
+		}
+	}
+
+	/** The field {@link A_Atom atom} that this cache reads. */
+	public final A_Atom field;
+
+	/**
+	 * The most recently encountered variant and its slot index, or {@code
+	 * null} if the site has not yet been executed.
+	 */
+	private volatile @Nullable Entry entry = null;
+
+	/**
+	 * Construct a new empty {@code ObjectFieldInlineCache}.
+	 *
+	 * @param field
+	 *        The field {@link A_Atom atom} to read.
+	 */
+	public ObjectFieldInlineCache (final A_Atom field)
+	{
+		this.field = field.makeShared();
+	}
+
+	/**
+	 * Extract the cached field from the given {@linkplain ObjectDescriptor
+	 * object}, which must be known to have that field.
+	 *
+	 * @param object
+	 *        An object that has the field.
+	 * @return The value of the field.
+	 */
+	@ReferencedInGeneratedCode
+	public AvailObject getField (final AvailObject object)
+	{
+		final AvailObject traversed = object.traversed();
+		final ObjectLayoutVariant variant =
+			((ObjectDescriptor) traversed.descriptor()).variant;
+		@Nullable Entry current = entry;
+		if (current == null || current.variant != variant)
+		{
+			// Cache miss.  Fall back to the variant's map, and remember the
+			// answer for next time.
+			final Integer slotIndex = variant.fieldToSlotIndex.get(field);
+			assert slotIndex != null
+				: "Object does not have field guaranteed by its type";
+			current = new Entry(variant, slotIndex);
+			entry = current;
+		}
+		return current.slotIndex == 0
+			? (AvailObject) field
+			: ObjectDescriptor.getField(traversed, current.slotIndex);
+	}
+
+	@Override
+	public String toString ()
+	{
+		final @Nullable Entry current = entry;
+		return "cache(" + field
+			+ (current == null ? "" : " @ variant#" + current.variant.variantId)
+			+ ")";
+	}
+}
@@ -36,8 +36,8 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.avail.descriptor.AtomDescriptor.SpecialAtom.EXPLICIT_SUBCLASSING_KEY;
 import static com.avail.descriptor.RawPojoDescriptor.identityPojo;
@@ -118,8 +118,7 @@ public final class ObjectLayoutVariant
 	 *        present in objects and object types that will use the new variant.
 	 * @param variantId
 	 *        An {@code int} unique to this variant, allocated from the
-	 *        {@link #variantsCounter} while holding the writeLock of the
-	 *        {@link #variantsLock}.
+	 *        {@link #variantsCounter}.
 	 */
 	@SuppressWarnings("ThisEscapedInObjectConstruction")
 	private ObjectLayoutVariant (final A_Set allFields, final int variantId)
@@ -156,20 +155,19 @@ public final class ObjectLayoutVariant
 			new ObjectTypeDescriptor(Mutability.SHARED, this);
 	}
 
-	/** The collection of all variants, indexed by the set of field atoms. */
+	/**
+	 * The collection of all variants, indexed by the set of field atoms.  Reads
+	 * do not lock, since variant lookup happens whenever an object or object
+	 * type is constructed.
+	 */
 	private static final Map<A_Set, ObjectLayoutVariant> allVariants =
-		new HashMap<>();
-
-	/** The lock used to protect access to the allVariants map. */
-	private static final ReadWriteLock variantsLock =
-		new ReentrantReadWriteLock();
+		new ConcurrentHashMap<>();
 
 	/**
 	 * A monotonically increasing counter for allocating a unique {@link
-	 * #variantId} for each variant.  Should only be accessed while holding
-	 * the variantsLock's writeLock.
+	 * #variantId} for each variant.
 	 */
-	private static int variantsCounter = 0;
+	private static final AtomicInteger variantsCounter = new AtomicInteger(0);
 
 	/**
 	 * Look up or create a variant for the given set of fields ({@link
@@ -177,42 +175,18 @@ public final class ObjectLayoutVariant
 	 */
 	static ObjectLayoutVariant variantForFields (final A_Set allFields)
 	{
-		variantsLock.readLock().lock();
-		try
-		{
-			final ObjectLayoutVariant variant = allVariants.get(allFields);
-			if (variant != null)
-			{
-				// By far the most likely path.
-				return variant;
-			}
-		}
-		finally
+		final ObjectLayoutVariant variant = allVariants.get(allFields);
+		if (variant != null)
 		{
-			variantsLock.readLock().unlock();
-		}
-
-		// Didn't find it while holding the read lock.  We could create it
-		// outside of the lock, then test for its presence again inside the
-		// write lock, abandoning it for the existing one if found.  Instead,
-		// hold the write lock, test again, and create and add if necessary.
-		variantsLock.writeLock().lock();
-		try
-		{
-			// Check if someone added it between our read and write locks.
-			final ObjectLayoutVariant theirVariant = allVariants.get(allFields);
-			if (theirVariant != null)
-			{
-				return theirVariant;
-			}
-			final ObjectLayoutVariant variant =
-				new ObjectLayoutVariant(allFields, ++variantsCounter);
-			allVariants.put(allFields, variant);
+			// By far the most likely path.
 			return variant;
 		}
-		finally
-		{
-			variantsLock.writeLock().unlock();
-		}
+		// Didn't find it.  Create it atomically with respect to any other
+		// thread looking up the same set of fields, so that exactly one
+		// variant exists per set of fields.
+		return allVariants.computeIfAbsent(
+			allFields,
+			fields -> new ObjectLayoutVariant(
+				fields, variantsCounter.incrementAndGet()));
 	}
 }
@@ -274,6 +274,42 @@ extends TupleDescriptor
 			object, startIndex1, endIndex1, anObjectTuple, startIndex2);
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		if (startIndex > endIndex)
+		{
+			return 0;
+		}
+		// Search each child with its own (possibly packed) representation.
+		final int startChildIndex = childSubscriptForIndex(object, startIndex);
+		final int endChildIndex = childSubscriptForIndex(object, endIndex);
+		for (
+			int childIndex = startChildIndex;
+			childIndex <= endChildIndex;
+			childIndex++)
+		{
+			final A_Tuple child = object.slot(SUBTUPLE_AT_, childIndex);
+			final int childOffset = offsetForChildSubscript(object, childIndex);
+			final int childSize = object.intSlot(
+					CUMULATIVE_SIZES_AREA_, childIndex)
+				- childOffset;
+			final int indexInChild = child.firstIndexOf(
+				value,
+				max(startIndex - childOffset, 1),
+				min(endIndex - childOffset, childSize));
+			if (indexInChild != 0)
+			{
+				return indexInChild + childOffset;
+			}
+		}
+		return 0;
+	}
+
 	/**
 	 * Hash part of the tuple object.
 	 */
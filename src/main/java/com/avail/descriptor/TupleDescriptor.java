@@ -794,6 +794,47 @@ extends Descriptor
 		return (byte) nyb;
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		// Overridden for speed in the descriptors that pack their elements.
+		for (int index = startIndex; index <= endIndex; index++)
+		{
+			if (object.tupleAt(index).equals(value))
+			{
+				return index;
+			}
+		}
+		return 0;
+	}
+
+	@Override @AvailMethod
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		// Overridden for speed in the descriptors that pack their elements,
+		// when both tuples have the same representation.
+		for (
+			int index1 = startIndex1, index2 = startIndex2;
+			index1 <= endIndex1;
+			index1++, index2++)
+		{
+			if (!object.tupleAt(index1).equals(anotherObject.tupleAt(index2)))
+			{
+				return index1;
+			}
+		}
+		return 0;
+	}
+
 	@Override @AvailMethod
 	int o_HashFromTo (
 		final AvailObject object,
@@ -1548,6 +1589,78 @@ extends Descriptor
 		return generateIntTupleFrom(list.size(), i -> list.get(i - 1));
 	}
 
+	/**
+	 * Answer the index of the first occurrence of the given subsequence within
+	 * a tuple, at or after the given index.  Candidate positions are found
+	 * with {@link A_Tuple#firstIndexOf(A_BasicObject, int, int)} and confirmed
+	 * with {@link A_Tuple#compareFromToWithStartingAt(int, int, A_Tuple, int)
+	 * compareFromToWithStartingAt}, both of which operate on many elements at
+	 * once for the packed tuple representations.
+	 *
+	 * @param tuple
+	 *        The tuple to search.
+	 * @param subsequence
+	 *        The tuple to search for.
+	 * @param startIndex
+	 *        The one-based index at which to start searching, which must be
+	 *        between 1 and the size of the tuple plus one.
+	 * @return The one-based index at which the subsequence occurs, or zero if
+	 *         it doesn't occur.
+	 */
+	public static int firstIndexOfSubsequence (
+		final A_Tuple tuple,
+		final A_Tuple subsequence,
+		final int startIndex)
+	{
+		final int subsequenceSize = subsequence.tupleSize();
+		final int lastStart = tuple.tupleSize() - subsequenceSize + 1;
+		if (subsequenceSize == 0)
+		{
+			return startIndex;
+		}
+		final AvailObject first = subsequence.tupleAt(1);
+		int index = startIndex;
+		while (index <= lastStart)
+		{
+			index = tuple.firstIndexOf(first, index, lastStart);
+			if (index == 0)
+			{
+				return 0;
+			}
+			if (subsequenceSize == 1
+				|| tuple.compareFromToWithStartingAt(
+					index + 1, index + subsequenceSize - 1, subsequence, 2))
+			{
+				return index;
+			}
+			index++;
+		}
+		return 0;
+	}
+
+	/**
+	 * Answer how many leading elements the two tuples have in common.
+	 *
+	 * @param tuple1
+	 *        A tuple.
+	 * @param tuple2
+	 *        Another tuple.
+	 * @return The length of the longest common prefix of the tuples.
+	 */
+	public static int commonPrefixLength (
+		final A_Tuple tuple1,
+		final A_Tuple tuple2)
+	{
+		final int limit = min(tuple1.tupleSize(), tuple2.tupleSize());
+		if (limit == 0)
+		{
+			return 0;
+		}
+		final int mismatch =
+			tuple1.firstMismatchFromToWithStartingAt(1, limit, tuple2, 1);
+		return mismatch == 0 ? limit : mismatch - 1;
+	}
+
 	/**
 	 * Four tables, each containing powers of {@link AvailObject#multiplier}.
 	 * The 0th table contains M^i for i=0..255, the 1st table contains M^(256*i)
@@ -1594,6 +1707,48 @@ extends Descriptor
 	 */
 	static final int preToggle = 0x71E570A6;
 
+	/** {@link AvailObject#multiplier} squared. */
+	static final int multiplierSquared = multiplier * multiplier;
+
+	/** {@link AvailObject#multiplier} cubed. */
+	static final int multiplierCubed = multiplierSquared * multiplier;
+
+	/** {@link AvailObject#multiplier} to the fourth power. */
+	static final int multiplierToTheFourth = multiplierCubed * multiplier;
+
+	/**
+	 * Fold the (pre-toggled) hashes of four consecutive elements into a
+	 * partial tuple hash, exactly as though {@code hash = (hash + itemHash) *
+	 * multiplier} had been applied to each of them, from the highest index
+	 * down.  The four products are independent, so they don't have to wait
+	 * for each other, which is what makes the bulk hash computations fast.
+	 *
+	 * @param hash
+	 *        The hash of the elements after the four.
+	 * @param itemHash4
+	 *        The pre-toggled hash of the last of the four elements.
+	 * @param itemHash3
+	 *        The pre-toggled hash of the third of the four elements.
+	 * @param itemHash2
+	 *        The pre-toggled hash of the second of the four elements.
+	 * @param itemHash1
+	 *        The pre-toggled hash of the first of the four elements.
+	 * @return The hash of the four elements followed by the elements already
+	 *         hashed.
+	 */
+	static int hashFourMoreElements (
+		final int hash,
+		final int itemHash4,
+		final int itemHash3,
+		final int itemHash2,
+		final int itemHash1)
+	{
+		return (hash + itemHash4) * multiplierToTheFourth
+			+ itemHash3 * multiplierCubed
+			+ itemHash2 * multiplierSquared
+			+ itemHash1 * multiplier;
+	}
+
 	/**
 	 * Construct a new {@code TupleDescriptor}.
 	 *
@@ -178,18 +178,15 @@ extends StringDescriptor
 		{
 			return true;
 		}
-		for (
-			int index1 = startIndex1, index2 = startIndex2;
-			index1 <= endIndex1;
-			index1++, index2++)
-		{
-			if (object.rawShortForCharacterAt(index1)
-					!= aTwoByteString.rawShortForCharacterAt(index2))
-			{
-				return false;
-			}
-		}
-		return true;
+		// Compare the underlying bytes, eight at a time.
+		return object.firstMismatchedByte(
+				RAW_LONGS_,
+				(startIndex1 << 1) - 1,
+				aTwoByteString.traversed(),
+				RAW_LONGS_,
+				(startIndex2 << 1) - 1,
+				(endIndex1 - startIndex1 + 1) << 1)
+			== -1;
 	}
 
 	@Override @AvailMethod
@@ -375,7 +372,21 @@ extends StringDescriptor
 	{
 		// See comment in superclass. This method must produce the same value.
 		int hash = 0;
-		for (int index = end; index >= start; index--)
+		int index = end;
+		for (; index - 3 >= start; index -= 4)
+		{
+			hash = hashFourMoreElements(
+				hash,
+				computeHashOfCharacterWithCodePoint(
+					object.shortSlot(RAW_LONGS_, index)) ^ preToggle,
+				computeHashOfCharacterWithCodePoint(
+					object.shortSlot(RAW_LONGS_, index - 1)) ^ preToggle,
+				computeHashOfCharacterWithCodePoint(
+					object.shortSlot(RAW_LONGS_, index - 2)) ^ preToggle,
+				computeHashOfCharacterWithCodePoint(
+					object.shortSlot(RAW_LONGS_, index - 3)) ^ preToggle);
+		}
+		for (; index >= start; index--)
 		{
 			final int itemHash =
 				computeHashOfCharacterWithCodePoint(
@@ -386,6 +397,49 @@ extends StringDescriptor
 		return hash;
 	}
 
+	@Override @AvailMethod
+	int o_FirstIndexOf (
+		final AvailObject object,
+		final A_BasicObject value,
+		final int startIndex,
+		final int endIndex)
+	{
+		if (!value.isCharacter())
+		{
+			return 0;
+		}
+		final int codePoint = ((A_Character) value).codePoint();
+		if (codePoint > 65535)
+		{
+			return 0;
+		}
+		return object.firstIndexOfElement(
+			RAW_LONGS_, 16, codePoint, startIndex, endIndex);
+	}
+
+	@Override @AvailMethod
+	int o_FirstMismatchFromToWithStartingAt (
+		final AvailObject object,
+		final int startIndex1,
+		final int endIndex1,
+		final A_Tuple anotherObject,
+		final int startIndex2)
+	{
+		if (!anotherObject.isTwoByteString())
+		{
+			return super.o_FirstMismatchFromToWithStartingAt(
+				object, startIndex1, endIndex1, anotherObject, startIndex2);
+		}
+		final int offset = object.firstMismatchedByte(
+			RAW_LONGS_,
+			(startIndex1 << 1) - 1,
+			anotherObject.traversed(),
+			RAW_LONGS_,
+			(startIndex2 << 1) - 1,
+			(endIndex1 - startIndex1 + 1) << 1);
+		return offset == -1 ? 0 : startIndex1 + (offset >>> 1);
+	}
+
 	@Override
 	Object o_MarshalToJava (
 		final AvailObject object,
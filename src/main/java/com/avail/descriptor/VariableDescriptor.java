@@ -198,10 +198,15 @@ extends Descriptor
 		return object.slot(VALUE);
 	}
 
-	@SuppressWarnings("ThrowsRuntimeException")
-	@Override @AvailMethod
-	AvailObject o_GetValue (final AvailObject object)
-	throws VariableGetException
+	/**
+	 * If {@linkplain Interpreter#traceVariableReadsBeforeWrites() variable
+	 * read tracing} is enabled, then {@linkplain
+	 * A_Fiber#recordVariableAccess(A_Variable, boolean) record the read}.
+	 *
+	 * @param object
+	 *        The variable.
+	 */
+	static void handleVariableReadTracing (final AvailObject object)
 	{
 		try
 		{
@@ -216,6 +221,14 @@ extends Descriptor
 		{
 			// No implementation required.
 		}
+	}
+
+	@SuppressWarnings("ThrowsRuntimeException")
+	@Override @AvailMethod
+	AvailObject o_GetValue (final AvailObject object)
+	throws VariableGetException
+	{
+		handleVariableReadTracing(object);
 		// Answer the current value of the variable. Fail if no value is
 		// currently assigned.
 		final AvailObject value = object.slot(VALUE);
@@ -233,19 +246,7 @@ extends Descriptor
 	@Override @AvailMethod
 	boolean o_HasValue (final AvailObject object)
 	{
-		try
-		{
-			final Interpreter interpreter = Interpreter.current();
-			if (interpreter.traceVariableReadsBeforeWrites())
-			{
-				final A_Fiber fiber = interpreter.fiber();
-				fiber.recordVariableAccess(object, true);
-			}
-		}
-		catch (final ClassCastException e)
-		{
-			// No implementation required.
-		}
+		handleVariableReadTracing(object);
 		final AvailObject value = object.slot(VALUE);
 		return !value.equalsNil();
 	}
@@ -286,7 +287,7 @@ extends Descriptor
 	 *         write reactors.
 	 */
 	@SuppressWarnings("ThrowsRuntimeException")
-	private static void handleVariableWriteTracing (final AvailObject object)
+	final void handleVariableWriteTracing (final AvailObject object)
 	throws VariableSetException
 	{
 		try
@@ -299,20 +300,7 @@ extends Descriptor
 			}
 			else
 			{
-				final AvailObject rawPojo = object.slot(WRITE_REACTORS);
-				if (!rawPojo.equalsNil())
-				{
-					final Map<A_Atom, VariableAccessReactor> writeReactors =
-						rawPojo.javaObjectNotNull();
-					discardInvalidWriteReactors(writeReactors);
-					// If there are write reactors, but write tracing isn't
-					// active, then raise an exception.
-					if (!writeReactors.isEmpty())
-					{
-						throw new VariableSetException(
-							E_OBSERVED_VARIABLE_WRITTEN_WHILE_UNTRACED);
-					}
-				}
+				checkWriteReactors(object);
 			}
 		}
 		catch (final ClassCastException e)
@@ -321,6 +309,36 @@ extends Descriptor
 		}
 	}
 
+	/**
+	 * If the variable has any valid {@linkplain VariableAccessReactor write
+	 * reactors}, then raise an {@linkplain VariableSetException exception}
+	 * with {@link AvailErrorCode#E_OBSERVED_VARIABLE_WRITTEN_WHILE_UNTRACED}
+	 * as the error code.  Discard any invalid write reactors along the way.
+	 *
+	 * @param object
+	 *        The variable.
+	 * @throws VariableSetException
+	 *         If the variable has write reactors.
+	 */
+	void checkWriteReactors (final AvailObject object)
+	throws VariableSetException
+	{
+		final AvailObject rawPojo = object.slot(WRITE_REACTORS);
+		if (!rawPojo.equalsNil())
+		{
+			final Map<A_Atom, VariableAccessReactor> writeReactors =
+				rawPojo.javaObjectNotNull();
+			discardInvalidWriteReactors(writeReactors);
+			// If there are write reactors, but write tracing isn't active,
+			// then raise an exception.
+			if (!writeReactors.isEmpty())
+			{
+				throw new VariableSetException(
+					E_OBSERVED_VARIABLE_WRITTEN_WHILE_UNTRACED);
+			}
+		}
+	}
+
 	@Override @AvailMethod
 	void o_SetValue (final AvailObject object, final A_BasicObject newValue)
 	throws VariableSetException
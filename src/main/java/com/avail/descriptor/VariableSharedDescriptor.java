@@ -50,11 +50,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.extendedIntegers;
 import static com.avail.descriptor.NilDescriptor.nil;
 import static com.avail.descriptor.RawPojoDescriptor.identityPojo;
 import static com.avail.descriptor.VariableSharedDescriptor.IntegerSlots.HASH_ALWAYS_SET;
 import static com.avail.descriptor.VariableSharedDescriptor.IntegerSlots.HASH_AND_MORE;
 import static com.avail.descriptor.VariableSharedDescriptor.ObjectSlots.*;
+import static com.avail.exceptions.AvailErrorCode.E_CANNOT_READ_UNASSIGNED_VARIABLE;
+import static com.avail.exceptions.AvailErrorCode.E_CANNOT_STORE_INCORRECTLY_TYPED_VALUE;
 import static java.util.Collections.newSetFromMap;
 import static java.util.Collections.synchronizedSet;
 
@@ -183,7 +186,7 @@ extends VariableDescriptor
 			Interpreter.current().availLoaderOrNull();
 		if (loader != null
 			&& loader.statementCanBeSummarized()
-			&& !object.slot(VALUE).equalsNil()
+			&& !object.volatileSlot(VALUE).equalsNil()
 			&& !object.valueWasStablyComputed())
 		{
 			loader.statementCanBeSummarized(false);
@@ -200,10 +203,7 @@ extends VariableDescriptor
 	AvailObject o_Value (final AvailObject object)
 	{
 		recordReadFromSharedVariable(object);
-		synchronized (object)
-		{
-			return super.o_Value(object);
-		}
+		return object.volatileSlot(VALUE);
 	}
 
 	@Override @AvailMethod
@@ -211,70 +211,99 @@ extends VariableDescriptor
 		throws VariableGetException
 	{
 		recordReadFromSharedVariable(object);
-		synchronized (object)
+		handleVariableReadTracing(object);
+		final AvailObject value = object.volatileSlot(VALUE);
+		if (value.equalsNil())
 		{
-			return super.o_GetValue(object);
+			throw new VariableGetException(E_CANNOT_READ_UNASSIGNED_VARIABLE);
 		}
+		return value;
 	}
 
 	@Override @AvailMethod
 	boolean o_HasValue (final AvailObject object)
 	{
 		recordReadFromSharedVariable(object);
-		synchronized (object)
-		{
-			return super.o_HasValue(object);
-		}
+		handleVariableReadTracing(object);
+		return !object.volatileSlot(VALUE).equalsNil();
+	}
+
+	/**
+	 * Store the given value into the shared variable, which has already been
+	 * checked for write tracing, write reactors, and type safety.  Subclasses
+	 * may override this to impose additional constraints on the update, which
+	 * must remain atomic.
+	 *
+	 * @param object
+	 *        The shared variable.
+	 * @param newValue
+	 *        The new {@linkplain Mutability#SHARED shared} value.
+	 * @throws VariableSetException
+	 *         If the subclass disallows the update.
+	 */
+	void storeValue (final AvailObject object, final AvailObject newValue)
+		throws VariableSetException
+	{
+		object.setVolatileSlot(VALUE, newValue);
 	}
 
 	@Override @AvailMethod
 	void o_SetValue (final AvailObject object, final A_BasicObject newValue)
 		throws VariableSetException
 	{
-		synchronized (object)
+		handleVariableWriteTracing(object);
+		final A_Type outerKind = object.slot(KIND);
+		if (!newValue.isInstanceOf(outerKind.writeType()))
 		{
-			super.o_SetValue(object, newValue.makeShared());
+			throw new VariableSetException(
+				E_CANNOT_STORE_INCORRECTLY_TYPED_VALUE);
 		}
+		storeValue(object, newValue.makeShared());
 		recordWriteToSharedVariable();
 	}
 
-	protected void bypass_VariableDescriptor_SetValue (
-		final AvailObject object, final A_BasicObject newValue)
-	{
-		super.o_SetValue(object, newValue);
-	}
-
 	@Override @AvailMethod
 	void o_SetValueNoCheck (
 		final AvailObject object,
 		final A_BasicObject newValue)
 	{
-		synchronized (object)
-		{
-			super.o_SetValueNoCheck(object, newValue.makeShared());
-		}
+		assert !newValue.equalsNil();
+		handleVariableWriteTracing(object);
+		storeValue(object, newValue.makeShared());
 		recordWriteToSharedVariable();
 	}
 
-	protected void bypass_VariableDescriptor_SetValueNoCheck (
-		final AvailObject object, final A_BasicObject newValue)
-	{
-		super.o_SetValueNoCheck(object, newValue);
-	}
-
 	@Override @AvailMethod
 	AvailObject o_GetAndSetValue (
 			final AvailObject object,
 			final A_BasicObject newValue)
 		throws VariableGetException, VariableSetException
 	{
-		// Because the separate read and write operations are performed within
-		// the critical section, atomicity is ensured.
 		try
 		{
-			synchronized (object)
+			handleVariableWriteTracing(object);
+			final AvailObject outerKind = object.slot(KIND);
+			if (!newValue.isInstanceOf(outerKind.writeType()))
+			{
+				throw new VariableSetException(
+					E_CANNOT_STORE_INCORRECTLY_TYPED_VALUE);
+			}
+			final AvailObject sharedNewValue = newValue.makeShared();
+			// Retry until the swap succeeds.  Atomicity is ensured by the
+			// compare-and-set of the value slot.
+			while (true)
 			{
-				return super.o_GetAndSetValue(object, newValue.makeShared());
+				final AvailObject value = object.volatileSlot(VALUE);
+				if (value.equalsNil())
+				{
+					throw new VariableGetException(
+						E_CANNOT_READ_UNASSIGNED_VARIABLE);
+				}
+				if (object.compareAndSetVolatileSlot(
+					VALUE, value, sharedNewValue))
+				{
+					return value;
+				}
 			}
 		}
 		finally
@@ -290,14 +319,36 @@ extends VariableDescriptor
 		final A_BasicObject newValue)
 	throws VariableGetException, VariableSetException
 	{
-		// Because the separate read, compare, and write operations are all
-		// performed within the critical section, atomicity is ensured.
 		try
 		{
-			synchronized (object)
+			handleVariableWriteTracing(object);
+			final AvailObject outerKind = object.slot(KIND);
+			if (!newValue.isInstanceOf(outerKind.writeType()))
+			{
+				throw new VariableSetException(
+					E_CANNOT_STORE_INCORRECTLY_TYPED_VALUE);
+			}
+			final AvailObject sharedNewValue = newValue.makeShared();
+			// The value slot may be replaced by an equal value between the
+			// comparison and the compare-and-set, so retry until the
+			// comparison is made against the value actually replaced.
+			while (true)
 			{
-				return super.o_CompareAndSwapValues(
-					object, reference, newValue.makeShared());
+				final AvailObject value = object.volatileSlot(VALUE);
+				if (value.equalsNil())
+				{
+					throw new VariableGetException(
+						E_CANNOT_READ_UNASSIGNED_VARIABLE);
+				}
+				if (!value.equals(reference))
+				{
+					return false;
+				}
+				if (object.compareAndSetVolatileSlot(
+					VALUE, value, sharedNewValue))
+				{
+					return true;
+				}
 			}
 		}
 		finally
@@ -312,13 +363,32 @@ extends VariableDescriptor
 		final A_Number addend)
 	throws VariableGetException, VariableSetException
 	{
-		// Because the separate read and write operations are all performed
-		// within the critical section, atomicity is ensured.
 		try
 		{
-			synchronized (object)
+			handleVariableWriteTracing(object);
+			final A_Type outerKind = object.slot(KIND);
+			assert outerKind.readType().isSubtypeOf(extendedIntegers());
+			// Retry the addition until the sum is stored over the value that
+			// it was computed from.
+			while (true)
 			{
-				return super.o_FetchAndAddValue(object, addend.makeShared());
+				final AvailObject value = object.volatileSlot(VALUE);
+				if (value.equalsNil())
+				{
+					throw new VariableGetException(
+						E_CANNOT_READ_UNASSIGNED_VARIABLE);
+				}
+				final A_Number newValue = value.plusCanDestroy(addend, false);
+				if (!newValue.isInstanceOf(outerKind.writeType()))
+				{
+					throw new VariableSetException(
+						E_CANNOT_STORE_INCORRECTLY_TYPED_VALUE);
+				}
+				if (object.compareAndSetVolatileSlot(
+					VALUE, value, newValue.makeShared()))
+				{
+					return value;
+				}
 			}
 		}
 		finally
@@ -334,12 +404,44 @@ extends VariableDescriptor
 		final A_BasicObject value)
 	throws VariableGetException, VariableSetException
 	{
-		// Because the separate read and write operations are all performed
-		// within the critical section, atomicity is ensured.
-		synchronized (object)
+		handleVariableWriteTracing(object);
+		final A_Type outerKind = object.slot(KIND);
+		final A_Type readType = outerKind.readType();
+		assert readType.isMapType();
+		if (!key.isInstanceOf(readType.keyType())
+			|| !value.isInstanceOf(readType.valueType()))
+		{
+			throw new VariableSetException(
+				E_CANNOT_STORE_INCORRECTLY_TYPED_VALUE);
+		}
+		final A_BasicObject sharedKey = key.makeShared();
+		final A_BasicObject sharedValue = value.makeShared();
+		// Retry until the extended map is stored over the map that it was
+		// computed from.  The old map is shared, so it is never destroyed.
+		while (true)
 		{
-			super.o_AtomicAddToMap(
-				object, key.makeShared(), value.makeShared());
+			final A_Map oldMap = object.volatileSlot(VALUE);
+			if (oldMap.equalsNil())
+			{
+				throw new VariableGetException(
+					E_CANNOT_READ_UNASSIGNED_VARIABLE);
+			}
+			assert oldMap.isMap();
+			if (readType.sizeRange().upperBound().equalsInt(oldMap.mapSize())
+				&& !oldMap.hasKey(sharedKey))
+			{
+				// Map is as full as the type will allow, and we're adding a
+				// key rather than replacing one.
+				throw new VariableSetException(
+					E_CANNOT_STORE_INCORRECTLY_TYPED_VALUE);
+			}
+			final A_Map newMap =
+				oldMap.mapAtPuttingCanDestroy(sharedKey, sharedValue, false);
+			if (object.compareAndSetVolatileSlot(
+				VALUE, oldMap, newMap.makeShared()))
+			{
+				return;
+			}
 		}
 	}
 
@@ -349,20 +451,40 @@ extends VariableDescriptor
 		final A_BasicObject key)
 	throws VariableGetException
 	{
-		synchronized (object)
+		handleVariableWriteTracing(object);
+		final A_Map oldMap = object.volatileSlot(VALUE);
+		if (oldMap.equalsNil())
 		{
-			return super.o_VariableMapHasKey(object, key);
+			throw new VariableGetException(E_CANNOT_READ_UNASSIGNED_VARIABLE);
 		}
+		return oldMap.hasKey(key);
 	}
 
 	@Override @AvailMethod
 	void o_ClearValue (final AvailObject object)
 	{
-		synchronized (object)
+		handleVariableWriteTracing(object);
+		object.setVolatileSlot(VALUE, nil);
+		recordWriteToSharedVariable();
+	}
+
+	/**
+	 * Write reactors are only added and removed while holding the variable's
+	 * monitor, so hold it while checking them.  Since the reactor map, once
+	 * created, is never removed, the common case of a variable without write
+	 * reactors needs no lock.
+	 */
+	@Override
+	void checkWriteReactors (final AvailObject object)
+		throws VariableSetException
+	{
+		if (!object.volatileSlot(WRITE_REACTORS).equalsNil())
 		{
-			super.o_ClearValue(object);
+			synchronized (object)
+			{
+				super.checkWriteReactors(object);
+			}
 		}
-		recordWriteToSharedVariable();
 	}
 
 	/**
@@ -375,9 +497,8 @@ extends VariableDescriptor
 		final L2Chunk chunk)
 	{
 		// Record the fact that the given chunk depends on this object not
-		// changing.  Local synchronization is sufficient, since invalidation
-		// can't happen while L2 code is running (and therefore when the
-		// L2Generator could be calling this).
+		// changing.  The caller holds the L2Chunk.invalidationLock, so this
+		// can't interleave with invalidation.
 		synchronized (object)
 		{
 			final A_BasicObject pojo =
@@ -435,6 +556,9 @@ extends VariableDescriptor
 			// The chunk invalidations should have removed all dependencies.
 			assert originalSet.isEmpty();
 		}
+		// Note the change only after the invalidations, so that a chunk being
+		// optimized concurrently either sees them or is discarded.
+		L2Chunk.noteDependencyChange();
 	}
 
 	/**
@@ -192,16 +192,12 @@ extends VariableSharedDescriptor
 	void o_SetValue (final AvailObject object, final A_BasicObject newValue)
 		throws VariableSetException
 	{
-		synchronized (object)
+		if (writeOnce && object.hasValue())
 		{
-			if (writeOnce && object.hasValue())
-			{
-				throw new VariableSetException(
-					AvailErrorCode.E_CANNOT_OVERWRITE_WRITE_ONCE_VARIABLE);
-			}
-			bypass_VariableDescriptor_SetValue(object, newValue.makeShared());
+			throw new VariableSetException(
+				AvailErrorCode.E_CANNOT_OVERWRITE_WRITE_ONCE_VARIABLE);
 		}
-		recordWriteToSharedVariable();
+		super.o_SetValue(object, newValue);
 	}
 
 	@Override @AvailMethod
@@ -209,17 +205,28 @@ extends VariableSharedDescriptor
 		final AvailObject object,
 		final A_BasicObject newValue)
 	{
-		synchronized (object)
+		if (writeOnce && object.hasValue())
 		{
-			if (writeOnce && object.hasValue())
-			{
-				throw new VariableSetException(
-					AvailErrorCode.E_CANNOT_OVERWRITE_WRITE_ONCE_VARIABLE);
-			}
-			bypass_VariableDescriptor_SetValueNoCheck(
-				object, newValue.makeShared());
+			throw new VariableSetException(
+				AvailErrorCode.E_CANNOT_OVERWRITE_WRITE_ONCE_VARIABLE);
+		}
+		super.o_SetValueNoCheck(object, newValue);
+	}
+
+	@Override
+	void storeValue (final AvailObject object, final AvailObject newValue)
+		throws VariableSetException
+	{
+		if (!writeOnce)
+		{
+			super.storeValue(object, newValue);
+		}
+		else if (!object.compareAndSetVolatileSlot(VALUE, nil, newValue))
+		{
+			// Another fiber initialized the variable after the check above.
+			throw new VariableSetException(
+				AvailErrorCode.E_CANNOT_OVERWRITE_WRITE_ONCE_VARIABLE);
 		}
-		recordWriteToSharedVariable();
 	}
 
 	@Override @AvailMethod
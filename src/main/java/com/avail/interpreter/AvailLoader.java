@@ -48,8 +48,10 @@ import com.avail.exceptions.SignatureException;
 import com.avail.interpreter.effects.LoadingEffect;
 import com.avail.interpreter.effects.LoadingEffectToAddDefinition;
 import com.avail.interpreter.effects.LoadingEffectToRunPrimitive;
+import com.avail.interpreter.levelTwo.L2Chunk;
 import com.avail.interpreter.primitive.bootstrap.lexing.*;
 import com.avail.io.TextInterface;
+import com.avail.utility.Locks.Auto;
 import com.avail.utility.Mutable;
 import com.avail.utility.MutableInt;
 import com.avail.utility.MutableOrNull;
@@ -97,6 +99,7 @@ import static com.avail.descriptor.StringDescriptor.formatString;
 import static com.avail.descriptor.TupleDescriptor.emptyTuple;
 import static com.avail.exceptions.AvailErrorCode.*;
 import static com.avail.interpreter.AvailLoader.Phase.*;
+import static com.avail.utility.Locks.auto;
 import static com.avail.utility.Locks.lockWhile;
 import static com.avail.utility.Locks.lockWhileNullable;
 import static com.avail.utility.Nulls.stripNull;
@@ -185,10 +188,10 @@ public final class AvailLoader
 		 * information for this loader, but also the specified atom's bundle's
 		 * method and the current module.
 		 *
-		 * <p>This must be called as an L1-safe task, which precludes execution
-		 * of Avail code while it's running.  That does not preclude other
-		 * non-Avail code from running (i.e., other L1-safe tasks), so this
-		 * method is synchronized to achieve that.</p>
+		 * <p>Avail code and other loaders may be running concurrently, so this
+		 * method is synchronized.  Installing the lexer in its method and
+		 * module involves no check against existing state, and those objects
+		 * guard their own updates.</p>
 		 *
 		 * @param lexer
 		 *        The {@link A_Lexer} to add.
@@ -818,28 +821,21 @@ public final class AvailLoader
 	public A_Set pendingForwards = emptySet();
 
 	/**
-	 * The given forward is in the process of being resolved. A real definition
-	 * is about to be added to the method tables, so remove the forward now.
+	 * The given forward has just been replaced in its method by a real
+	 * definition, so stop tracking it.
 	 *
 	 * @param forwardDefinition A forward declaration.
 	 */
 	private void removeForward (
 		final A_Definition forwardDefinition)
 	{
-		final A_Method method = forwardDefinition.definitionMethod();
 		if (!pendingForwards.hasElement(forwardDefinition))
 		{
 			error("Inconsistent forward declaration handling code");
 			return;
 		}
-		if (!method.includesDefinition(forwardDefinition))
-		{
-			error("Inconsistent forward declaration handling code");
-			return;
-		}
 		pendingForwards = pendingForwards.setWithoutElementCanDestroy(
 			forwardDefinition, true);
-		method.removeDefinition(forwardDefinition);
 		module.resolveForward(forwardDefinition);
 	}
 
@@ -868,8 +864,59 @@ public final class AvailLoader
 		final MessageSplitter splitter = bundle.messageSplitter();
 		splitter.checkImplementationSignature(bodySignature);
 		final A_Type bodyArgsTupleType = bodySignature.argsTupleType();
-		// Add the stubbed method definition.
+		// Add the stubbed method definition.  Loaders of other modules may be
+		// changing the same method concurrently, so check the signature and
+		// add the forward as one unit under the invalidation lock.
 		final A_Method method = bundle.bundleMethod();
+		final A_Definition newForward;
+		try (final Auto ignored = auto(L2Chunk.invalidationLock))
+		{
+			vetForward(method, bodySignature, bodyArgsTupleType);
+			// Only bother with adding and resolving forwards during
+			// compilation.
+			if (phase != EXECUTING_FOR_COMPILE)
+			{
+				return;
+			}
+			newForward = newForwardDefinition(method, module, bodySignature);
+			method.methodAddDefinition(newForward);
+		}
+		recordEffect(new LoadingEffectToAddDefinition(newForward));
+		final A_Module theModule = module;
+		final A_BundleTree root = rootBundleTree();
+		theModule.lock(() ->
+		{
+			theModule.moduleAddDefinition(newForward);
+			pendingForwards = pendingForwards.setWithElementCanDestroy(
+				newForward, true);
+			final A_DefinitionParsingPlan plan =
+				bundle.definitionParsingPlans().mapAt(newForward);
+			final A_ParsingPlanInProgress planInProgress =
+				newPlanInProgress(plan, 1);
+			root.addPlanInProgress(planInProgress);
+		});
+	}
+
+	/**
+	 * Check that a forward declaration with the given signature may be added
+	 * to the method.  The caller holds the {@link L2Chunk#invalidationLock}.
+	 *
+	 * @param method
+	 *        The {@link A_Method}.
+	 * @param bodySignature
+	 *        The forward's signature.
+	 * @param bodyArgsTupleType
+	 *        The forward's argument tuple type.
+	 * @throws SignatureException
+	 *         If the signature disagrees with existing definitions.
+	 */
+	private static void vetForward (
+		final A_Method method,
+		final A_Type bodySignature,
+		final A_Type bodyArgsTupleType)
+	throws SignatureException
+	{
+		assert L2Chunk.invalidationLock.isHeldByCurrentThread();
 		for (final A_Definition definition : method.definitionsTuple())
 		{
 			final A_Type existingType = definition.bodySignature();
@@ -897,27 +944,6 @@ public final class AvailLoader
 				}
 			}
 		}
-		// Only bother with adding and resolving forwards during compilation.
-		if (phase == EXECUTING_FOR_COMPILE)
-		{
-			final A_Definition newForward = newForwardDefinition(
-				method, module, bodySignature);
-			method.methodAddDefinition(newForward);
-			recordEffect(new LoadingEffectToAddDefinition(newForward));
-			final A_Module theModule = module;
-			final A_BundleTree root = rootBundleTree();
-			theModule.lock(() ->
-			{
-				theModule.moduleAddDefinition(newForward);
-				pendingForwards = pendingForwards.setWithElementCanDestroy(
-					newForward, true);
-				final A_DefinitionParsingPlan plan =
-					bundle.definitionParsingPlans().mapAt(newForward);
-				final A_ParsingPlanInProgress planInProgress =
-					newPlanInProgress(plan, 1);
-				root.addPlanInProgress(planInProgress);
-			});
-		}
 	}
 
 	/**
@@ -1010,88 +1036,74 @@ public final class AvailLoader
 	throws SignatureException
 	{
 		final A_Method method = newDefinition.definitionMethod();
-		final A_Type bodySignature = newDefinition.bodySignature();
-		@Nullable A_Definition forward = null;
-		for (final A_Definition existingDefinition : method.definitionsTuple())
+		final @Nullable A_Definition forward;
+		// The forward's parsing plans, captured before it leaves the method.
+		final Map<A_Bundle, A_DefinitionParsingPlan> forwardPlans =
+			new HashMap<>();
+		// Loaders of other modules may be changing the same method
+		// concurrently, so check the signature against the existing
+		// definitions, and install the new definition in place of any forward
+		// that it resolves, as one unit under the invalidation lock.
+		try (final Auto ignored = auto(L2Chunk.invalidationLock))
 		{
-			final A_Type existingType = existingDefinition.bodySignature();
-			final boolean same = existingType.argsTupleType().equals(
-				bodySignature.argsTupleType());
-			if (same)
+			forward = vetDefinition(method, newDefinition.bodySignature());
+			if (forward != null)
 			{
-				if (existingDefinition.isForwardDefinition())
-				{
-					if (existingType.returnType().equals(
-						bodySignature.returnType()))
-					{
-						forward = existingDefinition;
-					}
-					else
-					{
-						throw new SignatureException(
-							E_METHOD_RETURN_TYPE_NOT_AS_FORWARD_DECLARED);
-					}
-				}
-				else
+				if (!pendingForwards.hasElement(forward))
 				{
+					// Only this module's own forwards may be resolved here.
 					throw new SignatureException(
 						E_REDEFINED_WITH_SAME_ARGUMENT_TYPES);
 				}
-			}
-			if (existingType.acceptsArgTypesFromFunctionType(bodySignature))
-			{
-				if (!bodySignature.returnType().isSubtypeOf(
-					existingType.returnType()))
+				for (final A_Bundle bundle : method.bundles())
 				{
-					throw new SignatureException(
-						E_RESULT_TYPE_SHOULD_COVARY_WITH_ARGUMENTS);
+					forwardPlans.put(
+						bundle, bundle.definitionParsingPlans().mapAt(forward));
 				}
+				method.removeDefinition(forward);
 			}
-			if (bodySignature.acceptsArgTypesFromFunctionType(existingType))
+			try
 			{
-				if (!existingType.returnType().isSubtypeOf(
-					bodySignature.returnType()))
+				method.methodAddDefinition(newDefinition);
+			}
+			catch (final SignatureException e)
+			{
+				if (forward != null)
 				{
-					throw new SignatureException(
-						E_RESULT_TYPE_SHOULD_COVARY_WITH_ARGUMENTS);
+					try
+					{
+						method.methodAddDefinition(forward);
+					}
+					catch (final SignatureException e2)
+					{
+						assert false : "Forward was already present";
+					}
 				}
+				throw e;
 			}
 		}
 		if (phase == EXECUTING_FOR_COMPILE)
 		{
-			final @Nullable A_Definition finalForward = forward;
 			final A_Module finalModule = module;
 			finalModule.lock(() ->
 			{
 				final A_Set ancestorModules = finalModule.allAncestors();
 				final A_BundleTree root = rootBundleTree();
-				if (finalForward != null)
+				if (forward != null)
 				{
-					for (final A_Bundle bundle : method.bundles())
+					forwardPlans.forEach((bundle, plan) ->
 					{
 						if (ancestorModules.hasElement(
 							bundle.message().issuingModule()))
 						{
 							// Remove the appropriate forwarder plan from the
 							// bundle tree.
-							final A_DefinitionParsingPlan plan =
-								bundle.definitionParsingPlans()
-									.mapAt(finalForward);
 							final A_ParsingPlanInProgress planInProgress =
 								newPlanInProgress(plan, 1);
 							root.removePlanInProgress(planInProgress);
 						}
-					}
-					removeForward(finalForward);
-				}
-				try
-				{
-					method.methodAddDefinition(newDefinition);
-				}
-				catch (final SignatureException e)
-				{
-					assert false : "Signature was already vetted";
-					return;
+					});
+					removeForward(forward);
 				}
 				recordEffect(new LoadingEffectToAddDefinition(newDefinition));
 				for (final A_Bundle bundle : method.bundles())
@@ -1112,17 +1124,77 @@ public final class AvailLoader
 		}
 		else
 		{
-			try
+			module.moduleAddDefinition(newDefinition);
+		}
+	}
+
+	/**
+	 * Check that a definition with the given signature may be added to the
+	 * method, answering the forward declaration that it would resolve, if
+	 * any.  The caller holds the {@link L2Chunk#invalidationLock}.
+	 *
+	 * @param method
+	 *        The {@link A_Method}.
+	 * @param bodySignature
+	 *        The new definition's signature.
+	 * @return The forward with the same argument types, or {@code null}.
+	 * @throws SignatureException
+	 *         If the signature disagrees with existing definitions and
+	 *         forwards.
+	 */
+	private static @Nullable A_Definition vetDefinition (
+		final A_Method method,
+		final A_Type bodySignature)
+	throws SignatureException
+	{
+		assert L2Chunk.invalidationLock.isHeldByCurrentThread();
+		@Nullable A_Definition forward = null;
+		for (final A_Definition existingDefinition : method.definitionsTuple())
+		{
+			final A_Type existingType = existingDefinition.bodySignature();
+			final boolean same = existingType.argsTupleType().equals(
+				bodySignature.argsTupleType());
+			if (same)
 			{
-				method.methodAddDefinition(newDefinition);
+				if (existingDefinition.isForwardDefinition())
+				{
+					if (existingType.returnType().equals(
+						bodySignature.returnType()))
+					{
+						forward = existingDefinition;
+					}
+					else
+					{
+						throw new SignatureException(
+							E_METHOD_RETURN_TYPE_NOT_AS_FORWARD_DECLARED);
+					}
+				}
+				else
+				{
+					throw new SignatureException(
+						E_REDEFINED_WITH_SAME_ARGUMENT_TYPES);
+				}
 			}
-			catch (final SignatureException e)
+			if (existingType.acceptsArgTypesFromFunctionType(bodySignature))
 			{
-				assert false : "Signature was already vetted";
-				return;
+				if (!bodySignature.returnType().isSubtypeOf(
+					existingType.returnType()))
+				{
+					throw new SignatureException(
+						E_RESULT_TYPE_SHOULD_COVARY_WITH_ARGUMENTS);
+				}
+			}
+			if (bodySignature.acceptsArgTypesFromFunctionType(existingType))
+			{
+				if (!existingType.returnType().isSubtypeOf(
+					bodySignature.returnType()))
+				{
+					throw new SignatureException(
+						E_RESULT_TYPE_SHOULD_COVARY_WITH_ARGUMENTS);
+				}
 			}
-			module.moduleAddDefinition(newDefinition);
 		}
+		return forward;
 	}
 
 	/**
@@ -1173,21 +1245,26 @@ public final class AvailLoader
 			method, module, macroBody, prefixFunctions);
 		module.moduleAddDefinition(macroDefinition);
 		final A_Type macroBodyType = macroBody.kind();
-		for (final A_Definition existingDefinition
-			: method.macroDefinitionsTuple())
+		// Check for a clashing macro and add this one as a unit, since other
+		// modules' loaders may be changing the same method concurrently.
+		try (final Auto ignored = auto(L2Chunk.invalidationLock))
 		{
-			final A_Type existingType = existingDefinition.bodySignature();
-			final boolean same = existingType.argsTupleType().equals(
-				macroBodyType.argsTupleType());
-			if (same)
+			for (final A_Definition existingDefinition
+				: method.macroDefinitionsTuple())
 			{
-				throw new SignatureException(
-					E_REDEFINED_WITH_SAME_ARGUMENT_TYPES);
+				final A_Type existingType = existingDefinition.bodySignature();
+				final boolean same = existingType.argsTupleType().equals(
+					macroBodyType.argsTupleType());
+				if (same)
+				{
+					throw new SignatureException(
+						E_REDEFINED_WITH_SAME_ARGUMENT_TYPES);
+				}
+				// Note: Macro definitions don't have to satisfy a covariance
+				// relationship with their result types, since they're static.
 			}
-			// Note: Macro definitions don't have to satisfy a covariance
-			// relationship with their result types, since they're static.
+			method.methodAddDefinition(macroDefinition);
 		}
-		method.methodAddDefinition(macroDefinition);
 		if (phase == EXECUTING_FOR_COMPILE)
 		{
 			recordEffect(new LoadingEffectToAddDefinition(macroDefinition));
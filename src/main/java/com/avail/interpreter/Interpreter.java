@@ -1507,6 +1507,21 @@ public final class Interpreter
 			|| fiber().interruptRequestFlag(REIFICATION_REQUESTED);
 	}
 
+	/**
+	 * Answer whether the {@link L2Chunk} that is currently running is still
+	 * {@linkplain L2Chunk#isValid() valid}.  Since definitions may change
+	 * while fibers are running, a chunk checks this before each call site
+	 * whose dispatch it resolved during optimization.
+	 *
+	 * @return {@code true} if the running chunk is valid, {@code false}
+	 *         otherwise.
+	 */
+	@ReferencedInGeneratedCode
+	public boolean isRunningChunkValid ()
+	{
+		return stripNull(chunk).isValid();
+	}
+
 	/**
 	 * The {@linkplain #fiber() current} {@linkplain FiberDescriptor fiber} has
 	 * been asked to pause for an inter-nybblecode interrupt for some reason. It
@@ -1930,7 +1945,9 @@ public final class Interpreter
 		chunk = savedChunk;
 		returnNow = false;
 		assert !exitNow;
-		return reifier;
+		return reifier != null || savedChunk.isValid()
+			? reifier
+			: deoptimizeOnReturn();
 	}
 
 	/**
@@ -1961,7 +1978,9 @@ public final class Interpreter
 		chunk = savedChunk;
 		returnNow = false;
 		assert !exitNow;
-		return reifier;
+		return reifier != null || savedChunk.isValid()
+			? reifier
+			: deoptimizeOnReturn();
 	}
 
 	/**
@@ -1996,7 +2015,9 @@ public final class Interpreter
 		chunk = savedChunk;
 		returnNow = false;
 		assert !exitNow;
-		return reifier;
+		return reifier != null || savedChunk.isValid()
+			? reifier
+			: deoptimizeOnReturn();
 	}
 
 	/**
@@ -2035,7 +2056,9 @@ public final class Interpreter
 		chunk = savedChunk;
 		returnNow = false;
 		assert !exitNow;
-		return reifier;
+		return reifier != null || savedChunk.isValid()
+			? reifier
+			: deoptimizeOnReturn();
 	}
 
 	/**
@@ -2065,7 +2088,43 @@ public final class Interpreter
 		chunk = savedChunk;
 		returnNow = false;
 		assert !exitNow;
-		return reifier;
+		return reifier != null || savedChunk.isValid()
+			? reifier
+			: deoptimizeOnReturn();
+	}
+
+	/**
+	 * {@link Statistic} for reifying the stack because a call returned into an
+	 * {@link L2Chunk} that was invalidated during the call.
+	 */
+	private static final Statistic deoptimizeOnReturnStat = new Statistic(
+		"Deoptimize on return into invalid chunk",
+		StatisticReport.REIFICATIONS);
+
+	/**
+	 * A call has just returned normally into an {@link L2Chunk} that was
+	 * {@linkplain L2Chunk#invalidate(Statistic) invalidated} while the call was
+	 * in progress.  The chunk may have been optimized on the basis of the
+	 * definitions that have since changed, so it must not continue.  Answer a
+	 * {@link StackReifier} that reifies the caller's frame (and every other
+	 * unreified frame), and then returns the call's result into that frame.
+	 * Since the resumed frame's chunk is invalid, the result is delivered into
+	 * the {@link L2Chunk#unoptimizedChunk} instead.
+	 *
+	 * @return The {@code StackReifier}.
+	 */
+	private StackReifier deoptimizeOnReturn ()
+	{
+		final AvailObject result = latestResult();
+		return new StackReifier(
+			true,
+			unreifiedCallDepth(),
+			deoptimizeOnReturnStat,
+			() ->
+			{
+				latestResult(result);
+				returnNow = true;
+			});
 	}
 
 	/**
@@ -2086,14 +2145,12 @@ public final class Interpreter
 		function = aFunction;
 		final A_RawFunction code = aFunction.code();
 		assert code.numArgs() == argsBuffer.size();
+		// The starting chunk is never answered once it has been invalidated.
+		// It may still be invalidated while it runs, since invalidation can
+		// happen concurrently, but then it will be deoptimized when a call
+		// returns into it, and existing continuations that refer to it always
+		// check for validity when they're re-entered.
 		chunk = code.startingChunk();
-		// Note that a chunk can only be invalidated by a method change, which
-		// can only happen when all fibers are suspended (level-one safe zone),
-		// so this test is entirely stable.  Also, the chunk will be
-		// disconnected from the L1 code during invalidation, although
-		// existing continuations will still refer to it.  Re-entry into those
-		// continuations always checks for validity.
-		assert chunk.isValid();
 		offset = 0;
 		returnNow = false;
 		return runChunk();
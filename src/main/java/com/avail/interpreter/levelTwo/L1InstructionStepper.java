@@ -48,6 +48,8 @@ import com.avail.interpreter.levelOne.L1Operation;
 import com.avail.interpreter.levelTwo.L2Chunk.ChunkEntryPoint;
 import com.avail.interpreter.levelTwo.operation.L2_INTERPRET_LEVEL_ONE;
 import com.avail.optimizer.StackReifier;
+import com.avail.optimizer.jvm.L1BaselineCode;
+import com.avail.optimizer.jvm.L1BaselineTranslator;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 import com.avail.performance.Statistic;
 import com.avail.performance.StatisticReport;
@@ -203,6 +205,11 @@ public final class L1InstructionStepper
 	 * they'll handle their own reification prior to returning here with a
 	 * suitable {@link StackReifier} (to update and return again from here).
 	 *
+	 * <p>Once the code has been run {@link L2Chunk#countdownForBaselineCode()
+	 * a few times}, it's translated by the {@link L1BaselineTranslator}, and
+	 * subsequent runs execute the resulting {@link L1BaselineCode} instead of
+	 * decoding the nybblecodes.</p>
+	 *
 	 * @return {@code null} if the current function returns normally, otherwise
 	 *         a {@link StackReifier} with which to reify the stack.
 	 */
@@ -224,6 +231,24 @@ public final class L1InstructionStepper
 				whitespaces.matcher(function.toString()).replaceAll(" "));
 		}
 		code.setUpInstructionDecoder(instructionDecoder);
+		if (!debugL1)
+		{
+			// Baseline code doesn't log each step, so don't use it while
+			// debugging.
+			@Nullable L1BaselineCode baseline = code.baselineCode();
+			if (baseline == null && code.decrementCountdownToBaseline())
+			{
+				baseline = new L1BaselineTranslator(code).translate();
+				if (baseline != null)
+				{
+					code.setBaselineCode(baseline);
+				}
+			}
+			if (baseline != null)
+			{
+				return baseline.run(this, function, code);
+			}
+		}
 		while (!instructionDecoder.atEnd())
 		{
 			final L1Operation operation = instructionDecoder.getOperation();
@@ -244,484 +269,711 @@ public final class L1InstructionStepper
 						: operation + " " + operands);
 				instructionDecoder.pc(savePc);
 			}
+			@Nullable StackReifier reifier = null;
 			switch (operation)
 			{
 				case L1_doCall:
-				{
-					final A_Bundle bundle =
-						code.literalAt(instructionDecoder.getOperand());
-					final A_Type expectedReturnType =
-						code.literalAt(instructionDecoder.getOperand());
-					final int numArgs = bundle.bundleMethod().numArgs();
-					if (debugL1)
-					{
-						Interpreter.log(
-							Interpreter.loggerDebugL1,
-							Level.FINER,
-							"{0}         L1 call ({1})",
-							interpreter.debugModeString,
-							bundle.message().atomName());
-					}
-					interpreter.argsBuffer.clear();
-					for (int i = stackp + numArgs - 1; i >= stackp; i--)
-					{
-						interpreter.argsBuffer.add(pointerAt(i));
-						pointerAtPut(i, nil);
-					}
-					stackp += numArgs;
-					// Push the expected type, which should be replaced on the
-					// stack with the actual value when the call completes
-					// (after ensuring it complies).
-					push(expectedReturnType);
-					final A_Method method = bundle.bundleMethod();
-					final A_Definition matching;
-					final long beforeLookup = captureNanos();
-					try
-					{
-						matching = method.lookupByValuesFromList(
-							interpreter.argsBuffer);
-					}
-					catch (final MethodDefinitionException e)
-					{
-						return reifyAndReportFailedLookup(
-							method, e.errorCode());
-					}
-					finally
-					{
-						final long afterLookup = captureNanos();
-						interpreter.recordDynamicLookup(
-							bundle, afterLookup - beforeLookup);
-					}
-
-					final @Nullable StackReifier reifier =
-						callMethodAfterLookup(matching);
-					if (reifier != null)
-					{
-						return reifier;
-					}
-
-					// The call returned normally, without reifications, with
-					// the resulting value in the interpreter's latestResult().
-					final AvailObject result = interpreter.latestResult();
-					if (debugL1)
-					{
-						Interpreter.log(
-							Interpreter.loggerDebugL1,
-							Level.FINER,
-							"{0}Call returned: {1}",
-							interpreter.debugModeString,
-							result.typeTag().name());
-					}
-					final @Nullable StackReifier returnCheckReifier =
-						checkReturnType(result, expectedReturnType, function);
-					if (returnCheckReifier != null)
-					{
-						// Reification is happening within the handling of
-						// the failed return type check.
-						return returnCheckReifier;
-					}
-					// The return check passed.  Fall through.
-					assert stackp <= code.numSlots();
-					// Replace the stack slot.
-					pointerAtPut(stackp, result);
+					reifier = doCall(
+						function,
+						code,
+						instructionDecoder.getOperand(),
+						instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doPushLiteral:
-				{
-					push(code.literalAt(instructionDecoder.getOperand()));
+					doPushLiteral(code, instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doPushLastLocal:
-				{
-					final int localIndex = instructionDecoder.getOperand();
-					final AvailObject local = pointerAt(localIndex);
-					assert !local.equalsNil();
-					pointerAtPut(localIndex, nil);
-					push(local);
+					doPushLastLocal(instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doPushLocal:
-				{
-					final AvailObject local =
-						pointerAt(instructionDecoder.getOperand());
-					assert !local.equalsNil();
-					push(local.makeImmutable());
+					doPushLocal(instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doPushLastOuter:
-				{
-					final int outerIndex = instructionDecoder.getOperand();
-					final A_BasicObject outer = function.outerVarAt(outerIndex);
-					assert !outer.equalsNil();
-					if (function.optionallyNilOuterVar(outerIndex))
-					{
-						push(outer);
-					}
-					else
-					{
-						push(outer.makeImmutable());
-					}
+					doPushLastOuter(function, instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doClose:
-				{
-					final int numCopiedVars = instructionDecoder.getOperand();
-					final AvailObject codeToClose =
-						code.literalAt(instructionDecoder.getOperand());
-					final A_Function newFunction =
-						createExceptOuters(codeToClose, numCopiedVars);
-					for (int i = numCopiedVars; i >= 1; i--)
-					{
-						// We don't assert assertObjectUnreachableIfMutable: on
-						// the popped outer variables because each outer
-						// variable's new reference from the function balances
-						// the lost reference from the continuation's stack.
-						// Likewise, we make them be immutable. The function
-						// itself should remain mutable at this point, otherwise
-						// the outer variables would have to makeImmutable() to
-						// be referenced by an immutable function.
-						final AvailObject value = pop();
-						assert !value.equalsNil();
-						newFunction.outerVarAtPut(i, value);
-					}
-					push(newFunction);
+					doClose(
+						code,
+						instructionDecoder.getOperand(),
+						instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doSetLocal:
-				{
-					final @Nullable StackReifier reifier =
-						setVariable(
-							pointerAt(instructionDecoder.getOperand()), pop());
-					if (reifier != null)
-					{
-						return reifier;
-					}
+					reifier = doSetLocal(instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doGetLocalClearing:
-				{
-					final A_Variable localVariable =
-						pointerAt(instructionDecoder.getOperand());
-					final Object valueOrReifier = getVariable(localVariable);
-					if (valueOrReifier instanceof StackReifier)
-					{
-						return (StackReifier) valueOrReifier;
-					}
-					final AvailObject value = (AvailObject) valueOrReifier;
-					if (localVariable.traversed().descriptor().isMutable())
-					{
-						localVariable.clearValue();
-						push(value);
-					}
-					else
-					{
-						push(value.makeImmutable());
-					}
+					reifier = doGetLocalClearing(
+						instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doPushOuter:
-				{
-					final AvailObject outer =
-						function.outerVarAt(instructionDecoder.getOperand());
-					assert !outer.equalsNil();
-					push(outer.makeImmutable());
+					doPushOuter(function, instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doPop:
-				{
-					pop();
+					doPop();
 					break;
-				}
 				case L1_doGetOuterClearing:
-				{
-					final A_Variable outerVariable =
-						function.outerVarAt(instructionDecoder.getOperand());
-					final Object valueOrReifier = getVariable(outerVariable);
-					if (valueOrReifier instanceof StackReifier)
-					{
-						return (StackReifier) valueOrReifier;
-					}
-					final AvailObject value = (AvailObject) valueOrReifier;
-					if (outerVariable.traversed().descriptor().isMutable())
-					{
-						outerVariable.clearValue();
-						push(value);
-					}
-					else
-					{
-						push(value.makeImmutable());
-					}
+					reifier = doGetOuterClearing(
+						function, instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doSetOuter:
-				{
-					final @Nullable StackReifier reifier =
-						setVariable(
-							function.outerVarAt(instructionDecoder.getOperand()),
-							pop());
-					if (reifier != null)
-					{
-						return reifier;
-					}
+					reifier = doSetOuter(
+						function, instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doGetLocal:
-				{
-					final Object valueOrReifier =
-						getVariable(pointerAt(instructionDecoder.getOperand()));
-					if (valueOrReifier instanceof StackReifier)
-					{
-						return (StackReifier) valueOrReifier;
-					}
-					final AvailObject value = (AvailObject) valueOrReifier;
-					push(value.makeImmutable());
+					reifier = doGetLocal(instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doMakeTuple:
-				{
-					final int size = instructionDecoder.getOperand();
-					switch (size)
-					{
-						case 0:
-						{
-							push(emptyTuple());
-							break;
-						}
-						case 1:
-						{
-							push(tuple(pop()));
-							break;
-						}
-						default:
-						{
-							// Less common case.
-							push(generateReversedFrom(size, ignored -> pop()));
-							break;
-						}
-					}
+					doMakeTuple(instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doGetOuter:
-				{
-					final Object valueOrReifier =
-						getVariable(function.outerVarAt(
-							instructionDecoder.getOperand()));
-					if (valueOrReifier instanceof StackReifier)
-					{
-						return (StackReifier) valueOrReifier;
-					}
-					final AvailObject value = (AvailObject) valueOrReifier;
-					push(value.makeImmutable());
+					reifier = doGetOuter(
+						function, instructionDecoder.getOperand());
 					break;
-				}
 				case L1_doExtension:
-				{
 					assert false : "Illegal dispatch nybblecode";
 					break;
-				}
 				case L1Ext_doPushLabel:
-				{
-					final int numArgs = code.numArgs();
-					assert code.primitive() == null;
-					final List<AvailObject> args = new ArrayList<>(numArgs);
-					for (int i = 1; i <= numArgs; i++)
-					{
-						final AvailObject arg = pointerAt(i);
-						assert !arg.equalsNil();
-						args.add(arg);
-					}
-					assert interpreter.chunk == unoptimizedChunk;
-
-					final A_Function savedFunction =
-						stripNull(interpreter.function);
-					final AvailObject[] savedPointers = pointers;
-					final int savedPc = instructionDecoder.pc();
-					final int savedStackp = stackp;
-
-					return interpreter.reifyThen(
-						reificationBeforeLabelCreationStat,
-						() ->
-						{
-							// The Java stack has been reified into Avail
-							// continuations.  Run this before continuing the L2
-							// interpreter.
-							interpreter.function = savedFunction;
-							interpreter.chunk = unoptimizedChunk;
-							interpreter.offset =
-								AFTER_REIFICATION.offsetInDefaultChunk;
-							pointers = savedPointers;
-							savedFunction.code().setUpInstructionDecoder(
-								instructionDecoder);
-							instructionDecoder.pc(savedPc);
-							stackp = savedStackp;
-
-							// Note that the locals are not present in the new
-							// continuation, just arguments.  The locals will be
-							// created by offsetToRestartUnoptimizedChunk()
-							// when the continuation is restarted.
-							final A_Continuation newContinuation =
-								createLabelContinuation(
-									savedFunction,
-									stripNull(interpreter.reifiedContinuation),
-									unoptimizedChunk,
-									TO_RESTART.offsetInDefaultChunk,
-									args);
-
-							// Freeze all fields of the new object, including
-							// its caller, function, and args.
-							newContinuation.makeSubobjectsImmutable();
-							// ...always a fresh copy, always mutable (uniquely
-							// owned).
-							assert newContinuation.caller().equalsNil()
-								|| !newContinuation.caller().descriptor()
-									.isMutable()
-								: "Caller should freeze because two "
-									+ "continuations can see it";
-							push(newContinuation);
-							interpreter.returnNow = false;
-							// ...and continue running the chunk.
-						});
-					// break;
-				}
+					reifier = doPushLabel(code);
+					break;
 				case L1Ext_doGetLiteral:
-				{
-					final Object valueOrReifier =
-						getVariable(
-							code.literalAt(instructionDecoder.getOperand()));
-					if (valueOrReifier instanceof StackReifier)
-					{
-						return (StackReifier) valueOrReifier;
-					}
-					final AvailObject value = (AvailObject) valueOrReifier;
-					push(value.makeImmutable());
+					reifier = doGetLiteral(
+						code, instructionDecoder.getOperand());
 					break;
-				}
 				case L1Ext_doSetLiteral:
-				{
-					setVariable(
-						code.literalAt(instructionDecoder.getOperand()), pop());
+					doSetLiteral(code, instructionDecoder.getOperand());
 					break;
-				}
 				case L1Ext_doDuplicate:
-				{
-					push(pointerAt(stackp).makeImmutable());
+					doDuplicate();
 					break;
-				}
 				case L1Ext_doPermute:
-				{
-					final A_Tuple permutation =
-						code.literalAt(instructionDecoder.getOperand());
-					final int size = permutation.tupleSize();
-					final AvailObject[] values = new AvailObject[size];
-					for (int i = 1; i <= size; i++)
-					{
-						values[permutation.tupleIntAt(i) - 1] =
-							pointerAt(stackp + size - i);
-					}
-					for (int i = 1; i <= size; i++)
-					{
-						pointerAtPut(stackp + size - i, values[i - 1]);
-					}
+					doPermute(code, instructionDecoder.getOperand());
 					break;
-				}
 				case L1Ext_doSuperCall:
-				{
-					final A_Bundle bundle =
-						code.literalAt(instructionDecoder.getOperand());
-					final A_Type expectedReturnType =
-						code.literalAt(instructionDecoder.getOperand());
-					final A_Type superUnionType =
-						code.literalAt(instructionDecoder.getOperand());
-					final int numArgs = bundle.bundleMethod().numArgs();
-					if (debugL1)
-					{
-						Interpreter.log(
-							Interpreter.loggerDebugL1,
-							Level.FINER,
-							"{0}L1 supercall: {1}",
-							interpreter.debugModeString,
-							bundle.message().atomName());
-					}
-					interpreter.argsBuffer.clear();
-					final MutableInt reversedStackp =
-						new MutableInt(stackp + numArgs);
-					final A_Tuple typesTuple =
-						generateObjectTupleFrom(
-							numArgs,
-							index -> {
-								final AvailObject arg =
-									pointerAt(--reversedStackp.value);
-								interpreter.argsBuffer.add(arg);
-								return instanceTypeOrMetaOn(arg).typeUnion(
-									superUnionType.typeAtIndex(index));
-							});
-					stackp += numArgs;
-					// Push the expected type, which should be replaced on the
-					// stack with the actual value when the call completes
-					// (after ensuring it complies).
-					push(expectedReturnType);
-					final A_Method method = bundle.bundleMethod();
-					final A_Definition matching;
-					final long beforeLookup = captureNanos();
-					try
-					{
-						matching = method.lookupByTypesFromTuple(typesTuple);
-					}
-					catch (final MethodDefinitionException e)
-					{
-						return reifyAndReportFailedLookup(
-							method, e.errorCode());
-					}
-					finally
-					{
-						final long afterLookup = captureNanos();
-						interpreter.recordDynamicLookup(
-							bundle, afterLookup - beforeLookup);
-					}
-
-					final @Nullable StackReifier reifier =
-						callMethodAfterLookup(matching);
-					if (reifier != null)
-					{
-						return reifier;
-					}
-
-					// The call returned normally, without reifications, with
-					// the resulting value in the interpreter's latestResult().
-					final AvailObject result = interpreter.latestResult();
-					if (debugL1)
-					{
-						Interpreter.log(
-							Interpreter.loggerDebugL1,
-							Level.FINER,
-							"{0}Call returned: {1}",
-							interpreter.debugModeString,
-							result.typeTag().name());
-					}
-					final @Nullable StackReifier returnCheckReifier =
-						checkReturnType(result, expectedReturnType, function);
-					if (returnCheckReifier != null)
-					{
-						// Reification is happening within the handling of
-						// the failed return type check.
-						return returnCheckReifier;
-					}
-					// The return check passed.
-					assert stackp <= code.numSlots();
-					// Replace the stack slot.
-					pointerAtPut(stackp, result);
+					reifier = doSuperCall(
+						function,
+						code,
+						instructionDecoder.getOperand(),
+						instructionDecoder.getOperand(),
+						instructionDecoder.getOperand());
 					break;
-				}
 				case L1Ext_doSetLocalSlot:
-				{
-					pointerAtPut(instructionDecoder.getOperand(), pop());
+					doSetLocalSlot(instructionDecoder.getOperand());
 					break;
-				}
+			}
+			if (reifier != null)
+			{
+				return reifier;
 			}
 		}
 		// It ran off the end of the nybblecodes, which is how a function
-		// returns in Level One.  Capture the result and return to the Java
-		// caller.
+		// returns in Level One.
+		returnFromFunction(function);
+		return null;
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doCall} instruction.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param code
+	 *        The function's {@link A_RawFunction}.
+	 * @param bundleIndex
+	 *        The index of the literal {@link A_Bundle} to invoke.
+	 * @param expectedTypeIndex
+	 *        The index of the literal expected return type.
+	 * @return {@code null} if the call returned normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doCall (
+		final AvailObject function,
+		final AvailObject code,
+		final int bundleIndex,
+		final int expectedTypeIndex)
+	{
+		final A_Bundle bundle = code.literalAt(bundleIndex);
+		final A_Type expectedReturnType = code.literalAt(expectedTypeIndex);
+		final int numArgs = bundle.bundleMethod().numArgs();
+		if (debugL1)
+		{
+			Interpreter.log(
+				Interpreter.loggerDebugL1,
+				Level.FINER,
+				"{0}         L1 call ({1})",
+				interpreter.debugModeString,
+				bundle.message().atomName());
+		}
+		interpreter.argsBuffer.clear();
+		for (int i = stackp + numArgs - 1; i >= stackp; i--)
+		{
+			interpreter.argsBuffer.add(pointerAt(i));
+			pointerAtPut(i, nil);
+		}
+		stackp += numArgs;
+		// Push the expected type, which should be replaced on the stack with
+		// the actual value when the call completes (after ensuring it
+		// complies).
+		push(expectedReturnType);
+		final A_Method method = bundle.bundleMethod();
+		final A_Definition matching;
+		final long beforeLookup = captureNanos();
+		try
+		{
+			matching = method.lookupByValuesFromList(interpreter.argsBuffer);
+		}
+		catch (final MethodDefinitionException e)
+		{
+			return reifyAndReportFailedLookup(method, e.errorCode());
+		}
+		finally
+		{
+			final long afterLookup = captureNanos();
+			interpreter.recordDynamicLookup(
+				bundle, afterLookup - beforeLookup);
+		}
+		return completeCall(function, code, matching, expectedReturnType);
+	}
+
+	/**
+	 * Invoke the definition found by a call or super call, then check the
+	 * result against the expected type and replace the expected type on the
+	 * stack with the result.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param code
+	 *        The function's {@link A_RawFunction}.
+	 * @param matching
+	 *        The {@link A_Definition} that was looked up.
+	 * @param expectedReturnType
+	 *        The expected return type.
+	 * @return {@code null} if the call returned normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	private @Nullable StackReifier completeCall (
+		final AvailObject function,
+		final AvailObject code,
+		final A_Definition matching,
+		final A_Type expectedReturnType)
+	{
+		final @Nullable StackReifier reifier = callMethodAfterLookup(matching);
+		if (reifier != null)
+		{
+			return reifier;
+		}
+
+		// The call returned normally, without reifications, with the
+		// resulting value in the interpreter's latestResult().
+		final AvailObject result = interpreter.latestResult();
+		if (debugL1)
+		{
+			Interpreter.log(
+				Interpreter.loggerDebugL1,
+				Level.FINER,
+				"{0}Call returned: {1}",
+				interpreter.debugModeString,
+				result.typeTag().name());
+		}
+		final @Nullable StackReifier returnCheckReifier =
+			checkReturnType(result, expectedReturnType, function);
+		if (returnCheckReifier != null)
+		{
+			// Reification is happening within the handling of the failed
+			// return type check.
+			return returnCheckReifier;
+		}
+		// The return check passed.
+		assert stackp <= code.numSlots();
+		// Replace the stack slot.
+		pointerAtPut(stackp, result);
+		return null;
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doPushLiteral} instruction.
+	 *
+	 * @param code
+	 *        The running {@link A_RawFunction}.
+	 * @param literalIndex
+	 *        The index of the literal to push.
+	 */
+	@ReferencedInGeneratedCode
+	public void doPushLiteral (final AvailObject code, final int literalIndex)
+	{
+		push(code.literalAt(literalIndex));
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doPushLastLocal} instruction.
+	 *
+	 * @param localIndex
+	 *        The index of the local to push and clear.
+	 */
+	@ReferencedInGeneratedCode
+	public void doPushLastLocal (final int localIndex)
+	{
+		final AvailObject local = pointerAt(localIndex);
+		assert !local.equalsNil();
+		pointerAtPut(localIndex, nil);
+		push(local);
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doPushLocal} instruction.
+	 *
+	 * @param localIndex
+	 *        The index of the local to push.
+	 */
+	@ReferencedInGeneratedCode
+	public void doPushLocal (final int localIndex)
+	{
+		final AvailObject local = pointerAt(localIndex);
+		assert !local.equalsNil();
+		push(local.makeImmutable());
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doPushLastOuter} instruction.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param outerIndex
+	 *        The index of the outer to push, and clear if possible.
+	 */
+	@ReferencedInGeneratedCode
+	public void doPushLastOuter (
+		final AvailObject function,
+		final int outerIndex)
+	{
+		final A_BasicObject outer = function.outerVarAt(outerIndex);
+		assert !outer.equalsNil();
+		if (function.optionallyNilOuterVar(outerIndex))
+		{
+			push(outer);
+		}
+		else
+		{
+			push(outer.makeImmutable());
+		}
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doClose} instruction.
+	 *
+	 * @param code
+	 *        The running {@link A_RawFunction}.
+	 * @param numCopiedVars
+	 *        The number of outers to pop into the new function.
+	 * @param codeIndex
+	 *        The index of the literal {@link A_RawFunction} to close.
+	 */
+	@ReferencedInGeneratedCode
+	public void doClose (
+		final AvailObject code,
+		final int numCopiedVars,
+		final int codeIndex)
+	{
+		final AvailObject codeToClose = code.literalAt(codeIndex);
+		final A_Function newFunction =
+			createExceptOuters(codeToClose, numCopiedVars);
+		for (int i = numCopiedVars; i >= 1; i--)
+		{
+			// We don't assert assertObjectUnreachableIfMutable: on the popped
+			// outer variables because each outer variable's new reference from
+			// the function balances the lost reference from the continuation's
+			// stack. Likewise, we make them be immutable. The function itself
+			// should remain mutable at this point, otherwise the outer
+			// variables would have to makeImmutable() to be referenced by an
+			// immutable function.
+			final AvailObject value = pop();
+			assert !value.equalsNil();
+			newFunction.outerVarAtPut(i, value);
+		}
+		push(newFunction);
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doSetLocal} instruction.
+	 *
+	 * @param localIndex
+	 *        The index of the local variable to assign.
+	 * @return {@code null} if the assignment completed normally, otherwise a
+	 *         {@link StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doSetLocal (final int localIndex)
+	{
+		return setVariable(pointerAt(localIndex), pop());
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doGetLocalClearing} instruction.
+	 *
+	 * @param localIndex
+	 *        The index of the local variable to read, and clear if possible.
+	 * @return {@code null} if the read completed normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doGetLocalClearing (final int localIndex)
+	{
+		return getVariableClearing(pointerAt(localIndex));
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doPushOuter} instruction.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param outerIndex
+	 *        The index of the outer to push.
+	 */
+	@ReferencedInGeneratedCode
+	public void doPushOuter (final AvailObject function, final int outerIndex)
+	{
+		final AvailObject outer = function.outerVarAt(outerIndex);
+		assert !outer.equalsNil();
+		push(outer.makeImmutable());
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doPop} instruction.
+	 */
+	@ReferencedInGeneratedCode
+	public void doPop ()
+	{
+		pop();
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doGetOuterClearing} instruction.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param outerIndex
+	 *        The index of the outer variable to read, and clear if possible.
+	 * @return {@code null} if the read completed normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doGetOuterClearing (
+		final AvailObject function,
+		final int outerIndex)
+	{
+		return getVariableClearing(function.outerVarAt(outerIndex));
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doSetOuter} instruction.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param outerIndex
+	 *        The index of the outer variable to assign.
+	 * @return {@code null} if the assignment completed normally, otherwise a
+	 *         {@link StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doSetOuter (
+		final AvailObject function,
+		final int outerIndex)
+	{
+		return setVariable(function.outerVarAt(outerIndex), pop());
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doGetLocal} instruction.
+	 *
+	 * @param localIndex
+	 *        The index of the local variable to read.
+	 * @return {@code null} if the read completed normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doGetLocal (final int localIndex)
+	{
+		return getVariableKeeping(pointerAt(localIndex));
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doMakeTuple} instruction.
+	 *
+	 * @param size
+	 *        The number of values to pop into the new tuple.
+	 */
+	@ReferencedInGeneratedCode
+	public void doMakeTuple (final int size)
+	{
+		switch (size)
+		{
+			case 0:
+			{
+				push(emptyTuple());
+				break;
+			}
+			case 1:
+			{
+				push(tuple(pop()));
+				break;
+			}
+			default:
+			{
+				// Less common case.
+				push(generateReversedFrom(size, ignored -> pop()));
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1_doGetOuter} instruction.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param outerIndex
+	 *        The index of the outer variable to read.
+	 * @return {@code null} if the read completed normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doGetOuter (
+		final AvailObject function,
+		final int outerIndex)
+	{
+		return getVariableKeeping(function.outerVarAt(outerIndex));
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1Ext_doPushLabel} instruction.
+	 *
+	 * @param code
+	 *        The running {@link A_RawFunction}.
+	 * @return A {@link StackReifier} with which to reify the stack before
+	 *         pushing the label.
+	 */
+	@ReferencedInGeneratedCode
+	public StackReifier doPushLabel (final AvailObject code)
+	{
+		final int numArgs = code.numArgs();
+		assert code.primitive() == null;
+		final List<AvailObject> args = new ArrayList<>(numArgs);
+		for (int i = 1; i <= numArgs; i++)
+		{
+			final AvailObject arg = pointerAt(i);
+			assert !arg.equalsNil();
+			args.add(arg);
+		}
+		assert interpreter.chunk == unoptimizedChunk;
+
+		final A_Function savedFunction = stripNull(interpreter.function);
+		final AvailObject[] savedPointers = pointers;
+		final int savedPc = instructionDecoder.pc();
+		final int savedStackp = stackp;
+
+		return interpreter.reifyThen(
+			reificationBeforeLabelCreationStat,
+			() ->
+			{
+				// The Java stack has been reified into Avail continuations.
+				// Run this before continuing the L2 interpreter.
+				interpreter.function = savedFunction;
+				interpreter.chunk = unoptimizedChunk;
+				interpreter.offset = AFTER_REIFICATION.offsetInDefaultChunk;
+				pointers = savedPointers;
+				savedFunction.code().setUpInstructionDecoder(
+					instructionDecoder);
+				instructionDecoder.pc(savedPc);
+				stackp = savedStackp;
+
+				// Note that the locals are not present in the new
+				// continuation, just arguments.  The locals will be created by
+				// offsetToRestartUnoptimizedChunk() when the continuation is
+				// restarted.
+				final A_Continuation newContinuation =
+					createLabelContinuation(
+						savedFunction,
+						stripNull(interpreter.reifiedContinuation),
+						unoptimizedChunk,
+						TO_RESTART.offsetInDefaultChunk,
+						args);
+
+				// Freeze all fields of the new object, including its caller,
+				// function, and args.
+				newContinuation.makeSubobjectsImmutable();
+				// ...always a fresh copy, always mutable (uniquely owned).
+				assert newContinuation.caller().equalsNil()
+					|| !newContinuation.caller().descriptor().isMutable()
+					: "Caller should freeze because two continuations can "
+						+ "see it";
+				push(newContinuation);
+				interpreter.returnNow = false;
+				// ...and continue running the chunk.
+			});
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1Ext_doGetLiteral} instruction.
+	 *
+	 * @param code
+	 *        The running {@link A_RawFunction}.
+	 * @param literalIndex
+	 *        The index of the literal variable to read.
+	 * @return {@code null} if the read completed normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doGetLiteral (
+		final AvailObject code,
+		final int literalIndex)
+	{
+		return getVariableKeeping(code.literalAt(literalIndex));
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1Ext_doSetLiteral} instruction.
+	 *
+	 * @param code
+	 *        The running {@link A_RawFunction}.
+	 * @param literalIndex
+	 *        The index of the literal variable to assign.
+	 */
+	@ReferencedInGeneratedCode
+	public void doSetLiteral (final AvailObject code, final int literalIndex)
+	{
+		setVariable(code.literalAt(literalIndex), pop());
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1Ext_doDuplicate} instruction.
+	 */
+	@ReferencedInGeneratedCode
+	public void doDuplicate ()
+	{
+		push(pointerAt(stackp).makeImmutable());
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1Ext_doPermute} instruction.
+	 *
+	 * @param code
+	 *        The running {@link A_RawFunction}.
+	 * @param permutationIndex
+	 *        The index of the literal permutation tuple.
+	 */
+	@ReferencedInGeneratedCode
+	public void doPermute (final AvailObject code, final int permutationIndex)
+	{
+		final A_Tuple permutation = code.literalAt(permutationIndex);
+		final int size = permutation.tupleSize();
+		final AvailObject[] values = new AvailObject[size];
+		for (int i = 1; i <= size; i++)
+		{
+			values[permutation.tupleIntAt(i) - 1] =
+				pointerAt(stackp + size - i);
+		}
+		for (int i = 1; i <= size; i++)
+		{
+			pointerAtPut(stackp + size - i, values[i - 1]);
+		}
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1Ext_doSuperCall} instruction.
+	 *
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param code
+	 *        The function's {@link A_RawFunction}.
+	 * @param bundleIndex
+	 *        The index of the literal {@link A_Bundle} to invoke.
+	 * @param expectedTypeIndex
+	 *        The index of the literal expected return type.
+	 * @param superUnionTypeIndex
+	 *        The index of the literal tuple type to union with the argument
+	 *        types for lookup.
+	 * @return {@code null} if the call returned normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable StackReifier doSuperCall (
+		final AvailObject function,
+		final AvailObject code,
+		final int bundleIndex,
+		final int expectedTypeIndex,
+		final int superUnionTypeIndex)
+	{
+		final A_Bundle bundle = code.literalAt(bundleIndex);
+		final A_Type expectedReturnType = code.literalAt(expectedTypeIndex);
+		final A_Type superUnionType = code.literalAt(superUnionTypeIndex);
+		final int numArgs = bundle.bundleMethod().numArgs();
+		if (debugL1)
+		{
+			Interpreter.log(
+				Interpreter.loggerDebugL1,
+				Level.FINER,
+				"{0}L1 supercall: {1}",
+				interpreter.debugModeString,
+				bundle.message().atomName());
+		}
+		interpreter.argsBuffer.clear();
+		final MutableInt reversedStackp = new MutableInt(stackp + numArgs);
+		final A_Tuple typesTuple =
+			generateObjectTupleFrom(
+				numArgs,
+				index -> {
+					final AvailObject arg = pointerAt(--reversedStackp.value);
+					interpreter.argsBuffer.add(arg);
+					return instanceTypeOrMetaOn(arg).typeUnion(
+						superUnionType.typeAtIndex(index));
+				});
+		stackp += numArgs;
+		// Push the expected type, which should be replaced on the stack with
+		// the actual value when the call completes (after ensuring it
+		// complies).
+		push(expectedReturnType);
+		final A_Method method = bundle.bundleMethod();
+		final A_Definition matching;
+		final long beforeLookup = captureNanos();
+		try
+		{
+			matching = method.lookupByTypesFromTuple(typesTuple);
+		}
+		catch (final MethodDefinitionException e)
+		{
+			return reifyAndReportFailedLookup(method, e.errorCode());
+		}
+		finally
+		{
+			final long afterLookup = captureNanos();
+			interpreter.recordDynamicLookup(
+				bundle, afterLookup - beforeLookup);
+		}
+		return completeCall(function, code, matching, expectedReturnType);
+	}
+
+	/**
+	 * Execute an {@link L1Operation#L1Ext_doSetLocalSlot} instruction.
+	 *
+	 * @param slotIndex
+	 *        The index of the frame slot to overwrite.
+	 */
+	@ReferencedInGeneratedCode
+	public void doSetLocalSlot (final int slotIndex)
+	{
+		pointerAtPut(slotIndex, pop());
+	}
+
+	/**
+	 * The current function has run off the end of its nybblecodes, which is
+	 * how a function returns in Level One.  Capture the result for the Java
+	 * caller.
+	 *
+	 * @param function
+	 *        The returning {@link A_Function}.
+	 */
+	@ReferencedInGeneratedCode
+	public void returnFromFunction (final AvailObject function)
+	{
 		interpreter.latestResult(pop());
 		assert stackp == pointers.length;
 		interpreter.returnNow = true;
@@ -734,6 +986,56 @@ public final class L1InstructionStepper
 				"{0}L1 return",
 				interpreter.debugModeString);
 		}
+	}
+
+	/**
+	 * Read the given variable and push its value, clearing the variable if
+	 * it's mutable and making the value immutable otherwise.
+	 *
+	 * @param variable
+	 *        The variable to read.
+	 * @return {@code null} if the read completed normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	private @Nullable StackReifier getVariableClearing (
+		final A_Variable variable)
+	{
+		final Object valueOrReifier = getVariable(variable);
+		if (valueOrReifier instanceof StackReifier)
+		{
+			return (StackReifier) valueOrReifier;
+		}
+		final AvailObject value = (AvailObject) valueOrReifier;
+		if (variable.traversed().descriptor().isMutable())
+		{
+			variable.clearValue();
+			push(value);
+		}
+		else
+		{
+			push(value.makeImmutable());
+		}
+		return null;
+	}
+
+	/**
+	 * Read the given variable and push its value, made immutable.
+	 *
+	 * @param variable
+	 *        The variable to read.
+	 * @return {@code null} if the read completed normally, otherwise a {@link
+	 *         StackReifier} with which to reify the stack.
+	 */
+	private @Nullable StackReifier getVariableKeeping (
+		final A_Variable variable)
+	{
+		final Object valueOrReifier = getVariable(variable);
+		if (valueOrReifier instanceof StackReifier)
+		{
+			return (StackReifier) valueOrReifier;
+		}
+		final AvailObject value = (AvailObject) valueOrReifier;
+		push(value.makeImmutable());
 		return null;
 	}
 
@@ -32,7 +32,6 @@
 
 package com.avail.interpreter.levelTwo;
 
-import com.avail.annotations.InnerAccess;
 import com.avail.descriptor.*;
 import com.avail.interpreter.Interpreter;
 import com.avail.interpreter.levelTwo.operation.L2_DECREMENT_COUNTER_AND_REOPTIMIZE_ON_ZERO;
@@ -45,25 +44,22 @@ import com.avail.interpreter.primitive.controlflow.P_RestartContinuationWithArgu
 import com.avail.optimizer.ExecutableChunk;
 import com.avail.optimizer.L2BasicBlock;
 import com.avail.optimizer.L2ControlFlowGraph;
+import com.avail.optimizer.L2Generator;
 import com.avail.optimizer.StackReifier;
 import com.avail.optimizer.jvm.JVMChunk;
 import com.avail.optimizer.jvm.JVMTranslator;
+import com.avail.optimizer.jvm.L1BaselineTranslator;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 import com.avail.performance.Statistic;
 import com.avail.performance.StatisticReport;
 
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.GuardedBy;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.List;
-import java.util.Set;
-import java.util.WeakHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 
 import static com.avail.AvailRuntime.currentRuntime;
@@ -73,9 +69,6 @@ import static com.avail.descriptor.SetDescriptor.emptySet;
 import static com.avail.interpreter.levelTwo.L2Chunk.ChunkEntryPoint.*;
 import static com.avail.optimizer.L1Translator.generateDefaultChunkControlFlowGraph;
 import static java.lang.String.format;
-import static java.util.Collections.newSetFromMap;
-import static java.util.Collections.synchronizedSet;
-import static java.util.stream.Collectors.toList;
 
 /**
  * A Level Two chunk represents an optimized implementation of a {@linkplain
@@ -84,21 +77,22 @@ import static java.util.stream.Collectors.toList;
  * <p>An {@link A_RawFunction} refers to the L2Chunk that it should run in its
  * place.  An {@link A_Continuation} also refers to the L2Chunk that allows the
  * continuation to be returned into, restarted, or resumed after an interrupt.
- * The {@link Generation} mechanism maintains approximate age information of
- * chunks, in particular how long it has been since a chunk was last used, so
- * that the least recently used chunks can be evicted when there are too many
- * chunks in memory.</p>
+ * The {@link L2ChunkCache} tracks how often each chunk is entered and how
+ * much memory it uses, so that the coldest chunks can be evicted when chunks
+ * use too much memory.</p>
  *
  * <p>A chunk also keeps track of the methods that it depends on, and the
  * methods keep track of which chunks depend on them.  New method definitions
- * can be added – or existing ones removed – only while all fiber execution is
- * paused.  At this time, the chunks that depend on the changed method are
- * marked as invalid.  Each {@link A_RawFunction} associated (1:1) with an
- * invalidated chunk has its {@link A_RawFunction#startingChunk()} reset to the
- * default chunk.  Existing continuations may still be referring to the invalid
- * chunk – but not Java call frames, since all fibers are paused.  When resuming
- * a continuation, its chunk's validity is immediately checked, and if it's
- * invalid, the default chunk is resumed at a suitable entry point instead.</p>
+ * can be added – or existing ones removed – while fibers continue to run.  At
+ * this time, the chunks that depend on the changed method are marked as
+ * invalid.  Each {@link A_RawFunction} associated (1:1) with an invalidated
+ * chunk has its {@link A_RawFunction#startingChunk()} reset to the default
+ * chunk.  Existing continuations and Java call frames may still be referring
+ * to the invalid chunk.  When resuming a continuation, its chunk's validity is
+ * immediately checked, and if it's invalid, the default chunk is resumed at a
+ * suitable entry point instead.  When a call returns into a Java frame of an
+ * invalid chunk, the {@link Interpreter} reifies the stack and returns into
+ * the resulting continuation, which performs the same check.</p>
  *
  * @author Mark van Gulik &lt;mark@availlang.org&gt;
  */
@@ -148,227 +142,24 @@ implements ExecutableChunk
 	private final int offsetAfterInitialTryPrimitive;
 
 	/**
-	 * An indication of how recently this chunk has been accessed, expressed as
-	 * a reference to a {@link Generation}.
+	 * The number of times this chunk has been entered since the last eviction
+	 * sweep of the {@link L2ChunkCache}.
 	 */
-	volatile @Nullable Generation generation = Generation.newest;
+	final LongAdder entryCount = new LongAdder();
 
-	public static class Generation
-	{
-		/**
-		 * The {@link Deque} of {@link Generation}s.  New ones are added with
-		 * {@link Deque#addFirst(Object)}, and older ones are removed with
-		 * {@link Deque#removeLast()} (while invalidating the contained chunks).
-		 */
-		@GuardedBy("generationsLock")
-		private static final Deque<Generation> generations = new ArrayDeque<>();
-
-		/** The lock for accessing the {@link Deque} of {@link Generation}s. */
-		private static final ReadWriteLock generationsLock =
-			new ReentrantReadWriteLock();
-
-		/**
-		 * A {@link Generation} that has not yet been added to the {@link
-		 * #generations} {@link Deque}.  When this becomes fuller than
-		 * approximately {@link #maximumNewestGenerationSize}, queue it and
-		 * create a new one.
-		 */
-		@InnerAccess static volatile Generation newest = new Generation();
-
-		/**
-		 * The maximum number of chunks to place in this generation before
-		 * creating a newer one.  If the working set of chunks is larger than
-		 * this, there is a risk of thrashing (invalidating and recompiling a
-		 * lot of {@link L2Chunk}s), which is balanced against over-consumption
-		 * of memory by chunks.
-		 */
-		private static final int maximumNewestGenerationSize = 300;
-
-		/**
-		 * The approximate maximum number of chunks that should exist at any
-		 * time.  When there are significantly more chunks than this, the ones
-		 * in the oldest generations will be invalidated.
-		 */
-		private static final int maximumTotalChunkCount = 1000;
-
-		/**
-		 * The weak set of {@link L2Chunk}s in this generation.
-		 */
-		private final Set<L2Chunk> chunks =
-			synchronizedSet(newSetFromMap(new WeakHashMap<>()));
-
-		/**
-		 * Record a newly created chunk in the latest generation, triggering
-		 * eviction of some of the least recently used chunks if necessary.
-		 *
-		 * @param newChunk The new chunk to track.
-		 */
-		@InnerAccess static void addNewChunk (final L2Chunk newChunk)
-		{
-			newChunk.generation = newest;
-			newest.chunks.add(newChunk);
-			if (newest.chunks.size() > maximumNewestGenerationSize)
-			{
-				generationsLock.writeLock().lock();
-				try
-				{
-					Generation lastGenerationToKeep = newest;
-					generations.addFirst(newest);
-					newest = new Generation();
-					int liveCount = 0;
-					for (final Generation gen : generations)
-					{
-						final int genSize = gen.chunks.size();
-						liveCount += genSize;
-						if (liveCount < maximumTotalChunkCount)
-						{
-							lastGenerationToKeep = gen;
-						}
-						else
-						{
-							break;
-						}
-					}
-					// Remove the obsolete generations, gathering the chunks.
-					final List<L2Chunk> chunksToInvalidate = new ArrayList<>();
-					while (generations.getLast() != lastGenerationToKeep)
-					{
-						chunksToInvalidate.addAll(
-							generations.removeLast().chunks);
-					}
-					// Remove empty generations that would otherwise be kept.
-					final List<Generation> toKeep = generations.stream()
-						.filter(g -> !g.chunks.isEmpty())
-						.collect(toList());
-					generations.clear();
-					generations.addAll(toKeep);
-
-					if (!chunksToInvalidate.isEmpty())
-					{
-						// Queue a task to safely invalidate the evicted chunks.
-						currentRuntime().whenLevelOneSafeDo(
-							FiberDescriptor.bulkL2InvalidationPriority,
-							() ->
-							{
-								L2Chunk.invalidationLock.lock();
-								try
-								{
-									chunksToInvalidate.forEach(
-										c -> c.invalidate(
-											invalidationsFromEviction));
-								}
-								finally
-								{
-									L2Chunk.invalidationLock.unlock();
-								}
-							});
-					}
-				}
-				finally
-				{
-					generationsLock.writeLock().unlock();
-				}
-			}
-		}
-
-		/**
-		 * {@link Statistic} for tracking the cost of invalidating chunks due to
-		 * cache eviction (to limit the number of {@link L2Chunk}s in memory).
-		 * */
-		private static final Statistic invalidationsFromEviction =
-			new Statistic(
-				"(invalidation from eviction)",
-				StatisticReport.L2_OPTIMIZATION_TIME);
-
-		/**
-		 * Deal with the fact that the given chunk has just been invoked,
-		 * resumed, restarted, or otherwise continued.  Optimize for the most
-		 * common case that the chunk is already in the newest generation, but
-		 * also make it reasonably quick to move it there from an older
-		 * generation.
-		 *
-		 * @param chunk The {@link L2Chunk} that has just been used.
-		 */
-		public static void usedChunk (final L2Chunk chunk)
-		{
-			final Generation theNewest = newest;
-			final @Nullable Generation oldGen = chunk.generation;
-			if (oldGen == theNewest)
-			{
-				// The chunk is already in the newest generation, which should
-				// be the most common case by far.  Do nothing.
-				return;
-			}
-			// Move the chunk to the newest generation.  Create a newer
-			// generation if it fills up.
-			if (oldGen != null)
-			{
-				oldGen.chunks.remove(chunk);
-			}
-			theNewest.chunks.add(chunk);
-			chunk.generation = theNewest;
-			if (theNewest.chunks.size() > maximumNewestGenerationSize)
-			{
-				generationsLock.writeLock().lock();
-				try
-				{
-					generations.add(newest);
-					newest = new Generation();
-					// Even though simply using a chunk doesn't exert any cache
-					// pressure, we might accumulate a bunch of empty
-					// generations that simply take up space.  Be generous and
-					// only bother scanning if there are so many generations
-					// that there's definitely at least one empty one.
-					if (generations.size() > maximumTotalChunkCount)
-					{
-						final List<Generation> nonemptyGenerations =
-							generations.stream()
-								.filter(g -> !g.chunks.isEmpty())
-								.collect(toList());
-						generations.clear();
-						generations.addAll(nonemptyGenerations);
-					}
-				}
-				finally
-				{
-					generationsLock.writeLock().unlock();
-				}
-			}
-		}
-
-		/**
-		 * An {@link L2Chunk} has been invalidated.  Remove it from its
-		 * generation.
-		 *
-		 * @param chunk
-		 *        The invalidated {@link L2Chunk} to remove from its generation.
-		 */
-		@InnerAccess static void removeInvalidatedChunk (final L2Chunk chunk)
-		{
-			final @Nullable Generation gen = chunk.generation;
-			if (gen != null)
-			{
-				gen.chunks.remove(chunk);
-				chunk.generation = null;
-			}
-		}
-
-		@Override
-		public String toString ()
-		{
-			return super.toString() + " (size=" + chunks.size() + ")";
-		}
-	}
+	/**
+	 * The {@link L2ChunkCache}'s record of this chunk, or {@code null} if the
+	 * cache isn't tracking it.
+	 */
+	volatile @Nullable L2ChunkCache.Entry cacheEntry;
 
 	/**
 	 * A flag indicating whether this chunk is valid or if it has been
-	 * invalidated by the addition or removal of a method signature.  It doesn't
-	 * have to be {@code volatile}, since it can only be set when Avail code
-	 * execution is temporarily suspended in all fibers, which involves
-	 * synchronization (and therefore memory coherence) before it can start
-	 * running again.
+	 * invalidated by the addition or removal of a method signature.  It's
+	 * {@code volatile} because it may be cleared while other threads are
+	 * running this chunk.
 	 */
-	private boolean valid;
+	private volatile boolean valid;
 
 	/**
 	 * The set of {@linkplain A_ChunkDependable contingent values} on which
@@ -427,11 +218,10 @@ implements ExecutableChunk
 	 * ContinuationDescriptor continuation} or {@linkplain
 	 * CompiledCodeDescriptor raw function} may refer to an invalid chunk, but
 	 * attempts to resume or invoke (respectively) such a chunk are detected and
-	 * cause the {@link #unoptimizedChunk} to be substituted instead.  We
-	 * don't have to worry about an Interpreter holding onto a chunk when it
-	 * becomes invalid, because invalidation can only happen when the runtime
-	 * temporarily inhibits running Avail code, and all fibers have had their
-	 * continuation reified to a level-one-coherent state.
+	 * cause the {@link #unoptimizedChunk} to be substituted instead.  An
+	 * {@link Interpreter} may be running a chunk when it becomes invalid.  It
+	 * keeps running it until the next call returns into it, at which point the
+	 * stack is reified and execution continues in the unoptimized chunk.
 	 *
 	 * @return Whether this chunk is still valid.
 	 */
@@ -593,16 +383,32 @@ implements ExecutableChunk
 		return 200;
 	}
 
+	/**
+	 * Return the number of times to run the nybblecodes of a {@linkplain
+	 * CompiledCodeDescriptor compiled code} object in the {@link
+	 * #unoptimizedChunk} before translating them with the {@link
+	 * L1BaselineTranslator}.  The baseline translation is cheap, so this is
+	 * much smaller than {@link #countdownForNewCode()}.
+	 *
+	 * @return The number of runs before baseline translation.
+	 */
+	public static int countdownForBaselineCode ()
+	{
+		return 10;
+	}
+
 	/**
 	 * Return the number of times to invoke a {@linkplain CompiledCodeDescriptor
 	 * compiled code} object, <em>after creation</em>, before attempting to
-	 * optimize it for the first time.
+	 * optimize it for the first time.  Until then, it runs as {@linkplain
+	 * #countdownForBaselineCode() baseline code}, so optimization is reserved
+	 * for code that is actually hot.
 	 *
 	 * @return The number of invocations before initial optimization.
 	 */
 	public static int countdownForNewCode ()
 	{
-		return 100;
+		return 1000;
 	}
 
 	/**
@@ -628,6 +434,45 @@ implements ExecutableChunk
 	 */
 	public static final ReentrantLock invalidationLock = new ReentrantLock();
 
+	/**
+	 * The number of times that something on which chunks may depend has
+	 * changed.  An {@link L2Generator} captures this at the start of
+	 * optimization, and if it has changed by the time the chunk is {@linkplain
+	 * #allocate(A_RawFunction, int, int, int, int, List, L2ControlFlowGraph,
+	 * A_Set, long) allocated}, the chunk may have been optimized based on
+	 * stale definitions, so it's invalidated immediately.
+	 */
+	private static final AtomicLong dependencyChangeCount = new AtomicLong(0);
+
+	/**
+	 * Answer the current number of dependency changes.
+	 *
+	 * @return The {@link #dependencyChangeCount}.
+	 */
+	public static long dependencyChangeCount ()
+	{
+		return dependencyChangeCount.get();
+	}
+
+	/**
+	 * Record the fact that something on which chunks may depend has changed.
+	 * The {@link #invalidationLock} must be held.
+	 */
+	public static void noteDependencyChange ()
+	{
+		assert invalidationLock.isHeldByCurrentThread();
+		dependencyChangeCount.incrementAndGet();
+	}
+
+	/**
+	 * {@link Statistic} for invalidating a newly allocated chunk because its
+	 * dependencies changed while it was being optimized.
+	 */
+	private static final Statistic invalidationsFromStaleOptimization =
+		new Statistic(
+			"(invalidation from change during optimization)",
+			StatisticReport.L2_OPTIMIZATION_TIME);
+
 	/**
 	 * Allocate and set up a new {@code L2Chunk level two chunk} with the
 	 * given information. If {@code code} is non-null, set it up to use the new
@@ -659,6 +504,10 @@ implements ExecutableChunk
 	 * @param contingentValues
 	 *        A {@link Set} of {@linkplain MethodDescriptor methods} on which
 	 *        the level two chunk depends.
+	 * @param dependencyChangeCountAtStart
+	 *        The {@link #dependencyChangeCount()} when optimization started.
+	 *        If it has changed since then, the new chunk is invalidated
+	 *        immediately.
 	 * @return The new level two chunk.
 	 */
 	public static L2Chunk allocate (
@@ -669,7 +518,8 @@ implements ExecutableChunk
 		final int offsetAfterInitialTryPrimitive,
 		final List<L2Instruction> theInstructions,
 		final L2ControlFlowGraph controlFlowGraph,
-		final A_Set contingentValues)
+		final A_Set contingentValues,
+		final long dependencyChangeCountAtStart)
 	{
 		assert offsetAfterInitialTryPrimitive >= 0;
 		final JVMTranslator jvmTranslator = new JVMTranslator(
@@ -691,16 +541,35 @@ implements ExecutableChunk
 		final boolean codeNotNull = code != null;
 		if (codeNotNull)
 		{
-			code.setStartingChunkAndReoptimizationCountdown(
-				chunk, L2Chunk.countdownForNewlyOptimizedCode());
+			L2ChunkCache.addNewChunk(
+				chunk,
+				L2ChunkCache.estimatedSize(
+					jvmTranslator.classSize(), theInstructions.size()));
 		}
-		for (final A_ChunkDependable value : contingentValues)
+		// Install the chunk and its dependencies atomically with respect to
+		// invalidation, so that a concurrent definition change either happens
+		// entirely before (and is detected by the count) or entirely after
+		// (and invalidates the chunk through its dependencies).
+		invalidationLock.lock();
+		try
 		{
-			value.addDependentChunk(chunk);
+			if (codeNotNull)
+			{
+				code.setStartingChunkAndReoptimizationCountdown(
+					chunk, L2Chunk.countdownForNewlyOptimizedCode());
+			}
+			for (final A_ChunkDependable value : contingentValues)
+			{
+				value.addDependentChunk(chunk);
+			}
+			if (dependencyChangeCount.get() != dependencyChangeCountAtStart)
+			{
+				chunk.invalidate(invalidationsFromStaleOptimization);
+			}
 		}
-		if (codeNotNull)
+		finally
 		{
-			Generation.addNewChunk(chunk);
+			invalidationLock.unlock();
 		}
 		return chunk;
 	}
@@ -809,16 +678,17 @@ implements ExecutableChunk
 	 * #unoptimizedChunk}. Also remove this chunk from the contingent set of
 	 * each object on which it was depending.
 	 *
-	 * <p>This can only happen when L2 execution is suspended, due to a method
-	 * changing (TODO[MvG] - we'll have to consider dependent nearly-constant
-	 * variables changing at some point).  The {@link #invalidationLock} must be
-	 * acquired by the caller to ensure safe manipulation of the dependency
-	 * information.</p>
+	 * <p>This happens due to a method changing (TODO[MvG] - we'll have to
+	 * consider dependent nearly-constant variables changing at some point),
+	 * possibly while other fibers are running this chunk.  The {@link
+	 * #invalidationLock} must be acquired by the caller to ensure safe
+	 * manipulation of the dependency information.</p>
 	 *
 	 * <p>Note that all we do here is clear the valid flag and update the
 	 * dependency information.  It's up to any re-entry points within this
-	 * optimized code to determine that invalidation has happened,
-	 * using the default chunk.</p>
+	 * optimized code to determine that invalidation has happened, using the
+	 * default chunk, and up to the {@link Interpreter} to deoptimize a running
+	 * invocation of this chunk when a call returns into it.</p>
 	 *
 	 * @param invalidationStatistic
 	 *        The {@link Statistic} under which this invalidation should be
@@ -844,7 +714,7 @@ implements ExecutableChunk
 			code.setStartingChunkAndReoptimizationCountdown(
 				unoptimizedChunk, countdownForInvalidatedCode());
 		}
-		Generation.removeInvalidatedChunk(this);
+		L2ChunkCache.removeInvalidatedChunk(this);
 		final long after = captureNanos();
 		// Use interpreter #0, since the invalidationLock prevents concurrent
 		// updates.
@@ -931,7 +801,8 @@ implements ExecutableChunk
 			reenterFromRestartBlock.offset(),
 			instructions,
 			controlFlowGraph,
-			emptySet());
+			emptySet(),
+			dependencyChangeCount());
 
 		assert initialBlock.offset() == 0;
 		assert reenterFromRestartBlock.offset()
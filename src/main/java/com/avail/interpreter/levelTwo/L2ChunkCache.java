@@ -0,0 +1,431 @@
+/*
+ * L2ChunkCache.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.levelTwo;
+
+import com.avail.descriptor.A_RawFunction;
+import com.avail.descriptor.FiberDescriptor;
+import com.avail.performance.Statistic;
+import com.avail.performance.StatisticReport;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.avail.AvailRuntime.currentRuntime;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * The {@code L2ChunkCache} limits the memory consumed by optimized {@link
+ * L2Chunk}s.  Each chunk is charged an {@linkplain #estimatedSize(int, int)
+ * estimated size} when it's created, and when the total exceeds the {@linkplain
+ * #maximumBytes() budget}, the coldest chunks are invalidated until the total
+ * drops below a low-water mark.  Invalidated chunks are replaced by the {@link
+ * L2Chunk#unoptimizedChunk} until their {@link A_RawFunction}s become hot
+ * enough to be optimized again.
+ *
+ * <p>A chunk's hotness is the number of times it has been {@linkplain
+ * #usedChunk(L2Chunk) entered}, halved at each eviction sweep so that old
+ * activity fades.  Entering a chunk only increments a {@link LongAdder}, so the
+ * chunk-entry path never locks or contends on a shared counter.  The cache
+ * refers to chunks weakly, so a chunk whose {@link A_RawFunction} is collected
+ * is released without being invalidated.</p>
+ *
+ * <p>The budget measures live chunks, not the memory that the JVM has yet to
+ * reclaim.  Generated classes {@linkplain
+ * com.avail.optimizer.jvm.JVMChunkClassLoader share} class loaders, and a
+ * loader's classes are only unloaded together, once none of them is
+ * reachable.  The class portion of an evicted chunk's estimate is therefore
+ * released from the {@link #totalBytes() total} before that memory is
+ * actually freed, and the total can understate the memory retained for
+ * generated code by up to one loader's worth of classes for each loader that
+ * still has a live chunk.</p>
+ *
+ * <p>The budget defaults to {@value #defaultMaximumBytes} bytes, and can be
+ * set with the {@linkplain System#getProperty(String) system property} {@link
+ * #maximumBytesProperty}, or at any time with {@link #maximumBytes(long)},
+ * which takes effect at the next chunk allocation.</p>
+ */
+public final class L2ChunkCache
+{
+	/** Prevent instantiation. */
+	private L2ChunkCache ()
+	{
+		// Do not instantiate.
+	}
+
+	/**
+	 * The default budget for the {@linkplain #estimatedSize(int, int)
+	 * estimated size} of all live optimized {@link L2Chunk}s, in bytes.
+	 */
+	private static final long defaultMaximumBytes = 256L << 20;
+
+	/**
+	 * The {@linkplain System#getProperty(String) system property} that
+	 * overrides the {@linkplain #defaultMaximumBytes default budget}.
+	 */
+	private static final String maximumBytesProperty = String.format(
+		"%s.maximumBytes",
+		L2ChunkCache.class.getCanonicalName());
+
+	/**
+	 * The budget for the estimated size of all live optimized {@link
+	 * L2Chunk}s, in bytes.
+	 */
+	private static volatile long maximumBytes;
+
+	// Initialize maximumBytes.
+	static
+	{
+		long value = defaultMaximumBytes;
+		try
+		{
+			final @Nullable String property =
+				System.getProperty(maximumBytesProperty);
+			if (property != null)
+			{
+				value = Long.parseLong(property);
+			}
+		}
+		catch (final Exception e)
+		{
+			// Just use the default.
+		}
+		maximumBytes = value;
+	}
+
+	/**
+	 * Answer the budget for the estimated size of all live optimized {@link
+	 * L2Chunk}s, in bytes.
+	 *
+	 * @return The budget.
+	 */
+	public static long maximumBytes ()
+	{
+		return maximumBytes;
+	}
+
+	/**
+	 * Set the budget for the estimated size of all live optimized {@link
+	 * L2Chunk}s.  This may be called from any thread.  If the cache is now over
+	 * budget, chunks are evicted when the next chunk is {@linkplain
+	 * #addNewChunk(L2Chunk, long) added}, since eviction must be performed by
+	 * a thread of the {@link com.avail.AvailRuntime}.
+	 *
+	 * @param newMaximumBytes
+	 *        The new budget, in bytes.
+	 */
+	public static void maximumBytes (final long newMaximumBytes)
+	{
+		assert newMaximumBytes > 0;
+		maximumBytes = newMaximumBytes;
+	}
+
+	/**
+	 * The fraction of the {@linkplain #maximumBytes budget} down to which an
+	 * eviction sweep reduces the cache, so that sweeps are infrequent even
+	 * when the working set is larger than the budget.
+	 */
+	private static final double lowWaterFraction = 0.75;
+
+	/**
+	 * The approximate number of bytes that the JVM retains for a loaded class,
+	 * beyond the class file itself.
+	 */
+	private static final int estimatedClassOverhead = 4096;
+
+	/**
+	 * The approximate number of bytes retained for each {@link L2Instruction}
+	 * of a chunk, including its operands and its share of the {@link
+	 * com.avail.optimizer.L2ControlFlowGraph}.
+	 */
+	private static final int estimatedBytesPerInstruction = 256;
+
+	/**
+	 * Estimate the memory retained by an {@link L2Chunk}.
+	 *
+	 * @param classSize
+	 *        The size of the chunk's generated class file, in bytes.
+	 * @param instructionCount
+	 *        The number of {@link L2Instruction}s in the chunk.
+	 * @return The estimated size, in bytes.
+	 */
+	static long estimatedSize (final int classSize, final int instructionCount)
+	{
+		return estimatedClassOverhead
+			+ classSize
+			+ (long) instructionCount * estimatedBytesPerInstruction;
+	}
+
+	/**
+	 * The cache's record of an {@link L2Chunk}.  It refers to the chunk
+	 * weakly, and is {@linkplain #clearedEntries enqueued} when the chunk is
+	 * collected.
+	 */
+	static final class Entry
+	extends WeakReference<L2Chunk>
+	{
+		/** The {@linkplain #estimatedSize(int, int) estimated size}. */
+		final long size;
+
+		/**
+		 * The number of times the chunk has been entered since the last
+		 * eviction sweep.  This is the same {@link LongAdder} as the chunk's
+		 * {@link L2Chunk#entryCount}.
+		 */
+		final LongAdder entryCount;
+
+		/**
+		 * The decayed entry count as of the last eviction sweep.  New entries
+		 * start out as hot as code has to be to get optimized in the first
+		 * place, so that they're not evicted before they've had a chance to
+		 * run.
+		 */
+		@GuardedBy("sweepLock")
+		long hotness = L2Chunk.countdownForNewCode();
+
+		/**
+		 * Whether the {@link #size} is still included in the {@link
+		 * #totalBytes}.  This is cleared exactly once, when the entry is
+		 * {@linkplain #release(Entry) released}.
+		 */
+		final AtomicBoolean charged = new AtomicBoolean(true);
+
+		/**
+		 * Construct a new {@code Entry}.
+		 *
+		 * @param chunk
+		 *        The {@link L2Chunk}.
+		 * @param size
+		 *        The chunk's estimated size.
+		 */
+		Entry (final L2Chunk chunk, final long size)
+		{
+			super(chunk, clearedEntries);
+			this.size = size;
+			this.entryCount = chunk.entryCount;
+		}
+	}
+
+	/** The {@link Entry entries} of all live optimized chunks. */
+	private static final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+
+	/** The queue of {@link Entry entries} whose chunks have been collected. */
+	private static final ReferenceQueue<L2Chunk> clearedEntries =
+		new ReferenceQueue<>();
+
+	/** The total estimated size of all live optimized chunks, in bytes. */
+	private static final AtomicLong totalBytes = new AtomicLong(0);
+
+	/** The lock held while sweeping, so that only one sweep runs at a time. */
+	private static final ReentrantLock sweepLock = new ReentrantLock();
+
+	/**
+	 * Answer the total estimated size of all live optimized {@link L2Chunk}s,
+	 * in bytes.
+	 *
+	 * @return The total size.
+	 */
+	public static long totalBytes ()
+	{
+		return totalBytes.get();
+	}
+
+	/**
+	 * Answer the number of live optimized {@link L2Chunk}s.
+	 *
+	 * @return The chunk count.
+	 */
+	public static int chunkCount ()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * Record a newly created chunk, triggering eviction of the coldest chunks
+	 * if the cache is now over budget.
+	 *
+	 * @param chunk
+	 *        The new {@link L2Chunk}.
+	 * @param size
+	 *        The chunk's {@linkplain #estimatedSize(int, int) estimated size}.
+	 */
+	static void addNewChunk (final L2Chunk chunk, final long size)
+	{
+		expungeClearedEntries();
+		final Entry entry = new Entry(chunk, size);
+		chunk.cacheEntry = entry;
+		entries.add(entry);
+		if (totalBytes.addAndGet(size) > maximumBytes)
+		{
+			evict();
+		}
+	}
+
+	/**
+	 * Deal with the fact that the given chunk has just been invoked, resumed,
+	 * restarted, or otherwise continued.
+	 *
+	 * @param chunk
+	 *        The {@link L2Chunk} that has just been used.
+	 */
+	public static void usedChunk (final L2Chunk chunk)
+	{
+		chunk.entryCount.increment();
+	}
+
+	/**
+	 * An {@link L2Chunk} has been invalidated.  Stop tracking it.
+	 *
+	 * @param chunk
+	 *        The invalidated {@link L2Chunk}.
+	 */
+	static void removeInvalidatedChunk (final L2Chunk chunk)
+	{
+		final @Nullable Entry entry = chunk.cacheEntry;
+		if (entry != null)
+		{
+			chunk.cacheEntry = null;
+			release(entry);
+		}
+	}
+
+	/**
+	 * Stop tracking the {@link Entry}, and stop charging for its size.  This
+	 * may safely be called more than once for the same entry.
+	 *
+	 * @param entry
+	 *        The entry to release.
+	 */
+	private static void release (final Entry entry)
+	{
+		if (entry.charged.compareAndSet(true, false))
+		{
+			entries.remove(entry);
+			totalBytes.addAndGet(-entry.size);
+		}
+	}
+
+	/**
+	 * Release the {@link Entry entries} whose chunks have been collected.
+	 */
+	private static void expungeClearedEntries ()
+	{
+		@Nullable Reference<? extends L2Chunk> reference;
+		while ((reference = clearedEntries.poll()) != null)
+		{
+			release((Entry) reference);
+		}
+	}
+
+	/**
+	 * Age every chunk's hotness, then invalidate the coldest chunks until the
+	 * total size is below the low-water mark.  If another thread is already
+	 * sweeping, just let it do the work.
+	 */
+	private static void evict ()
+	{
+		if (!sweepLock.tryLock())
+		{
+			return;
+		}
+		final List<L2Chunk> chunksToInvalidate = new ArrayList<>();
+		try
+		{
+			expungeClearedEntries();
+			final List<Entry> candidates = new ArrayList<>(entries);
+			for (final Entry entry : candidates)
+			{
+				entry.hotness =
+					(entry.hotness >> 1) + entry.entryCount.sumThenReset();
+			}
+			candidates.sort(comparingLong(entry -> entry.hotness));
+			final long target = (long) (maximumBytes * lowWaterFraction);
+			for (final Entry entry : candidates)
+			{
+				if (totalBytes.get() <= target)
+				{
+					break;
+				}
+				final @Nullable L2Chunk chunk = entry.get();
+				if (chunk != null)
+				{
+					chunksToInvalidate.add(chunk);
+				}
+				release(entry);
+			}
+		}
+		finally
+		{
+			sweepLock.unlock();
+		}
+		if (!chunksToInvalidate.isEmpty())
+		{
+			// Queue a task to invalidate the evicted chunks.  Fibers may keep
+			// running them until they next return into or re-enter them.
+			currentRuntime().execute(
+				FiberDescriptor.bulkL2InvalidationPriority,
+				() ->
+				{
+					L2Chunk.invalidationLock.lock();
+					try
+					{
+						chunksToInvalidate.forEach(
+							c -> c.invalidate(invalidationsFromEviction));
+					}
+					finally
+					{
+						L2Chunk.invalidationLock.unlock();
+					}
+				});
+		}
+	}
+
+	/**
+	 * {@link Statistic} for tracking the cost of invalidating chunks due to
+	 * cache eviction (to limit the memory consumed by {@link L2Chunk}s).
+	 */
+	private static final Statistic invalidationsFromEviction =
+		new Statistic(
+			"(invalidation from eviction)",
+			StatisticReport.L2_OPTIMIZATION_TIME);
+}
@@ -74,6 +74,14 @@ public interface L2OperandDispatcher
 	 */
 	void doOperand (L2InternalCounterOperand operand);
 
+	/**
+	 * Process an operand which is an object field inline cache.
+	 *
+	 * @param operand
+	 *        An {@link L2ObjectFieldCacheOperand}.
+	 */
+	void doOperand (L2ObjectFieldCacheOperand operand);
+
 	/**
 	 * Process an operand which is an {@code int} immediate value.
 	 *
@@ -34,6 +34,7 @@ package com.avail.interpreter.levelTwo;
 
 import com.avail.descriptor.A_Bundle;
 import com.avail.descriptor.DefinitionDescriptor;
+import com.avail.descriptor.ObjectFieldInlineCache;
 import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose;
 import com.avail.interpreter.levelTwo.operand.*;
@@ -153,6 +154,13 @@ public enum L2OperandType
 	 */
 	INTERNAL_COUNTER,
 
+	/**
+	 * The {@link L2ObjectFieldCacheOperand} holds an {@link
+	 * ObjectFieldInlineCache} that remembers where the most recently read
+	 * object stored a particular field.
+	 */
+	OBJECT_FIELD_CACHE,
+
 	/**
 	 * The {@link L2CommentOperand} holds descriptive text that does not affect
 	 * analysis or execution of level two code.  It is for diagnostic purposes
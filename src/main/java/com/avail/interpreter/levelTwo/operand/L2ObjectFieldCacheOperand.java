@@ -0,0 +1,95 @@
+/*
+ * L2ObjectFieldCacheOperand.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ *  Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.levelTwo.operand;
+
+import com.avail.descriptor.A_Atom;
+import com.avail.descriptor.ObjectFieldInlineCache;
+import com.avail.interpreter.levelTwo.L2Instruction;
+import com.avail.interpreter.levelTwo.L2OperandDispatcher;
+import com.avail.interpreter.levelTwo.L2OperandType;
+import com.avail.interpreter.levelTwo.L2Operation;
+
+/**
+ * An {@code L2ObjectFieldCacheOperand} is an operand of type {@link
+ * L2OperandType#OBJECT_FIELD_CACHE}.  It holds an {@link
+ * ObjectFieldInlineCache} that the owning {@link L2Instruction} / {@link
+ * L2Operation} uses to read a particular field from objects.
+ */
+public class L2ObjectFieldCacheOperand
+extends L2Operand
+{
+	/**
+	 * The actual {@link ObjectFieldInlineCache} to embed.
+	 */
+	public final ObjectFieldInlineCache cache;
+
+	/**
+	 * Construct a new {@code L2ObjectFieldCacheOperand} with a new, empty
+	 * {@link ObjectFieldInlineCache} for the given field.
+	 *
+	 * @param field
+	 *        The field {@link A_Atom atom} to read.
+	 */
+	public L2ObjectFieldCacheOperand (final A_Atom field)
+	{
+		this.cache = new ObjectFieldInlineCache(field);
+	}
+
+	/**
+	 * Answer the field {@link A_Atom atom} read through this cache.
+	 *
+	 * @return The field atom.
+	 */
+	public A_Atom field ()
+	{
+		return cache.field;
+	}
+
+	@Override
+	public L2OperandType operandType ()
+	{
+		return L2OperandType.OBJECT_FIELD_CACHE;
+	}
+
+	@Override
+	public void dispatchOperand (final L2OperandDispatcher dispatcher)
+	{
+		dispatcher.doOperand(this);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return "FIELD:" + cache;
+	}
+}
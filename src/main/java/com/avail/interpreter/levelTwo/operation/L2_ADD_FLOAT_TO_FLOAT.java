@@ -0,0 +1,109 @@
+/*
+ * L2_ADD_FLOAT_TO_FLOAT.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.levelTwo.operation;
+
+import com.avail.interpreter.levelTwo.L2Instruction;
+import com.avail.interpreter.levelTwo.L2OperandType;
+import com.avail.interpreter.levelTwo.L2Operation;
+import com.avail.interpreter.levelTwo.operand.L2ReadFloatOperand;
+import com.avail.interpreter.levelTwo.operand.L2WriteFloatOperand;
+import com.avail.optimizer.jvm.JVMTranslator;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.Set;
+
+import static com.avail.interpreter.levelTwo.L2OperandType.READ_FLOAT;
+import static com.avail.interpreter.levelTwo.L2OperandType.WRITE_FLOAT;
+import static org.objectweb.asm.Opcodes.DADD;
+
+/**
+ * Add the value in one float register to another float register, writing the
+ * sum into a third float register.
+ */
+public final class L2_ADD_FLOAT_TO_FLOAT
+extends L2Operation
+{
+	/**
+	 * Construct an {@code L2_ADD_FLOAT_TO_FLOAT}.
+	 */
+	private L2_ADD_FLOAT_TO_FLOAT ()
+	{
+		super(
+			READ_FLOAT.is("augend"),
+			READ_FLOAT.is("addend"),
+			WRITE_FLOAT.is("sum"));
+	}
+
+	/**
+	 * Initialize the sole instance.
+	 */
+	public static final L2_ADD_FLOAT_TO_FLOAT instance =
+		new L2_ADD_FLOAT_TO_FLOAT();
+
+	@Override
+	public void toString (
+		final L2Instruction instruction,
+		final Set<L2OperandType> desiredTypes,
+		final StringBuilder builder)
+	{
+		assert this == instruction.operation();
+		final L2ReadFloatOperand augend = instruction.operand(0);
+		final L2ReadFloatOperand addend = instruction.operand(1);
+		final L2WriteFloatOperand sum = instruction.operand(2);
+
+		renderPreamble(instruction, builder);
+		builder.append(' ');
+		builder.append(sum.registerString());
+		builder.append(" ← ");
+		builder.append(augend.registerString());
+		builder.append(" + ");
+		builder.append(addend.registerString());
+	}
+
+	@Override
+	public void translateToJVM (
+		final JVMTranslator translator,
+		final MethodVisitor method,
+		final L2Instruction instruction)
+	{
+		final L2ReadFloatOperand augend = instruction.operand(0);
+		final L2ReadFloatOperand addend = instruction.operand(1);
+		final L2WriteFloatOperand sum = instruction.operand(2);
+
+		// :: sum = augend + addend;
+		translator.load(method, augend.register());
+		translator.load(method, addend.register());
+		method.visitInsn(DADD);
+		translator.store(method, sum.register());
+	}
+}
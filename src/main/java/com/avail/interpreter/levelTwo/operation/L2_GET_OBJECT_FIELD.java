@@ -0,0 +1,123 @@
+/*
+ * L2_GET_OBJECT_FIELD.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ *  Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.levelTwo.operation;
+
+import com.avail.descriptor.AvailObject;
+import com.avail.descriptor.ObjectDescriptor;
+import com.avail.descriptor.ObjectFieldInlineCache;
+import com.avail.interpreter.levelTwo.L2Instruction;
+import com.avail.interpreter.levelTwo.L2OperandType;
+import com.avail.interpreter.levelTwo.L2Operation;
+import com.avail.interpreter.levelTwo.operand.L2ObjectFieldCacheOperand;
+import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
+import com.avail.interpreter.levelTwo.operand.L2WriteBoxedOperand;
+import com.avail.optimizer.jvm.JVMTranslator;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.Set;
+
+import static com.avail.interpreter.levelTwo.L2OperandType.*;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Type.*;
+
+/**
+ * Extract a field from an {@linkplain ObjectDescriptor object} that is known
+ * to have that field, writing its value into a register.  The field's slot is
+ * located through an {@link ObjectFieldInlineCache} private to this
+ * instruction, so that reading the field from objects of the same layout as
+ * last time is just a variant comparison and a slot load.
+ */
+public final class L2_GET_OBJECT_FIELD
+extends L2Operation
+{
+	/**
+	 * Construct an {@code L2_GET_OBJECT_FIELD}.
+	 */
+	private L2_GET_OBJECT_FIELD ()
+	{
+		super(
+			READ_BOXED.is("object"),
+			OBJECT_FIELD_CACHE.is("field"),
+			WRITE_BOXED.is("field value"));
+	}
+
+	/**
+	 * Initialize the sole instance.
+	 */
+	public static final L2_GET_OBJECT_FIELD instance =
+		new L2_GET_OBJECT_FIELD();
+
+	@Override
+	public void toString (
+		final L2Instruction instruction,
+		final Set<L2OperandType> desiredTypes,
+		final StringBuilder builder)
+	{
+		assert this == instruction.operation();
+		final L2ReadBoxedOperand object = instruction.operand(0);
+		final L2ObjectFieldCacheOperand field = instruction.operand(1);
+		final L2WriteBoxedOperand destination = instruction.operand(2);
+
+		renderPreamble(instruction, builder);
+		builder.append(' ');
+		builder.append(destination.registerString());
+		builder.append(" ← ");
+		builder.append(object.registerString());
+		builder.append('.');
+		builder.append(field.field());
+	}
+
+	@Override
+	public void translateToJVM (
+		final JVMTranslator translator,
+		final MethodVisitor method,
+		final L2Instruction instruction)
+	{
+		final L2ReadBoxedOperand object = instruction.operand(0);
+		final L2ObjectFieldCacheOperand field = instruction.operand(1);
+		final L2WriteBoxedOperand destination = instruction.operand(2);
+
+		// :: destination = cache.getField(object);
+		translator.literal(method, field.cache);
+		translator.load(method, object.register());
+		method.visitMethodInsn(
+			INVOKEVIRTUAL,
+			getInternalName(ObjectFieldInlineCache.class),
+			"getField",
+			getMethodDescriptor(
+				getType(AvailObject.class),
+				getType(AvailObject.class)),
+			false);
+		translator.store(method, destination.register());
+	}
+}
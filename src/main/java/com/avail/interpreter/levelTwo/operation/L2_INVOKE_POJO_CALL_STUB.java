@@ -0,0 +1,219 @@
+/*
+ * L2_INVOKE_POJO_CALL_STUB.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.levelTwo.operation;
+
+import com.avail.descriptor.A_BasicObject;
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.AvailObject;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.levelTwo.L2Instruction;
+import com.avail.interpreter.levelTwo.L2OperandType;
+import com.avail.interpreter.levelTwo.operand.L2ConstantOperand;
+import com.avail.interpreter.levelTwo.operand.L2PcOperand;
+import com.avail.interpreter.levelTwo.operand.L2ReadBoxedVectorOperand;
+import com.avail.interpreter.levelTwo.operand.L2WriteBoxedOperand;
+import com.avail.interpreter.primitive.pojos.PojoCallStub;
+import com.avail.optimizer.L2ValueManifest;
+import com.avail.optimizer.jvm.JVMTranslator;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.FAILURE;
+import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.SUCCESS;
+import static com.avail.interpreter.levelTwo.L2OperandType.*;
+import static org.objectweb.asm.Opcodes.*;
+import static org.objectweb.asm.Type.*;
+
+/**
+ * Invoke a Java method through a {@link PojoCallStub}, passing the given
+ * arguments (starting with the receiver, if the method isn't static).  If the
+ * invocation succeeds, write the unmarshaled result to the destination and
+ * jump to {@code "if succeeded"}.  Otherwise jump to {@code "if failed"}, with
+ * a pojo that describes the failure in the {@link Interpreter}'s {@linkplain
+ * Interpreter#latestResult() latest result}.
+ *
+ * <p>This is an inlined form of invoking a constant pojo method function
+ * created by {@link
+ * com.avail.interpreter.primitive.pojos.P_CreatePojoInstanceMethodFunction} or
+ * {@link com.avail.interpreter.primitive.pojos.P_CreatePojoStaticMethodFunction}.
+ * </p>
+ */
+public final class L2_INVOKE_POJO_CALL_STUB
+extends L2ConditionalJump
+{
+	/**
+	 * Construct an {@code L2_INVOKE_POJO_CALL_STUB}.
+	 */
+	private L2_INVOKE_POJO_CALL_STUB ()
+	{
+		super(
+			CONSTANT.is("stub pojo"),
+			CONSTANT.is("expected type"),
+			READ_BOXED_VECTOR.is("arguments"),
+			WRITE_BOXED.is("result"),
+			PC.is("if succeeded", SUCCESS),
+			PC.is("if failed", FAILURE));
+	}
+
+	/**
+	 * Initialize the sole instance.
+	 */
+	public static final L2_INVOKE_POJO_CALL_STUB instance =
+		new L2_INVOKE_POJO_CALL_STUB();
+
+	@Override
+	public void instructionWasAdded (
+		final L2Instruction instruction,
+		final L2ValueManifest manifest)
+	{
+		assert this == instruction.operation();
+		final L2ConstantOperand stubPojo = instruction.operand(0);
+		final L2ConstantOperand expectedType = instruction.operand(1);
+		final L2ReadBoxedVectorOperand arguments = instruction.operand(2);
+		final L2WriteBoxedOperand result = instruction.operand(3);
+		final L2PcOperand ifSucceeded = instruction.operand(4);
+		final L2PcOperand ifFailed = instruction.operand(5);
+
+		stubPojo.instructionWasAdded(instruction, manifest);
+		expectedType.instructionWasAdded(instruction, manifest);
+		arguments.instructionWasAdded(instruction, manifest);
+		ifSucceeded.instructionWasAdded(instruction, manifest);
+		ifFailed.instructionWasAdded(instruction, manifest);
+
+		// The result is only written along the ifSucceeded branch.
+		result.instructionWasAdded(instruction, ifSucceeded.manifest());
+	}
+
+	@Override
+	public void toString (
+		final L2Instruction instruction,
+		final Set<L2OperandType> desiredTypes,
+		final StringBuilder builder)
+	{
+		assert this == instruction.operation();
+		final L2ConstantOperand stubPojo = instruction.operand(0);
+//		final L2ConstantOperand expectedType = instruction.operand(1);
+		final L2ReadBoxedVectorOperand arguments = instruction.operand(2);
+		final L2WriteBoxedOperand result = instruction.operand(3);
+//		final L2PcOperand ifSucceeded = instruction.operand(4);
+//		final L2PcOperand ifFailed = instruction.operand(5);
+
+		renderPreamble(instruction, builder);
+		builder.append(' ');
+		builder.append(result.registerString());
+		builder.append(" ←? ");
+		builder.append(stubPojo.object.javaObjectNotNull().toString());
+		builder.append('(');
+		builder.append(arguments.elements());
+		builder.append(')');
+		renderOperandsStartingAt(instruction, 4, desiredTypes, builder);
+	}
+
+	@Override
+	public void translateToJVM (
+		final JVMTranslator translator,
+		final MethodVisitor method,
+		final L2Instruction instruction)
+	{
+		final L2ConstantOperand stubPojo = instruction.operand(0);
+		final L2ConstantOperand expectedType = instruction.operand(1);
+		final L2ReadBoxedVectorOperand arguments = instruction.operand(2);
+		final L2WriteBoxedOperand result = instruction.operand(3);
+		final L2PcOperand ifSucceeded = instruction.operand(4);
+		final L2PcOperand ifFailed = instruction.operand(5);
+
+		// :: argsBuffer = interpreter.argsBuffer;
+		translator.loadInterpreter(method);
+		method.visitFieldInsn(
+			GETFIELD,
+			getInternalName(Interpreter.class),
+			"argsBuffer",
+			getDescriptor(List.class));
+		// :: argsBuffer.clear();
+		if (!arguments.elements().isEmpty())
+		{
+			method.visitInsn(DUP);
+		}
+		method.visitMethodInsn(
+			INVOKEINTERFACE,
+			getInternalName(List.class),
+			"clear",
+			getMethodDescriptor(VOID_TYPE),
+			true);
+		for (int i = 0, limit = arguments.elements().size(); i < limit; i++)
+		{
+			// :: argsBuffer.add(«argument[i]»);
+			if (i < limit - 1)
+			{
+				method.visitInsn(DUP);
+			}
+			translator.load(method, arguments.elements().get(i).register());
+			method.visitMethodInsn(
+				INVOKEINTERFACE,
+				getInternalName(List.class),
+				"add",
+				getMethodDescriptor(BOOLEAN_TYPE, getType(Object.class)),
+				true);
+			method.visitInsn(POP);
+		}
+		// :: stub = (PojoCallStub) stubPojo.javaObjectNotNull();
+		translator.literal(method, stubPojo.object);
+		method.visitMethodInsn(
+			INVOKEINTERFACE,
+			getInternalName(A_BasicObject.class),
+			"javaObjectNotNull",
+			getMethodDescriptor(getType(Object.class)),
+			true);
+		method.visitTypeInsn(CHECKCAST, getInternalName(PojoCallStub.class));
+		// :: result = stub.invoke(interpreter, expectedType);
+		translator.loadInterpreter(method);
+		translator.literal(method, expectedType.object);
+		method.visitMethodInsn(
+			INVOKEVIRTUAL,
+			getInternalName(PojoCallStub.class),
+			"invoke",
+			getMethodDescriptor(
+				getType(AvailObject.class),
+				getType(Interpreter.class),
+				getType(A_Type.class)),
+			false);
+		method.visitInsn(DUP);
+		translator.store(method, result.register());
+		// :: if (result != null) goto ifSucceeded;
+		// :: else goto ifFailed;
+		emitBranch(
+			translator, method, instruction, IFNONNULL, ifSucceeded, ifFailed);
+	}
+}
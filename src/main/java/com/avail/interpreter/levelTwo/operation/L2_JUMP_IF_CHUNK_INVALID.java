@@ -0,0 +1,116 @@
+/*
+ * L2_JUMP_IF_CHUNK_INVALID.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ *  Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.levelTwo.operation;
+
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.levelTwo.L2Chunk;
+import com.avail.interpreter.levelTwo.L2Instruction;
+import com.avail.interpreter.levelTwo.operand.L2PcOperand;
+import com.avail.optimizer.L2Generator;
+import com.avail.optimizer.RegisterSet;
+import com.avail.optimizer.jvm.JVMTranslator;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.List;
+
+import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.OFF_RAMP;
+import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.SUCCESS;
+import static com.avail.interpreter.levelTwo.L2OperandType.PC;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Type.*;
+
+/**
+ * Jump to {@code "if invalid"} if the running {@link L2Chunk} is no longer
+ * {@linkplain L2Chunk#isValid() valid}, otherwise jump to {@code "if
+ * valid"}.  This precedes call sites whose dispatch was resolved during
+ * optimization, so that a chunk that was invalidated concurrently by a
+ * definition change stops before invoking (or running an inlined copy of) a
+ * definition that may no longer apply.
+ */
+public final class L2_JUMP_IF_CHUNK_INVALID
+extends L2ConditionalJump
+{
+	/**
+	 * Construct an {@code L2_JUMP_IF_CHUNK_INVALID}.
+	 */
+	private L2_JUMP_IF_CHUNK_INVALID ()
+	{
+		super(
+			PC.is("if invalid", OFF_RAMP),
+			PC.is("if valid", SUCCESS));
+	}
+
+	/**
+	 * Initialize the sole instance.
+	 */
+	public static final L2_JUMP_IF_CHUNK_INVALID instance =
+		new L2_JUMP_IF_CHUNK_INVALID();
+
+	@Override
+	protected void propagateTypes (
+		final L2Instruction instruction,
+		final List<RegisterSet> registerSets,
+		final L2Generator generator)
+	{
+		// Neither transition directly affects registers.
+		assert registerSets.size() == 2;
+	}
+
+	@Override
+	public void translateToJVM (
+		final JVMTranslator translator,
+		final MethodVisitor method,
+		final L2Instruction instruction)
+	{
+		final L2PcOperand ifInvalid = instruction.operand(0);
+		final L2PcOperand ifValid = instruction.operand(1);
+
+		// :: if (!interpreter.isRunningChunkValid()) goto ifInvalid;
+		// :: else goto ifValid;
+		translator.loadInterpreter(method);
+		method.visitMethodInsn(
+			INVOKEVIRTUAL,
+			getInternalName(Interpreter.class),
+			"isRunningChunkValid",
+			getMethodDescriptor(BOOLEAN_TYPE),
+			false);
+		emitBranch(
+			translator,
+			method,
+			instruction,
+			IFEQ,
+			ifInvalid,
+			ifValid);
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * L2_JUMP_IF_COMPARE_FLOAT.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ *  Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.levelTwo.operation;
+
+import com.avail.interpreter.levelTwo.L2Instruction;
+import com.avail.interpreter.levelTwo.L2OperandType;
+import com.avail.interpreter.levelTwo.operand.L2PcOperand;
+import com.avail.interpreter.levelTwo.operand.L2ReadFloatOperand;
+import com.avail.optimizer.jvm.JVMTranslator;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.Set;
+
+import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.FAILURE;
+import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.SUCCESS;
+import static com.avail.interpreter.levelTwo.L2OperandType.PC;
+import static com.avail.interpreter.levelTwo.L2OperandType.READ_FLOAT;
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Jump to the target if float1 and float2 satisfy the operation's relation.
+ * Comparisons follow IEEE 754: if either value is a NaN, then every relation
+ * is unsatisfied except for {@linkplain #notEqual ≠}.
+ */
+public final class L2_JUMP_IF_COMPARE_FLOAT
+extends L2ConditionalJump
+{
+	/**
+	 * Construct an {@code L2_JUMP_IF_COMPARE_FLOAT}.
+	 *
+	 * @param compareOpcode
+	 *        The opcode that compares the two doubles, leaving an int on the
+	 *        stack.  This determines how a NaN is treated.
+	 * @param opcode
+	 *        The opcode number for this compare-and-branch.
+	 * @param opcodeName
+	 *        The symbolic name of the opcode for this compare-and-branch.
+	 */
+	private L2_JUMP_IF_COMPARE_FLOAT (
+		final int compareOpcode,
+		final int opcode,
+		final String opcodeName)
+	{
+		super(
+			READ_FLOAT.is("float1"),
+			READ_FLOAT.is("float2"),
+			PC.is("if true", SUCCESS),
+			PC.is("if false", FAILURE));
+		this.compareOpcode = compareOpcode;
+		this.opcode = opcode;
+		this.opcodeName = opcodeName;
+	}
+
+	/** An instance for testing whether a < b. */
+	public static final L2_JUMP_IF_COMPARE_FLOAT less =
+		new L2_JUMP_IF_COMPARE_FLOAT(DCMPG, IFLT, "<");
+
+	/** An instance for testing whether a > b. */
+	public static final L2_JUMP_IF_COMPARE_FLOAT greater =
+		new L2_JUMP_IF_COMPARE_FLOAT(DCMPL, IFGT, ">");
+
+	/** An instance for testing whether a ≤ b. */
+	public static final L2_JUMP_IF_COMPARE_FLOAT lessOrEqual =
+		new L2_JUMP_IF_COMPARE_FLOAT(DCMPG, IFLE, "≤");
+
+	/** An instance for testing whether a ≥ b. */
+	public static final L2_JUMP_IF_COMPARE_FLOAT greaterOrEqual =
+		new L2_JUMP_IF_COMPARE_FLOAT(DCMPL, IFGE, "≥");
+
+	/** An instance for testing whether a = b. */
+	public static final L2_JUMP_IF_COMPARE_FLOAT equal =
+		new L2_JUMP_IF_COMPARE_FLOAT(DCMPL, IFEQ, "=");
+
+	/** An instance for testing whether a ≠ b. */
+	public static final L2_JUMP_IF_COMPARE_FLOAT notEqual =
+		new L2_JUMP_IF_COMPARE_FLOAT(DCMPL, IFNE, "≠");
+
+	/**
+	 * The opcode that compares the two doubles.  {@code DCMPG} answers 1 for a
+	 * NaN and {@code DCMPL} answers -1, so each relation uses the one that
+	 * makes a NaN fail it.
+	 */
+	private final int compareOpcode;
+
+	/**
+	 * The opcode that branches to the success case, based on the result of
+	 * the comparison.
+	 */
+	private final int opcode;
+
+	/**
+	 * The symbolic name of the opcode that compares and branches to the success
+	 * case.
+	 */
+	private final String opcodeName;
+
+	@Override
+	public void toString (
+		final L2Instruction instruction,
+		final Set<L2OperandType> desiredTypes,
+		final StringBuilder builder)
+	{
+		assert this == instruction.operation();
+		final L2ReadFloatOperand float1Reg = instruction.operand(0);
+		final L2ReadFloatOperand float2Reg = instruction.operand(1);
+
+		renderPreamble(instruction, builder);
+		builder.append(' ');
+		builder.append(float1Reg.registerString());
+		builder.append(" ");
+		builder.append(opcodeName);
+		builder.append(" ");
+		builder.append(float2Reg.registerString());
+		renderOperandsStartingAt(instruction, 2, desiredTypes, builder);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return super.toString() + "(" + opcodeName + ")";
+	}
+
+	@Override
+	public void translateToJVM (
+		final JVMTranslator translator,
+		final MethodVisitor method,
+		final L2Instruction instruction)
+	{
+		final L2ReadFloatOperand float1Reg = instruction.operand(0);
+		final L2ReadFloatOperand float2Reg = instruction.operand(1);
+		final L2PcOperand ifTrue = instruction.operand(2);
+		final L2PcOperand ifFalse = instruction.operand(3);
+
+		// :: if (float1 op float2) goto ifTrue;
+		// :: else goto ifFalse;
+		translator.load(method, float1Reg.register());
+		translator.load(method, float2Reg.register());
+		method.visitInsn(compareOpcode);
+		emitBranch(translator, method, instruction, opcode, ifTrue, ifFalse);
+	}
+}
@@ -32,15 +32,20 @@
 
 package com.avail.interpreter.levelTwo.operation;
 
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.BottomTypeDescriptor;
 import com.avail.interpreter.levelTwo.L2Instruction;
 import com.avail.interpreter.levelTwo.L2OperandType;
 import com.avail.interpreter.levelTwo.operand.L2PcOperand;
 import com.avail.interpreter.levelTwo.operand.L2ReadIntOperand;
+import com.avail.optimizer.L2ValueManifest;
 import com.avail.optimizer.jvm.JVMTranslator;
 import org.objectweb.asm.MethodVisitor;
 
 import java.util.Set;
 
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.inclusive;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.int32;
 import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.FAILURE;
 import static com.avail.interpreter.levelTwo.L2NamedOperandType.Purpose.SUCCESS;
 import static com.avail.interpreter.levelTwo.L2OperandType.PC;
@@ -74,6 +79,7 @@ extends L2ConditionalJump
 			PC.is("if false", FAILURE));
 		this.opcode = opcode;
 		this.opcodeName = opcodeName;
+		this.trueOrders = ordersForOpcode(opcode);
 	}
 
 	/** An instance for testing whether a < b. */
@@ -111,6 +117,146 @@ extends L2ConditionalJump
 	 */
 	private final String opcodeName;
 
+	/**
+	 * Bit flags indicating which of the orders {@link #LESS}, {@link #EQUAL},
+	 * and {@link #GREATER} (of int1 relative to int2) cause the branch to the
+	 * success case.
+	 */
+	private final int trueOrders;
+
+	/** The flag indicating int1 < int2. */
+	private static final int LESS = 1;
+
+	/** The flag indicating int1 = int2. */
+	private static final int EQUAL = 2;
+
+	/** The flag indicating int1 > int2. */
+	private static final int GREATER = 4;
+
+	/**
+	 * Answer the bit flags indicating which orders of int1 relative to int2
+	 * satisfy the given compare-and-branch opcode.
+	 *
+	 * @param opcode
+	 *        The JVM compare-and-branch opcode.
+	 * @return The {@link #LESS}, {@link #EQUAL}, and {@link #GREATER} flags
+	 *         for which the branch is taken.
+	 */
+	private static int ordersForOpcode (final int opcode)
+	{
+		switch (opcode)
+		{
+			case IF_ICMPLT: return LESS;
+			case IF_ICMPGT: return GREATER;
+			case IF_ICMPLE: return LESS | EQUAL;
+			case IF_ICMPGE: return GREATER | EQUAL;
+			case IF_ICMPEQ: return EQUAL;
+			case IF_ICMPNE: return LESS | GREATER;
+			default: throw new IllegalArgumentException("Bad opcode");
+		}
+	}
+
+	@Override
+	public void instructionWasAdded (
+		final L2Instruction instruction,
+		final L2ValueManifest manifest)
+	{
+		assert this == instruction.operation();
+		final L2ReadIntOperand int1Reg = instruction.operand(0);
+		final L2ReadIntOperand int2Reg = instruction.operand(1);
+		final L2PcOperand ifTrue = instruction.operand(2);
+		final L2PcOperand ifFalse = instruction.operand(3);
+
+		super.instructionWasAdded(instruction, manifest);
+
+		// Narrow the ranges of both operands along each branch, so that
+		// subsequent range checks (e.g., tuple subscript bounds checks) that
+		// are implied by this one can be omitted.
+		narrowAlongEdge(ifTrue, int1Reg, int2Reg, trueOrders);
+		narrowAlongEdge(
+			ifFalse, int1Reg, int2Reg, (LESS | EQUAL | GREATER) & ~trueOrders);
+	}
+
+	/**
+	 * Restrict the integer ranges of the two operands in the {@link
+	 * L2PcOperand#manifest() manifest} of the given edge, given that the
+	 * relation between them is one of the indicated orders.
+	 *
+	 * @param edge
+	 *        The {@link L2PcOperand} whose manifest should be narrowed.
+	 * @param int1Reg
+	 *        The first operand of the comparison.
+	 * @param int2Reg
+	 *        The second operand of the comparison.
+	 * @param orders
+	 *        The bit flags of the possible orders of int1 relative to int2
+	 *        along this edge.
+	 */
+	private static void narrowAlongEdge (
+		final L2PcOperand edge,
+		final L2ReadIntOperand int1Reg,
+		final L2ReadIntOperand int2Reg,
+		final int orders)
+	{
+		final L2ValueManifest manifest = edge.manifest();
+		final A_Type type1 = manifest.restrictionFor(
+			int1Reg.semanticValue()).type.typeIntersection(int32());
+		final A_Type type2 = manifest.restrictionFor(
+			int2Reg.semanticValue()).type.typeIntersection(int32());
+		if (type1.isBottom() || type2.isBottom())
+		{
+			// The edge is unreachable anyhow.
+			return;
+		}
+		final long low1 = type1.lowerBound().extractLong();
+		final long high1 = type1.upperBound().extractLong();
+		final long low2 = type2.lowerBound().extractLong();
+		final long high2 = type2.upperBound().extractLong();
+		final int strict = (orders & EQUAL) == 0 ? 1 : 0;
+		if ((orders & GREATER) == 0)
+		{
+			// int1 ≤ int2 (or int1 < int2, if strict).
+			narrow(manifest, int1Reg, Integer.MIN_VALUE, high2 - strict);
+			narrow(manifest, int2Reg, low1 + strict, Integer.MAX_VALUE);
+		}
+		if ((orders & LESS) == 0)
+		{
+			// int1 ≥ int2 (or int1 > int2, if strict).
+			narrow(manifest, int1Reg, low2 + strict, Integer.MAX_VALUE);
+			narrow(manifest, int2Reg, Integer.MIN_VALUE, high1 - strict);
+		}
+	}
+
+	/**
+	 * Intersect the type of the given operand's semantic value with the given
+	 * inclusive range, unless that would make it {@link
+	 * BottomTypeDescriptor#bottom() bottom}, in which case the edge is
+	 * dynamically unreachable and is left alone.
+	 *
+	 * @param manifest
+	 *        The {@link L2ValueManifest} to update.
+	 * @param intReg
+	 *        The {@link L2ReadIntOperand} whose semantic value to narrow.
+	 * @param low
+	 *        The inclusive lower bound.
+	 * @param high
+	 *        The inclusive upper bound.
+	 */
+	private static void narrow (
+		final L2ValueManifest manifest,
+		final L2ReadIntOperand intReg,
+		final long low,
+		final long high)
+	{
+		final A_Type oldType =
+			manifest.restrictionFor(intReg.semanticValue()).type;
+		final A_Type newType = oldType.typeIntersection(inclusive(low, high));
+		if (!newType.isBottom() && !newType.equals(oldType))
+		{
+			manifest.intersectType(intReg.semanticValue(), newType);
+		}
+	}
+
 	@Override
 	public void toString (
 		final L2Instruction instruction,
@@ -109,7 +109,13 @@ extends L2ControlFlowOperation
 		 * P_RestartContinuation} and {@link P_RestartContinuationWithArguments}
 		 * invocations in L2 code.
 		 */
-		ABANDON_BEFORE_RESTART_IN_L2;
+		ABANDON_BEFORE_RESTART_IN_L2,
+
+		/**
+		 * For measuring reifications that deoptimize an invalidated chunk
+		 * before a call site whose dispatch it resolved statically.
+		 */
+		DEOPTIMIZE_BEFORE_CALL_IN_L2;
 
 		/** {@link Statistic} for reifying in L1 interrupt-handler preamble. */
 		public final Statistic statistic =
@@ -87,6 +87,10 @@ extends Primitive
 		try
 		{
 			handle.channel.close();
+			if (handle.mappableChannel != null)
+			{
+				handle.mappableChannel.close();
+			}
 		}
 		catch (final IOException e)
 		{
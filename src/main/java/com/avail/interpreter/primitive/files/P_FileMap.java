@@ -0,0 +1,194 @@
+/*
+ * P_FileMap.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.avail.interpreter.primitive.files;
+
+import com.avail.descriptor.A_Atom;
+import com.avail.descriptor.A_BasicObject;
+import com.avail.descriptor.A_Number;
+import com.avail.descriptor.A_Tuple;
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.AtomDescriptor;
+import com.avail.descriptor.ByteBufferTupleDescriptor;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.Primitive;
+import com.avail.io.IOSystem.FileHandle;
+import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.avail.descriptor.AbstractEnumerationTypeDescriptor.enumerationWith;
+import static com.avail.descriptor.AtomDescriptor.SpecialAtom.FILE_KEY;
+import static com.avail.descriptor.ByteBufferTupleDescriptor.tupleForByteBuffer;
+import static com.avail.descriptor.FunctionTypeDescriptor.functionType;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.bytes;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.naturalNumbers;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.wholeNumbers;
+import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
+import static com.avail.descriptor.SetDescriptor.set;
+import static com.avail.descriptor.TupleDescriptor.emptyTuple;
+import static com.avail.descriptor.TupleTypeDescriptor.zeroOrMoreOf;
+import static com.avail.descriptor.TypeDescriptor.Types.ATOM;
+import static com.avail.exceptions.AvailErrorCode.*;
+import static com.avail.interpreter.Primitive.Flag.CanInline;
+import static com.avail.interpreter.Primitive.Flag.HasSideEffect;
+import static java.lang.Math.min;
+
+/**
+ * <strong>Primitive:</strong> Map the requested number of bytes of the file
+ * associated with the specified {@linkplain AtomDescriptor handle}, starting
+ * at the requested one-based position, read-only into memory.  Produce them as
+ * a {@linkplain ByteBufferTupleDescriptor tuple} of bytes that is backed
+ * directly by the {@linkplain MappedByteBuffer mapping}, so no bytes are
+ * copied, either now or when {@linkplain A_Tuple#copyTupleFromToCanDestroy(
+ * int, int, boolean) slicing} the resulting tuple.  If fewer bytes are
+ * available, then simply produce a shorter tuple; an empty tuple unambiguously
+ * indicates that the requested position is beyond the end of the file.
+ *
+ * <p>
+ * The file is mapped synchronously, but the operating system only pages in
+ * the content lazily, as the tuple's elements are accessed.  The mapping
+ * remains valid even after the file handle has been closed, until the tuple
+ * itself is reclaimed.  Changes to the underlying file made after the mapping
+ * has been established may or may not be visible through the tuple, so
+ * clients should only map files that are not concurrently being written.
+ * </p>
+ */
+public final class P_FileMap
+extends Primitive
+{
+	/**
+	 * The sole instance of this primitive class.  Accessed through reflection.
+	 */
+	@ReferencedInGeneratedCode
+	public static final Primitive instance =
+		new P_FileMap().init(
+			3, CanInline, HasSideEffect);
+
+	/**
+	 * The maximum size of a single mapping.  A {@link MappedByteBuffer} is
+	 * indexed by {@code int}, as are tuples, so larger regions must be mapped
+	 * piecewise by the Avail code.
+	 */
+	public static final int MAX_MAP_SIZE = Integer.MAX_VALUE;
+
+	@Override
+	public Result attempt (
+		final Interpreter interpreter)
+	{
+		interpreter.checkArgumentCount(3);
+		final A_Number positionObject = interpreter.argument(0);
+		final A_Number sizeObject = interpreter.argument(1);
+		final A_Atom atom = interpreter.argument(2);
+
+		final A_BasicObject pojo =
+			atom.getAtomProperty(FILE_KEY.atom);
+		if (pojo.equalsNil())
+		{
+			return interpreter.primitiveFailure(
+				atom.isAtomSpecial() ? E_SPECIAL_ATOM : E_INVALID_HANDLE);
+		}
+		final FileHandle handle = pojo.javaObjectNotNull();
+		if (!handle.canRead)
+		{
+			return interpreter.primitiveFailure(E_NOT_OPEN_FOR_READ);
+		}
+		if (!positionObject.isLong() || !sizeObject.isInt())
+		{
+			return interpreter.primitiveFailure(E_EXCEEDS_VM_LIMIT);
+		}
+		final long oneBasedPosition = positionObject.extractLong();
+		// Guaranteed positive by argument constraint.
+		assert oneBasedPosition > 0L;
+		final int requestedSize = sizeObject.extractInt();
+		// The handle's main channel is asynchronous, and therefore cannot be
+		// mapped.  Use the synchronous channel that was opened alongside it.
+		final @Nullable FileChannel channel = handle.mappableChannel;
+		if (channel == null)
+		{
+			return interpreter.primitiveFailure(E_OPERATION_NOT_SUPPORTED);
+		}
+		try
+		{
+			final long fileSize = channel.size();
+			if (oneBasedPosition > fileSize || requestedSize == 0)
+			{
+				return interpreter.primitiveSuccess(emptyTuple());
+			}
+			final int size = (int) min(
+				min(requestedSize, MAX_MAP_SIZE),
+				fileSize - oneBasedPosition + 1);
+			final MappedByteBuffer buffer = channel.map(
+				FileChannel.MapMode.READ_ONLY,
+				oneBasedPosition - 1,
+				size);
+			// The buffer is read-only, so the tuple can safely be shared.
+			return interpreter.primitiveSuccess(
+				tupleForByteBuffer(buffer).makeShared());
+		}
+		catch (final SecurityException e)
+		{
+			return interpreter.primitiveFailure(E_PERMISSION_DENIED);
+		}
+		catch (final IOException e)
+		{
+			return interpreter.primitiveFailure(E_IO_ERROR);
+		}
+	}
+
+	@Override
+	protected A_Type privateBlockTypeRestriction ()
+	{
+		return functionType(
+			tuple(
+				naturalNumbers(),
+				wholeNumbers(),
+				ATOM.o()),
+			zeroOrMoreOf(bytes()));
+	}
+
+	@Override
+	protected A_Type privateFailureVariableType ()
+	{
+		return enumerationWith(
+			set(
+				E_INVALID_HANDLE,
+				E_SPECIAL_ATOM,
+				E_NOT_OPEN_FOR_READ,
+				E_EXCEEDS_VM_LIMIT,
+				E_OPERATION_NOT_SUPPORTED,
+				E_PERMISSION_DENIED,
+				E_IO_ERROR));
+	}
+}
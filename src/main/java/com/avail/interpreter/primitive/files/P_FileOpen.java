@@ -45,8 +45,10 @@ import com.avail.io.IOSystem;
 import com.avail.io.IOSystem.FileHandle;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileSystem;
 import java.nio.file.InvalidPathException;
@@ -220,12 +222,43 @@ extends Primitive
 		{
 			return interpreter.primitiveFailure(E_IO_ERROR);
 		}
+		// The asynchronous channel can't be mapped, so open a synchronous one
+		// on the same file now, while the name still refers to it.
+		@Nullable FileChannel mappableChannel = null;
+		if (fileOptions.contains(READ))
+		{
+			try
+			{
+				mappableChannel = FileChannel.open(path, READ);
+			}
+			catch (final UnsupportedOperationException e)
+			{
+				// The file system can't map files; nor can the handle.
+			}
+			catch (final SecurityException|IOException e)
+			{
+				try
+				{
+					channel.close();
+				}
+				catch (final IOException e2)
+				{
+					// Nothing more can be done about it.
+				}
+				return interpreter.primitiveFailure(
+					e instanceof SecurityException
+						|| e instanceof AccessDeniedException
+					? E_PERMISSION_DENIED
+					: E_IO_ERROR);
+			}
+		}
 		final FileHandle fileHandle = new FileHandle(
 			filename,
 			alignmentInt,
 			fileOptions.contains(READ),
 			fileOptions.contains(WRITE),
-			channel);
+			channel,
+			mappableChannel);
 		final AvailObject pojo = identityPojo(fileHandle);
 		atom.setAtomProperty(FILE_KEY.atom, pojo);
 		return interpreter.primitiveSuccess(atom);
@@ -0,0 +1,352 @@
+/*
+ * AvailJSONDecoder.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.primitive.general;
+
+import com.avail.descriptor.A_BasicObject;
+import com.avail.descriptor.A_Map;
+import com.avail.descriptor.A_String;
+import com.avail.descriptor.A_Tuple;
+import com.avail.descriptor.AvailObject;
+import com.avail.utility.json.JSONException;
+import com.avail.utility.json.JSONPullParser;
+
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.MalformedInputException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.avail.descriptor.AtomDescriptor.objectFromBoolean;
+import static com.avail.descriptor.DoubleDescriptor.fromDouble;
+import static com.avail.descriptor.IntegerDescriptor.fromBigInteger;
+import static com.avail.descriptor.IntegerDescriptor.fromLong;
+import static com.avail.descriptor.MapDescriptor.emptyMap;
+import static com.avail.descriptor.ObjectTupleDescriptor.tupleFromList;
+import static com.avail.descriptor.StringDescriptor.stringFrom;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An {@code AvailJSONDecoder} decodes JSON text directly into Avail values,
+ * driving a {@link JSONPullParser} so that no intermediate Java representation
+ * of the document is built.  JSON objects become {@linkplain A_Map maps} with
+ * {@linkplain A_String string} keys, arrays become {@linkplain A_Tuple
+ * tuples}, strings become strings, numbers become integers (when written
+ * without a fraction or exponent) or doubles, and {@code true} and {@code
+ * false} become the corresponding atoms.  JSON {@code null} becomes a value
+ * chosen by the client.
+ *
+ * <p>Text may be supplied either as a string or as a tuple of UTF-8 encoded
+ * bytes, and may arrive in chunks.  Each complete top-level value is answered
+ * as soon as it has been decoded.</p>
+ */
+final class AvailJSONDecoder
+{
+	/**
+	 * The maximum number of distinct object keys to {@linkplain #key(String)
+	 * intern}.
+	 */
+	private static final int maximumInternedKeys = 4096;
+
+	/**
+	 * A partially decoded JSON array or object.
+	 */
+	private static final class Container
+	{
+		/** The elements of an array, or {@code null} for an object. */
+		final @Nullable List<A_BasicObject> elements;
+
+		/** The fields of an object decoded so far. */
+		A_Map map = emptyMap();
+
+		/** The key of the object field whose value is being decoded. */
+		@Nullable A_String key;
+
+		/**
+		 * Construct a new {@code Container}.
+		 *
+		 * @param isObject
+		 *        Whether the container is an object rather than an array.
+		 */
+		Container (final boolean isObject)
+		{
+			elements = isObject ? null : new ArrayList<>();
+		}
+	}
+
+	/** The {@link JSONPullParser} that tokenizes the text. */
+	private final JSONPullParser parser = new JSONPullParser();
+
+	/** The value that represents JSON {@code null}. */
+	private final A_BasicObject nullValue;
+
+	/** The open containers, innermost first. */
+	private final Deque<Container> containers = new ArrayDeque<>();
+
+	/**
+	 * The {@linkplain A_String Avail strings} for the object keys encountered
+	 * so far, so that repeated keys share a single immutable string.
+	 */
+	private final Map<String, A_String> internedKeys = new HashMap<>();
+
+	/**
+	 * The decoder for byte input, or {@code null} if no bytes have been
+	 * supplied.
+	 */
+	private @Nullable CharsetDecoder utf8Decoder;
+
+	/**
+	 * The trailing bytes of the previous chunk that don't yet form a complete
+	 * UTF-8 sequence.
+	 */
+	private ByteBuffer pendingBytes = ByteBuffer.allocate(0);
+
+	/**
+	 * Construct a new {@code AvailJSONDecoder}.
+	 *
+	 * @param nullValue
+	 *        The value that represents JSON {@code null}.
+	 */
+	AvailJSONDecoder (final A_BasicObject nullValue)
+	{
+		this.nullValue = nullValue.makeImmutable();
+	}
+
+	/**
+	 * Supply the next chunk of JSON text.
+	 *
+	 * @param chunk
+	 *        Either a {@linkplain A_String string} or a {@linkplain A_Tuple
+	 *        tuple} of UTF-8 encoded bytes.
+	 * @throws CharacterCodingException
+	 *         If the bytes are not valid UTF-8, or if a string follows an
+	 *         incomplete byte sequence.
+	 */
+	void feed (final A_Tuple chunk) throws CharacterCodingException
+	{
+		if (chunk.isString())
+		{
+			if (pendingBytes.hasRemaining())
+			{
+				throw new MalformedInputException(pendingBytes.remaining());
+			}
+			parser.feed(((A_String) chunk).asNativeString());
+			return;
+		}
+		CharsetDecoder decoder = utf8Decoder;
+		if (decoder == null)
+		{
+			decoder = UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT);
+			utf8Decoder = decoder;
+		}
+		final int size = chunk.tupleSize();
+		final ByteBuffer bytes =
+			ByteBuffer.allocate(pendingBytes.remaining() + size);
+		bytes.put(pendingBytes);
+		chunk.transferIntoByteBuffer(1, size, bytes);
+		bytes.flip();
+		// UTF-8 never produces more UTF-16 code units than it consumes bytes.
+		final CharBuffer chars = CharBuffer.allocate(bytes.remaining());
+		final CoderResult result = decoder.decode(bytes, chars, false);
+		if (result.isError())
+		{
+			result.throwException();
+		}
+		chars.flip();
+		parser.feed(chars);
+		pendingBytes = bytes.slice();
+	}
+
+	/**
+	 * Indicate that no more text will be {@linkplain #feed(A_Tuple) fed}.
+	 *
+	 * @throws CharacterCodingException
+	 *         If the bytes supplied so far end with an incomplete UTF-8
+	 *         sequence.
+	 */
+	void endInput () throws CharacterCodingException
+	{
+		if (pendingBytes.hasRemaining())
+		{
+			throw new MalformedInputException(pendingBytes.remaining());
+		}
+		parser.endInput();
+	}
+
+	/**
+	 * Answer the {@linkplain A_String Avail string} for the given object key,
+	 * reusing an earlier one if possible.
+	 *
+	 * @param key
+	 *        The key.
+	 * @return The corresponding Avail string.
+	 */
+	private A_String key (final String key)
+	{
+		final @Nullable A_String existing = internedKeys.get(key);
+		if (existing != null)
+		{
+			return existing;
+		}
+		final A_String string = stringFrom(key);
+		if (internedKeys.size() < maximumInternedKeys)
+		{
+			string.makeImmutable();
+			internedKeys.put(key, string);
+		}
+		return string;
+	}
+
+	/**
+	 * Answer the Avail number for the most recently parsed JSON number.
+	 *
+	 * @return An integer or a double.
+	 */
+	private A_BasicObject number ()
+	{
+		final String text = parser.numberText();
+		if (!parser.numberIsIntegral())
+		{
+			return fromDouble(Double.parseDouble(text));
+		}
+		// At most 18 digits (plus a sign) always fits in a long.
+		return text.length() <= 18
+			? fromLong(Long.parseLong(text))
+			: fromBigInteger(new BigInteger(text));
+	}
+
+	/**
+	 * A value has been completely decoded.  Add it to the innermost open
+	 * container, or to the given list if it's a top-level value.
+	 *
+	 * @param value
+	 *        The decoded value.
+	 * @param completed
+	 *        The top-level values completed so far.
+	 */
+	private void deliver (
+		final A_BasicObject value,
+		final List<AvailObject> completed)
+	{
+		final @Nullable Container container = containers.peekFirst();
+		if (container == null)
+		{
+			completed.add((AvailObject) value);
+			return;
+		}
+		final @Nullable List<A_BasicObject> elements = container.elements;
+		if (elements != null)
+		{
+			elements.add(value);
+			return;
+		}
+		final @Nullable A_String key = container.key;
+		assert key != null;
+		container.map = container.map.mapAtPuttingCanDestroy(key, value, true);
+		container.key = null;
+	}
+
+	/**
+	 * Decode as much of the text supplied so far as possible, answering the
+	 * top-level values that were completed.  Partially decoded values are
+	 * retained until more text arrives.
+	 *
+	 * @return The newly completed top-level values, in order.
+	 * @throws JSONException
+	 *         If the text is not valid JSON.
+	 */
+	List<AvailObject> decodeAvailable () throws JSONException
+	{
+		final List<AvailObject> completed = new ArrayList<>();
+		while (true)
+		{
+			switch (parser.next())
+			{
+				case START_OBJECT:
+					containers.addFirst(new Container(true));
+					break;
+				case START_ARRAY:
+					containers.addFirst(new Container(false));
+					break;
+				case END_OBJECT:
+					deliver(containers.removeFirst().map, completed);
+					break;
+				case END_ARRAY:
+				{
+					final @Nullable List<A_BasicObject> elements =
+						containers.removeFirst().elements;
+					assert elements != null;
+					deliver(tupleFromList(elements), completed);
+					break;
+				}
+				case KEY:
+				{
+					final @Nullable Container container =
+						containers.peekFirst();
+					assert container != null;
+					container.key = key(parser.stringValue());
+					break;
+				}
+				case STRING:
+					deliver(stringFrom(parser.stringValue()), completed);
+					break;
+				case NUMBER:
+					deliver(number(), completed);
+					break;
+				case TRUE:
+					deliver(objectFromBoolean(true), completed);
+					break;
+				case FALSE:
+					deliver(objectFromBoolean(false), completed);
+					break;
+				case NULL:
+					deliver(nullValue, completed);
+					break;
+				case NEED_MORE_INPUT:
+				case END_OF_INPUT:
+					return completed;
+			}
+		}
+	}
+}
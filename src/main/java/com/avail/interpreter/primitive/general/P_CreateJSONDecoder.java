@@ -0,0 +1,94 @@
+/*
+ * P_CreateJSONDecoder.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.primitive.general;
+
+import com.avail.descriptor.A_Atom;
+import com.avail.descriptor.A_BasicObject;
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.AtomDescriptor;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.Primitive;
+import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+
+import static com.avail.descriptor.AtomDescriptor.SpecialAtom.JSON_DECODER_KEY;
+import static com.avail.descriptor.AtomDescriptor.createAtom;
+import static com.avail.descriptor.FunctionTypeDescriptor.functionType;
+import static com.avail.descriptor.ModuleDescriptor.currentModule;
+import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
+import static com.avail.descriptor.RawPojoDescriptor.identityPojo;
+import static com.avail.descriptor.StringDescriptor.stringFrom;
+import static com.avail.descriptor.TypeDescriptor.Types.ANY;
+import static com.avail.descriptor.TypeDescriptor.Types.ATOM;
+import static com.avail.interpreter.Primitive.Flag.CanInline;
+import static com.avail.interpreter.Primitive.Flag.CannotFail;
+import static com.avail.interpreter.Primitive.Flag.HasSideEffect;
+
+/**
+ * <strong>Primitive:</strong> Create an incremental JSON decoder, and answer
+ * a {@linkplain AtomDescriptor handle} that uniquely identifies it.  Feed it
+ * with {@link P_DecodeJSONChunk}.  JSON {@code null} is decoded as the
+ * argument.
+ *
+ * @see AvailJSONDecoder
+ */
+public final class P_CreateJSONDecoder
+extends Primitive
+{
+	/**
+	 * The sole instance of this primitive class. Accessed through reflection.
+	 */
+	@ReferencedInGeneratedCode
+	public static final Primitive instance =
+		new P_CreateJSONDecoder().init(
+			1, CanInline, CannotFail, HasSideEffect);
+
+	@Override
+	public Result attempt (
+		final Interpreter interpreter)
+	{
+		interpreter.checkArgumentCount(1);
+		final A_BasicObject nullValue = interpreter.argument(0);
+		final A_Atom handle =
+			createAtom(stringFrom("JSON decoder"), currentModule());
+		handle.setAtomProperty(
+			JSON_DECODER_KEY.atom,
+			identityPojo(new AvailJSONDecoder(nullValue)));
+		return interpreter.primitiveSuccess(handle);
+	}
+
+	@Override
+	protected A_Type privateBlockTypeRestriction ()
+	{
+		return functionType(tuple(ANY.o()), ATOM.o());
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * P_DecodeJSON.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.primitive.general;
+
+import com.avail.descriptor.A_BasicObject;
+import com.avail.descriptor.A_Tuple;
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.AvailObject;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.Primitive;
+import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+import com.avail.utility.json.JSONException;
+
+import java.nio.charset.CharacterCodingException;
+import java.util.List;
+
+import static com.avail.descriptor.AbstractEnumerationTypeDescriptor.enumerationWith;
+import static com.avail.descriptor.FunctionTypeDescriptor.functionType;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.bytes;
+import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
+import static com.avail.descriptor.SetDescriptor.set;
+import static com.avail.descriptor.TupleTypeDescriptor.stringType;
+import static com.avail.descriptor.TupleTypeDescriptor.zeroOrMoreOf;
+import static com.avail.descriptor.TypeDescriptor.Types.ANY;
+import static com.avail.exceptions.AvailErrorCode.E_DESERIALIZATION_FAILED;
+import static com.avail.interpreter.Primitive.Flag.CanFold;
+import static com.avail.interpreter.Primitive.Flag.CanInline;
+
+/**
+ * <strong>Primitive:</strong> Decode the given JSON document, supplied either
+ * as a {@linkplain A_Tuple string} or as a tuple of UTF-8 encoded bytes,
+ * directly into Avail values.  Objects become maps with string keys, arrays
+ * become tuples, and numbers become integers or doubles.  JSON {@code null}
+ * becomes the second argument.
+ *
+ * @see AvailJSONDecoder
+ */
+public final class P_DecodeJSON
+extends Primitive
+{
+	/**
+	 * The sole instance of this primitive class. Accessed through reflection.
+	 */
+	@ReferencedInGeneratedCode
+	public static final Primitive instance =
+		new P_DecodeJSON().init(
+			2, CanFold, CanInline);
+
+	@Override
+	public Result attempt (
+		final Interpreter interpreter)
+	{
+		interpreter.checkArgumentCount(2);
+		final A_Tuple text = interpreter.argument(0);
+		final A_BasicObject nullValue = interpreter.argument(1);
+		final AvailJSONDecoder decoder = new AvailJSONDecoder(nullValue);
+		final List<AvailObject> values;
+		try
+		{
+			decoder.feed(text);
+			decoder.endInput();
+			values = decoder.decodeAvailable();
+		}
+		catch (final JSONException|CharacterCodingException e)
+		{
+			return interpreter.primitiveFailure(E_DESERIALIZATION_FAILED);
+		}
+		if (values.size() != 1)
+		{
+			return interpreter.primitiveFailure(E_DESERIALIZATION_FAILED);
+		}
+		return interpreter.primitiveSuccess(values.get(0));
+	}
+
+	@Override
+	protected A_Type privateBlockTypeRestriction ()
+	{
+		return functionType(
+			tuple(
+				stringType().typeUnion(zeroOrMoreOf(bytes())),
+				ANY.o()),
+			ANY.o());
+	}
+
+	@Override
+	protected A_Type privateFailureVariableType ()
+	{
+		return enumerationWith(set(E_DESERIALIZATION_FAILED));
+	}
+}
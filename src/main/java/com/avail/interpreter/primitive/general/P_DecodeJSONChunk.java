@@ -0,0 +1,146 @@
+/*
+ * P_DecodeJSONChunk.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.primitive.general;
+
+import com.avail.descriptor.A_Atom;
+import com.avail.descriptor.A_Tuple;
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.AvailObject;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.Primitive;
+import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+import com.avail.utility.json.JSONException;
+
+import java.nio.charset.CharacterCodingException;
+import java.util.List;
+
+import static com.avail.descriptor.AbstractEnumerationTypeDescriptor.enumerationWith;
+import static com.avail.descriptor.AtomDescriptor.SpecialAtom.JSON_DECODER_KEY;
+import static com.avail.descriptor.EnumerationTypeDescriptor.booleanType;
+import static com.avail.descriptor.FunctionTypeDescriptor.functionType;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.bytes;
+import static com.avail.descriptor.NilDescriptor.nil;
+import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
+import static com.avail.descriptor.ObjectTupleDescriptor.tupleFromList;
+import static com.avail.descriptor.SetDescriptor.set;
+import static com.avail.descriptor.TupleTypeDescriptor.stringType;
+import static com.avail.descriptor.TupleTypeDescriptor.zeroOrMoreOf;
+import static com.avail.descriptor.TypeDescriptor.Types.ANY;
+import static com.avail.descriptor.TypeDescriptor.Types.ATOM;
+import static com.avail.exceptions.AvailErrorCode.E_DESERIALIZATION_FAILED;
+import static com.avail.exceptions.AvailErrorCode.E_INVALID_HANDLE;
+import static com.avail.exceptions.AvailErrorCode.E_SPECIAL_ATOM;
+import static com.avail.interpreter.Primitive.Flag.CanInline;
+import static com.avail.interpreter.Primitive.Flag.HasSideEffect;
+
+/**
+ * <strong>Primitive:</strong> Feed the next chunk of JSON text, supplied
+ * either as a string or as a tuple of UTF-8 encoded bytes, to the JSON decoder
+ * identified by the {@linkplain A_Atom handle}, and answer a tuple of the
+ * top-level values that it completed.  Chunks may split the text anywhere.
+ * If the third argument is {@code true}, then the chunk is the last one; the
+ * decoder must then be between top-level values, and the handle is released.
+ * The handle is also released if the text is malformed.
+ *
+ * @see P_CreateJSONDecoder
+ */
+public final class P_DecodeJSONChunk
+extends Primitive
+{
+	/**
+	 * The sole instance of this primitive class. Accessed through reflection.
+	 */
+	@ReferencedInGeneratedCode
+	public static final Primitive instance =
+		new P_DecodeJSONChunk().init(
+			3, CanInline, HasSideEffect);
+
+	@Override
+	public Result attempt (
+		final Interpreter interpreter)
+	{
+		interpreter.checkArgumentCount(3);
+		final A_Atom handle = interpreter.argument(0);
+		final A_Tuple chunk = interpreter.argument(1);
+		final boolean isLast = interpreter.argument(2).extractBoolean();
+		final AvailObject pojo = handle.getAtomProperty(JSON_DECODER_KEY.atom);
+		if (pojo.equalsNil())
+		{
+			return interpreter.primitiveFailure(
+				handle.isAtomSpecial() ? E_SPECIAL_ATOM : E_INVALID_HANDLE);
+		}
+		final AvailJSONDecoder decoder = pojo.javaObjectNotNull();
+		final List<AvailObject> values;
+		// Fibers may share a handle, so decode one chunk at a time.
+		synchronized (decoder)
+		{
+			try
+			{
+				decoder.feed(chunk);
+				if (isLast)
+				{
+					decoder.endInput();
+				}
+				values = decoder.decodeAvailable();
+			}
+			catch (final JSONException|CharacterCodingException e)
+			{
+				handle.setAtomProperty(JSON_DECODER_KEY.atom, nil);
+				return interpreter.primitiveFailure(E_DESERIALIZATION_FAILED);
+			}
+			if (isLast)
+			{
+				handle.setAtomProperty(JSON_DECODER_KEY.atom, nil);
+			}
+		}
+		return interpreter.primitiveSuccess(tupleFromList(values));
+	}
+
+	@Override
+	protected A_Type privateBlockTypeRestriction ()
+	{
+		return functionType(
+			tuple(
+				ATOM.o(),
+				stringType().typeUnion(zeroOrMoreOf(bytes())),
+				booleanType()),
+			zeroOrMoreOf(ANY.o()));
+	}
+
+	@Override
+	protected A_Type privateFailureVariableType ()
+	{
+		return enumerationWith(
+			set(E_INVALID_HANDLE, E_SPECIAL_ATOM, E_DESERIALIZATION_FAILED));
+	}
+}
@@ -104,7 +104,7 @@ extends Primitive
 		final List<AvailObject> copiedArgs =
 			new ArrayList<>(interpreter.argsBuffer);
 		interpreter.primitiveSuspend(primitiveFunction);
-		interpreter.runtime().whenLevelOneSafeDo(
+		interpreter.runtime().whenLevelOneUnsafeDo(
 			fiber.priority(),
 			AvailTask.forUnboundFiber(
 				fiber,
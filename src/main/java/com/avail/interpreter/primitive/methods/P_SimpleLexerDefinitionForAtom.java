@@ -126,7 +126,7 @@ extends Primitive
 			filterFunction, bodyFunction, method, loader.module());
 		final A_Function primitiveFunction = stripNull(interpreter.function);
 		interpreter.primitiveSuspend(primitiveFunction);
-		interpreter.runtime().whenLevelOneSafeDo(
+		interpreter.runtime().whenLevelOneUnsafeDo(
 			fiber.priority(),
 			AvailTask.forUnboundFiber(
 				fiber,
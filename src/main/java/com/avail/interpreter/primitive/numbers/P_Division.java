@@ -37,6 +37,10 @@ import com.avail.descriptor.A_Type;
 import com.avail.exceptions.ArithmeticException;
 import com.avail.interpreter.Interpreter;
 import com.avail.interpreter.Primitive;
+import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
+import com.avail.interpreter.levelTwo.operation.L2_DIVIDE_FLOAT_BY_FLOAT;
+import com.avail.optimizer.L1Translator;
+import com.avail.optimizer.L1Translator.CallSiteHelper;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 
 import java.util.List;
@@ -49,6 +53,7 @@ import static com.avail.descriptor.InfinityDescriptor.positiveInfinity;
 import static com.avail.descriptor.IntegerDescriptor.zero;
 import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
 import static com.avail.descriptor.SetDescriptor.set;
+import static com.avail.descriptor.TypeDescriptor.Types.DOUBLE;
 import static com.avail.descriptor.TypeDescriptor.Types.NUMBER;
 import static com.avail.exceptions.AvailErrorCode.E_CANNOT_DIVIDE_BY_ZERO;
 import static com.avail.exceptions.AvailErrorCode.E_CANNOT_DIVIDE_INFINITIES;
@@ -131,6 +136,39 @@ extends Primitive
 		return CallSiteCannotFail;
 	}
 
+	@Override
+	public boolean tryToGenerateSpecialPrimitiveInvocation (
+		final L2ReadBoxedOperand functionToCallReg,
+		final A_RawFunction rawFunction,
+		final List<L2ReadBoxedOperand> arguments,
+		final List<A_Type> argumentTypes,
+		final L1Translator translator,
+		final CallSiteHelper callSiteHelper)
+	{
+		final L2ReadBoxedOperand a = arguments.get(0);
+		final L2ReadBoxedOperand b = arguments.get(1);
+		final A_Type aType = argumentTypes.get(0);
+		final A_Type bType = argumentTypes.get(1);
+
+		if (!aType.isBottom() && !bType.isBottom()
+			&& aType.isSubtypeOf(DOUBLE.o()) && bType.isSubtypeOf(DOUBLE.o()))
+		{
+			// Both arguments are known to be doubles, so use unboxed double
+			// division.  Dividing a double by zero produces an infinity or a
+			// NaN rather than failing, so this can't fail.
+			translator.generateUnboxedFloatArithmetic(
+				L2_DIVIDE_FLOAT_BY_FLOAT.instance, a, b, callSiteHelper);
+			return true;
+		}
+		return super.tryToGenerateSpecialPrimitiveInvocation(
+			functionToCallReg,
+			rawFunction,
+			arguments,
+			argumentTypes,
+			translator,
+			callSiteHelper);
+	}
+
 	@Override
 	protected A_Type privateFailureVariableType ()
 	{
@@ -39,6 +39,7 @@ import com.avail.descriptor.EnumerationTypeDescriptor;
 import com.avail.interpreter.Interpreter;
 import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
+import com.avail.interpreter.levelTwo.operation.L2_JUMP_IF_COMPARE_FLOAT;
 import com.avail.optimizer.L1Translator;
 import com.avail.optimizer.L1Translator.CallSiteHelper;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
@@ -52,6 +53,7 @@ import static com.avail.descriptor.AtomDescriptor.objectFromBoolean;
 import static com.avail.descriptor.EnumerationTypeDescriptor.*;
 import static com.avail.descriptor.FunctionTypeDescriptor.functionType;
 import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
+import static com.avail.descriptor.TypeDescriptor.Types.DOUBLE;
 import static com.avail.descriptor.TypeDescriptor.Types.NUMBER;
 import static com.avail.interpreter.Primitive.Flag.*;
 
@@ -135,6 +137,18 @@ public final class P_LessThan extends Primitive
 					.boxedConstant(objectFromBoolean(canBeTrue)));
 			return true;
 		}
+		if (!firstType.isBottom() && !secondType.isBottom()
+			&& firstType.isSubtypeOf(DOUBLE.o())
+			&& secondType.isSubtypeOf(DOUBLE.o()))
+		{
+			// Both arguments are known to be doubles, so compare them unboxed.
+			translator.generateUnboxedFloatComparison(
+				L2_JUMP_IF_COMPARE_FLOAT.less,
+				firstReg,
+				secondReg,
+				callSiteHelper);
+			return true;
+		}
 		return super.tryToGenerateSpecialPrimitiveInvocation(
 			functionToCallReg,
 			rawFunction,
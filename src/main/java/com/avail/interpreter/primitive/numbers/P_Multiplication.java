@@ -41,6 +41,7 @@ import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
 import com.avail.interpreter.levelTwo.operand.L2ReadIntOperand;
 import com.avail.interpreter.levelTwo.operand.L2WriteIntOperand;
+import com.avail.interpreter.levelTwo.operation.L2_MULTIPLY_FLOAT_BY_FLOAT;
 import com.avail.interpreter.levelTwo.operation.L2_MULTIPLY_INT_BY_INT;
 import com.avail.interpreter.levelTwo.operation.L2_MULTIPLY_INT_BY_INT_MOD_32_BITS;
 import com.avail.optimizer.L1Translator;
@@ -65,6 +66,7 @@ import static com.avail.descriptor.IntegerRangeTypeDescriptor.*;
 import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
 import static com.avail.descriptor.SetDescriptor.emptySet;
 import static com.avail.descriptor.SetDescriptor.set;
+import static com.avail.descriptor.TypeDescriptor.Types.DOUBLE;
 import static com.avail.descriptor.TypeDescriptor.Types.NUMBER;
 import static com.avail.exceptions.AvailErrorCode.E_CANNOT_MULTIPLY_ZERO_AND_INFINITY;
 import static com.avail.interpreter.Primitive.Fallibility.CallSiteCanFail;
@@ -318,6 +320,16 @@ extends Primitive
 		final A_Type aType = argumentTypes.get(0);
 		final A_Type bType = argumentTypes.get(1);
 
+		if (!aType.isBottom() && !bType.isBottom()
+			&& aType.isSubtypeOf(DOUBLE.o()) && bType.isSubtypeOf(DOUBLE.o()))
+		{
+			// Both arguments are known to be doubles, so use unboxed double
+			// arithmetic, which can't fail.
+			translator.generateUnboxedFloatArithmetic(
+				L2_MULTIPLY_FLOAT_BY_FLOAT.instance, a, b, callSiteHelper);
+			return true;
+		}
+
 		// If either of the argument types does not intersect with int32, then
 		// fall back to the primitive invocation.
 		if (aType.typeIntersection(int32()).isBottom() ||
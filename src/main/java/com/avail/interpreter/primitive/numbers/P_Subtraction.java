@@ -42,6 +42,7 @@ import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
 import com.avail.interpreter.levelTwo.operand.L2ReadIntOperand;
 import com.avail.interpreter.levelTwo.operand.L2WriteIntOperand;
+import com.avail.interpreter.levelTwo.operation.L2_SUBTRACT_FLOAT_MINUS_FLOAT;
 import com.avail.interpreter.levelTwo.operation.L2_SUBTRACT_INT_MINUS_INT;
 import com.avail.interpreter.levelTwo.operation.L2_SUBTRACT_INT_MINUS_INT_MOD_32_BITS;
 import com.avail.optimizer.L1Translator;
@@ -64,6 +65,7 @@ import static com.avail.descriptor.IntegerRangeTypeDescriptor.integerRangeType;
 import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
 import static com.avail.descriptor.SetDescriptor.emptySet;
 import static com.avail.descriptor.SetDescriptor.set;
+import static com.avail.descriptor.TypeDescriptor.Types.DOUBLE;
 import static com.avail.descriptor.TypeDescriptor.Types.NUMBER;
 import static com.avail.exceptions.AvailErrorCode.E_CANNOT_SUBTRACT_LIKE_INFINITIES;
 import static com.avail.interpreter.Primitive.Fallibility.CallSiteCanFail;
@@ -219,6 +221,16 @@ extends Primitive
 		final A_Type aType = argumentTypes.get(0);
 		final A_Type bType = argumentTypes.get(1);
 
+		if (!aType.isBottom() && !bType.isBottom()
+			&& aType.isSubtypeOf(DOUBLE.o()) && bType.isSubtypeOf(DOUBLE.o()))
+		{
+			// Both arguments are known to be doubles, so use unboxed double
+			// arithmetic, which can't fail.
+			translator.generateUnboxedFloatArithmetic(
+				L2_SUBTRACT_FLOAT_MINUS_FLOAT.instance, a, b, callSiteHelper);
+			return true;
+		}
+
 		// If either of the argument types does not intersect with int32, then
 		// fall back to the primitive invocation.
 		if (aType.typeIntersection(int32()).isBottom() ||
@@ -41,8 +41,16 @@ import com.avail.descriptor.AvailObject;
 import com.avail.descriptor.ObjectDescriptor;
 import com.avail.interpreter.Interpreter;
 import com.avail.interpreter.Primitive;
+import com.avail.interpreter.levelTwo.operand.L2ObjectFieldCacheOperand;
+import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
+import com.avail.interpreter.levelTwo.operand.L2WriteBoxedOperand;
+import com.avail.interpreter.levelTwo.operation.L2_GET_OBJECT_FIELD;
+import com.avail.optimizer.L1Translator;
+import com.avail.optimizer.L1Translator.CallSiteHelper;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 import static com.avail.descriptor.AbstractEnumerationTypeDescriptor.enumerationWith;
@@ -58,6 +66,8 @@ import static com.avail.interpreter.Primitive.Fallibility.CallSiteCanFail;
 import static com.avail.interpreter.Primitive.Fallibility.CallSiteCannotFail;
 import static com.avail.interpreter.Primitive.Flag.CanFold;
 import static com.avail.interpreter.Primitive.Flag.CanInline;
+import static com.avail.interpreter.levelTwo.operand.TypeRestriction.RestrictionFlagEncoding.BOXED;
+import static com.avail.interpreter.levelTwo.operand.TypeRestriction.restrictionForType;
 
 /**
  * <strong>Primitive:</strong> Extract the specified {@linkplain
@@ -159,6 +169,48 @@ extends Primitive
 		return CallSiteCanFail;
 	}
 
+	@Override
+	public boolean tryToGenerateSpecialPrimitiveInvocation (
+		final L2ReadBoxedOperand functionToCallReg,
+		final A_RawFunction rawFunction,
+		final List<L2ReadBoxedOperand> arguments,
+		final List<A_Type> argumentTypes,
+		final L1Translator translator,
+		final CallSiteHelper callSiteHelper)
+	{
+		final L2ReadBoxedOperand objectReg = arguments.get(0);
+		final L2ReadBoxedOperand fieldReg = arguments.get(1);
+
+		final @Nullable AvailObject field = fieldReg.constantOrNull();
+		if (field == null
+			|| fallibilityForArgumentTypes(argumentTypes)
+				!= CallSiteCannotFail)
+		{
+			// The field isn't known statically, or it might not be present.
+			return super.tryToGenerateSpecialPrimitiveInvocation(
+				functionToCallReg,
+				rawFunction,
+				arguments,
+				argumentTypes,
+				translator,
+				callSiteHelper);
+		}
+		// The field is known, and is guaranteed to be present.  Read it
+		// through an inline cache of its slot index.
+		final L2WriteBoxedOperand writer =
+			translator.generator.boxedWriteTemp(
+				restrictionForType(
+					returnTypeGuaranteedByVM(rawFunction, argumentTypes),
+					BOXED));
+		translator.addInstruction(
+			L2_GET_OBJECT_FIELD.instance,
+			objectReg,
+			new L2ObjectFieldCacheOperand(field),
+			writer);
+		callSiteHelper.useAnswer(translator.readBoxed(writer));
+		return true;
+	}
+
 	@Override
 	protected A_Type privateFailureVariableType ()
 	{
@@ -33,27 +33,21 @@ package com.avail.interpreter.primitive.pojos;
 
 import com.avail.AvailRuntime.HookType;
 import com.avail.descriptor.*;
-import com.avail.exceptions.AvailErrorCode;
-import com.avail.exceptions.MarshalingException;
-import com.avail.interpreter.AvailLoader;
 import com.avail.interpreter.Interpreter;
 import com.avail.interpreter.Primitive;
+import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
+import com.avail.optimizer.L1Translator;
+import com.avail.optimizer.L1Translator.CallSiteHelper;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
-import com.avail.utility.MutableOrNull;
 
 import javax.annotation.Nullable;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.List;
 
 import static com.avail.descriptor.BottomTypeDescriptor.bottom;
-import static com.avail.descriptor.ObjectTupleDescriptor.tupleFromList;
-import static com.avail.descriptor.PojoDescriptor.newPojo;
-import static com.avail.descriptor.PojoDescriptor.nullPojo;
 import static com.avail.descriptor.PojoTypeDescriptor.pojoTypeForClass;
-import static com.avail.descriptor.PojoTypeDescriptor.unmarshal;
-import static com.avail.descriptor.RawPojoDescriptor.identityPojo;
 import static com.avail.interpreter.Primitive.Flag.Private;
-import static com.avail.interpreter.primitive.pojos.PrimitiveHelper.marshalValues;
+import static com.avail.interpreter.primitive.pojos.PrimitiveHelper.generatePojoCallStubInvocation;
 import static com.avail.utility.Nulls.stripNull;
 
 /**
@@ -85,81 +79,49 @@ public final class P_InvokeInstancePojoMethod extends Primitive
 	public Result attempt (
 		final Interpreter interpreter)
 	{
-		final A_Tuple methodArgs = tupleFromList(interpreter.argsBuffer);
-
 		final A_Function primitiveFunction = stripNull(interpreter.function);
 		final A_RawFunction primitiveRawFunction = primitiveFunction.code();
 		assert primitiveRawFunction.primitive() == this;
 
-		final A_BasicObject methodPojo = primitiveFunction.outerVarAt(1);
+		final Method method =
+			primitiveFunction.outerVarAt(1).javaObjectNotNull();
 		final A_Tuple marshaledTypes = primitiveFunction.outerVarAt(2);
 		// The exact return kind was captured in the function type.
 		final A_Type expectedType =
 			primitiveRawFunction.functionType().returnType();
 
-		final @Nullable AvailLoader loader = interpreter.availLoaderOrNull();
-		if (loader != null)
-		{
-			loader.statementCanBeSummarized(false);
-		}
-
-		// Marshal the arguments.
-		final Method method = methodPojo.javaObjectNotNull();
-		final MutableOrNull<AvailErrorCode> errorOut = new MutableOrNull<>();
-		final @Nullable Object receiver =
-			methodArgs.tupleAt(1).marshalToJava(
-				marshaledTypes.tupleAt(1).javaObject());
-		final @Nullable Object[] marshaledArgs = marshalValues(
-			marshaledTypes.copyTupleFromToCanDestroy(
-				2, marshaledTypes.tupleSize(), false),
-			methodArgs.copyTupleFromToCanDestroy(
-				2, methodArgs.tupleSize(), false),
-			errorOut);
-		if (errorOut.value != null)
-		{
-			final AvailErrorCode e = errorOut.value;
-			return interpreter.primitiveFailure(
-				newPojo(identityPojo(e), pojoTypeForClass(e.getClass())));
-		}
-
-		// Invoke the instance method.
-		final Object result;
-		try
-		{
-			result = method.invoke(receiver, marshaledArgs);
-		}
-		catch (final InvocationTargetException e)
-		{
-			final Throwable cause = e.getCause();
-			return interpreter.primitiveFailure(
-				newPojo(
-					identityPojo(cause), pojoTypeForClass(cause.getClass())));
-		}
-		catch (final Throwable e)
-		{
-			// This is an unexpected failure in the invocation mechanism.  For
-			// now, report it like an expected InvocationTargetException.
-			return interpreter.primitiveFailure(
-				newPojo(identityPojo(e), pojoTypeForClass(e.getClass())));
-		}
-
-		if (result == null)
-		{
-			return interpreter.primitiveSuccess(nullPojo());
-		}
+		// Marshal the receiver and arguments, invoke the instance method, and
+		// unmarshal the result.
+		final PojoCallStub stub = PojoCallStub.stubFor(method, marshaledTypes);
+		final @Nullable AvailObject result =
+			stub.invoke(interpreter, expectedType);
+		return result != null
+			? interpreter.primitiveSuccess(result)
+			: interpreter.primitiveFailure(interpreter.latestResult());
+	}
 
-		try
-		{
-			final AvailObject unmarshaled = unmarshal(result, expectedType);
-			return interpreter.primitiveSuccess(unmarshaled);
-		}
-		catch (final MarshalingException e)
-		{
-			return interpreter.primitiveFailure(
-				newPojo(
-					identityPojo(e),
-					pojoTypeForClass(e.getClass())));
-		}
+	@Override
+	public boolean tryToGenerateSpecialPrimitiveInvocation (
+		final L2ReadBoxedOperand functionToCallReg,
+		final A_RawFunction rawFunction,
+		final List<L2ReadBoxedOperand> arguments,
+		final List<A_Type> argumentTypes,
+		final L1Translator translator,
+		final CallSiteHelper callSiteHelper)
+	{
+		return generatePojoCallStubInvocation(
+			functionToCallReg,
+			rawFunction,
+			arguments,
+			translator,
+			callSiteHelper)
+			|| super.tryToGenerateSpecialPrimitiveInvocation(
+				functionToCallReg,
+				rawFunction,
+				arguments,
+				argumentTypes,
+				translator,
+				callSiteHelper);
 	}
 
 	@Override
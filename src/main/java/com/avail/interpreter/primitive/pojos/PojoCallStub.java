@@ -0,0 +1,391 @@
+/*
+ * PojoCallStub.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.primitive.pojos;
+
+import com.avail.descriptor.A_Atom;
+import com.avail.descriptor.A_Number;
+import com.avail.descriptor.A_Tuple;
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.AtomDescriptor;
+import com.avail.descriptor.AvailObject;
+import com.avail.descriptor.DoubleDescriptor;
+import com.avail.descriptor.FloatDescriptor;
+import com.avail.descriptor.IntegerDescriptor;
+import com.avail.exceptions.AvailErrorCode;
+import com.avail.exceptions.MarshalingException;
+import com.avail.interpreter.AvailLoader;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.levelTwo.operation.L2_INVOKE_POJO_CALL_STUB;
+import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.avail.descriptor.PojoDescriptor.newPojo;
+import static com.avail.descriptor.PojoTypeDescriptor.pojoTypeForClass;
+import static com.avail.descriptor.PojoTypeDescriptor.unmarshal;
+import static com.avail.descriptor.RawPojoDescriptor.identityPojo;
+import static com.avail.exceptions.AvailErrorCode.E_JAVA_MARSHALING_FAILED;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.asList;
+
+/**
+ * A {@code PojoCallStub} invokes a particular Java {@link Method} on behalf of
+ * {@link P_InvokeInstancePojoMethod} and {@link P_InvokeStaticPojoMethod},
+ * and of the {@link L2_INVOKE_POJO_CALL_STUB} instructions that inline them.
+ *
+ * <p>The stub binds the method to a {@link MethodHandle} once, so each
+ * invocation avoids the access checks and argument array unpacking of {@link
+ * Method#invoke(Object, Object...)}.  The handle unboxes the marshaled
+ * arguments to the method's exact parameter types, and converts a primitive
+ * result directly into an {@link AvailObject}, without boxing it first.  If the
+ * method can't be bound (e.g., because its class isn't accessible), the stub
+ * falls back to reflection.</p>
+ *
+ * <p>Stubs are {@linkplain #stubFor(Method, A_Tuple) cached} per method and
+ * tuple of marshaled types.</p>
+ */
+public final class PojoCallStub
+{
+	/** The Java {@link Method} to invoke. */
+	private final Method method;
+
+	/** Whether the {@link #method} is static. */
+	private final boolean isStatic;
+
+	/**
+	 * The {@link Class}es to which to marshal the arguments, starting with the
+	 * receiver if the method isn't static.  These are the types that the pojo
+	 * method function was created with, which may be more specific than the
+	 * method's {@linkplain Method#getParameterTypes() parameter types} when
+	 * the method is generic.
+	 */
+	private final Class<?>[] marshaledTypes;
+
+	/**
+	 * A {@link MethodHandle} of type {@code (Object[])Object} that invokes the
+	 * {@link #method} with the elements of its argument as the receiver (if
+	 * any) and arguments, or {@code null} if the method should be invoked
+	 * reflectively.
+	 */
+	private final @Nullable MethodHandle handle;
+
+	/**
+	 * The stubs that have been created so far, keyed by the declaring class of
+	 * the {@link Method}, then by a list of the method followed by the
+	 * marshaled types.  A {@link ClassValue} is used to avoid preventing the
+	 * classes from being unloaded.
+	 */
+	private static final ClassValue<Map<List<Object>, PojoCallStub>> stubs =
+		new ClassValue<Map<List<Object>, PojoCallStub>>()
+		{
+			@Override
+			protected Map<List<Object>, PojoCallStub> computeValue (
+				final Class<?> type)
+			{
+				return new ConcurrentHashMap<>();
+			}
+		};
+
+	/**
+	 * Answer the {@code PojoCallStub} for the specified {@link Method} and
+	 * marshaled types.
+	 *
+	 * @param method
+	 *        The method to invoke.
+	 * @param marshaledTypesTuple
+	 *        The {@link A_Tuple} of raw pojos that wrap the {@link Class}es to
+	 *        which to marshal the arguments, starting with the receiver if the
+	 *        method isn't static.  This is the second outer variable of the
+	 *        pojo method function.
+	 * @return The stub.
+	 */
+	public static PojoCallStub stubFor (
+		final Method method,
+		final A_Tuple marshaledTypesTuple)
+	{
+		final boolean isStatic = Modifier.isStatic(method.getModifiers());
+		final Class<?>[] marshaledTypes =
+			new Class<?>[marshaledTypesTuple.tupleSize()];
+		for (int i = 0; i < marshaledTypes.length; i++)
+		{
+			marshaledTypes[i] = marshaledTypesTuple.tupleAt(i + 1)
+				.javaObjectNotNull();
+		}
+		assert marshaledTypes.length
+			== method.getParameterCount() + (isStatic ? 0 : 1);
+		final List<Object> key = new ArrayList<>(marshaledTypes.length + 1);
+		key.add(method);
+		key.addAll(asList(marshaledTypes));
+		return stubs
+			.get(method.getDeclaringClass())
+			.computeIfAbsent(
+				key, k -> new PojoCallStub(method, isStatic, marshaledTypes));
+	}
+
+	/**
+	 * Construct a new {@code PojoCallStub}.
+	 *
+	 * @param method
+	 *        The method to invoke.
+	 * @param isStatic
+	 *        Whether the method is static.
+	 * @param marshaledTypes
+	 *        The {@link Class}es to which to marshal the arguments, starting
+	 *        with the receiver if the method isn't static.
+	 */
+	private PojoCallStub (
+		final Method method,
+		final boolean isStatic,
+		final Class<?>[] marshaledTypes)
+	{
+		this.method = method;
+		this.isStatic = isStatic;
+		this.marshaledTypes = marshaledTypes;
+		@Nullable MethodHandle h;
+		try
+		{
+			h = MethodHandles.lookup().unreflect(method);
+			h = convertResult(h);
+			h = h.asType(h.type().generic())
+				.asSpreader(Object[].class, marshaledTypes.length);
+		}
+		catch (final IllegalAccessException|NoSuchMethodException e)
+		{
+			h = null;
+		}
+		handle = h;
+	}
+
+	/**
+	 * Answer a {@link MethodHandle} that converts the result of the given one
+	 * to an {@link AvailObject} if it's a Java primitive, exactly as {@link
+	 * com.avail.descriptor.PojoTypeDescriptor#unmarshal(Object, A_Type)
+	 * unmarshal} would, but without boxing it first.  Answer the handle itself
+	 * for other result types.
+	 *
+	 * @param h
+	 *        A {@code MethodHandle}.
+	 * @return A {@code MethodHandle} with a reference or {@code void} result.
+	 * @throws IllegalAccessException
+	 *         Never, since the conversions are public.
+	 * @throws NoSuchMethodException
+	 *         Never, since the conversions exist.
+	 */
+	private static MethodHandle convertResult (final MethodHandle h)
+		throws IllegalAccessException, NoSuchMethodException
+	{
+		final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		final MethodType type = h.type();
+		final Class<?> resultType = type.returnType();
+		final MethodHandle conversion;
+		if (resultType == Integer.TYPE
+			|| resultType == Short.TYPE
+			|| resultType == Byte.TYPE
+			|| resultType == Character.TYPE)
+		{
+			conversion = lookup.findStatic(
+				IntegerDescriptor.class,
+				"fromInt",
+				methodType(AvailObject.class, Integer.TYPE));
+		}
+		else if (resultType == Long.TYPE)
+		{
+			conversion = lookup.findStatic(
+				IntegerDescriptor.class,
+				"fromLong",
+				methodType(AvailObject.class, Long.TYPE));
+		}
+		else if (resultType == Boolean.TYPE)
+		{
+			conversion = lookup.findStatic(
+				AtomDescriptor.class,
+				"objectFromBoolean",
+				methodType(
+					A_Atom.class, Boolean.TYPE));
+		}
+		else if (resultType == Float.TYPE)
+		{
+			conversion = lookup.findStatic(
+				FloatDescriptor.class,
+				"fromFloat",
+				methodType(
+					A_Number.class, Float.TYPE));
+		}
+		else if (resultType == Double.TYPE)
+		{
+			conversion = lookup.findStatic(
+				DoubleDescriptor.class,
+				"fromDouble",
+				methodType(
+					A_Number.class, Double.TYPE));
+		}
+		else
+		{
+			return h;
+		}
+		// Widen short, byte, and char results to int first.
+		final Class<?> conversionInput = conversion.type().parameterType(0);
+		return MethodHandles.filterReturnValue(
+			h.asType(type.changeReturnType(conversionInput)),
+			conversion);
+	}
+
+	/**
+	 * Invoke the {@link Method} with the {@linkplain Interpreter#argsBuffer
+	 * arguments} in the {@link Interpreter}, starting with the receiver if
+	 * the method isn't static.  Marshal the arguments, and unmarshal the
+	 * result to the expected type.
+	 *
+	 * @param interpreter
+	 *        The {@link Interpreter} whose {@link Interpreter#argsBuffer}
+	 *        holds the arguments.
+	 * @param expectedType
+	 *        The {@link A_Type} to which the result must conform.
+	 * @return The unmarshaled result, or {@code null} if the invocation
+	 *         failed, in which case the interpreter's {@linkplain
+	 *         Interpreter#latestResult() latest result} has been set to a pojo
+	 *         that wraps the Java {@link Throwable} or {@link AvailErrorCode}
+	 *         that describes the failure.
+	 */
+	@ReferencedInGeneratedCode
+	public @Nullable AvailObject invoke (
+		final Interpreter interpreter,
+		final A_Type expectedType)
+	{
+		final @Nullable AvailLoader loader = interpreter.availLoaderOrNull();
+		if (loader != null)
+		{
+			loader.statementCanBeSummarized(false);
+		}
+		final List<AvailObject> args = interpreter.argsBuffer;
+		assert args.size() == marshaledTypes.length;
+		final Object[] marshaledArgs = new Object[marshaledTypes.length];
+		try
+		{
+			for (int i = 0; i < marshaledArgs.length; i++)
+			{
+				marshaledArgs[i] = args.get(i).marshalToJava(marshaledTypes[i]);
+			}
+		}
+		catch (final MarshalingException e)
+		{
+			return fail(interpreter, E_JAVA_MARSHALING_FAILED);
+		}
+		final @Nullable Object result;
+		try
+		{
+			result = handle != null
+				? (Object) handle.invokeExact(marshaledArgs)
+				: invokeReflectively(marshaledArgs);
+		}
+		catch (final Throwable e)
+		{
+			return fail(interpreter, e);
+		}
+		try
+		{
+			return unmarshal(result, expectedType);
+		}
+		catch (final MarshalingException e)
+		{
+			return fail(interpreter, e);
+		}
+	}
+
+	/**
+	 * Invoke the {@link Method} reflectively.
+	 *
+	 * @param marshaledArgs
+	 *        The marshaled receiver (if any) and arguments.
+	 * @return The result of the invocation.
+	 * @throws Throwable
+	 *         Whatever the method throws, or the reflection mechanism throws.
+	 */
+	private @Nullable Object invokeReflectively (final Object[] marshaledArgs)
+		throws Throwable
+	{
+		final @Nullable Object receiver = isStatic ? null : marshaledArgs[0];
+		final Object[] methodArgs =
+			new Object[marshaledArgs.length - (isStatic ? 0 : 1)];
+		System.arraycopy(
+			marshaledArgs,
+			isStatic ? 0 : 1,
+			methodArgs,
+			0,
+			methodArgs.length);
+		try
+		{
+			return method.invoke(receiver, methodArgs);
+		}
+		catch (final InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Record a failure in the specified {@link Interpreter}'s {@linkplain
+	 * Interpreter#latestResult() latest result}, as a pojo wrapping the given
+	 * Java object.
+	 *
+	 * @param interpreter
+	 *        The {@link Interpreter}.
+	 * @param reason
+	 *        The Java object that describes the failure.
+	 * @return {@code null}, for the convenience of the caller.
+	 */
+	private static @Nullable AvailObject fail (
+		final Interpreter interpreter,
+		final Object reason)
+	{
+		interpreter.latestResult(
+			newPojo(identityPojo(reason), pojoTypeForClass(reason.getClass())));
+		return null;
+	}
+
+	@Override
+	public String toString ()
+	{
+		return method.toString();
+	}
+}
@@ -45,23 +45,42 @@ import com.avail.exceptions.AvailErrorCode;
 import com.avail.exceptions.MarshalingException;
 import com.avail.interpreter.Primitive;
 import com.avail.interpreter.levelOne.L1InstructionWriter;
+import com.avail.interpreter.levelTwo.operand.L2ConstantOperand;
+import com.avail.interpreter.levelTwo.operand.L2ReadBoxedOperand;
+import com.avail.interpreter.levelTwo.operand.L2ReadBoxedVectorOperand;
+import com.avail.interpreter.levelTwo.operand.L2WriteBoxedOperand;
+import com.avail.interpreter.levelTwo.operation.L2_GET_LATEST_RETURN_VALUE;
+import com.avail.interpreter.levelTwo.operation.L2_INVOKE_POJO_CALL_STUB;
+import com.avail.optimizer.L1Translator;
+import com.avail.optimizer.L1Translator.CallSiteHelper;
+import com.avail.optimizer.L2BasicBlock;
+import com.avail.optimizer.L2Generator;
 import com.avail.utility.MutableOrNull;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static com.avail.AvailRuntime.HookType.RAISE_JAVA_EXCEPTION_IN_AVAIL;
 import static com.avail.descriptor.BottomTypeDescriptor.bottom;
+import static com.avail.descriptor.FunctionDescriptor.createFunction;
 import static com.avail.descriptor.MethodDescriptor.SpecialMethodAtom.APPLY;
 import static com.avail.descriptor.NilDescriptor.nil;
 import static com.avail.descriptor.PojoTypeDescriptor.marshalDefiningType;
 import static com.avail.descriptor.PojoTypeDescriptor.pojoTypeForClass;
+import static com.avail.descriptor.RawPojoDescriptor.identityPojo;
+import static com.avail.descriptor.TupleDescriptor.emptyTuple;
+import static com.avail.descriptor.TypeDescriptor.Types.ANY;
 import static com.avail.descriptor.VariableTypeDescriptor.variableTypeFor;
 import static com.avail.exceptions.AvailErrorCode.*;
 import static com.avail.interpreter.levelOne.L1Operation.*;
+import static com.avail.interpreter.levelTwo.operand.TypeRestriction.RestrictionFlagEncoding.BOXED;
+import static com.avail.interpreter.levelTwo.operand.TypeRestriction.restrictionForType;
+import static com.avail.optimizer.L2Generator.edgeTo;
+import static java.util.Collections.singletonList;
 
 /**
  * {@code PrimitiveHelper} aggregates utility functions for reuse by the various
@@ -316,4 +335,111 @@ public final class PrimitiveHelper
 		}
 		return marshaled;
 	}
+
+	/**
+	 * A function that accepts the failure value of a pojo invocation (usually
+	 * a pojo wrapping a Java {@link Throwable}), and raises it in Avail via the
+	 * {@link HookType#RAISE_JAVA_EXCEPTION_IN_AVAIL} hook.  This is the same as
+	 * the failure code generated by {@link
+	 * #rawPojoInvokerFunctionFromFunctionType(Primitive, A_Type, A_Type...)},
+	 * packaged so that inlined pojo invocations can use it.
+	 */
+	private static final A_Function raiseJavaExceptionFunction;
+
+	static
+	{
+		final L1InstructionWriter writer = new L1InstructionWriter(nil, 0, nil);
+		writer.argumentTypes(ANY.o());
+		writer.returnType(bottom());
+		writer.write(
+			0,
+			L1_doCall,
+			writer.addLiteral(
+				SpecialMethodAtom.GET_RETHROW_JAVA_EXCEPTION.bundle),
+			writer.addLiteral(RAISE_JAVA_EXCEPTION_IN_AVAIL.functionType));
+		writer.write(0, L1_doPushLocal, 1);
+		writer.write(0, L1_doMakeTuple, 1);
+		writer.write(
+			0,
+			L1_doCall,
+			writer.addLiteral(APPLY.bundle),
+			writer.addLiteral(bottom()));
+		raiseJavaExceptionFunction =
+			createFunction(writer.compiledCode(), emptyTuple()).makeShared();
+	}
+
+	/**
+	 * Generate an inlined invocation of a pojo method function, i.e., one
+	 * created by {@link P_CreatePojoInstanceMethodFunction} or {@link
+	 * P_CreatePojoStaticMethodFunction}, provided the function is a constant.
+	 * The Java method is invoked directly through its {@link PojoCallStub} by
+	 * an {@link L2_INVOKE_POJO_CALL_STUB} instruction.  If the invocation
+	 * fails, the failure value is raised in Avail, just as the pojo method
+	 * function's own failure code would.
+	 *
+	 * @param functionToCallReg
+	 *        The {@link L2ReadBoxedOperand} register that holds the function
+	 *        being invoked.
+	 * @param rawFunction
+	 *        The primitive raw function whose invocation is being generated.
+	 * @param arguments
+	 *        The argument {@link L2ReadBoxedOperand}s supplied to the
+	 *        function, starting with the receiver if the method isn't static.
+	 * @param translator
+	 *        The {@link L1Translator} on which to emit code.
+	 * @param callSiteHelper
+	 *        Information about the call site being generated.
+	 * @return {@code true} if the invocation was generated, {@code false} if
+	 *         the function isn't a constant, and nothing was emitted.
+	 */
+	static boolean generatePojoCallStubInvocation (
+		final L2ReadBoxedOperand functionToCallReg,
+		final A_RawFunction rawFunction,
+		final List<L2ReadBoxedOperand> arguments,
+		final L1Translator translator,
+		final CallSiteHelper callSiteHelper)
+	{
+		final @Nullable A_Function function =
+			functionToCallReg.constantOrNull();
+		if (function == null)
+		{
+			return false;
+		}
+		final Method method = function.outerVarAt(1).javaObjectNotNull();
+		final A_Tuple marshaledTypes = function.outerVarAt(2);
+		final PojoCallStub stub = PojoCallStub.stubFor(method, marshaledTypes);
+		final A_Type expectedType = rawFunction.functionType().returnType();
+
+		final L2Generator generator = translator.generator;
+		final L2BasicBlock succeeded =
+			generator.createBasicBlock("pojo invocation succeeded");
+		final L2BasicBlock failed =
+			generator.createBasicBlock("pojo invocation failed");
+		final L2WriteBoxedOperand resultWrite = generator.boxedWriteTemp(
+			restrictionForType(expectedType, BOXED));
+		translator.addInstruction(
+			L2_INVOKE_POJO_CALL_STUB.instance,
+			new L2ConstantOperand(identityPojo(stub)),
+			new L2ConstantOperand(expectedType),
+			new L2ReadBoxedVectorOperand(arguments),
+			resultWrite,
+			edgeTo(succeeded),
+			edgeTo(failed));
+
+		generator.startBlock(succeeded);
+		callSiteHelper.useAnswer(translator.readBoxed(resultWrite));
+
+		generator.startBlock(failed);
+		final L2WriteBoxedOperand failureWrite = generator.boxedWriteTemp(
+			restrictionForType(ANY.o(), BOXED));
+		translator.addInstruction(
+			L2_GET_LATEST_RETURN_VALUE.instance,
+			failureWrite);
+		translator.generateGeneralFunctionInvocation(
+			generator.boxedConstant(raiseJavaExceptionFunction),
+			singletonList(translator.readBoxed(failureWrite)),
+			true,
+			callSiteHelper);
+		return true;
+	}
 }
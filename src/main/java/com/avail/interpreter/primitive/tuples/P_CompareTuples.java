@@ -0,0 +1,129 @@
+/*
+ * P_CompareTuples.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.interpreter.primitive.tuples;
+
+import com.avail.descriptor.A_Character;
+import com.avail.descriptor.A_Number;
+import com.avail.descriptor.A_Tuple;
+import com.avail.descriptor.A_Type;
+import com.avail.descriptor.AvailObject;
+import com.avail.descriptor.TupleDescriptor;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.Primitive;
+import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
+
+import static com.avail.descriptor.AbstractEnumerationTypeDescriptor.enumerationWith;
+import static com.avail.descriptor.FunctionTypeDescriptor.functionType;
+import static com.avail.descriptor.IntegerDescriptor.fromInt;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.extendedIntegers;
+import static com.avail.descriptor.IntegerRangeTypeDescriptor.inclusive;
+import static com.avail.descriptor.ObjectTupleDescriptor.tuple;
+import static com.avail.descriptor.SetDescriptor.set;
+import static com.avail.descriptor.TupleDescriptor.commonPrefixLength;
+import static com.avail.descriptor.TupleTypeDescriptor.zeroOrMoreOf;
+import static com.avail.descriptor.TypeDescriptor.Types.CHARACTER;
+import static com.avail.exceptions.AvailErrorCode.E_INCORRECT_ARGUMENT_TYPE;
+import static com.avail.interpreter.Primitive.Flag.CanFold;
+import static com.avail.interpreter.Primitive.Flag.CanInline;
+
+/**
+ * <strong>Primitive:</strong> Compare two {@linkplain TupleDescriptor tuples}
+ * of characters or integers lexicographically.  Answer -1 if the first tuple
+ * precedes the second, 0 if they're equal, and 1 if the first tuple follows
+ * the second.  A tuple precedes every longer tuple that it's a prefix of.
+ * Characters are ordered by code point.  Fail if the first elements that
+ * differ are a character and an integer.
+ */
+@SuppressWarnings("unused")
+public final class P_CompareTuples
+extends Primitive
+{
+	/**
+	 * The sole instance of this primitive class.  Accessed through reflection.
+	 */
+	@ReferencedInGeneratedCode
+	public static final Primitive instance =
+		new P_CompareTuples().init(
+			2, CanFold, CanInline);
+
+	@Override
+	public Result attempt (final Interpreter interpreter)
+	{
+		interpreter.checkArgumentCount(2);
+		final A_Tuple tuple1 = interpreter.argument(0);
+		final A_Tuple tuple2 = interpreter.argument(1);
+
+		final int size1 = tuple1.tupleSize();
+		final int size2 = tuple2.tupleSize();
+		final int prefixLength = commonPrefixLength(tuple1, tuple2);
+		if (prefixLength == size1 || prefixLength == size2)
+		{
+			return interpreter.primitiveSuccess(
+				fromInt(Integer.compare(size1, size2)));
+		}
+		final AvailObject element1 = tuple1.tupleAt(prefixLength + 1);
+		final AvailObject element2 = tuple2.tupleAt(prefixLength + 1);
+		final boolean precedes;
+		if (element1.isCharacter() && element2.isCharacter())
+		{
+			precedes = ((A_Character) element1).codePoint()
+				< ((A_Character) element2).codePoint();
+		}
+		else if (element1.isExtendedInteger() && element2.isExtendedInteger())
+		{
+			precedes = ((A_Number) element1).lessThan(element2);
+		}
+		else
+		{
+			return interpreter.primitiveFailure(E_INCORRECT_ARGUMENT_TYPE);
+		}
+		return interpreter.primitiveSuccess(fromInt(precedes ? -1 : 1));
+	}
+
+	@Override
+	protected A_Type privateBlockTypeRestriction ()
+	{
+		final A_Type elementType = CHARACTER.o().typeUnion(extendedIntegers());
+		return functionType(
+			tuple(
+				zeroOrMoreOf(elementType),
+				zeroOrMoreOf(elementType)),
+			inclusive(-1, 1));
+	}
+
+	@Override
+	protected A_Type privateFailureVariableType ()
+	{
+		return enumerationWith(set(E_INCORRECT_ARGUMENT_TYPE));
+	}
+}
@@ -55,6 +55,7 @@ import com.avail.optimizer.L2Generator;
 import com.avail.optimizer.jvm.ReferencedInGeneratedCode;
 import com.avail.optimizer.values.L2SemanticValue;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.List;
 
@@ -175,29 +176,59 @@ public final class P_TupleAt extends Primitive
 		final L2ReadBoxedOperand tupleReg = arguments.get(0);
 		final L2ReadBoxedOperand subscriptReg = arguments.get(1);
 		final L2Generator generator = translator.generator;
+		final L2SemanticValue semanticElement =
+			generator.primitiveInvocation(this, arguments);
+		final @Nullable L2SemanticValue existingElement =
+			generator.currentManifest().equivalentSemanticValue(
+				semanticElement);
+		if (existingElement != null)
+		{
+			// The same element of the same tuple was already extracted along
+			// every path to here, so its bounds check has already passed.
+			callSiteHelper.useAnswer(generator.readBoxed(existingElement));
+			return true;
+		}
 		if (fallibilityForArgumentTypes(argumentTypes) != CallSiteCannotFail)
 		{
 			// We can't guarantee success, so do a dynamic bounds check.
 			final L2BasicBlock failed = generator.createBasicBlock(
 				"failed bounds check");
-			final L2SemanticValue semanticSize =
+			final L2SemanticValue semanticSizeCandidate =
 				generator.primitiveInvocation(
 					P_TupleSize.instance,
 					singletonList(tupleReg));
-			final TypeRestriction intSizeRestriction =
-				restrictionForType(
-					tupleReg.type().sizeRange().typeIntersection(int32()),
-					UNBOXED_INT);
-			final L2WriteIntOperand sizeWriter = generator.intWrite(
-				semanticSize, intSizeRestriction);
-			translator.addInstruction(
-				L2_TUPLE_SIZE.instance,
-				tupleReg,
-				sizeWriter);
+			final @Nullable L2SemanticValue existingSize =
+				generator.currentManifest().equivalentSemanticValue(
+					semanticSizeCandidate);
+			final L2SemanticValue semanticSize;
+			if (existingSize != null
+				&& generator.currentManifest().restrictionFor(existingSize)
+					.isUnboxedInt())
+			{
+				// The tuple's size is already in an int register, perhaps from
+				// an earlier bounds check, so reuse it.
+				semanticSize = existingSize;
+			}
+			else
+			{
+				semanticSize = semanticSizeCandidate;
+				final TypeRestriction intSizeRestriction =
+					restrictionForType(
+						tupleReg.type().sizeRange().typeIntersection(int32()),
+						UNBOXED_INT);
+				final L2WriteIntOperand sizeWriter = generator.intWrite(
+					semanticSize, intSizeRestriction);
+				translator.addInstruction(
+					L2_TUPLE_SIZE.instance,
+					tupleReg,
+					sizeWriter);
+			}
 			final L2ReadIntOperand readSubscript =
 				generator.readInt(subscriptReg.semanticValue(), failed);
 			// At this position, we have the tuple size and subscript in int
-			// registers. Check the lower bound, if necessary.
+			// registers. Check the lower bound, if necessary.  The int
+			// comparisons narrow the ranges of their operands along each
+			// branch, so checks implied by earlier ones are omitted.
 			if (generator.currentlyReachable() &&
 				readSubscript.restriction().type.lowerBound().lessThan(one()))
 			{
@@ -213,14 +244,19 @@ public final class P_TupleAt extends Primitive
 			}
 			// Check the upper bound, if necessary.
 			if (generator.currentlyReachable()
-				&& subscriptReg.type().upperBound().greaterThan(
-					intSizeRestriction.type.lowerBound()))
+				&& generator.currentManifest()
+					.restrictionFor(subscriptReg.semanticValue())
+					.type.upperBound().greaterThan(
+						generator.currentManifest()
+							.restrictionFor(semanticSize)
+							.type.lowerBound()))
 			{
 				final L2BasicBlock success2 =
 					generator.createBasicBlock("passed upper bound check");
 				generator.addInstruction(
 					L2_JUMP_IF_COMPARE_INT.lessOrEqual,
-					readSubscript,
+					generator.currentManifest().readInt(
+						subscriptReg.semanticValue()),
 					generator.currentManifest().readInt(semanticSize),
 					edgeTo(success2),
 					edgeTo(failed));
@@ -234,16 +270,18 @@ public final class P_TupleAt extends Primitive
 							rawFunction,
 							Arrays.asList(
 								argumentTypes.get(0),
-								intSizeRestriction.type)),
+								generator.currentManifest()
+									.restrictionFor(
+										subscriptReg.semanticValue())
+									.type)),
 						BOXED);
-				final L2SemanticValue semanticResult =
-					generator.primitiveInvocation(this, arguments);
 				final L2WriteBoxedOperand writeResult =
-					generator.boxedWrite(semanticResult, resultRestriction);
+					generator.boxedWrite(semanticElement, resultRestriction);
 				generator.addInstruction(
 					L2_TUPLE_AT_NO_FAIL.instance,
 					tupleReg,
-					readSubscript,
+					generator.currentManifest().readInt(
+						subscriptReg.semanticValue()),
 					writeResult);
 				callSiteHelper.useAnswer(translator.readBoxed(writeResult));
 			}
@@ -268,7 +306,8 @@ public final class P_TupleAt extends Primitive
 		final A_Number lower = subscriptType.lowerBound();
 		final A_Number upper = subscriptType.upperBound();
 		final L2WriteBoxedOperand writer =
-			generator.boxedWriteTemp(
+			generator.boxedWrite(
+				semanticElement,
 				restrictionForType(
 					returnTypeGuaranteedByVM(rawFunction, argumentTypes),
 					BOXED));
@@ -48,6 +48,7 @@ import java.nio.channels.AsynchronousChannelGroup;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.AsynchronousServerSocketChannel;
 import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.LinkOption;
@@ -378,6 +379,14 @@ public class IOSystem
 		 */
 		public final AsynchronousFileChannel channel;
 
+		/**
+		 * A synchronous {@link FileChannel} on the same file, through which
+		 * the file can be {@linkplain FileChannel#map(FileChannel.MapMode,
+		 * long, long) mapped} into memory, or {@code null} if the file isn't
+		 * open for reading or its file system can't provide one.
+		 */
+		public final @Nullable FileChannel mappableChannel;
+
 		/**
 		 * A weak set of {@link BufferKey}s pertaining to this file, for which
 		 * there may be entries in the {@linkplain #getBuffer(BufferKey) global
@@ -398,19 +407,23 @@ public class IOSystem
 		 * @param canWrite Whether the file can be written.
 		 * @param channel The {@link AsynchronousFileChannel} with which to do
 		 *                reading and writing.
+		 * @param mappableChannel The {@link FileChannel} with which to map the
+		 *                        file, or {@code null}.
 		 */
 		public FileHandle (
 			final A_String filename,
 			final int alignment,
 			final boolean canRead,
 			final boolean canWrite,
-			final AsynchronousFileChannel channel)
+			final AsynchronousFileChannel channel,
+			final @Nullable FileChannel mappableChannel)
 		{
 			this.filename = filename;
 			this.alignment = alignment;
 			this.canRead = canRead;
 			this.canWrite = canWrite;
 			this.channel = channel;
+			this.mappableChannel = mappableChannel;
 		}
 	}
 
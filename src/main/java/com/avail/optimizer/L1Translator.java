@@ -78,6 +78,8 @@ import static com.avail.AvailRuntime.HookType.*;
 import static com.avail.AvailRuntimeSupport.captureNanos;
 import static com.avail.descriptor.AbstractEnumerationTypeDescriptor.enumerationWith;
 import static com.avail.descriptor.BottomTypeDescriptor.bottom;
+import static com.avail.descriptor.AtomDescriptor.falseObject;
+import static com.avail.descriptor.AtomDescriptor.trueObject;
 import static com.avail.descriptor.ContinuationTypeDescriptor.continuationTypeForFunctionType;
 import static com.avail.descriptor.ContinuationTypeDescriptor.mostGeneralContinuationType;
 import static com.avail.descriptor.FunctionDescriptor.createFunction;
@@ -91,6 +93,7 @@ import static com.avail.descriptor.ObjectTupleDescriptor.tupleFromList;
 import static com.avail.descriptor.SetDescriptor.setFromCollection;
 import static com.avail.descriptor.TupleTypeDescriptor.tupleTypeForTypes;
 import static com.avail.descriptor.TypeDescriptor.Types.ANY;
+import static com.avail.descriptor.TypeDescriptor.Types.DOUBLE;
 import static com.avail.descriptor.TypeDescriptor.Types.TOP;
 import static com.avail.descriptor.VariableTypeDescriptor.variableTypeFor;
 import static com.avail.exceptions.AvailErrorCode.E_NO_METHOD_DEFINITION;
@@ -161,6 +164,12 @@ public final class L1Translator
 	private final L1InstructionDecoder instructionDecoder =
 		new L1InstructionDecoder();
 
+	/**
+	 * The level one nybblecode position at which the nybblecode currently
+	 * being translated starts.
+	 */
+	private int instructionStartPc;
+
 	/**
 	 * The current stack depth during naive translation to level two.
 	 */
@@ -606,6 +615,27 @@ public final class L1Translator
 	public void reify (
 		final @Nullable A_Type expectedValueOrNull,
 		final ChunkEntryPoint typeOfEntryPoint)
+	{
+		reify(expectedValueOrNull, typeOfEntryPoint, instructionDecoder.pc());
+	}
+
+	/**
+	 * Generate code to reify a continuation that will resume at the given
+	 * level one nybblecode position.  See {@link #reify(A_Type,
+	 * ChunkEntryPoint)}.
+	 *
+	 * @param expectedValueOrNull
+	 *        A constant type to replace the top-of-stack in the reified
+	 *        continuation.  If {@code null}, don't replace the top-of-stack.
+	 * @param typeOfEntryPoint
+	 *        The kind of {@link ChunkEntryPoint} to re-enter at.
+	 * @param pc
+	 *        The level one nybblecode position at which to resume.
+	 */
+	private void reify (
+		final @Nullable A_Type expectedValueOrNull,
+		final ChunkEntryPoint typeOfEntryPoint,
+		final int pc)
 	{
 		final L2WriteBoxedOperand newContinuationWrite =
 			generator.boxedWriteTemp(
@@ -652,7 +682,7 @@ public final class L1Translator
 			L2_CREATE_CONTINUATION.instance,
 			getCurrentFunction(),
 			generator.boxedConstant(nil),
-			new L2IntImmediateOperand(instructionDecoder.pc()),
+			new L2IntImmediateOperand(pc),
 			new L2IntImmediateOperand(stackp),
 			new L2ReadBoxedVectorOperand(asList(readSlotsBefore)),
 			newContinuationWrite,
@@ -1014,19 +1044,7 @@ public final class L1Translator
 		for (int i = nArgs - 1; i >= 0; i--)
 		{
 			semanticArguments.add(semanticSlot(stackp + i));
-			// No point nilling the first argument, since it'll be overwritten
-			// below with a constant move of the expectedType.
-			if (i != nArgs - 1)
-			{
-				moveConstantToSlot(nil, stackp + i);
-			}
 		}
-		// Pop the arguments, but push a slot for the expectedType.
-		stackp += nArgs - 1;
-		// At this point we've captured and popped the argument registers, and
-		// nilled their new SSA versions for reification.  The reification
-		// clauses will explicitly ensure the expected type appears in the top
-		// of stack position.
 
 		// Determine which applicable definitions have already been expanded in
 		// the lookup tree.
@@ -1075,8 +1093,30 @@ public final class L1Translator
 				}
 			};
 		definitionCollector.traverseEntireTree(tree);
+		final boolean dispatchInline =
+			applicableExpandedLeaves.size() <= maxPolymorphismToInlineDispatch;
+		if (dispatchInline && !applicableExpandedLeaves.isEmpty())
+		{
+			// The dispatch below is resolved against the current definitions,
+			// so make sure they haven't changed since this chunk was created.
+			// This must happen while the arguments are still on the stack.
+			emitDeoptimizationOffRamp();
+		}
+
+		for (int i = nArgs - 2; i >= 0; i--)
+		{
+			// No point nilling the first argument, since it'll be overwritten
+			// below with a constant move of the expectedType.
+			moveConstantToSlot(nil, stackp + i);
+		}
+		// Pop the arguments, but push a slot for the expectedType.
+		stackp += nArgs - 1;
+		// At this point we've captured and popped the argument registers, and
+		// nilled their new SSA versions for reification.  The reification
+		// clauses will explicitly ensure the expected type appears in the top
+		// of stack position.
 
-		if (applicableExpandedLeaves.size() <= maxPolymorphismToInlineDispatch)
+		if (dispatchInline)
 		{
 			final LookupTreeTraverser<
 				A_Definition, A_Tuple, Boolean, InternalNodeMemento>
@@ -1744,6 +1784,90 @@ public final class L1Translator
 			failEdge);
 	}
 
+	/**
+	 * Generate code to apply a binary arithmetic {@link L2Operation} to two
+	 * values that are statically known to be {@linkplain
+	 * TypeDescriptor.Types#DOUBLE doubles}, using unboxed float registers.  The
+	 * operation must take two {@link L2ReadFloatOperand}s followed by an {@link
+	 * L2WriteFloatOperand}.
+	 * The boxed result is only materialized if something actually needs it.
+	 *
+	 * @param operation
+	 *        The unboxed float {@link L2Operation} to emit.
+	 * @param a
+	 *        The first argument, which must be known to be a double.
+	 * @param b
+	 *        The second argument, which must be known to be a double.
+	 * @param callSiteHelper
+	 *        Information about the call being generated.
+	 */
+	public void generateUnboxedFloatArithmetic (
+		final L2Operation operation,
+		final L2ReadBoxedOperand a,
+		final L2ReadBoxedOperand b,
+		final CallSiteHelper callSiteHelper)
+	{
+		final L2BasicBlock unreachable =
+			generator.createBasicBlock("Should be unreachable");
+		final L2ReadFloatOperand floatA =
+			generator.readFloat(a.semanticValue(), unreachable);
+		final L2ReadFloatOperand floatB =
+			generator.readFloat(b.semanticValue(), unreachable);
+		assert unreachable.predecessorEdgesCount() == 0;
+		final L2SemanticValue semanticTemp =
+			generator.topFrame.temp(generator.nextUnique());
+		final L2WriteFloatOperand writer = generator.floatWrite(
+			semanticTemp,
+			restrictionForType(DOUBLE.o(), UNBOXED_FLOAT));
+		addInstruction(operation, floatA, floatB, writer);
+		// As with unboxed int arithmetic, the unboxed form remains available
+		// to subsequent primitives, which may allow the boxing to evaporate.
+		callSiteHelper.useAnswer(generator.readBoxed(semanticTemp));
+	}
+
+	/**
+	 * Generate code to compare two values that are statically known to be
+	 * {@linkplain TypeDescriptor.Types#DOUBLE doubles}, using unboxed float
+	 * registers, and answer the resulting boolean.
+	 *
+	 * @param comparison
+	 *        The {@link L2_JUMP_IF_COMPARE_FLOAT} to emit.
+	 * @param a
+	 *        The first argument, which must be known to be a double.
+	 * @param b
+	 *        The second argument, which must be known to be a double.
+	 * @param callSiteHelper
+	 *        Information about the call being generated.
+	 */
+	public void generateUnboxedFloatComparison (
+		final L2_JUMP_IF_COMPARE_FLOAT comparison,
+		final L2ReadBoxedOperand a,
+		final L2ReadBoxedOperand b,
+		final CallSiteHelper callSiteHelper)
+	{
+		final L2BasicBlock unreachable =
+			generator.createBasicBlock("Should be unreachable");
+		final L2ReadFloatOperand floatA =
+			generator.readFloat(a.semanticValue(), unreachable);
+		final L2ReadFloatOperand floatB =
+			generator.readFloat(b.semanticValue(), unreachable);
+		assert unreachable.predecessorEdgesCount() == 0;
+		final L2BasicBlock ifTrue =
+			generator.createBasicBlock("float comparison true");
+		final L2BasicBlock ifFalse =
+			generator.createBasicBlock("float comparison false");
+		addInstruction(
+			comparison,
+			floatA,
+			floatB,
+			edgeTo(ifTrue),
+			edgeTo(ifFalse));
+		generator.startBlock(ifTrue);
+		callSiteHelper.useAnswer(generator.boxedConstant(trueObject()));
+		generator.startBlock(ifFalse);
+		callSiteHelper.useAnswer(generator.boxedConstant(falseObject()));
+	}
+
 	/**
 	 * Generate code to invoke a function in a register with arguments in
 	 * registers.  Also branch to the appropriate reification and return clauses
@@ -2612,6 +2736,45 @@ public final class L1Translator
 		// And now... either we're back or we never left.
 	}
 
+	/**
+	 * Emit code to check whether the running {@link L2Chunk} has been
+	 * invalidated, and if so, to reify and resume the level one code at the
+	 * start of the current nybblecode.  This precedes call sites whose dispatch
+	 * was resolved during translation, since a definition may have been added
+	 * or removed after the chunk started running.  The invalid chunk's {@link
+	 * L2_ENTER_L2_CHUNK} then falls back to the default chunk, which performs
+	 * the call with a fresh lookup.
+	 */
+	private void emitDeoptimizationOffRamp ()
+	{
+		final L2BasicBlock deoptimize =
+			generator.createBasicBlock("deoptimize invalid chunk");
+		final L2BasicBlock merge =
+			generator.createBasicBlock("merge after validity check");
+
+		addInstruction(
+			L2_JUMP_IF_CHUNK_INVALID.instance,
+			edgeTo(deoptimize),
+			edgeTo(merge));
+
+		generator.startBlock(deoptimize);
+		final L2BasicBlock onReification =
+			generator.createBasicBlock("on reification");
+		addInstruction(
+			L2_REIFY.instance,
+			new L2IntImmediateOperand(1),
+			new L2IntImmediateOperand(0),
+			new L2IntImmediateOperand(
+				StatisticCategory.DEOPTIMIZE_BEFORE_CALL_IN_L2.ordinal()),
+			edgeTo(onReification));
+		generator.startBlock(onReification);
+		reify(null, TO_RESUME, instructionStartPc);
+		addInstruction(
+			L2_JUMP.instance,
+			edgeTo(merge));
+		generator.startBlock(merge);
+	}
+
 	/**
 	 * Emit the specified variable-reading instruction, and an off-ramp to deal
 	 * with the case that the variable is unassigned.
@@ -2899,6 +3062,7 @@ public final class L1Translator
 		while (!instructionDecoder.atEnd())
 		{
 			final long before = captureNanos();
+			instructionStartPc = instructionDecoder.pc();
 			final L1Operation operation = instructionDecoder.getOperation();
 			operation.dispatch(this);
 			levelOneGenerationStats[operation.ordinal()].record(
@@ -3090,7 +3254,8 @@ public final class L1Translator
 			captureNanos() - beforeL1Naive,
 			interpreter.interpreterIndex);
 
-		generator.controlFlowGraph.optimize(interpreter);
+		generator.controlFlowGraph.optimize(
+			interpreter, generator.optimizationLevel);
 
 		final long beforeChunkGeneration = captureNanos();
 		generator.createChunk(code);
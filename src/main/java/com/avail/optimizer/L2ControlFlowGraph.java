@@ -36,6 +36,7 @@ import com.avail.interpreter.Interpreter;
 import com.avail.interpreter.levelTwo.L2Instruction;
 import com.avail.interpreter.levelTwo.operand.L2PcOperand;
 import com.avail.interpreter.levelTwo.register.L2Register;
+import com.avail.optimizer.L2Generator.OptimizationLevel;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -132,11 +133,17 @@ public final class L2ControlFlowGraph
 	/**
 	 * Optimize the graph of instructions.
 	 *
-	 * @param interpreter The current running {@link Interpreter}.
+	 * @param interpreter
+	 *        The current running {@link Interpreter}.
+	 * @param optimizationLevel
+	 *        The {@link OptimizationLevel} of the translation.
 	 */
-	public void optimize (final Interpreter interpreter)
+	public void optimize (
+		final Interpreter interpreter,
+		final OptimizationLevel optimizationLevel)
 	{
-		final L2Optimizer optimizer = new L2Optimizer(this, basicBlockOrder);
+		final L2Optimizer optimizer =
+			new L2Optimizer(this, basicBlockOrder, optimizationLevel);
 		optimizer.optimize(interpreter);
 	}
 
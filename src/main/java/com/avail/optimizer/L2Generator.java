@@ -170,6 +170,14 @@ public final class L2Generator
 	 */
 	@InnerAccess A_Set contingentValues = emptySet();
 
+	/**
+	 * The {@link L2Chunk#dependencyChangeCount()} when this generator was
+	 * created.  If it has changed by the time the chunk is allocated, the
+	 * definitions that the optimizer relied upon may be stale.
+	 */
+	private final long dependencyChangeCountAtStart =
+		L2Chunk.dependencyChangeCount();
+
 	/** The block at which to resume execution after a failed primitive. */
 	@Nullable L2BasicBlock afterOptionalInitialPrimitiveBlock;
 
@@ -1009,7 +1017,8 @@ public final class L2Generator
 			afterPrimitiveOffset,
 			instructions,
 			controlFlowGraph,
-			contingentValues);
+			contingentValues,
+			dependencyChangeCountAtStart);
 	}
 
 	/**
@@ -1074,6 +1083,9 @@ public final class L2Generator
 		@Override
 		public void doOperand (final L2InternalCounterOperand operand) { }
 
+		@Override
+		public void doOperand (final L2ObjectFieldCacheOperand operand) { }
+
 		@Override
 		public void doOperand (final L2ReadIntOperand operand)
 		{
@@ -0,0 +1,336 @@
+/*
+ * L2LinearScanAllocator.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.optimizer;
+
+import com.avail.interpreter.levelTwo.L2Instruction;
+import com.avail.interpreter.levelTwo.operand.L2PcOperand;
+import com.avail.interpreter.levelTwo.register.L2Register;
+import com.avail.interpreter.levelTwo.register.L2Register.RegisterKind;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Assigns a {@linkplain L2Register#finalIndex() final index} to each {@link
+ * L2Register} by linear scan, as an inexpensive alternative to the {@link
+ * L2RegisterColorer}.
+ *
+ * <p>The blocks of the control flow graph are laid out in their current
+ * order, and each instruction is given two positions: the even one at which
+ * it reads its sources, and the odd one at which it writes its destinations.
+ * Block-level liveness is computed by the usual backward data flow, and each
+ * register's live interval is the smallest range of positions that covers
+ * every point at which it's live.  The intervals are then visited in order of
+ * their starts, and each register takes the lowest index (of its {@link
+ * RegisterKind}) that isn't held by a register whose interval overlaps.</p>
+ *
+ * <p>Since the intervals don't have holes, this can use more indices than
+ * coloring would, and moves are only coalesced when the source's interval
+ * ends where the destination's begins.  That's acceptable, since the JVM
+ * allocates its own registers for the generated code anyway, and the cost
+ * is linear in the size of the graph (after sorting), rather than the
+ * superlinear cost of building an interference graph.</p>
+ */
+public final class L2LinearScanAllocator
+{
+	/** The blocks of the control flow graph, in layout order. */
+	private final List<L2BasicBlock> blocks;
+
+	/**
+	 * The {@link List} of all {@link L2Register}s that are written in the
+	 * control flow graph.
+	 */
+	private final List<L2Register> allRegisters;
+
+	/**
+	 * The index of each {@link L2Register} in {@link #allRegisters}, used to
+	 * number the bits of the liveness {@link BitSet}s.
+	 */
+	private final Map<L2Register, Integer> registerNumbers = new HashMap<>();
+
+	/**
+	 * The first position at which each register (by its number) is live, or
+	 * {@link Integer#MAX_VALUE} if it's never live.
+	 */
+	private final int[] intervalStarts;
+
+	/**
+	 * The last position at which each register (by its number) is live, or
+	 * -1 if it's never live.
+	 */
+	private final int[] intervalEnds;
+
+	/**
+	 * Construct a new linear scan allocator for the given control flow graph.
+	 *
+	 * @param controlFlowGraph
+	 *        The {@link L2ControlFlowGraph} whose registers should be
+	 *        allocated.
+	 */
+	public L2LinearScanAllocator (final L2ControlFlowGraph controlFlowGraph)
+	{
+		this.blocks = controlFlowGraph.basicBlockOrder;
+		this.allRegisters = controlFlowGraph.allRegisters();
+		for (int i = 0; i < allRegisters.size(); i++)
+		{
+			registerNumbers.put(allRegisters.get(i), i);
+		}
+		this.intervalStarts = new int[allRegisters.size()];
+		this.intervalEnds = new int[allRegisters.size()];
+	}
+
+	/**
+	 * Answer the number of the given register, or -1 if it isn't written
+	 * anywhere in the control flow graph.
+	 *
+	 * @param register
+	 *        The {@link L2Register}.
+	 * @return The register's number.
+	 */
+	private int numberOf (final L2Register register)
+	{
+		final @Nullable Integer number = registerNumbers.get(register);
+		return number == null ? -1 : number;
+	}
+
+	/**
+	 * Compute the live interval of every register.
+	 */
+	void computeLiveIntervals ()
+	{
+		final int blockCount = blocks.size();
+		final Map<L2BasicBlock, Integer> blockNumbers = new HashMap<>();
+		for (int i = 0; i < blockCount; i++)
+		{
+			blockNumbers.put(blocks.get(i), i);
+		}
+		// Registers read in each block before being written there, and
+		// registers written in each block.
+		final BitSet[] upwardExposed = new BitSet[blockCount];
+		final BitSet[] written = new BitSet[blockCount];
+		for (int i = 0; i < blockCount; i++)
+		{
+			final BitSet exposed = new BitSet();
+			final BitSet killed = new BitSet();
+			for (final L2Instruction instruction : blocks.get(i).instructions())
+			{
+				assert !instruction.operation().isPhi()
+					: "Linear scan requires phis to be replaced by moves";
+				for (final L2Register source : instruction.sourceRegisters())
+				{
+					final int number = numberOf(source);
+					if (number != -1 && !killed.get(number))
+					{
+						exposed.set(number);
+					}
+				}
+				for (final L2Register destination
+					: instruction.destinationRegisters())
+				{
+					killed.set(numberOf(destination));
+				}
+			}
+			upwardExposed[i] = exposed;
+			written[i] = killed;
+		}
+		// Iterate the backward data flow to a fixed point.  Visiting the blocks
+		// in reverse layout order makes this converge quickly.
+		final BitSet[] liveIn = new BitSet[blockCount];
+		final BitSet[] liveOut = new BitSet[blockCount];
+		for (int i = 0; i < blockCount; i++)
+		{
+			liveIn[i] = (BitSet) upwardExposed[i].clone();
+			liveOut[i] = new BitSet();
+		}
+		boolean changed;
+		do
+		{
+			changed = false;
+			for (int i = blockCount - 1; i >= 0; i--)
+			{
+				final BitSet out = liveOut[i];
+				final Iterator<L2PcOperand> iterator =
+					blocks.get(i).successorEdgesIterator();
+				while (iterator.hasNext())
+				{
+					final @Nullable Integer successor =
+						blockNumbers.get(iterator.next().targetBlock());
+					if (successor != null)
+					{
+						out.or(liveIn[successor]);
+					}
+				}
+				final BitSet in = (BitSet) out.clone();
+				in.andNot(written[i]);
+				in.or(upwardExposed[i]);
+				if (!in.equals(liveIn[i]))
+				{
+					liveIn[i] = in;
+					changed = true;
+				}
+			}
+		}
+		while (changed);
+		// Now lay out the instructions, widening each register's interval to
+		// cover its reads, its writes, and the blocks it's live into or out of.
+		Arrays.fill(intervalStarts, Integer.MAX_VALUE);
+		Arrays.fill(intervalEnds, -1);
+		int position = 0;
+		for (int i = 0; i < blockCount; i++)
+		{
+			final int blockStart = position;
+			for (final L2Instruction instruction : blocks.get(i).instructions())
+			{
+				for (final L2Register source : instruction.sourceRegisters())
+				{
+					include(numberOf(source), position);
+				}
+				for (final L2Register destination
+					: instruction.destinationRegisters())
+				{
+					include(numberOf(destination), position + 1);
+				}
+				position += 2;
+			}
+			final int blockEnd = position - 1;
+			for (
+				int number = liveIn[i].nextSetBit(0);
+				number >= 0;
+				number = liveIn[i].nextSetBit(number + 1))
+			{
+				include(number, blockStart);
+			}
+			for (
+				int number = liveOut[i].nextSetBit(0);
+				number >= 0;
+				number = liveOut[i].nextSetBit(number + 1))
+			{
+				include(number, blockEnd);
+			}
+		}
+	}
+
+	/**
+	 * Widen the interval of the specified register to include the given
+	 * position.
+	 *
+	 * @param number
+	 *        The register's number, or -1 to do nothing.
+	 * @param position
+	 *        The position at which the register is live.
+	 */
+	private void include (final int number, final int position)
+	{
+		if (number != -1)
+		{
+			intervalStarts[number] =
+				Math.min(intervalStarts[number], position);
+			intervalEnds[number] = Math.max(intervalEnds[number], position);
+		}
+	}
+
+	/**
+	 * Assign final indices to all registers by scanning their live intervals
+	 * in order of increasing start.  Each register of each {@link
+	 * RegisterKind} takes the lowest index not held by an overlapping register
+	 * of the same kind, preferring the index of a register that it's moved
+	 * from, if that index has just become free.
+	 */
+	void allocateRegisters ()
+	{
+		final List<Integer> order = new ArrayList<>(allRegisters.size());
+		for (int number = 0; number < allRegisters.size(); number++)
+		{
+			if (intervalEnds[number] == -1)
+			{
+				// Written, but the write has been removed since the list of
+				// registers was collected.  Any index will do.
+				allRegisters.get(number).setFinalIndex(0);
+			}
+			else
+			{
+				order.add(number);
+			}
+		}
+		order.sort(Comparator.comparingInt(number -> intervalStarts[number]));
+		final Map<RegisterKind, BitSet> inUse =
+			new EnumMap<>(RegisterKind.class);
+		for (final RegisterKind kind : RegisterKind.all)
+		{
+			inUse.put(kind, new BitSet());
+		}
+		final PriorityQueue<Integer> active = new PriorityQueue<>(
+			Comparator.comparingInt(number -> intervalEnds[number]));
+		for (final int number : order)
+		{
+			final int start = intervalStarts[number];
+			while (!active.isEmpty() && intervalEnds[active.peek()] < start)
+			{
+				final L2Register expired = allRegisters.get(active.poll());
+				inUse.get(expired.registerKind()).clear(expired.finalIndex());
+			}
+			final L2Register register = allRegisters.get(number);
+			final BitSet used = inUse.get(register.registerKind());
+			int index = -1;
+			for (final L2Instruction definition : register.definitions())
+			{
+				if (definition.operation().isMove())
+				{
+					final int sourceIndex =
+						definition.sourceRegisters().get(0).finalIndex();
+					if (sourceIndex != -1 && !used.get(sourceIndex))
+					{
+						index = sourceIndex;
+						break;
+					}
+				}
+			}
+			if (index == -1)
+			{
+				index = used.nextClearBit(0);
+			}
+			used.set(index);
+			register.setFinalIndex(index);
+			active.add(number);
+		}
+	}
+}
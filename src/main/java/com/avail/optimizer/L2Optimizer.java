@@ -40,13 +40,23 @@ import com.avail.interpreter.levelTwo.operand.L2Operand;
 import com.avail.interpreter.levelTwo.operand.L2PcOperand;
 import com.avail.interpreter.levelTwo.operand.L2ReadOperand;
 import com.avail.interpreter.levelTwo.operand.L2ReadVectorOperand;
+import com.avail.interpreter.levelTwo.operand.L2WriteBoxedOperand;
 import com.avail.interpreter.levelTwo.operand.L2WriteOperand;
+import com.avail.interpreter.levelTwo.operation.L2_CREATE_FUNCTION;
+import com.avail.interpreter.levelTwo.operation.L2_CREATE_MAP;
+import com.avail.interpreter.levelTwo.operation.L2_CREATE_OBJECT;
+import com.avail.interpreter.levelTwo.operation.L2_CREATE_SET;
+import com.avail.interpreter.levelTwo.operation.L2_CREATE_TUPLE;
+import com.avail.interpreter.levelTwo.operation.L2_CREATE_VARIABLE;
 import com.avail.interpreter.levelTwo.operation.L2_ENTER_L2_CHUNK;
 import com.avail.interpreter.levelTwo.operation.L2_JUMP;
+import com.avail.interpreter.levelTwo.operation.L2_MAKE_IMMUTABLE;
 import com.avail.interpreter.levelTwo.operation.L2_MOVE;
+import com.avail.interpreter.levelTwo.operation.L2_MOVE_CONSTANT;
 import com.avail.interpreter.levelTwo.operation.L2_PHI_PSEUDO_OPERATION;
 import com.avail.interpreter.levelTwo.register.L2Register;
 import com.avail.interpreter.levelTwo.register.L2Register.RegisterKind;
+import com.avail.optimizer.L2Generator.OptimizationLevel;
 import com.avail.performance.Statistic;
 import com.avail.performance.StatisticReport;
 import com.avail.utility.MutableInt;
@@ -60,9 +70,11 @@ import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 
 import static com.avail.AvailRuntimeSupport.captureNanos;
+import static com.avail.interpreter.levelTwo.operand.TypeRestriction.RestrictionFlagEncoding.IMMUTABLE;
 import static com.avail.utility.Casts.cast;
 import static com.avail.utility.Nulls.stripNull;
 import static com.avail.utility.Strings.increaseIndentation;
+import static java.util.Arrays.asList;
 import static java.util.Collections.disjoint;
 import static java.util.Collections.emptySet;
 
@@ -84,9 +96,96 @@ public final class L2Optimizer
 	/** Whether to sanity-check the graph between optimization steps. */
 	public static boolean shouldSanityCheck = false;
 
+	/**
+	 * The ways in which the {@link L2Register}s of a control flow graph can be
+	 * assigned their {@linkplain L2Register#finalIndex() final indices}.
+	 */
+	public enum RegisterAllocation
+	{
+		/**
+		 * Allocate registers by a {@linkplain L2LinearScanAllocator linear
+		 * scan} over their live intervals.  This is fast, but may use more
+		 * registers and coalesce fewer moves than {@link #GRAPH_COLORING}.
+		 */
+		LINEAR_SCAN,
+
+		/**
+		 * Allocate registers by {@linkplain L2RegisterColorer coloring} an
+		 * interference graph, after coalescing moves between non-interfering
+		 * registers.
+		 */
+		GRAPH_COLORING;
+
+		/**
+		 * The {@linkplain System#getProperty(String) system property} that
+		 * forces a particular {@code RegisterAllocation} (by name) for every
+		 * translation.
+		 */
+		private static final String forcedAllocationProperty = String.format(
+			"%s.registerAllocation",
+			L2Optimizer.class.getCanonicalName());
+
+		/**
+		 * The {@code RegisterAllocation} to use for every translation, or
+		 * {@code null} to choose by {@link OptimizationLevel}.
+		 */
+		private static final @Nullable RegisterAllocation forcedAllocation;
+
+		// Initialize forcedAllocation.
+		static
+		{
+			@Nullable RegisterAllocation value = null;
+			try
+			{
+				final @Nullable String property =
+					System.getProperty(forcedAllocationProperty);
+				if (property != null)
+				{
+					value = valueOf(property);
+				}
+			}
+			catch (final Exception e)
+			{
+				// Just choose by optimization level.
+			}
+			forcedAllocation = value;
+		}
+
+		/**
+		 * Answer the {@code RegisterAllocation} to use for a translation at
+		 * the given {@link OptimizationLevel}.  The {@linkplain
+		 * OptimizationLevel#FIRST_TRANSLATION first translation} of a function
+		 * uses {@link #LINEAR_SCAN}, since it happens for every function that
+		 * gets warm, while more aggressive translations can afford {@link
+		 * #GRAPH_COLORING}.
+		 *
+		 * @param optimizationLevel
+		 *        The {@link OptimizationLevel} of the translation.
+		 * @return The {@code RegisterAllocation} to use.
+		 */
+		static RegisterAllocation forLevel (
+			final OptimizationLevel optimizationLevel)
+		{
+			if (forcedAllocation != null)
+			{
+				return forcedAllocation;
+			}
+			return optimizationLevel.ordinal()
+					<= OptimizationLevel.FIRST_TRANSLATION.ordinal()
+				? LINEAR_SCAN
+				: GRAPH_COLORING;
+		}
+	}
+
+	/** How to assign the registers their final indices. */
+	private final RegisterAllocation registerAllocation;
+
 	/** The register coloring algorithm. */
 	private @Nullable L2RegisterColorer colorer = null;
 
+	/** The linear scan register allocator. */
+	private @Nullable L2LinearScanAllocator linearScanAllocator = null;
+
 	/** Statistic for tracking the cost of sanity checks. */
 	private static final Statistic sanityCheckStat = new Statistic(
 		"(Sanity check)",
@@ -101,14 +200,20 @@ public final class L2Optimizer
 	 * @param blocks
 	 *        The mutable {@link List} of {@link L2BasicBlock}s from the control
 	 *        flow graph.
+	 * @param optimizationLevel
+	 *        The {@link OptimizationLevel} of the translation, which determines
+	 *        the {@link RegisterAllocation}.
 	 */
 	L2Optimizer (
 		final L2ControlFlowGraph controlFlowGraph,
-		final List<L2BasicBlock> blocks)
+		final List<L2BasicBlock> blocks,
+		final OptimizationLevel optimizationLevel)
 	{
 		this.controlFlowGraph = controlFlowGraph;
 		//noinspection AssignmentOrReturnOfFieldWithMutableType
 		this.blocks = blocks;
+		this.registerAllocation =
+			RegisterAllocation.forLevel(optimizationLevel);
 	}
 
 	/**
@@ -232,6 +337,197 @@ public final class L2Optimizer
 		while (removeUnreachableBlocks() || removeDeadInstructions()) { }
 	}
 
+	/**
+	 * The {@link L2Operation}s that always produce a brand new object, not yet
+	 * reachable from anywhere but the register that they write.
+	 */
+	private static final Set<L2Operation> freshObjectOperations =
+		new HashSet<>(asList(
+			L2_CREATE_FUNCTION.instance,
+			L2_CREATE_MAP.instance,
+			L2_CREATE_OBJECT.instance,
+			L2_CREATE_SET.instance,
+			L2_CREATE_TUPLE.instance,
+			L2_CREATE_VARIABLE.instance));
+
+	/**
+	 * Answer how many times the given {@link L2Register} is read, counting
+	 * each operand occurrence separately.  An instruction that reads the same
+	 * register twice, such as an {@link L2_CREATE_TUPLE} of {@code <x, x>},
+	 * therefore counts twice.
+	 *
+	 * @param register
+	 *        The {@link L2Register} whose reads should be counted.
+	 * @return The number of operands that read the register.
+	 */
+	private static int readCount (final L2Register register)
+	{
+		int count = 0;
+		for (final L2Instruction use : register.uses())
+		{
+			for (final L2Register source : use.sourceRegisters())
+			{
+				if (source == register)
+				{
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Follow the given boxed register backward through its chain of {@link
+	 * L2_MOVE}s to the instruction that originally produced its value.  Answer
+	 * {@code null} if some register along the chain isn't in SSA form.  If
+	 * {@code requireSoleUse} is true, also answer {@code null} if any register
+	 * along the chain, including the given one, is {@linkplain
+	 * #readCount(L2Register) read} more than once.
+	 *
+	 * @param register
+	 *        The {@link L2Register} whose original definition is wanted.
+	 * @param requireSoleUse
+	 *        Whether each register along the way must have exactly one use.
+	 * @return The original defining {@link L2Instruction}, or {@code null}.
+	 */
+	private static @Nullable L2Instruction originalDefinition (
+		final L2Register register,
+		final boolean requireSoleUse)
+	{
+		L2Register current = register;
+		while (true)
+		{
+			if (current.definitions().size() != 1
+				|| (requireSoleUse && readCount(current) != 1))
+			{
+				return null;
+			}
+			final L2Instruction definition = current.definition();
+			if (definition.operation() != L2_MOVE.boxed)
+			{
+				return definition;
+			}
+			current = definition.sourceRegisters().get(0);
+		}
+	}
+
+	/**
+	 * Answer whether the value in the given boxed register reaches at most one
+	 * consumer, following {@link L2_MOVE}s forward.  Each operand that reads
+	 * the value counts as a separate consumer, even if several of them belong
+	 * to the same instruction.  A value that reaches a {@link
+	 * L2_PHI_PSEUDO_OPERATION phi} is conservatively treated as having
+	 * multiple consumers.
+	 *
+	 * @param register
+	 *        The {@link L2Register} whose consumers should be counted.
+	 * @return Whether there is at most one ultimate consumer of the value.
+	 */
+	private static boolean hasAtMostOneConsumer (final L2Register register)
+	{
+		int consumers = 0;
+		final Deque<L2Register> toVisit = new ArrayDeque<>();
+		toVisit.add(register);
+		while (!toVisit.isEmpty())
+		{
+			final L2Register current = toVisit.removeLast();
+			for (final L2Instruction use : current.uses())
+			{
+				if (use.operation() == L2_MOVE.boxed)
+				{
+					toVisit.add(use.destinationRegisters().get(0));
+					continue;
+				}
+				if (use.operation() instanceof L2_PHI_PSEUDO_OPERATION)
+				{
+					return false;
+				}
+				for (final L2Register source : use.sourceRegisters())
+				{
+					if (source == current && ++consumers > 1)
+					{
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Answer whether the given {@link L2_MAKE_IMMUTABLE} instruction is
+	 * unnecessary.  That's the case if its input was already made immutable
+	 * (or is a constant, and therefore already immutable), or if escape
+	 * analysis shows that the input is a freshly created object that is
+	 * referenced only along a single chain of moves to this instruction, and
+	 * the output reaches only a single consumer.  In the latter case the
+	 * object never has more than one reference within the chunk, so whichever
+	 * instruction consumes it may destroy it, and any reference that it
+	 * stores elsewhere is still the only one.
+	 *
+	 * @param instruction
+	 *        The {@link L2_MAKE_IMMUTABLE} instruction to examine.
+	 * @return Whether the instruction can be replaced by a move.
+	 */
+	private static boolean isUnnecessaryMakeImmutable (
+		final L2Instruction instruction)
+	{
+		final L2Register input = instruction.sourceRegisters().get(0);
+		final @Nullable L2Instruction source = originalDefinition(input, false);
+		if (source == null)
+		{
+			return false;
+		}
+		final L2Operation sourceOperation = source.operation();
+		if (sourceOperation == L2_MAKE_IMMUTABLE.instance
+			|| sourceOperation == L2_MOVE_CONSTANT.boxed)
+		{
+			return true;
+		}
+		return freshObjectOperations.contains(sourceOperation)
+			&& originalDefinition(input, true) == source
+			&& hasAtMostOneConsumer(instruction.destinationRegisters().get(0));
+	}
+
+	/**
+	 * Replace each {@link L2_MAKE_IMMUTABLE} whose effect is unnecessary by an
+	 * equivalent {@link L2_MOVE}.  The moves are usually coalesced away later,
+	 * and the values that would have been made immutable remain mutable,
+	 * allowing primitives that consume them to recycle them in place.  The
+	 * move's destination therefore drops the {@code IMMUTABLE} restriction
+	 * flag.
+	 *
+	 * <p>This must run on the SSA form, after dead code has been removed, so
+	 * that the uses recorded in each register are accurate.</p>
+	 */
+	@InnerAccess void elideUnnecessaryMakeImmutables ()
+	{
+		for (final L2BasicBlock block : blocks)
+		{
+			final List<L2Instruction> instructions = block.instructions();
+			for (int i = 0; i < instructions.size(); i++)
+			{
+				final L2Instruction instruction = instructions.get(i);
+				if (instruction.operation() == L2_MAKE_IMMUTABLE.instance
+					&& isUnnecessaryMakeImmutable(instruction))
+				{
+					final L2WriteBoxedOperand write = instruction.operand(1);
+					instructions.remove(i);
+					instruction.justRemoved();
+					final L2Instruction move = new L2Instruction(
+						block,
+						L2_MOVE.boxed,
+						instruction.operand(0),
+						new L2WriteBoxedOperand(
+							write.semanticValue(),
+							write.restriction().withoutFlag(IMMUTABLE),
+							write.register()));
+					block.insertInstruction(i, move, new L2ValueManifest());
+				}
+			}
+		}
+	}
+
 	/**
 	 * For every edge leading from a multiple-out block to a multiple-in block,
 	 * split it by inserting a new block along it.  Note that we do this
@@ -634,6 +930,26 @@ public final class L2Optimizer
 		colorer = null;
 	}
 
+	/**
+	 * Determine the range of instructions over which each register has to
+	 * keep its value, for the {@link L2LinearScanAllocator}.
+	 */
+	@InnerAccess void computeLiveIntervals ()
+	{
+		linearScanAllocator = new L2LinearScanAllocator(controlFlowGraph);
+		linearScanAllocator.computeLiveIntervals();
+	}
+
+	/**
+	 * Assign final indices to each register by a linear scan over the
+	 * previously computed live intervals.
+	 */
+	@InnerAccess void allocateRegistersByLinearScan ()
+	{
+		stripNull(linearScanAllocator).allocateRegisters();
+		linearScanAllocator = null;
+	}
+
 	/**
 	 * Create a new register for every &lt;kind, finalIndex&gt; (i.e., color) of
 	 * an existing register, then transform every instruction of this control
@@ -1182,6 +1498,15 @@ public final class L2Optimizer
 		 */
 		REMOVE_DEAD_CODE_1(L2Optimizer::removeDeadCode),
 
+		/**
+		 * Replace {@link L2_MAKE_IMMUTABLE} instructions by moves wherever the
+		 * value is already immutable, or provably has no other reference.
+		 * This depends on the accurate register uses left by the previous
+		 * phase.
+		 */
+		ELIDE_UNNECESSARY_MAKE_IMMUTABLES(
+			L2Optimizer::elideUnnecessaryMakeImmutables),
+
 		/**
 		 * Transform into SSA edge-split form, to avoid inserting redundant
 		 * phi-moves.
@@ -1226,7 +1551,9 @@ public final class L2Optimizer
 		 * Compute the register-coloring interference graph while we're just
 		 * out of SSA form – phis have been replaced by moves on incoming edges.
 		 */
-		COMPUTE_INTERFERENCE_GRAPH(L2Optimizer::computeInterferenceGraph),
+		COMPUTE_INTERFERENCE_GRAPH(
+			L2Optimizer::computeInterferenceGraph,
+			RegisterAllocation.GRAPH_COLORING),
 
 		/**
 		 * Color all registers, using the previously computed interference
@@ -1235,10 +1562,31 @@ public final class L2Optimizer
 		 * values at the same time will have the same number.
 		 */
 		COALESCE_REGISTERS_IN_NONINTERFERING_MOVES(
-			L2Optimizer::coalesceNoninterferingMoves),
+			L2Optimizer::coalesceNoninterferingMoves,
+			RegisterAllocation.GRAPH_COLORING),
 
 		/** Computed and assign final register colors. */
-		ASSIGN_REGISTER_COLORS(L2Optimizer::computeColors),
+		ASSIGN_REGISTER_COLORS(
+			L2Optimizer::computeColors,
+			RegisterAllocation.GRAPH_COLORING),
+
+		/**
+		 * Instead of building an interference graph, compute the live interval
+		 * of each register over the current block order.  Like the
+		 * interference graph, this has to happen just out of SSA form.
+		 */
+		COMPUTE_LIVE_INTERVALS(
+			L2Optimizer::computeLiveIntervals,
+			RegisterAllocation.LINEAR_SCAN),
+
+		/**
+		 * Assign final register colors by a linear scan over the live
+		 * intervals.  As with graph coloring, registers that have to maintain
+		 * distinct values at the same time get distinct numbers.
+		 */
+		ALLOCATE_REGISTERS_BY_LINEAR_SCAN(
+			L2Optimizer::allocateRegistersByLinearScan,
+			RegisterAllocation.LINEAR_SCAN),
 
 		/**
 		 * Create a replacement register for each used color (of each kind).
@@ -1292,6 +1640,12 @@ public final class L2Optimizer
 		/** The optimization action to perform for this pass. */
 		final Continuation1<L2Optimizer> action;
 
+		/**
+		 * The {@link RegisterAllocation} that this pass is part of, or {@code
+		 * null} if it should always run.
+		 */
+		final @Nullable RegisterAllocation registerAllocation;
+
 		/** The {@link Statistic} for tracking this pass's cost. */
 		final Statistic stat;
 
@@ -1301,8 +1655,25 @@ public final class L2Optimizer
 		 * @param action The action to perform for this pass.
 		 */
 		OptimizationPhase (final Continuation1<L2Optimizer> action)
+		{
+			this(action, null);
+		}
+
+		/**
+		 * Create the enumeration value.
+		 *
+		 * @param action
+		 *        The action to perform for this pass.
+		 * @param registerAllocation
+		 *        The {@link RegisterAllocation} that this pass is part of, or
+		 *        {@code null} if it should always run.
+		 */
+		OptimizationPhase (
+			final Continuation1<L2Optimizer> action,
+			final @Nullable RegisterAllocation registerAllocation)
 		{
 			this.action = action;
+			this.registerAllocation = registerAllocation;
 			this.stat = new Statistic(
 				name(),
 				StatisticReport.L2_OPTIMIZATION_TIME);
@@ -1318,6 +1689,11 @@ public final class L2Optimizer
 	{
 		for (final OptimizationPhase phase : OptimizationPhase.values())
 		{
+			if (phase.registerAllocation != null
+				&& phase.registerAllocation != registerAllocation)
+			{
+				continue;
+			}
 			final long before = captureNanos();
 			phase.action.value(this);
 			final long after = captureNanos();
@@ -37,17 +37,35 @@ import com.avail.interpreter.levelTwo.L2Chunk;
 import com.avail.utility.Strings;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.logging.Level;
 
 /**
- * A {@code JVMChunkClassLoader} is created for each generated {@link JVMChunk},
- * permitted dynamic loading and unloading of each {@code JVMChunk}
- * independently. The class loader holds onto zero or many {@linkplain Object
- * objects} for usage during static initialization of the generated
- * {@code JVMChunk}; these values are accessed from an {@linkplain #parameters
- * array}.
+ * A {@code JVMChunkClassLoader} defines generated {@link JVMChunk}s (and
+ * {@link L1BaselineCode}s), permitting their dynamic loading and unloading.
+ * The class loader holds onto zero or many {@linkplain Object objects} for
+ * usage during static initialization of the generated {@code JVMChunk}; these
+ * values are accessed from an {@linkplain #parameters array}.
+ *
+ * <p>Since every class loader carries substantial fixed overhead in the JVM,
+ * consecutively generated classes {@linkplain #loaderForNewClass() share} a
+ * loader, up to {@link #maximumClassesPerLoader} classes each.  A loader, and
+ * with it all of its classes, is unloaded once none of its classes are
+ * reachable.  Since chunks that are generated at about the same time tend to
+ * be invalidated or evicted at about the same time, this reclaims nearly as
+ * much as a loader per class.  Setting the {@linkplain
+ * System#getProperty(String) system property} {@link
+ * #maximumClassesPerLoaderProperty} to {@code 1} restores a loader per
+ * class.</p>
+ *
+ * <p>Sharing does mean that a single live chunk keeps the classes of every
+ * other chunk in its loader loaded, even after the {@link
+ * com.avail.interpreter.levelTwo.L2ChunkCache} has evicted them and stopped
+ * charging for their size.  The cache's total is thus an estimate of the
+ * memory held by live chunks, not of the memory retained by generated
+ * classes.</p>
  *
  * @author Todd L Smith &lt;todd@availlang.org&gt;
  */
@@ -59,8 +77,98 @@ extends ClassLoader
 	 * static initialization.
 	 */
 	@ReferencedInGeneratedCode
+	@GuardedBy("this")
 	public @Nullable Object[] parameters;
 
+	/**
+	 * The {@linkplain System#getProperty(String) system property} that
+	 * overrides the {@linkplain #defaultMaximumClassesPerLoader default}
+	 * number of generated classes that may share a loader.
+	 */
+	private static final String maximumClassesPerLoaderProperty =
+		String.format(
+			"%s.maximumClassesPerLoader",
+			JVMChunkClassLoader.class.getCanonicalName());
+
+	/**
+	 * The default number of generated classes that may share a loader.
+	 */
+	private static final int defaultMaximumClassesPerLoader = 64;
+
+	/**
+	 * The number of generated classes that may share a loader.
+	 */
+	private static final int maximumClassesPerLoader;
+
+	// Initialize maximumClassesPerLoader.
+	static
+	{
+		int value = defaultMaximumClassesPerLoader;
+		try
+		{
+			final @Nullable String property =
+				System.getProperty(maximumClassesPerLoaderProperty);
+			if (property != null)
+			{
+				value = Math.max(Integer.parseInt(property), 1);
+			}
+		}
+		catch (final Exception e)
+		{
+			// Just use the default.
+		}
+		maximumClassesPerLoader = value;
+	}
+
+	/**
+	 * The loader in which the next generated class should be defined, or
+	 * {@code null} if a new one should be created.
+	 */
+	@GuardedBy("JVMChunkClassLoader.class")
+	private static @Nullable JVMChunkClassLoader sharedLoader;
+
+	/**
+	 * The number of classes for which this loader has been {@linkplain
+	 * #loaderForNewClass() handed out}.
+	 */
+	@GuardedBy("JVMChunkClassLoader.class")
+	private int reservedClassCount = 0;
+
+	/**
+	 * Answer a loader in which to define one new generated class, creating a
+	 * new loader if the current one already has its fill of classes.
+	 *
+	 * @return A {@code JVMChunkClassLoader}.
+	 */
+	static synchronized JVMChunkClassLoader loaderForNewClass ()
+	{
+		@Nullable JVMChunkClassLoader loader = sharedLoader;
+		if (loader == null
+			|| loader.reservedClassCount >= maximumClassesPerLoader)
+		{
+			loader = new JVMChunkClassLoader();
+			sharedLoader = loader;
+		}
+		loader.reservedClassCount++;
+		return loader;
+	}
+
+	/**
+	 * Define a generated class that needs no {@link #parameters}.
+	 *
+	 * @param className
+	 *        The class name.
+	 * @param classBytes
+	 *        The class bytes.
+	 * @return The new {@link Class}.
+	 */
+	synchronized Class<?> defineGeneratedClass (
+		final String className,
+		final byte[] classBytes)
+	{
+		return defineClass(className, classBytes, 0, classBytes.length);
+	}
+
 	/**
 	 * Answer an instance of a {@link JVMChunk} {@linkplain Class
 	 * implementation} that is defined by the given bytes.
@@ -79,14 +187,16 @@ extends ClassLoader
 	 * @return The newly constructed {@code JVMChunk} instance, or {@code null}
 	 *         if no such instance could be constructed.
 	 */
-	@Nullable JVMChunk newJVMChunkFrom (
+	synchronized @Nullable JVMChunk newJVMChunkFrom (
 		final String chunkName,
 		final String className,
 		final byte[] classBytes,
 		final Object[] params)
 	{
 		// These need to become available now so that they are available during
-		// loading of the generated class.
+		// loading of the generated class.  This loader stays locked until the
+		// generated class's static initializer has consumed them, since other
+		// classes may be defined in this loader concurrently.
 		//noinspection AssignmentOrReturnOfFieldWithMutableType
 		parameters = params;
 		final Class<?> cl = defineClass(
@@ -449,6 +449,12 @@ public final class JVMTranslator
 			recordLiteralObject(operand.counter);
 		}
 
+		@Override
+		public void doOperand (final L2ObjectFieldCacheOperand operand)
+		{
+			recordLiteralObject(operand.cache);
+		}
+
 		@Override
 		public void doOperand (final L2IntImmediateOperand operand)
 		{
@@ -1744,6 +1750,16 @@ public final class JVMTranslator
 		return stripNull(jvmChunk);
 	}
 
+	/**
+	 * Answer the size of the generated class file, in bytes.
+	 *
+	 * @return The class file size.
+	 */
+	public int classSize ()
+	{
+		return stripNull(classBytes).length;
+	}
+
 	/**
 	 * Dump the specified JVM class bytes to an appropriately named temporary
 	 * file.
@@ -1796,7 +1812,8 @@ public final class JVMTranslator
 				parameters[index] = entry.getKey();
 			}
 		}
-		final JVMChunkClassLoader loader = new JVMChunkClassLoader();
+		final JVMChunkClassLoader loader =
+			JVMChunkClassLoader.loaderForNewClass();
 		jvmChunk = loader.newJVMChunkFrom(
 			chunkName,
 			className,
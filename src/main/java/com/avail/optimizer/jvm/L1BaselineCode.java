@@ -0,0 +1,92 @@
+/*
+ * L1BaselineCode.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.optimizer.jvm;
+
+import com.avail.descriptor.A_Function;
+import com.avail.descriptor.A_RawFunction;
+import com.avail.descriptor.AvailObject;
+import com.avail.interpreter.levelTwo.L1InstructionStepper;
+import com.avail.optimizer.StackReifier;
+
+import javax.annotation.Nullable;
+
+/**
+ * An {@code L1BaselineCode} runs the nybblecodes of a single {@link
+ * A_RawFunction} on behalf of an {@link L1InstructionStepper}, without
+ * decoding them.  Its subclasses are generated by an {@link
+ * L1BaselineTranslator}.
+ *
+ * <p>Baseline code keeps the frame in the stepper, exactly as the stepper
+ * does, so the two are interchangeable at every instruction boundary.  In
+ * particular, a continuation reified while running baseline code resumes in
+ * the {@linkplain com.avail.interpreter.levelTwo.L2Chunk#unoptimizedChunk
+ * unoptimized chunk}, which runs the baseline code again from the reified
+ * program counter.</p>
+ */
+public abstract class L1BaselineCode
+{
+	/**
+	 * Throw a {@link RuntimeException} on account of a program counter that
+	 * isn't at an instruction boundary of the calling generated {@code
+	 * L1BaselineCode} subclass.
+	 *
+	 * @param pc
+	 *        The illegal program counter.
+	 * @return Pretends to return a {@link RuntimeException}, but actually
+	 *         throws it instead. This is for the convenience of the caller.
+	 */
+	@SuppressWarnings("unused")
+	@ReferencedInGeneratedCode
+	protected static RuntimeException badPc (final int pc)
+	{
+		throw new RuntimeException(String.format("bad pc %d", pc));
+	}
+
+	/**
+	 * Run the nybblecodes from the stepper's current program counter until
+	 * the function returns or the stack must be reified.
+	 *
+	 * @param stepper
+	 *        The {@link L1InstructionStepper} that holds the frame.
+	 * @param function
+	 *        The running {@link A_Function}.
+	 * @param code
+	 *        The function's {@link A_RawFunction}.
+	 * @return {@code null} if the function returns normally, otherwise a
+	 *         {@link StackReifier} with which to reify the stack.
+	 */
+	public abstract @Nullable StackReifier run (
+		L1InstructionStepper stepper,
+		AvailObject function,
+		AvailObject code);
+}
@@ -0,0 +1,674 @@
+/*
+ * L1BaselineTranslator.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.optimizer.jvm;
+
+import com.avail.AvailThread;
+import com.avail.descriptor.A_RawFunction;
+import com.avail.descriptor.AvailObject;
+import com.avail.descriptor.CompiledCodeDescriptor.L1InstructionDecoder;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.levelOne.L1Operation;
+import com.avail.interpreter.levelTwo.L1InstructionStepper;
+import com.avail.interpreter.levelTwo.L2Chunk;
+import com.avail.optimizer.L1Translator;
+import com.avail.optimizer.StackReifier;
+import com.avail.performance.Statistic;
+import com.avail.utility.Strings;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.util.CheckMethodAdapter;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+import static com.avail.AvailRuntimeSupport.captureNanos;
+import static com.avail.performance.StatisticReport.FINAL_JVM_TRANSLATION_TIME;
+import static org.objectweb.asm.ClassWriter.COMPUTE_FRAMES;
+import static org.objectweb.asm.ClassWriter.COMPUTE_MAXS;
+import static org.objectweb.asm.Opcodes.*;
+import static org.objectweb.asm.Type.*;
+
+/**
+ * An {@code L1BaselineTranslator} translates the nybblecodes of a single
+ * {@link A_RawFunction} directly into an {@link L1BaselineCode}, without going
+ * through the {@link L1Translator}, the {@link com.avail.optimizer.L2Optimizer
+ * L2Optimizer}, and the {@link JVMTranslator}.
+ *
+ * <p>The generated method is a straight-line sequence of calls to the {@link
+ * L1InstructionStepper}'s per-instruction methods, with the operands as
+ * constants, preceded by a {@code lookupswitch} on the program counter so that
+ * execution can start at any instruction.  It performs no type-based
+ * specialization, and has no dependencies on definitions, so it's cheap to
+ * produce and never needs to be invalidated.  It only saves the cost of
+ * decoding and dispatching the nybblecodes, which is the bulk of the cost of
+ * running them in the {@linkplain L2Chunk#unoptimizedChunk unoptimized
+ * chunk}.</p>
+ */
+public final class L1BaselineTranslator
+{
+	/** The {@link A_RawFunction} to translate. */
+	private final A_RawFunction code;
+
+	/**
+	 * The {@link ClassWriter} responsible for writing the {@link
+	 * L1BaselineCode} subclass.
+	 */
+	private final ClassWriter classWriter =
+		new ClassWriter(COMPUTE_MAXS | COMPUTE_FRAMES);
+
+	/**
+	 * The name of the generated class, formed from a {@link UUID} to ensure
+	 * that no collisions occur.
+	 */
+	private final String className = String.format(
+		"com.avail.optimizer.jvm.generated.L1BaselineCode_%s",
+		UUID.randomUUID().toString().replace('-', '_'));
+
+	/** The {@link Statistic} for baseline translation. */
+	private static final Statistic translationStat = new Statistic(
+		"L1 baseline translation", FINAL_JVM_TRANSLATION_TIME);
+
+	/** The local holding the {@link L1InstructionStepper}. */
+	private static final int stepperLocal = 1;
+
+	/** The local holding the running {@link AvailObject function}. */
+	private static final int functionLocal = 2;
+
+	/** The local holding the function's {@link A_RawFunction}. */
+	private static final int codeLocal = 3;
+
+	/**
+	 * A decoded {@link L1Operation} and its operands.
+	 */
+	private static final class DecodedInstruction
+	{
+		/** The program counter of the instruction. */
+		final int pc;
+
+		/** The operation. */
+		final L1Operation operation;
+
+		/** The operands. */
+		final int[] operands;
+
+		/** The program counter of the following instruction. */
+		final int nextPc;
+
+		/** The {@link Label} of the translated instruction. */
+		final Label label = new Label();
+
+		/**
+		 * Construct a new {@code DecodedInstruction}.
+		 *
+		 * @param pc
+		 *        The program counter of the instruction.
+		 * @param operation
+		 *        The operation.
+		 * @param operands
+		 *        The operands.
+		 * @param nextPc
+		 *        The program counter of the following instruction.
+		 */
+		DecodedInstruction (
+			final int pc,
+			final L1Operation operation,
+			final int[] operands,
+			final int nextPc)
+		{
+			this.pc = pc;
+			this.operation = operation;
+			this.operands = operands;
+			this.nextPc = nextPc;
+		}
+	}
+
+	/**
+	 * Construct a new {@code L1BaselineTranslator}.
+	 *
+	 * @param code
+	 *        The {@link A_RawFunction} to translate.
+	 */
+	public L1BaselineTranslator (final A_RawFunction code)
+	{
+		this.code = code;
+	}
+
+	/**
+	 * Decode all of the nybblecodes of the {@link #code}.
+	 *
+	 * @return The decoded instructions, in order.
+	 */
+	private List<DecodedInstruction> decode ()
+	{
+		final L1InstructionDecoder decoder = new L1InstructionDecoder();
+		code.setUpInstructionDecoder(decoder);
+		decoder.pc(1);
+		final List<DecodedInstruction> instructions = new ArrayList<>();
+		while (!decoder.atEnd())
+		{
+			final int pc = decoder.pc();
+			final L1Operation operation = decoder.getOperation();
+			final int[] operands = new int[operation.operandTypes().length];
+			for (int i = 0; i < operands.length; i++)
+			{
+				operands[i] = decoder.getOperand();
+			}
+			instructions.add(
+				new DecodedInstruction(pc, operation, operands, decoder.pc()));
+		}
+		return instructions;
+	}
+
+	/**
+	 * Emit the most compact instruction that pushes the given {@code int}.
+	 *
+	 * @param method
+	 *        The {@link MethodVisitor} of the method being generated.
+	 * @param value
+	 *        The value to push.
+	 */
+	private static void pushInt (final MethodVisitor method, final int value)
+	{
+		if (-1 <= value && value <= 5)
+		{
+			method.visitInsn(ICONST_0 + value);
+		}
+		else if (Byte.MIN_VALUE <= value && value <= Byte.MAX_VALUE)
+		{
+			method.visitIntInsn(BIPUSH, value);
+		}
+		else if (Short.MIN_VALUE <= value && value <= Short.MAX_VALUE)
+		{
+			method.visitIntInsn(SIPUSH, value);
+		}
+		else
+		{
+			method.visitLdcInsn(value);
+		}
+	}
+
+	/**
+	 * Emit a call to one of the {@link L1InstructionStepper}'s per-instruction
+	 * methods.
+	 *
+	 * @param method
+	 *        The {@link MethodVisitor} of the method being generated.
+	 * @param instruction
+	 *        The {@link DecodedInstruction} being translated.
+	 * @param methodName
+	 *        The name of the stepper's method.
+	 * @param passFunction
+	 *        Whether the method takes the running function.
+	 * @param passCode
+	 *        Whether the method takes the function's raw function.
+	 * @param mayReify
+	 *        Whether the method answers a {@link StackReifier}, and may reify
+	 *        the current frame, which requires the stepper's program counter
+	 *        to be current.
+	 */
+	private static void invokeStepper (
+		final MethodVisitor method,
+		final DecodedInstruction instruction,
+		final String methodName,
+		final boolean passFunction,
+		final boolean passCode,
+		final boolean mayReify)
+	{
+		if (mayReify)
+		{
+			// :: stepper.instructionDecoder.pc(nextPc);
+			method.visitVarInsn(ALOAD, stepperLocal);
+			method.visitFieldInsn(
+				GETFIELD,
+				getInternalName(L1InstructionStepper.class),
+				"instructionDecoder",
+				getDescriptor(L1InstructionDecoder.class));
+			pushInt(method, instruction.nextPc);
+			method.visitMethodInsn(
+				INVOKEVIRTUAL,
+				getInternalName(L1InstructionDecoder.class),
+				"pc",
+				getMethodDescriptor(VOID_TYPE, INT_TYPE),
+				false);
+		}
+		// :: [reifier =] stepper.methodName([function], [code], operands…);
+		final List<Type> parameterTypes = new ArrayList<>();
+		method.visitVarInsn(ALOAD, stepperLocal);
+		if (passFunction)
+		{
+			method.visitVarInsn(ALOAD, functionLocal);
+			parameterTypes.add(getType(AvailObject.class));
+		}
+		if (passCode)
+		{
+			method.visitVarInsn(ALOAD, codeLocal);
+			parameterTypes.add(getType(AvailObject.class));
+		}
+		for (final int operand : instruction.operands)
+		{
+			pushInt(method, operand);
+			parameterTypes.add(INT_TYPE);
+		}
+		method.visitMethodInsn(
+			INVOKEVIRTUAL,
+			getInternalName(L1InstructionStepper.class),
+			methodName,
+			getMethodDescriptor(
+				mayReify ? getType(StackReifier.class) : VOID_TYPE,
+				parameterTypes.toArray(new Type[0])),
+			false);
+		if (mayReify)
+		{
+			// :: if (reifier != null) return reifier;
+			final Label continueLabel = new Label();
+			method.visitInsn(DUP);
+			method.visitJumpInsn(IFNULL, continueLabel);
+			method.visitInsn(ARETURN);
+			method.visitLabel(continueLabel);
+			method.visitInsn(POP);
+		}
+	}
+
+	/**
+	 * Emit the translation of a single instruction.
+	 *
+	 * @param method
+	 *        The {@link MethodVisitor} of the method being generated.
+	 * @param instruction
+	 *        The {@link DecodedInstruction} to translate.
+	 */
+	private static void translateInstruction (
+		final MethodVisitor method,
+		final DecodedInstruction instruction)
+	{
+		switch (instruction.operation)
+		{
+			case L1_doCall:
+				invokeStepper(
+					method, instruction, "doCall", true, true, true);
+				break;
+			case L1_doPushLiteral:
+				invokeStepper(
+					method, instruction, "doPushLiteral", false, true, false);
+				break;
+			case L1_doPushLastLocal:
+				invokeStepper(
+					method,
+					instruction,
+					"doPushLastLocal",
+					false,
+					false,
+					false);
+				break;
+			case L1_doPushLocal:
+				invokeStepper(
+					method, instruction, "doPushLocal", false, false, false);
+				break;
+			case L1_doPushLastOuter:
+				invokeStepper(
+					method,
+					instruction,
+					"doPushLastOuter",
+					true,
+					false,
+					false);
+				break;
+			case L1_doClose:
+				invokeStepper(
+					method, instruction, "doClose", false, true, false);
+				break;
+			case L1_doSetLocal:
+				invokeStepper(
+					method, instruction, "doSetLocal", false, false, true);
+				break;
+			case L1_doGetLocalClearing:
+				invokeStepper(
+					method,
+					instruction,
+					"doGetLocalClearing",
+					false,
+					false,
+					true);
+				break;
+			case L1_doPushOuter:
+				invokeStepper(
+					method, instruction, "doPushOuter", true, false, false);
+				break;
+			case L1_doPop:
+				invokeStepper(
+					method, instruction, "doPop", false, false, false);
+				break;
+			case L1_doGetOuterClearing:
+				invokeStepper(
+					method,
+					instruction,
+					"doGetOuterClearing",
+					true,
+					false,
+					true);
+				break;
+			case L1_doSetOuter:
+				invokeStepper(
+					method, instruction, "doSetOuter", true, false, true);
+				break;
+			case L1_doGetLocal:
+				invokeStepper(
+					method, instruction, "doGetLocal", false, false, true);
+				break;
+			case L1_doMakeTuple:
+				invokeStepper(
+					method, instruction, "doMakeTuple", false, false, false);
+				break;
+			case L1_doGetOuter:
+				invokeStepper(
+					method, instruction, "doGetOuter", true, false, true);
+				break;
+			case L1_doExtension:
+				throw new IllegalStateException("Illegal dispatch nybblecode");
+			case L1Ext_doPushLabel:
+			{
+				// Pushing a label always reifies, so the stepper's method
+				// answers a StackReifier unconditionally.
+				// :: stepper.instructionDecoder.pc(nextPc);
+				method.visitVarInsn(ALOAD, stepperLocal);
+				method.visitFieldInsn(
+					GETFIELD,
+					getInternalName(L1InstructionStepper.class),
+					"instructionDecoder",
+					getDescriptor(L1InstructionDecoder.class));
+				pushInt(method, instruction.nextPc);
+				method.visitMethodInsn(
+					INVOKEVIRTUAL,
+					getInternalName(L1InstructionDecoder.class),
+					"pc",
+					getMethodDescriptor(VOID_TYPE, INT_TYPE),
+					false);
+				// :: return stepper.doPushLabel(code);
+				method.visitVarInsn(ALOAD, stepperLocal);
+				method.visitVarInsn(ALOAD, codeLocal);
+				method.visitMethodInsn(
+					INVOKEVIRTUAL,
+					getInternalName(L1InstructionStepper.class),
+					"doPushLabel",
+					getMethodDescriptor(
+						getType(StackReifier.class),
+						getType(AvailObject.class)),
+					false);
+				method.visitInsn(ARETURN);
+				break;
+			}
+			case L1Ext_doGetLiteral:
+				invokeStepper(
+					method, instruction, "doGetLiteral", false, true, true);
+				break;
+			case L1Ext_doSetLiteral:
+			{
+				// The assignment may reify (without interrupting the caller),
+				// so the program counter must be current.
+				// :: stepper.instructionDecoder.pc(nextPc);
+				method.visitVarInsn(ALOAD, stepperLocal);
+				method.visitFieldInsn(
+					GETFIELD,
+					getInternalName(L1InstructionStepper.class),
+					"instructionDecoder",
+					getDescriptor(L1InstructionDecoder.class));
+				pushInt(method, instruction.nextPc);
+				method.visitMethodInsn(
+					INVOKEVIRTUAL,
+					getInternalName(L1InstructionDecoder.class),
+					"pc",
+					getMethodDescriptor(VOID_TYPE, INT_TYPE),
+					false);
+				invokeStepper(
+					method, instruction, "doSetLiteral", false, true, false);
+				break;
+			}
+			case L1Ext_doDuplicate:
+				invokeStepper(
+					method, instruction, "doDuplicate", false, false, false);
+				break;
+			case L1Ext_doPermute:
+				invokeStepper(
+					method, instruction, "doPermute", false, true, false);
+				break;
+			case L1Ext_doSuperCall:
+				invokeStepper(
+					method, instruction, "doSuperCall", true, true, true);
+				break;
+			case L1Ext_doSetLocalSlot:
+				invokeStepper(
+					method,
+					instruction,
+					"doSetLocalSlot",
+					false,
+					false,
+					false);
+				break;
+		}
+	}
+
+	/**
+	 * Generate the default constructor of the {@link L1BaselineCode}
+	 * subclass.
+	 */
+	private void generateConstructor ()
+	{
+		final MethodVisitor method = classWriter.visitMethod(
+			ACC_PUBLIC,
+			"<init>",
+			getMethodDescriptor(VOID_TYPE),
+			null,
+			null);
+		method.visitCode();
+		method.visitVarInsn(ALOAD, 0);
+		method.visitMethodInsn(
+			INVOKESPECIAL,
+			getInternalName(L1BaselineCode.class),
+			"<init>",
+			getMethodDescriptor(VOID_TYPE),
+			false);
+		method.visitInsn(RETURN);
+		method.visitMaxs(0, 0);
+		method.visitEnd();
+	}
+
+	/**
+	 * Generate the {@link L1BaselineCode#run(L1InstructionStepper,
+	 * AvailObject, AvailObject) run} method of the {@link L1BaselineCode}
+	 * subclass.
+	 *
+	 * @param instructions
+	 *        The decoded instructions.
+	 * @param endPc
+	 *        The program counter just past the last instruction.
+	 */
+	private void generateRun (
+		final List<DecodedInstruction> instructions,
+		final int endPc)
+	{
+		final String descriptor = getMethodDescriptor(
+			getType(StackReifier.class),
+			getType(L1InstructionStepper.class),
+			getType(AvailObject.class),
+			getType(AvailObject.class));
+		MethodVisitor method = classWriter.visitMethod(
+			ACC_PUBLIC, "run", descriptor, null, null);
+		if (JVMTranslator.debugJVM)
+		{
+			final CheckMethodAdapter checker = new CheckMethodAdapter(
+				ACC_PUBLIC, "run", descriptor, method, new HashMap<>());
+			checker.version = V1_8;
+			method = checker;
+		}
+		method.visitParameter("stepper", ACC_FINAL);
+		method.visitParameter("function", ACC_FINAL);
+		method.visitParameter("code", ACC_FINAL);
+		method.visitCode();
+		// Any instruction boundary may be the resumption point of a reified
+		// continuation, and so may the end of the code, if the last
+		// instruction is a call.
+		final int size = instructions.size();
+		final int[] pcs = new int[size + 1];
+		final Label[] labels = new Label[size + 1];
+		for (int i = 0; i < size; i++)
+		{
+			pcs[i] = instructions.get(i).pc;
+			labels[i] = instructions.get(i).label;
+		}
+		final Label endLabel = new Label();
+		pcs[size] = endPc;
+		labels[size] = endLabel;
+		// :: switch (stepper.instructionDecoder.pc()) {…}
+		method.visitVarInsn(ALOAD, stepperLocal);
+		method.visitFieldInsn(
+			GETFIELD,
+			getInternalName(L1InstructionStepper.class),
+			"instructionDecoder",
+			getDescriptor(L1InstructionDecoder.class));
+		method.visitMethodInsn(
+			INVOKEVIRTUAL,
+			getInternalName(L1InstructionDecoder.class),
+			"pc",
+			getMethodDescriptor(INT_TYPE),
+			false);
+		final Label badPcLabel = new Label();
+		method.visitLookupSwitchInsn(badPcLabel, pcs, labels);
+		for (final DecodedInstruction instruction : instructions)
+		{
+			method.visitLabel(instruction.label);
+			translateInstruction(method, instruction);
+		}
+		// :: stepper.returnFromFunction(function);
+		// :: return null;
+		method.visitLabel(endLabel);
+		method.visitVarInsn(ALOAD, stepperLocal);
+		method.visitVarInsn(ALOAD, functionLocal);
+		method.visitMethodInsn(
+			INVOKEVIRTUAL,
+			getInternalName(L1InstructionStepper.class),
+			"returnFromFunction",
+			getMethodDescriptor(VOID_TYPE, getType(AvailObject.class)),
+			false);
+		method.visitInsn(ACONST_NULL);
+		method.visitInsn(ARETURN);
+		// :: throw L1BaselineCode.badPc(stepper.instructionDecoder.pc());
+		method.visitLabel(badPcLabel);
+		method.visitVarInsn(ALOAD, stepperLocal);
+		method.visitFieldInsn(
+			GETFIELD,
+			getInternalName(L1InstructionStepper.class),
+			"instructionDecoder",
+			getDescriptor(L1InstructionDecoder.class));
+		method.visitMethodInsn(
+			INVOKEVIRTUAL,
+			getInternalName(L1InstructionDecoder.class),
+			"pc",
+			getMethodDescriptor(INT_TYPE),
+			false);
+		method.visitMethodInsn(
+			INVOKESTATIC,
+			getInternalName(L1BaselineCode.class),
+			"badPc",
+			getMethodDescriptor(getType(RuntimeException.class), INT_TYPE),
+			false);
+		method.visitInsn(ATHROW);
+		method.visitMaxs(0, 0);
+		method.visitEnd();
+	}
+
+	/**
+	 * Translate the {@link A_RawFunction}'s nybblecodes into an {@link
+	 * L1BaselineCode}.
+	 *
+	 * @return The baseline code, or {@code null} if it couldn't be produced,
+	 *         for example because the generated method would be too large.
+	 */
+	public @Nullable L1BaselineCode translate ()
+	{
+		final long before = captureNanos();
+		final @Nullable L1BaselineCode baselineCode;
+		try
+		{
+			final List<DecodedInstruction> instructions = decode();
+			final int endPc = instructions.isEmpty()
+				? 1
+				: instructions.get(instructions.size() - 1).nextPc;
+			classWriter.visit(
+				V1_8,
+				ACC_PUBLIC | ACC_FINAL,
+				className.replace('.', '/'),
+				null,
+				getInternalName(L1BaselineCode.class),
+				null);
+			generateConstructor();
+			generateRun(instructions, endPc);
+			classWriter.visitEnd();
+			final byte[] classBytes = classWriter.toByteArray();
+			final Class<?> cl = JVMChunkClassLoader.loaderForNewClass()
+				.defineGeneratedClass(className, classBytes);
+			baselineCode =
+				(L1BaselineCode) cl.getConstructor().newInstance();
+		}
+		catch (final RuntimeException
+			|NoSuchMethodException
+			|InstantiationException
+			|IllegalAccessException
+			|InvocationTargetException e)
+		{
+			// The most likely cause is that the code is too large for a
+			// single JVM method, in which case the nybblecodes will continue
+			// to be interpreted until the L2 translator optimizes them.
+			Interpreter.log(
+				Interpreter.loggerDebugJVM,
+				Level.FINE,
+				"Failed to produce baseline code for {0}: {1}",
+				code.methodName(),
+				Strings.traceFor(e));
+			return null;
+		}
+		final @Nullable AvailThread thread = AvailThread.currentOrNull();
+		if (thread != null)
+		{
+			translationStat.record(
+				captureNanos() - before, thread.interpreter.interpreterIndex);
+		}
+		return baselineCode;
+	}
+}
@@ -108,6 +108,13 @@ public final class L2Inliner
 			currentOperand = new L2InternalCounterOperand();
 		}
 
+		@Override
+		public void doOperand (final L2ObjectFieldCacheOperand operand)
+		{
+			// Create a new cache, since the inlined site is distinct.
+			currentOperand = new L2ObjectFieldCacheOperand(operand.field());
+		}
+
 		@SuppressWarnings("EmptyMethod")
 		@Override
 		public void doOperand (final L2IntImmediateOperand operand) { }
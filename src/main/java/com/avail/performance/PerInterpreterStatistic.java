@@ -42,9 +42,16 @@ import static java.lang.String.format;
 
 /**
  * A {@code PerInterpreterStatistic} is an incremental, summarized recording of
- * a set of integral values and times.  It is synchronized, although the typical
- * usage is that it will only be written by a single {@link Thread} at a time,
- * and read by another {@link Thread} only rarely.
+ * a set of integral values and times.  Besides the count, extremes, mean and
+ * variance of the samples, it keeps a histogram with logarithmically sized
+ * buckets, from which {@linkplain #percentile(double) percentiles} can be
+ * estimated.
+ *
+ * <p>It is not synchronized.  It must only be written by a single {@link
+ * Thread} at a time, and may be read by other threads while it's being
+ * written.  Such a reader sees each field as it was at some moment, so a
+ * snapshot taken while recording continues may omit, or only partially
+ * reflect, the samples being recorded at that moment.</p>
  *
  * <p>If you want to record samples from multiple processes, use a Statistic,
  * which holds a PerInterpreterStatistic for up to {@link
@@ -78,6 +85,30 @@ implements Comparable<PerInterpreterStatistic>
 	 */
 	private double sumOfDeltaSquares;
 
+	/**
+	 * The number of {@link #buckets} for each power of two, which must itself
+	 * be a power of two.  A sample is placed in a bucket whose bounds differ
+	 * by at most this reciprocal of the lower bound.
+	 */
+	private static final int bucketsPerOctave = 4;
+
+	/** The base two logarithm of {@link #bucketsPerOctave}. */
+	private static final int bucketsPerOctaveShift =
+		Integer.numberOfTrailingZeros(bucketsPerOctave);
+
+	/**
+	 * The number of {@link #buckets}.  The first holds all samples below one,
+	 * and the rest cover each power of two up to 2<sup>63</sup>, with larger
+	 * samples being counted in the last bucket.
+	 */
+	private static final int bucketCount = 1 + 63 * bucketsPerOctave;
+
+	/**
+	 * The histogram of samples, or {@code null} if no samples have been
+	 * recorded yet.  Allocated lazily, since many statistics are never used.
+	 */
+	private @Nullable long[] buckets;
+
 	/**
 	 * Construct a new statistic with the given values.
 	 *
@@ -124,18 +155,17 @@ implements Comparable<PerInterpreterStatistic>
 	 *
 	 * @return The sample count.
 	 */
-	public synchronized long count ()
+	public long count ()
 	{
 		return count;
 	}
 
 	/**
-	 * Return the sum of the samples.  This is thread-safe, but may block if
-	 * an update (or other read) is in progress.
+	 * Return the sum of the samples.
 	 *
 	 * @return The sum of the samples.
 	 */
-	public synchronized double sum ()
+	public double sum ()
 	{
 		return mean * count;
 	}
@@ -148,7 +178,7 @@ implements Comparable<PerInterpreterStatistic>
 	 *
 	 * @return The Bessel-corrected variance of the samples.
 	 */
-	public synchronized double variance ()
+	public double variance ()
 	{
 		return computeVariance(count, sumOfDeltaSquares);
 	}
@@ -183,6 +213,127 @@ implements Comparable<PerInterpreterStatistic>
 		return sqrt(variance());
 	}
 
+	/**
+	 * Return the smallest sample that has been recorded.
+	 *
+	 * @return The minimum sample, or {@linkplain Double#POSITIVE_INFINITY
+	 *         positive infinity} if there are no samples.
+	 */
+	public double min ()
+	{
+		return min;
+	}
+
+	/**
+	 * Return the largest sample that has been recorded.
+	 *
+	 * @return The maximum sample, or {@linkplain Double#NEGATIVE_INFINITY
+	 *         negative infinity} if there are no samples.
+	 */
+	public double max ()
+	{
+		return max;
+	}
+
+	/**
+	 * Return the mean of the samples that have been recorded.
+	 *
+	 * @return The mean, or zero if there are no samples.
+	 */
+	public double mean ()
+	{
+		return mean;
+	}
+
+	/**
+	 * Answer the index of the {@linkplain #buckets bucket} that counts the
+	 * given sample.
+	 *
+	 * @param sample
+	 *        The sample.
+	 * @return The bucket index.
+	 */
+	private static int bucketIndex (final double sample)
+	{
+		if (!(sample >= 1.0))
+		{
+			// Also catches NaN.
+			return 0;
+		}
+		// The exponent and the leading fraction bits of the double select the
+		// octave and the bucket within it.
+		final long bits = Double.doubleToRawLongBits(sample);
+		final long index = (bits >>> (52 - bucketsPerOctaveShift))
+			- ((long) Double.MAX_EXPONENT << bucketsPerOctaveShift)
+			+ 1;
+		return (int) Math.min(index, bucketCount - 1);
+	}
+
+	/**
+	 * Answer the smallest sample counted by the specified {@linkplain #buckets
+	 * bucket}.
+	 *
+	 * @param index
+	 *        The bucket index.
+	 * @return The bucket's inclusive lower bound.
+	 */
+	private static double bucketLowerBound (final int index)
+	{
+		if (index == 0)
+		{
+			return 0.0;
+		}
+		final int exponent = (index - 1) >> bucketsPerOctaveShift;
+		final int step = (index - 1) & (bucketsPerOctave - 1);
+		return Math.scalb(1.0 + (double) step / bucketsPerOctave, exponent);
+	}
+
+	/**
+	 * Estimate the specified percentile of the samples, by interpolating
+	 * within the histogram bucket that contains it.  The estimate is never
+	 * outside the range of the samples.
+	 *
+	 * @param percentile
+	 *        The percentile, between 0.0 and 100.0.
+	 * @return The estimated sample at that percentile, or zero if there are
+	 *         no samples.
+	 */
+	public double percentile (final double percentile)
+	{
+		final @Nullable long[] counts = buckets;
+		if (counts == null)
+		{
+			return 0.0;
+		}
+		long total = 0;
+		for (final long bucket : counts)
+		{
+			total += bucket;
+		}
+		if (total == 0)
+		{
+			return 0.0;
+		}
+		final double rank = Math.max(percentile, 0.0) / 100.0 * total;
+		long seen = 0;
+		for (int i = 0; i < bucketCount; i++)
+		{
+			final long bucket = counts[i];
+			if (bucket > 0 && seen + bucket >= rank)
+			{
+				final double low = bucketLowerBound(i);
+				final double high = i == bucketCount - 1
+					? max
+					: bucketLowerBound(i + 1);
+				final double estimate =
+					low + (high - low) * ((rank - seen) / bucket);
+				return Math.max(min, Math.min(max, estimate));
+			}
+			seen += bucket;
+		}
+		return max;
+	}
+
 	/**
 	 * Describe this statistic as though its samples are durations in
 	 * nanoseconds.
@@ -196,16 +347,9 @@ implements Comparable<PerInterpreterStatistic>
 		final StringBuilder builder,
 		final ReportingUnit unit)
 	{
-		final long capturedCount;
-		final double capturedMean;
-		final double capturedSumOfDeltaSquares;
-		// Read multiple fields coherently.
-		synchronized (this)
-		{
-			capturedCount = count;
-			capturedMean = mean;
-			capturedSumOfDeltaSquares = sumOfDeltaSquares;
-		}
+		final long capturedCount = count;
+		final double capturedMean = mean;
+		final double capturedSumOfDeltaSquares = sumOfDeltaSquares;
 		final double standardDeviation =
 			sqrt(computeVariance(capturedCount, capturedSumOfDeltaSquares));
 		builder.append(
@@ -217,19 +361,30 @@ implements Comparable<PerInterpreterStatistic>
 		// from running Avail for five seconds.  So we spell out "mean".
 		builder.append("(mean=");
 		builder.append(unit.describe(1, capturedMean, standardDeviation, true));
+		builder.append(", p50=");
+		builder.append(unit.describe(1, percentile(50.0), 0.0, false));
+		builder.append(", p99=");
+		builder.append(unit.describe(1, percentile(99.0), 0.0, false));
 		builder.append(")");
 	}
 
 	/**
 	 * Record a new sample, updating any cumulative statistical values.  This is
-	 * thread-safe.  However, the locking cost should be exceedingly low if a
-	 * {@link Statistic} is used to partition an array of {@link
-	 * PerInterpreterStatistic}s by {@link Interpreter}.
+	 * not thread-safe, so a {@link Statistic} should be used to partition an
+	 * array of {@link PerInterpreterStatistic}s by {@link Interpreter}, so that
+	 * each has only one writer.
 	 *
 	 * @param sample The sample value to record.
 	 */
-	public synchronized void record (final double sample)
+	public void record (final double sample)
 	{
+		@Nullable long[] counts = buckets;
+		if (counts == null)
+		{
+			counts = new long[bucketCount];
+			buckets = counts;
+		}
+		counts[bucketIndex(sample)]++;
 		count++;
 		min = Math.min(sample, min);
 		max = Math.max(sample, max);
@@ -239,23 +394,42 @@ implements Comparable<PerInterpreterStatistic>
 	}
 
 	/**
-	 * Add my information to another {@code PerInterpreterStatistic}.  This is
-	 * thread-safe for the receiver, and assumes the argument does not need to
-	 * be treated thread-safely.
+	 * Add my information to another {@code PerInterpreterStatistic}.  The
+	 * receiver may still be recording samples, but the argument must not be
+	 * accessed by any other thread.
 	 *
 	 * @param target The statistic to add the receiver to.
 	 */
-	synchronized void addTo (final PerInterpreterStatistic target)
+	void addTo (final PerInterpreterStatistic target)
 	{
-		final long newCount = target.count + count;
+		// Read each field once, since samples may still be being recorded.
+		final long capturedCount = count;
+		final double capturedMean = mean;
+		final double capturedSumOfDeltaSquares = sumOfDeltaSquares;
+		final long newCount = target.count + capturedCount;
 		if (newCount > 0)
 		{
-			final double delta = mean - target.mean;
+			final @Nullable long[] counts = buckets;
+			if (counts != null)
+			{
+				@Nullable long[] targetCounts = target.buckets;
+				if (targetCounts == null)
+				{
+					targetCounts = new long[bucketCount];
+					target.buckets = targetCounts;
+				}
+				for (int i = 0; i < bucketCount; i++)
+				{
+					targetCounts[i] += counts[i];
+				}
+			}
+			final double delta = capturedMean - target.mean;
 			final double newMean =
-				(target.count * target.mean + count * mean) / newCount;
+				(target.count * target.mean + capturedCount * capturedMean)
+					/ newCount;
 			final double newSumOfDeltas =
-				target.sumOfDeltaSquares + sumOfDeltaSquares
-					+ (delta * delta / newCount) * target.count * count;
+				target.sumOfDeltaSquares + capturedSumOfDeltaSquares
+					+ (delta * delta / newCount) * target.count * capturedCount;
 			// Now overwrite the target.
 			target.count = newCount;
 			target.min = Math.min(target.min, min);
@@ -266,10 +440,13 @@ implements Comparable<PerInterpreterStatistic>
 	}
 
 	/**
-	 * Reset this statistic as though no samples had ever been recorded.
+	 * Reset this statistic as though no samples had ever been recorded.  If
+	 * samples are being recorded at the same time, some of them may survive
+	 * partially.
 	 */
-	public synchronized void clear ()
+	public void clear ()
 	{
+		buckets = null;
 		count = 0;
 		min = Double.POSITIVE_INFINITY;
 		max = Double.NEGATIVE_INFINITY;
@@ -55,6 +55,8 @@ public enum ReportingUnit
 {
 	/** The number of nanoseconds taken by some activity. */
 	NANOSECONDS(
+		"seconds",
+		1.0e-9,
 		new Range(999_999_500.0,     POSITIVE_INFINITY, 1.0e-9, "%, 8.3f s "),
 		new Range(    999_999.5,     999_999_500.0,     1.0e-6, "%, 8.3f ms"),
 		new Range(NEGATIVE_INFINITY,     999_999.5,     1.0e-3, "%, 8.3f µs")
@@ -62,6 +64,8 @@ public enum ReportingUnit
 
 	/** The number of bytes consumed or produced by some activity. */
 	BYTES(
+		"bytes",
+		1.0,
 		new Range(999_999_999_500.0, POSITIVE_INFINITY, 1.0e-12, "%, 8.3f TB"),
 		new Range(    999_999_500.0, 999_999_999_500.0, 1.0e-9,  "%, 8.3f GB"),
 		new Range(        999_999.5,     999_999_500.0, 1.0e-6,  "%, 8.3f MB"),
@@ -70,11 +74,15 @@ public enum ReportingUnit
 
 	/** A dimensionless measurement, such as a count of something. */
 	DIMENSIONLESS_DOUBLE(
+		"",
+		1.0,
 		new Range(NEGATIVE_INFINITY, POSITIVE_INFINITY, 1.0, "%, 10.3f")
 	),
 
 	/** A dimensionless measurement, such as a count of something. */
 	DIMENSIONLESS_INTEGRAL(
+		"",
+		1.0,
 		new Range(
 			NEGATIVE_INFINITY,
 			POSITIVE_INFINITY,
@@ -164,6 +172,18 @@ public enum ReportingUnit
 		}
 	}
 
+	/**
+	 * The name of the base unit in which samples are exported to monitoring
+	 * systems, or the empty string if the samples are dimensionless.
+	 */
+	public final String baseUnit;
+
+	/**
+	 * The amount to multiply a sample by to express it in the {@link
+	 * #baseUnit}.
+	 */
+	public final double baseUnitScale;
+
 	/**
 	 * The array of ranges to select a rendering strategy for statistics.
 	 */
@@ -172,11 +192,22 @@ public enum ReportingUnit
 	/**
 	 * Construct a {@code ReportingUnit} with the given vararg {@link Range}s.
 	 *
+	 * @param baseUnit
+	 *        The name of the base unit for exported samples, or the empty
+	 *        string if they're dimensionless.
+	 * @param baseUnitScale
+	 *        The amount to multiply a sample by to express it in the base
+	 *        unit.
 	 * @param ranges
 	 *        The {@link Range}s used for rendering a statistic.
 	 */
-	ReportingUnit (final Range... ranges)
+	ReportingUnit (
+		final String baseUnit,
+		final double baseUnitScale,
+		final Range... ranges)
 	{
+		this.baseUnit = baseUnit;
+		this.baseUnitScale = baseUnitScale;
 		this.ranges = ranges;
 	}
 
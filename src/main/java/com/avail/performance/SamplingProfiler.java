@@ -0,0 +1,359 @@
+/*
+ * SamplingProfiler.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.performance;
+
+import com.avail.AvailRuntime;
+import com.avail.descriptor.A_Continuation;
+import com.avail.descriptor.A_Fiber;
+import com.avail.descriptor.A_Function;
+import com.avail.descriptor.A_Module;
+import com.avail.descriptor.A_RawFunction;
+import com.avail.descriptor.AvailObject;
+import com.avail.interpreter.Interpreter;
+import com.avail.interpreter.levelTwo.L2Chunk;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.avail.interpreter.levelTwo.L2Chunk.unoptimizedChunk;
+
+/**
+ * A {@code SamplingProfiler} periodically captures the Avail call stack of
+ * every {@link Interpreter} of an {@link AvailRuntime} that is running a
+ * {@linkplain A_Fiber fiber}, and counts how often each distinct stack was
+ * seen.  The counts are reported in the <em>collapsed stack</em> format
+ * understood by flame graph tools: one line per distinct stack, with the
+ * frames listed outermost first, separated by semicolons, followed by a space
+ * and the number of samples.
+ *
+ * <p>Sampling is driven by the runtime's {@linkplain AvailRuntime#timer
+ * timer}, so the interpreters are never stopped.  Each sample reads the
+ * interpreter's {@linkplain Interpreter#function running function} and its
+ * {@linkplain Interpreter#reifiedContinuation reified continuation} chain
+ * without synchronization, so a sample may be slightly stale, and frames that
+ * live only on the Java stack (i.e., that have not been reified) are
+ * represented by a single {@value #unreifiedFrameName} frame.  The running
+ * function is marked with {@value #optimizedSuffix} when it is executing an
+ * optimized {@link L2Chunk}, following the flame graph convention for
+ * just-in-time compiled frames.</p>
+ */
+public final class SamplingProfiler
+{
+	/** The default sampling period, in milliseconds. */
+	public static final long defaultPeriodMillis = 10;
+
+	/** The deepest stack that will be sampled, in frames. */
+	private static final int maxSampledDepth = 1000;
+
+	/** The name of the frame that stands in for unreified frames. */
+	private static final String unreifiedFrameName = "[unreified]";
+
+	/**
+	 * The suffix of the name of a frame that is running in an optimized
+	 * {@link L2Chunk}.
+	 */
+	private static final String optimizedSuffix = "_[j]";
+
+	/** The {@link AvailRuntime} whose interpreters should be sampled. */
+	private final AvailRuntime runtime;
+
+	/**
+	 * The number of times that each collapsed stack has been sampled.  Only
+	 * the runtime's timer thread writes to this map.
+	 */
+	private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+	/** The total number of stacks that have been sampled. */
+	private final AtomicLong sampleCount = new AtomicLong(0);
+
+	/**
+	 * The number of stacks that could not be sampled, because the interpreter
+	 * changed them while they were being read.
+	 */
+	private final AtomicLong failedSampleCount = new AtomicLong(0);
+
+	/** The scheduled sampling task, or {@code null} if not sampling. */
+	private @Nullable TimerTask samplingTask;
+
+	/**
+	 * Construct a new {@code SamplingProfiler}.
+	 *
+	 * @param runtime
+	 *        The {@link AvailRuntime} whose interpreters should be sampled.
+	 */
+	public SamplingProfiler (final AvailRuntime runtime)
+	{
+		this.runtime = runtime;
+	}
+
+	/**
+	 * Answer whether this profiler is currently sampling.
+	 *
+	 * @return {@code true} if sampling, {@code false} otherwise.
+	 */
+	public synchronized boolean isRunning ()
+	{
+		return samplingTask != null;
+	}
+
+	/**
+	 * Start sampling at the specified period.  Samples already collected are
+	 * retained.  Do nothing if already sampling.
+	 *
+	 * @param periodMillis
+	 *        The sampling period, in milliseconds.
+	 */
+	public synchronized void start (final long periodMillis)
+	{
+		if (samplingTask != null)
+		{
+			return;
+		}
+		final TimerTask task = new TimerTask()
+		{
+			@Override
+			public void run ()
+			{
+				sample();
+			}
+		};
+		samplingTask = task;
+		runtime.timer.scheduleAtFixedRate(task, periodMillis, periodMillis);
+	}
+
+	/**
+	 * Start sampling at the {@linkplain #defaultPeriodMillis default period}.
+	 */
+	public void start ()
+	{
+		start(defaultPeriodMillis);
+	}
+
+	/**
+	 * Stop sampling.  The samples collected so far are retained until {@link
+	 * #reset()}.  Do nothing if not sampling.
+	 */
+	public synchronized void stop ()
+	{
+		final @Nullable TimerTask task = samplingTask;
+		if (task != null)
+		{
+			task.cancel();
+			samplingTask = null;
+		}
+	}
+
+	/**
+	 * Discard all samples collected so far.
+	 */
+	public void reset ()
+	{
+		counts.clear();
+		sampleCount.set(0);
+		failedSampleCount.set(0);
+	}
+
+	/**
+	 * Answer the total number of stacks that have been sampled.
+	 *
+	 * @return The number of samples.
+	 */
+	public long sampleCount ()
+	{
+		return sampleCount.get();
+	}
+
+	/**
+	 * Answer the number of stacks that could not be sampled because they
+	 * changed while being read.
+	 *
+	 * @return The number of failed samples.
+	 */
+	public long failedSampleCount ()
+	{
+		return failedSampleCount.get();
+	}
+
+	/**
+	 * Sample the call stack of each of the runtime's interpreters that is
+	 * currently running a fiber.
+	 */
+	void sample ()
+	{
+		for (final Interpreter interpreter : runtime.interpreters())
+		{
+			if (interpreter.fiberOrNull() == null)
+			{
+				continue;
+			}
+			final @Nullable String stack;
+			try
+			{
+				stack = collapsedStack(interpreter);
+			}
+			catch (final RuntimeException|AssertionError e)
+			{
+				// The interpreter was modifying the frames that were being
+				// read.  Just drop the sample.
+				failedSampleCount.incrementAndGet();
+				continue;
+			}
+			if (stack != null)
+			{
+				counts.merge(stack, 1L, Long::sum);
+				sampleCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Capture the collapsed form of the specified {@link Interpreter}'s
+	 * current call stack.
+	 *
+	 * @param interpreter
+	 *        The interpreter to sample.
+	 * @return The collapsed stack, or {@code null} if the interpreter isn't
+	 *         running a function.
+	 */
+	private static @Nullable String collapsedStack (
+		final Interpreter interpreter)
+	{
+		// Read each field once, since the interpreter is still running.
+		final @Nullable A_Function function = interpreter.function;
+		final @Nullable L2Chunk chunk = interpreter.chunk;
+		final @Nullable AvailObject reified = interpreter.reifiedContinuation;
+		final int unreifiedDepth = interpreter.unreifiedCallDepth();
+		if (function == null)
+		{
+			return null;
+		}
+		final List<String> frames = new ArrayList<>();
+		frames.add(
+			frameName(
+				function.code(),
+				chunk != null && chunk != unoptimizedChunk));
+		if (unreifiedDepth > 1)
+		{
+			frames.add(unreifiedFrameName);
+		}
+		@Nullable A_Continuation continuation = reified;
+		while (continuation != null
+			&& !continuation.equalsNil()
+			&& frames.size() < maxSampledDepth)
+		{
+			frames.add(
+				frameName(
+					continuation.function().code(),
+					continuation.levelTwoChunk() != unoptimizedChunk));
+			continuation = continuation.caller();
+		}
+		Collections.reverse(frames);
+		return String.join(";", frames);
+	}
+
+	/**
+	 * Produce the name of a frame running the specified {@link A_RawFunction}.
+	 * Any semicolons and line breaks are replaced, since they're significant
+	 * in the collapsed stack format.
+	 *
+	 * @param code
+	 *        The raw function.
+	 * @param optimized
+	 *        Whether the frame is running an optimized {@link L2Chunk}.
+	 * @return The frame name.
+	 */
+	private static String frameName (
+		final A_RawFunction code,
+		final boolean optimized)
+	{
+		final A_Module module = code.module();
+		final String name = String.format(
+			"%s (%s:%d)%s",
+			code.methodName().asNativeString(),
+			module.equalsNil() ? "?" : module.moduleName().asNativeString(),
+			code.startingLineNumber(),
+			optimized ? optimizedSuffix : "");
+		return name.replace(';', ':').replace('\n', ' ');
+	}
+
+	/**
+	 * Write the samples collected so far, in collapsed stack format, onto the
+	 * specified {@link Appendable}.  The stacks are sorted, so that a flame
+	 * graph tool will merge common prefixes.
+	 *
+	 * @param appendable
+	 *        Where to write the collapsed stacks.
+	 * @throws IOException
+	 *         If the {@code Appendable} throws one.
+	 */
+	public void writeCollapsedStacksOn (final Appendable appendable)
+		throws IOException
+	{
+		final Map<String, Long> sorted = new TreeMap<>(counts);
+		for (final Map.Entry<String, Long> entry : sorted.entrySet())
+		{
+			appendable.append(entry.getKey());
+			appendable.append(' ');
+			appendable.append(Long.toString(entry.getValue()));
+			appendable.append('\n');
+		}
+	}
+
+	/**
+	 * Answer the samples collected so far, in collapsed stack format.
+	 *
+	 * @return The collapsed stacks, one per line.
+	 */
+	public String collapsedStacks ()
+	{
+		final StringBuilder builder = new StringBuilder();
+		try
+		{
+			writeCollapsedStacksOn(builder);
+		}
+		catch (final IOException e)
+		{
+			// StringBuilder doesn't throw IOException.
+			throw new RuntimeException(e);
+		}
+		return builder.toString();
+	}
+}
@@ -36,12 +36,15 @@ import com.avail.descriptor.A_BundleTree;
 import com.avail.descriptor.A_Module;
 import com.avail.optimizer.StackReifier;
 import com.avail.utility.Pair;
+import com.avail.utility.json.JSONWriter;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.text.Collator;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 
 import static com.avail.performance.ReportingUnit.DIMENSIONLESS_INTEGRAL;
 import static com.avail.performance.ReportingUnit.NANOSECONDS;
@@ -180,6 +183,22 @@ public enum StatisticReport
 		}
 	}
 
+	/**
+	 * Unregister a {@link Statistic} from this {@code StatisticReport}, so
+	 * that it no longer appears in its reports.  This is only needed for
+	 * short-lived statistics, such as those created by tests, since most
+	 * statistics live as long as the VM.
+	 *
+	 * @param statistic The {@link Statistic} to be unregistered.
+	 */
+	public void unregisterStatistic (final Statistic statistic)
+	{
+		synchronized (statistics)
+		{
+			statistics.remove(statistic);
+		}
+	}
+
 	/**
 	 * Answer the StatisticReport associated with the given keyword.
 	 *
@@ -246,6 +265,186 @@ public enum StatisticReport
 		return namedSnapshots;
 	}
 
+	/**
+	 * The percentiles of each statistic that are exported to monitoring
+	 * systems.
+	 */
+	private static final double[] exportedPercentiles = {50.0, 90.0, 99.0};
+
+	/**
+	 * Answer the name of this report's metric in the <a
+	 * href="https://prometheus.io/docs/instrumenting/exposition_formats/">
+	 * Prometheus text exposition format</a>.
+	 *
+	 * @return The metric name.
+	 */
+	public String metricName ()
+	{
+		final String baseName = "avail_" + name().toLowerCase(Locale.ENGLISH);
+		return unit.baseUnit.isEmpty()
+			? baseName
+			: baseName + "_" + unit.baseUnit;
+	}
+
+	/**
+	 * Write the specified reports, in the <a
+	 * href="https://prometheus.io/docs/instrumenting/exposition_formats/">
+	 * Prometheus text exposition format</a>, onto the given {@link
+	 * Appendable}.  Each report is a summary metric, with one series per
+	 * statistic, distinguished by a {@code statistic} label.  Samples are
+	 * expressed in the {@linkplain ReportingUnit#baseUnit base unit} of the
+	 * report.
+	 *
+	 * @param reports
+	 *        The reports to write.
+	 * @param appendable
+	 *        Where to write the metrics.
+	 * @throws IOException
+	 *         If the {@code Appendable} throws one.
+	 */
+	public static void writePrometheusOn (
+		final EnumSet<StatisticReport> reports,
+		final Appendable appendable)
+	throws IOException
+	{
+		for (final StatisticReport report : reports)
+		{
+			final String metric = report.metricName();
+			final double scale = report.unit.baseUnitScale;
+			appendable.append("# HELP ").append(metric).append(' ')
+				.append(report.title()).append('\n');
+			appendable.append("# TYPE ").append(metric).append(" summary\n");
+			for (final Pair<String, PerInterpreterStatistic> pair :
+				report.sortedPairs())
+			{
+				final String label =
+					"statistic=\"" + escapeLabelValue(pair.first()) + "\"";
+				final PerInterpreterStatistic stat = pair.second();
+				for (final double percentile : exportedPercentiles)
+				{
+					appendable.append(metric).append('{').append(label)
+						.append(",quantile=\"")
+						.append(Double.toString(percentile / 100.0))
+						.append("\"} ")
+						.append(Double.toString(
+							stat.percentile(percentile) * scale))
+						.append('\n');
+				}
+				appendable.append(metric).append("_sum{").append(label)
+					.append("} ")
+					.append(Double.toString(stat.sum() * scale))
+					.append('\n');
+				appendable.append(metric).append("_count{").append(label)
+					.append("} ")
+					.append(Long.toString(stat.count()))
+					.append('\n');
+			}
+		}
+	}
+
+	/**
+	 * Answer the specified reports in the Prometheus text exposition format.
+	 *
+	 * @param reports
+	 *        The reports to write.
+	 * @return The metrics, one sample per line.
+	 * @see #writePrometheusOn(EnumSet, Appendable)
+	 */
+	public static String producePrometheusReports (
+		final EnumSet<StatisticReport> reports)
+	{
+		final StringBuilder builder = new StringBuilder();
+		try
+		{
+			writePrometheusOn(reports, builder);
+		}
+		catch (final IOException e)
+		{
+			// StringBuilder doesn't throw IOException.
+			throw new RuntimeException(e);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Escape a label value for the Prometheus text exposition format.
+	 *
+	 * @param value
+	 *        The label value.
+	 * @return The escaped value, suitable for placing between double quotes.
+	 */
+	private static String escapeLabelValue (final String value)
+	{
+		return value
+			.replace("\\", "\\\\")
+			.replace("\"", "\\\"")
+			.replace("\n", "\\n");
+	}
+
+	/**
+	 * Write the specified reports as JSON onto the given {@link JSONWriter}.
+	 * This is an array of report objects, each with its {@code name}, {@code
+	 * title}, {@code unit} and an array of {@code statistics}, giving the
+	 * {@code count}, {@code sum}, {@code min}, {@code max}, {@code mean},
+	 * {@code standardDeviation} and estimated {@code percentiles} of each.
+	 * Values are in the report's original units, e.g., nanoseconds.
+	 *
+	 * @param reports
+	 *        The reports to write.
+	 * @param writer
+	 *        The {@link JSONWriter}.
+	 */
+	public static void writeJSONOn (
+		final EnumSet<StatisticReport> reports,
+		final JSONWriter writer)
+	{
+		writer.startArray();
+		for (final StatisticReport report : reports)
+		{
+			writer.startObject();
+			writer.write("name");
+			writer.write(report.name());
+			writer.write("title");
+			writer.write(report.title());
+			writer.write("unit");
+			writer.write(report.unit.name());
+			writer.write("statistics");
+			writer.startArray();
+			for (final Pair<String, PerInterpreterStatistic> pair :
+				report.sortedPairs())
+			{
+				final PerInterpreterStatistic stat = pair.second();
+				writer.startObject();
+				writer.write("name");
+				writer.write(pair.first());
+				writer.write("count");
+				writer.write(stat.count());
+				writer.write("sum");
+				writer.write(stat.sum());
+				writer.write("min");
+				writer.write(stat.min());
+				writer.write("max");
+				writer.write(stat.max());
+				writer.write("mean");
+				writer.write(stat.mean());
+				writer.write("standardDeviation");
+				writer.write(stat.standardDeviation());
+				writer.write("percentiles");
+				writer.startObject();
+				for (final double percentile : exportedPercentiles)
+				{
+					writer.write(String.format("p%.0f", percentile));
+					writer.write(stat.percentile(percentile));
+				}
+				writer.endObject();
+				writer.endObject();
+			}
+			writer.endArray();
+			writer.endObject();
+		}
+		writer.endArray();
+	}
+
 	/**
 	 * Output the appropriate {@code StatisticReport reports}.
 	 *
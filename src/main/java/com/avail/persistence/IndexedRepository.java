@@ -42,7 +42,7 @@ import java.nio.charset.Charset;
  *
  * @author Todd L Smith &lt;todd@availlang.org&gt;
  */
-@IndexedFileVersion(3)
+@IndexedFileVersion(5)
 final class IndexedRepository
 extends IndexedFile
 {
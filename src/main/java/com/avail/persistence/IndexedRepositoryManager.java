@@ -74,6 +74,7 @@ import static com.avail.utility.Locks.lockWhile;
 import static com.avail.utility.Locks.lockWhileNullable;
 import static com.avail.utility.Nulls.stripNull;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSortedMap;
 
 /**
@@ -151,12 +152,12 @@ public class IndexedRepositoryManager implements Closeable
 	/**
 	 * The name of the {@link MessageDigest} used to detect file changes.
 	 */
-	private static final String DIGEST_ALGORITHM = "SHA-256";
+	public static final String DIGEST_ALGORITHM = "SHA-256";
 
 	/**
 	 * The size in bytes of the digest of a source file.
 	 */
-	private static final int DIGEST_SIZE = 256 >> 3;
+	public static final int DIGEST_SIZE = 256 >> 3;
 
 	/**
 	 * The {@linkplain ReentrantLock lock} responsible for guarding against
@@ -305,6 +306,12 @@ public class IndexedRepositoryManager implements Closeable
 		private final LimitedCache<Long, byte []> digestCache =
 			new LimitedCache<>(maxRecordedDigestsPerModule);
 
+		/**
+		 * The most recent {@link ModuleTrace trace} of this module's imports,
+		 * or {@code null} if there is no usable trace.
+		 */
+		private @Nullable ModuleTrace trace;
+
 		/**
 		 * Determine the cryptographic hash of the file's current contents.
 		 * Since we assume that the same filename and modification time implies
@@ -395,6 +402,12 @@ public class IndexedRepositoryManager implements Closeable
 				entry.getKey().write(binaryStream);
 				entry.getValue().write(binaryStream);
 			}
+			final @Nullable ModuleTrace currentTrace = trace;
+			binaryStream.writeBoolean(currentTrace != null);
+			if (currentTrace != null)
+			{
+				currentTrace.write(binaryStream);
+			}
 		}
 
 		/**
@@ -424,6 +437,10 @@ public class IndexedRepositoryManager implements Closeable
 				final ModuleVersion version = new ModuleVersion(binaryStream);
 				versions.put(versionKey, version);
 			}
+			if (binaryStream.readBoolean())
+			{
+				trace = new ModuleTrace(binaryStream);
+			}
 		}
 
 		/**
@@ -482,6 +499,35 @@ public class IndexedRepositoryManager implements Closeable
 				});
 		}
 
+		/**
+		 * Answer the most recent {@link ModuleTrace trace} of this module's
+		 * imports, or {@code null} if there is none.  The caller is
+		 * responsible for determining whether it's still valid.
+		 *
+		 * @return The trace, or {@code null}.
+		 */
+		public @Nullable ModuleTrace getTrace ()
+		{
+			return lockWhileNullable(lock, () -> trace);
+		}
+
+		/**
+		 * Record the most recent {@link ModuleTrace trace} of this module's
+		 * imports, replacing any previous one.
+		 *
+		 * @param newTrace The new trace.
+		 */
+		public void putTrace (final ModuleTrace newTrace)
+		{
+			lockWhile(
+				lock,
+				() ->
+				{
+					trace = newTrace;
+					markDirty();
+				});
+		}
+
 		/**
 		 * Record a new {@linkplain ModuleCompilation compilation} of a
 		 * {@linkplain ModuleVersion module version}.  The version must already
@@ -515,15 +561,55 @@ public class IndexedRepositoryManager implements Closeable
 				});
 		}
 
+		/**
+		 * Answer the {@linkplain ModuleCompilation#interfaceTime interface
+		 * time} to use for a new compilation of this module with the given
+		 * interface digest.  If any recorded compilation, of any version, has
+		 * the same interface, then answer its interface time, so that
+		 * successors compiled against it remain valid.  Otherwise answer the
+		 * supplied compilation time.
+		 *
+		 * @param interfaceDigest
+		 *        The digest of the new compilation's interface.
+		 * @param compilationTime
+		 *        The time of the new compilation.
+		 * @return The interface time.
+		 */
+		public long interfaceTimeFor (
+			final byte [] interfaceDigest,
+			final long compilationTime)
+		{
+			return lockWhile(
+				lock,
+				() ->
+				{
+					for (final ModuleVersion version : versions.values())
+					{
+						for (final ModuleCompilation compilation
+							: version.compilations.values())
+						{
+							if (compilation.hasInterfaceDigest(
+								interfaceDigest))
+							{
+								return compilation.interfaceTime;
+							}
+						}
+					}
+					return compilationTime;
+				});
+		}
+
 		/**
 		 * Delete all compiled versions of this module.  Don't remove the cached
 		 * file digests.  Note that the compiled versions are still in the
 		 * repository, they're just not reachable from the root metadata any
-		 * longer.
+		 * longer.  Also forget the most recent {@link ModuleTrace trace},
+		 * since it presumes that its version is still present.
 		 */
 		public void cleanCompilations ()
 		{
 			versions.clear();
+			trace = null;
 		}
 
 		/**
@@ -701,14 +787,16 @@ public class IndexedRepositoryManager implements Closeable
 	/**
 	 * An immutable key which specifies a version of a module and its context at
 	 * the time of compilation.  It does not explicitly contain the {@link
-	 * ModuleVersionKey}, but it includes the compilation times of the module's
+	 * ModuleVersionKey}, but it includes the {@linkplain
+	 * ModuleCompilation#interfaceTime interface times} of the module's
 	 * predecessors.
 	 */
 	public static class ModuleCompilationKey
 	{
 		/**
-		 * The times at which this module's predecessors were compiled, in
-		 * the order specified by the Uses/Extends declarations.
+		 * The {@linkplain ModuleCompilation#interfaceTime interface times} of
+		 * this module's predecessors, in the order specified by the
+		 * Uses/Extends declarations.
 		 */
 		public final long [] predecessorCompilationTimes;
 
@@ -811,6 +899,217 @@ public class IndexedRepositoryManager implements Closeable
 		}
 	}
 
+	/**
+	 * An immutable record of the most recent trace of a {@linkplain
+	 * ModuleDescriptor module}'s imports.  It captures everything needed to
+	 * reconstruct the module's edges in the module graph without resolving its
+	 * imports, digesting its source, or consulting its {@link ModuleVersion}:
+	 * the source file's size and modification time, the digest computed for
+	 * it, the resolved names of its imports, and the modification times of the
+	 * directories whose contents determined how those imports were resolved.
+	 *
+	 * <p>A trace remains valid as long as the source file's size and
+	 * modification time, the recorded directory modification times, and the
+	 * {@linkplain #resolverFingerprint configuration of the module name
+	 * resolver} are all unchanged.</p>
+	 */
+	public static class ModuleTrace
+	{
+		/**
+		 * The {@linkplain File#lastModified() modification time} of the
+		 * module's source file when it was traced.
+		 */
+		public final long sourceLastModified;
+
+		/** The size of the module's source file when it was traced, in bytes. */
+		public final long sourceSize;
+
+		/** The digest of the module's source file when it was traced. */
+		private final byte [] digest;
+
+		/**
+		 * A fingerprint of the module roots and renaming rules in effect when
+		 * the imports were resolved.
+		 */
+		public final long resolverFingerprint;
+
+		/**
+		 * The fully-qualified names of the resolved imports, in the order they
+		 * occur in the module header.
+		 */
+		private final List<String> resolvedImportNames;
+
+		/**
+		 * Whether each corresponding element of {@link #resolvedImportNames}
+		 * was produced by a renaming rule.
+		 */
+		private final boolean [] importIsRename;
+
+		/**
+		 * A map from the path of each directory consulted while resolving the
+		 * imports to its {@linkplain File#lastModified() modification time} at
+		 * that moment.
+		 */
+		private final Map<String, Long> directoryStamps;
+
+		/**
+		 * Answer the digest of the module's source file when it was traced.
+		 *
+		 * @return The digest.
+		 */
+		public byte [] digest ()
+		{
+			return digest.clone();
+		}
+
+		/**
+		 * Answer the fully-qualified names of the resolved imports, in the
+		 * order they occur in the module header.
+		 *
+		 * @return An immutable {@link List} of qualified module names.
+		 */
+		public List<String> resolvedImportNames ()
+		{
+			return unmodifiableList(resolvedImportNames);
+		}
+
+		/**
+		 * Answer whether the resolved import at the given zero-based index was
+		 * produced by a renaming rule.
+		 *
+		 * @param index The zero-based index of the import.
+		 * @return Whether the import was renamed.
+		 */
+		public boolean importIsRename (final int index)
+		{
+			return importIsRename[index];
+		}
+
+		/**
+		 * Answer the directories consulted while resolving the imports, and
+		 * their modification times at that moment.
+		 *
+		 * @return An immutable {@link Map} from directory path to modification
+		 *         time.
+		 */
+		public Map<String, Long> directoryStamps ()
+		{
+			return unmodifiableMap(directoryStamps);
+		}
+
+		/**
+		 * Output this trace to the provided {@link DataOutputStream}.  It can
+		 * later be reconstructed via the constructor taking a {@link
+		 * DataInputStream}.
+		 *
+		 * @param binaryStream
+		 *        A DataOutputStream on which to write this trace.
+		 * @throws IOException If I/O fails.
+		 */
+		@InnerAccess void write (final DataOutputStream binaryStream)
+			throws IOException
+		{
+			binaryStream.writeLong(sourceLastModified);
+			binaryStream.writeLong(sourceSize);
+			binaryStream.write(digest);
+			binaryStream.writeLong(resolverFingerprint);
+			binaryStream.writeInt(resolvedImportNames.size());
+			for (int i = 0; i < importIsRename.length; i++)
+			{
+				binaryStream.writeUTF(resolvedImportNames.get(i));
+				binaryStream.writeBoolean(importIsRename[i]);
+			}
+			binaryStream.writeInt(directoryStamps.size());
+			for (final Entry<String, Long> entry : directoryStamps.entrySet())
+			{
+				binaryStream.writeUTF(entry.getKey());
+				binaryStream.writeLong(entry.getValue());
+			}
+		}
+
+		@Override
+		public String toString ()
+		{
+			return String.format(
+				"Trace(imports=%s, directories=%d)",
+				resolvedImportNames,
+				directoryStamps.size());
+		}
+
+		/**
+		 * Reconstruct a {@code ModuleTrace}, having previously been written
+		 * via {@link #write(DataOutputStream)}.
+		 *
+		 * @param binaryStream Where to read the trace from.
+		 * @throws IOException If I/O fails.
+		 */
+		ModuleTrace (final DataInputStream binaryStream)
+			throws IOException
+		{
+			sourceLastModified = binaryStream.readLong();
+			sourceSize = binaryStream.readLong();
+			digest = new byte [DIGEST_SIZE];
+			binaryStream.readFully(digest);
+			resolverFingerprint = binaryStream.readLong();
+			final int importCount = binaryStream.readInt();
+			resolvedImportNames = new ArrayList<>(importCount);
+			importIsRename = new boolean [importCount];
+			for (int i = 0; i < importCount; i++)
+			{
+				resolvedImportNames.add(binaryStream.readUTF());
+				importIsRename[i] = binaryStream.readBoolean();
+			}
+			int directoryCount = binaryStream.readInt();
+			directoryStamps = new HashMap<>(directoryCount);
+			while (directoryCount-- > 0)
+			{
+				directoryStamps.put(
+					binaryStream.readUTF(), binaryStream.readLong());
+			}
+		}
+
+		/**
+		 * Construct a new {@code ModuleTrace}.
+		 *
+		 * @param sourceLastModified
+		 *        The modification time of the module's source file.
+		 * @param sourceSize
+		 *        The size of the module's source file, in bytes.
+		 * @param digest
+		 *        The digest of the module's source file.
+		 * @param resolverFingerprint
+		 *        A fingerprint of the module name resolver's configuration.
+		 * @param resolvedImports
+		 *        The resolved imports, in header order.
+		 * @param directoryStamps
+		 *        The modification times of the directories consulted while
+		 *        resolving the imports, keyed by path.
+		 */
+		public ModuleTrace (
+			final long sourceLastModified,
+			final long sourceSize,
+			final byte [] digest,
+			final long resolverFingerprint,
+			final List<ResolvedModuleName> resolvedImports,
+			final Map<String, Long> directoryStamps)
+		{
+			assert digest.length == DIGEST_SIZE;
+			this.sourceLastModified = sourceLastModified;
+			this.sourceSize = sourceSize;
+			this.digest = digest.clone();
+			this.resolverFingerprint = resolverFingerprint;
+			this.resolvedImportNames = new ArrayList<>(resolvedImports.size());
+			this.importIsRename = new boolean [resolvedImports.size()];
+			for (int i = 0; i < importIsRename.length; i++)
+			{
+				final ResolvedModuleName importName = resolvedImports.get(i);
+				resolvedImportNames.add(importName.qualifiedName());
+				importIsRename[i] = importName.isRename();
+			}
+			this.directoryStamps = new HashMap<>(directoryStamps);
+		}
+	}
+
 	/**
 	 * Information kept in memory about a specific version of a {@linkplain
 	 * ModuleDescriptor module} file.
@@ -1112,12 +1411,40 @@ public class IndexedRepositoryManager implements Closeable
 		 */
 		public final long compilationTime;
 
+		/**
+		 * The {@linkplain #compilationTime compilation time} of the earliest
+		 * known compilation of this module that had the same {@linkplain
+		 * #interfaceDigest interface}.  Successors record this, rather than
+		 * the compilation time, in their {@link ModuleCompilationKey}s, so a
+		 * recompilation that leaves the interface alone doesn't invalidate
+		 * their compilations.
+		 */
+		public final long interfaceTime;
+
+		/**
+		 * A digest of everything about the compiled module that can influence
+		 * the compilation of its successors.
+		 */
+		private final byte [] interfaceDigest;
+
 		/**
 		 * The persistent record number of this version of the compiled
 		 * {@linkplain ModuleDescriptor module}.
 		 */
 		public final long recordNumber;
 
+		/**
+		 * Answer whether this compilation has the specified interface digest.
+		 *
+		 * @param digest
+		 *        An interface digest.
+		 * @return Whether the digests are equal.
+		 */
+		public boolean hasInterfaceDigest (final byte [] digest)
+		{
+			return Arrays.equals(interfaceDigest, digest);
+		}
+
 		/**
 		 * Answer the byte array containing a serialization of this compilation.
 		 *
@@ -1142,6 +1469,8 @@ public class IndexedRepositoryManager implements Closeable
 			throws IOException
 		{
 			binaryStream.writeLong(compilationTime);
+			binaryStream.writeLong(interfaceTime);
+			binaryStream.write(interfaceDigest);
 			binaryStream.writeLong(recordNumber);
 		}
 
@@ -1149,8 +1478,9 @@ public class IndexedRepositoryManager implements Closeable
 		public String toString ()
 		{
 			return String.format(
-				"Compilation(%tFT%<tTZ, rec=%d)",
+				"Compilation(%tFT%<tTZ, interface=%tFT%<tTZ, rec=%d)",
 				compilationTime,
+				interfaceTime,
 				recordNumber);
 		}
 
@@ -1165,6 +1495,9 @@ public class IndexedRepositoryManager implements Closeable
 			throws IOException
 		{
 			compilationTime = binaryStream.readLong();
+			interfaceTime = binaryStream.readLong();
+			interfaceDigest = new byte [DIGEST_SIZE];
+			binaryStream.readFully(interfaceDigest);
 			recordNumber = binaryStream.readLong();
 		}
 
@@ -1174,17 +1507,28 @@ public class IndexedRepositoryManager implements Closeable
 		 *
 		 * @param compilationTime
 		 *        The compilation time of this module.
+		 * @param interfaceTime
+		 *        The compilation time of the earliest known compilation with
+		 *        the same interface, which may be {@code compilationTime}
+		 *        itself.
+		 * @param interfaceDigest
+		 *        The digest of the compiled module's interface.
 		 * @param bytes
 		 *        The {@link Serializer serialized} form of the compiled module.
 		 */
 		public ModuleCompilation (
 			final long compilationTime,
+			final long interfaceTime,
+			final byte [] interfaceDigest,
 			final byte [] bytes)
 		{
+			assert interfaceDigest.length == DIGEST_SIZE;
 			lock.lock();
 			try
 			{
 				this.compilationTime = compilationTime;
+				this.interfaceTime = interfaceTime;
+				this.interfaceDigest = interfaceDigest.clone();
 				final IndexedRepository repo = repository();
 				this.recordNumber = repo.size();
 				repo.add(bytes);
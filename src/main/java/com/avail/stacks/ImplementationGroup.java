@@ -562,7 +562,7 @@ public class ImplementationGroup
 		final StacksOutputFile jsonFile = new StacksOutputFile(
 			fullFilePath, synchronizer,
 			filepath.leafFilename(),
-			runtime, name.asNativeString());
+			runtime, name.asNativeString(), errorLog);
 
 		jsonWriter.endObject();
 		jsonFile.write(jsonWriter.toString());
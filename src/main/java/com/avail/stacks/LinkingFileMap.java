@@ -178,7 +178,7 @@ public class LinkingFileMap
 	 * @param description
 	 * 		The category description
 	 */
-	public void addCategoryToDescription (
+	public synchronized void addCategoryToDescription (
 		final String name,
 		final StacksDescription description)
 	{
@@ -475,7 +475,8 @@ public class LinkingFileMap
 	 *
 	 * @param comment the {@linkplain ModuleCommentImplementation} to add
 	 */
-	public void addModuleComment (final ModuleCommentImplementation comment)
+	public synchronized void addModuleComment (
+		final ModuleCommentImplementation comment)
 	{
 		moduleComments.add(comment);
 	}
@@ -336,13 +336,75 @@ public class StacksCommentsModule
 		}
 	}
 
+	/**
+	 * The {@linkplain AbstractCommentImplementation comment implementations}
+	 * scanned and parsed from the comments of a single module, along with the
+	 * errors encountered while doing so.  Parsing doesn't depend on any other
+	 * module, so it can be done concurrently for all modules, before the
+	 * resulting {@link StacksCommentsModule} is linked to its imports.
+	 */
+	public static final class ParsedComments
+	{
+		/** The implementations, in the order that they were parsed. */
+		final List<AbstractCommentImplementation> implementations =
+			new ArrayList<>();
+
+		/** The accumulated error messages, as HTML list items. */
+		final StringBuilder errorMessages = new StringBuilder();
+
+		/** The number of malformed comments. */
+		int errorCount = 0;
+	}
+
+	/**
+	 * Scan and parse all the comment tokens of a module.  This may be called
+	 * concurrently for different modules, since it only touches the
+	 * synchronized parts of the {@link LinkingFileMap}.
+	 *
+	 * @param commentTokens
+	 * 		A {@linkplain A_Tuple} of all the comment tokens.
+	 * @param moduleName
+	 * 		The fully qualified name of the module.
+	 * @param linkingFileMap
+	 * 		A map for all output files in Stacks
+	 * @return The {@link ParsedComments}.
+	 */
+	public static ParsedComments parseComments (
+		final A_Tuple commentTokens,
+		final String moduleName,
+		final LinkingFileMap linkingFileMap)
+	{
+		final ParsedComments parsed = new ParsedComments();
+		for (final A_Token aToken : commentTokens)
+		{
+			try
+			{
+				final AbstractCommentImplementation implementation =
+					StacksScanner.processCommentString(
+						aToken,moduleName,linkingFileMap);
+
+				if (!(implementation == null))
+				{
+					parsed.implementations.add(implementation);
+				}
+			}
+			catch (final StacksScannerException | StacksCommentBuilderException e)
+			{
+				parsed.errorMessages.append(e.getMessage());
+				parsed.errorCount++;
+			}
+		}
+		return parsed;
+	}
+
 	/**
 	 * Construct a new {@link StacksCommentsModule}.
 	 *
 	 * @param header
 	 * 		The {@linkplain ModuleHeader} of the current file
-	 * @param commentTokens
-	 * 		A {@linkplain A_Tuple} of all the comment tokens.
+	 * @param parsedComments
+	 * 		The module's comments, already {@linkplain #parseComments(A_Tuple,
+	 * 		String, LinkingFileMap) parsed}.
 	 * @param errorLog
 	 * 		The file for outputting all errors.
 	 * @param resolver
@@ -350,18 +412,15 @@ public class StacksCommentsModule
 	 * @param moduleToComments
 	 * 		A map of {@linkplain ModuleName module names} to a list of all
 	 * 		the method names exported from said module
-	 * @param linkingFileMap
-	 * 		A map for all output files in Stacks
 	 * @param linkPrefix
 	 * 		An optional prefix to all files' link web links
 	 */
 	public StacksCommentsModule(
 		final ModuleHeader header,
-		final A_Tuple commentTokens,
+		final ParsedComments parsedComments,
 		final StacksErrorLog errorLog,
 		final ModuleNameResolver resolver,
 		final HashMap<String, StacksCommentsModule> moduleToComments,
-		final LinkingFileMap linkingFileMap,
 		final String linkPrefix)
 	{
 		this.moduleName = header.moduleName.qualifiedName();
@@ -437,29 +496,15 @@ public class StacksCommentsModule
 
 		populateExtendsFromUsesExtends();
 
-		final StringBuilder errorMessages = new StringBuilder();
-		int errorCount = 0;
-
-		for (final A_Token aToken : commentTokens)
+		for (final AbstractCommentImplementation implementation :
+			parsedComments.implementations)
 		{
-			try
-			{
-				final AbstractCommentImplementation implementation =
-					StacksScanner.processCommentString(
-						aToken,moduleName,linkingFileMap);
-
-				if (!(implementation == null))
-				{
-					addImplementation(implementation);
-				}
-			}
-			catch (final StacksScannerException | StacksCommentBuilderException e)
-			{
-				errorMessages.append(e.getMessage());
-				errorCount++;
-			}
+			addImplementation(implementation);
 		}
 
+		final StringBuilder errorMessages = parsedComments.errorMessages;
+		final int errorCount = parsedComments.errorCount;
+
 		if (errorCount > 0)
 		{
 			final StringBuilder newLogEntry = new StringBuilder()
@@ -1112,6 +1157,8 @@ public class StacksCommentsModule
 	 * @param topLevelLinkFolderPath
 	 *        The folder that the Avail documentation sits in above the
 	 *        providedDocumentPath.
+	 * @param errorLog
+	 *        The file for outputting all errors.
 	 * @return The number of files to be created
 	 * @throws IOException
 	 *         If an {@linkplain IOException I/O exception} occurs.
@@ -1120,7 +1167,8 @@ public class StacksCommentsModule
 			final LinkingFileMap linkingFileMap,
 			final Path outputPath,
 			final AvailRuntime runtime,
-			final String topLevelLinkFolderPath)
+			final String topLevelLinkFolderPath,
+			final StacksErrorLog errorLog)
 		throws IOException
 	{
 		final Map<A_String, Map<String, ImplementationGroup>> filteredMap =
@@ -1273,7 +1321,8 @@ public class StacksCommentsModule
 				synchronizer,
 				runtime,
 				ambiguousMethodFileMap,
-				linkingFileMap);
+				linkingFileMap,
+				errorLog);
 
 			synchronizer.waitForWorkUnitsToComplete();
 		}
@@ -1282,7 +1331,8 @@ public class StacksCommentsModule
 			runtime,
 			ambiguousMethodFileMap,
 			topLevelLinkFolderPath,
-			linkingFileMap);
+			linkingFileMap,
+			errorLog);
 
 		return fileCount;
 	}
@@ -1357,6 +1407,8 @@ public class StacksCommentsModule
 	 *        The map of ambiguous names requiring ambiguous files.
 	 * @param linkingFileMap
 	 *        A map for all files in Stacks
+	 * @param errorLog
+	 *        The file for outputting all errors.
 	 * @throws IOException
 	 *         If an {@linkplain IOException I/O exception} occurs.
 	 */
@@ -1366,7 +1418,8 @@ public class StacksCommentsModule
 		final AvailRuntime runtime,
 		final Map<A_String, Map<String, ImplementationGroup>>
 			ambiguousMethodFileMap,
-		final LinkingFileMap linkingFileMap)
+		final LinkingFileMap linkingFileMap,
+		final StacksErrorLog errorLog)
 		throws IOException
 	{
 		final HashMap<String,String> internalLinks =
@@ -1476,7 +1529,7 @@ public class StacksCommentsModule
 
 			final StacksOutputFile linkingFile = new StacksOutputFile(
 				outputFolder, synchronizer, fileName,
-				runtime, key.asNativeString());
+				runtime, key.asNativeString(), errorLog);
 
 			linkingFile
 				.write(jsonWriter.toString());
@@ -1502,6 +1555,8 @@ public class StacksCommentsModule
 	 *        providedDocumentPath.
 	 * @param linkingFileMap
 	 *        A map for all files in Stacks
+	 * @param errorLog
+	 *        The file for outputting all errors.
 	 * @throws IOException
 	 *         If an {@linkplain IOException I/O exception} occurs.
 	 */
@@ -1511,7 +1566,8 @@ public class StacksCommentsModule
 			final Map<A_String, Map<String, ImplementationGroup>>
 				ambiguousMethodFileMap,
 			final String topLevelLinkFolderPath,
-			final LinkingFileMap linkingFileMap)
+			final LinkingFileMap linkingFileMap,
+			final StacksErrorLog errorLog)
 		throws IOException
 	{
 
@@ -1583,7 +1639,7 @@ public class StacksCommentsModule
 
 				final StacksOutputFile jsonFile = new StacksOutputFile(
 					outputFolder, ambiguousAliasSynchronizer, fileName,
-					runtime, ambiguousAliasKey);
+					runtime, ambiguousAliasKey, errorLog);
 
 				jsonFile.write(jsonWriter.toString());
 				jsonWriter.close();
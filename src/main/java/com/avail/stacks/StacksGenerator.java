@@ -168,16 +168,30 @@ public class StacksGenerator
 	 *        The complete {@linkplain TupleDescriptor collection} of
 	 *        {@linkplain CommentTokenDescriptor comments} produced for the
 	 *        given module.
+	 *
+	 * <p>The comments are scanned and parsed without holding the generator's
+	 * lock, so modules that are visited concurrently are also parsed
+	 * concurrently.  Only linking the parsed module to the modules that it
+	 * imports is serialized.</p>
 	 */
-	public synchronized void add (
+	public void add (
 		final ModuleHeader header,
 		final A_Tuple commentTokens)
 	{
-		final StacksCommentsModule commentsModule = new StacksCommentsModule(
-			header,commentTokens,errorLog, resolver,
-			moduleToComments,linkingFileMap,
-			linkPrefix);
-		updateModuleToComments(commentsModule);
+		final StacksCommentsModule.ParsedComments parsedComments =
+			StacksCommentsModule.parseComments(
+				commentTokens,
+				header.moduleName.qualifiedName(),
+				linkingFileMap);
+		synchronized (this)
+		{
+			final StacksCommentsModule commentsModule =
+				new StacksCommentsModule(
+					header,parsedComments,errorLog, resolver,
+					moduleToComments,
+					linkPrefix);
+			updateModuleToComments(commentsModule);
+		}
 	}
 
 	/**
@@ -231,7 +245,7 @@ public class StacksGenerator
 
 		final int fileToOutPutCount =
 			outerMost.calculateFinalImplementationGroupsMap(linkingFileMap,
-				outputPath, runtime, "/library-documentations");
+				outputPath, runtime, "/library-documentations", errorLog);
 
 		if (fileToOutPutCount > 0)
 		{
@@ -37,8 +37,8 @@ import com.avail.annotations.InnerAccess;
 import com.avail.io.SimpleCompletionHandler;
 import com.avail.utility.IO;
 import com.avail.utility.MutableLong;
-import com.avail.utility.Nulls;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
@@ -47,11 +47,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 import java.util.EnumSet;
 
+import static com.avail.utility.Nulls.stripNull;
+
 /**
  * The way a file is created.
  *
+ * <p>Output is incremental: if the file already holds exactly the text that
+ * would be written, it is left untouched.  Since a page's text is rendered
+ * from both its own comments and the signatures that it links to, this
+ * re-emits just the pages affected by a change, keeping their modification
+ * times (and anything keyed on them) stable across regenerations.</p>
+ *
  * @author Richard Arriaga &lt;rich@availlang.org&gt;
  */
 public class StacksOutputFile
@@ -70,33 +79,100 @@ public class StacksOutputFile
 	final StacksSynchronizer synchronizer;
 
 	/**
-	 * The error log file for the malformed comments.
+	 * The {@linkplain Path path} of the file to write.
+	 */
+	private final Path filePath;
+
+	/**
+	 * The {@linkplain AvailRuntime runtime} whose {@linkplain
+	 * AvailRuntime#ioSystem() I/O system} opens the file.
+	 */
+	private final AvailRuntime runtime;
+
+	/**
+	 * The error log file for the malformed comments, or {@code null} if it
+	 * hasn't been opened yet.
 	 */
-	@InnerAccess AsynchronousFileChannel outputFile;
+	@InnerAccess @Nullable AsynchronousFileChannel outputFile;
 
 	/**
 	 * The exported name of the Method/Class/Global this file represents.
 	 */
 	final String name;
 
+	/**
+	 * The {@linkplain StacksErrorLog error log} to which to report a failure
+	 * to write the file.
+	 */
+	private final StacksErrorLog errorLog;
+
 	/**
 	 * @return the errorFilePosition
 	 */
 	public AsynchronousFileChannel file ()
 	{
-		return outputFile;
+		return stripNull(outputFile);
 	}
 
 	/**
-	 * Write text to a file.
+	 * Answer whether the file already holds exactly the specified content.
+	 *
+	 * @param content
+	 *        The bytes that would be written.
+	 * @return {@code true} if the file exists and is identical, {@code false}
+	 *         otherwise, including if the file couldn't be read, in which case
+	 *         writing it will report the actual problem.
+	 */
+	private boolean isUnchanged (final byte[] content)
+	{
+		try
+		{
+			return Files.isRegularFile(filePath)
+				&& Files.size(filePath) == content.length
+				&& Arrays.equals(Files.readAllBytes(filePath), content);
+		}
+		catch (final IOException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Write text to a file, unless the file already holds exactly that text.
+	 * Either way, the {@linkplain #synchronizer} is eventually informed that
+	 * the file is done.
 	 *
 	 * @param outputText
 	 *        The text to be written to file.
 	 */
-	public synchronized void write(final String outputText)
+	public void write(final String outputText)
 	{
-		final ByteBuffer buffer = ByteBuffer.wrap(
-			(outputText.getBytes(StandardCharsets.UTF_8)));
+		final byte[] content = outputText.getBytes(StandardCharsets.UTF_8);
+		if (isUnchanged(content))
+		{
+			synchronizer.decrementWorkCounter();
+			return;
+		}
+		final AsynchronousFileChannel outputFile;
+		try
+		{
+			outputFile = runtime.ioSystem().openFile(
+				filePath, EnumSet.of(StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING));
+		}
+		catch (
+			final IllegalArgumentException
+			| UnsupportedOperationException
+			| SecurityException
+			| IOException e)
+		{
+			reportFailure(e);
+			synchronizer.decrementWorkCounter();
+			return;
+		}
+		this.outputFile = outputFile;
+		final ByteBuffer buffer = ByteBuffer.wrap(content);
 		final MutableLong pos = new MutableLong(0L);
 		outputFile.write(
 			buffer,
@@ -107,7 +183,7 @@ public class StacksOutputFile
 				{
 					if (buffer.hasRemaining())
 					{
-						pos.value += Nulls.stripNull(bytesWritten);
+						pos.value += stripNull(bytesWritten);
 						outputFile.write(buffer, pos.value, null, handler);
 					}
 					else
@@ -118,12 +194,31 @@ public class StacksOutputFile
 				},
 				(exc, unused, handler) ->
 				{
-					// Log something?
+					reportFailure(exc);
 					IO.close(outputFile);
 					synchronizer.decrementWorkCounter();
 				}));
 	}
 
+	/**
+	 * Report a failure to write the file to the {@linkplain #errorLog error
+	 * log}.
+	 *
+	 * @param e
+	 *        The failure.
+	 */
+	private void reportFailure (final Throwable e)
+	{
+		final String errorMessage = String.format(
+			"\n<li><strong>%s</strong>: Unable to write file %s: %s</li>",
+			name,
+			filePath,
+			e.getMessage());
+		errorLog.addLogEntry(
+			ByteBuffer.wrap(errorMessage.getBytes(StandardCharsets.UTF_8)),
+			1);
+	}
+
 	/**
 	 * Construct a new {@code StacksOutputFile}.
 	 *
@@ -141,6 +236,9 @@ public class StacksOutputFile
 	 * @param name
 	 *        The name of the method the file represents as it is represented
 	 *        from the point of view of the main module being documented.
+	 * @param errorLog
+	 *        The {@linkplain StacksErrorLog error log} to which to report a
+	 *        failure to write the file.
 	 * @throws IOException
 	 *         If an {@linkplain IOException I/O exception} occurs.
 	 */
@@ -149,30 +247,16 @@ public class StacksOutputFile
 			final StacksSynchronizer synchronizer,
 			final String fileName,
 			final AvailRuntime runtime,
-			final String name)
+			final String name,
+			final StacksErrorLog errorLog)
 		throws IOException
 	{
 		this.outputPath = outputPath;
 		this.synchronizer = synchronizer;
 		this.name = name;
-
-		final Path filePath = outputPath.resolve(fileName);
+		this.errorLog = errorLog;
+		this.runtime = runtime;
+		this.filePath = outputPath.resolve(fileName);
 		Files.createDirectories(outputPath);
-		try
-		{
-			this.outputFile = runtime.ioSystem().openFile(
-				filePath, EnumSet.of(StandardOpenOption.CREATE,
-					StandardOpenOption.WRITE,
-					StandardOpenOption.TRUNCATE_EXISTING));
-		}
-		catch (
-			final IllegalArgumentException
-			| UnsupportedOperationException
-			| SecurityException
-			| IOException e)
-		{
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
 	}
 }
@@ -56,7 +56,10 @@ import com.avail.utility.configuration.ConfigurationException;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.net.ConnectException;
+import java.util.concurrent.Semaphore;
 
 /**
  * The Avail command-line compiler understands the following options:
@@ -114,6 +117,28 @@ import java.io.PrintStream;
  *     PrimitiveReturnTypeChecks - The primitives that take the most time
  *                                 checking return types.
  *
+ * -w
+ * --watch
+ *     Keep running after compiling the target module, and rebuild it whenever
+ *     a source module changes. Only the changed modules are recompiled;
+ *     modules that depend on them are reloaded from the repository unless the
+ *     changes affect what they import. Requires -c.
+ *
+ * -d
+ * --daemon
+ *     Run as a compile daemon, listening on the loopback interface ( -d or
+ *     --daemon ) or on a specific loopback port ( --daemon=# ). The daemon
+ *     keeps a runtime and its loaded modules resident, and serves requests
+ *     from compilers started with -D. The default port is 40001. Mutually
+ *     exclusive with -c, -f, -g, and -D.
+ *
+ * -D
+ * --useDaemon
+ *     Forward the request to the compile daemon listening on the default
+ *     loopback port ( -D or --useDaemon ) or on a specific loopback port
+ *     ( --useDaemon=# ). If no daemon is listening, then the request is
+ *     performed by this process. Mutually exclusive with -w.
+ *
  * -v
  * --verboseMode
  *     Request minimum verbosity ( -v or --verboseMode ) or manually set the
@@ -178,11 +203,14 @@ public final class Compiler
 	/**
 	 * @param configuration
 	 *        The configuration from which to read the verbosity level.
+	 * @param out
+	 *        Where to report progress.
 	 * @return A local tracker to store information about the progress of the
 	 *         compilation of the current module.
 	 */
 	private static CompilerProgressReporter localTracker (
-		final CompilerConfiguration configuration)
+		final CompilerConfiguration configuration,
+		final PrintStream out)
 	{
 		return (module, moduleSize, position) ->
 		{
@@ -201,7 +229,7 @@ public final class Compiler
 			final VerbosityLevel level = configuration.verbosityLevel();
 			if (level.displayLocalProgress())
 			{
-				System.out.println(globalStatus + localStatus);
+				out.println(globalStatus + localStatus);
 			}
 		};
 	}
@@ -216,11 +244,14 @@ public final class Compiler
 	/**
 	 * @param configuration
 	 *        The configuration from which to read the verbosity level.
+	 * @param out
+	 *        Where to report progress.
 	 * @return A global tracker to store information about the progress on
 	 *         all modules to be compiled.
 	 */
 	private static GlobalProgressReporter globalTracker (
-		final CompilerConfiguration configuration)
+		final CompilerConfiguration configuration,
+		final PrintStream out)
 	{
 		return (processedBytes, totalBytes) ->
 		{
@@ -233,7 +264,7 @@ public final class Compiler
 			if (level.displayGlobalProgress() &&
 				!level.displayLocalProgress())
 			{
-				System.out.println(globalStatus);
+				out.println(globalStatus);
 			}
 		};
 	}
@@ -246,7 +277,7 @@ public final class Compiler
 	 *        The ModuleNameResolver which contains the locations of all of the
 	 *        Avail source directories and repositories.
 	 */
-	private static void doClearRepositories (
+	static void doClearRepositories (
 		final ModuleNameResolver resolver)
 	{
 		for (final ModuleRoot root : resolver.moduleRoots().roots())
@@ -259,6 +290,49 @@ public final class Compiler
 		}
 	}
 
+	/**
+	 * Compile the target module and/or generate its Stacks documentation, as
+	 * requested by the configuration.
+	 *
+	 * @param configuration
+	 *        The {@linkplain CompilerConfiguration configuration}.
+	 * @param builder
+	 *        The {@link AvailBuilder} that should perform the request.
+	 * @param out
+	 *        Where to report progress and statistics.
+	 */
+	static void performRequest (
+		final CompilerConfiguration configuration,
+		final AvailBuilder builder,
+		final PrintStream out)
+	{
+		// Compile modules.
+		if (configuration.compileModules())
+		{
+			builder.buildTarget(
+				configuration.targetModuleName(),
+				localTracker(configuration, out),
+				globalTracker(configuration, out),
+				builder.buildProblemHandler);
+
+			// Successful compilation.
+			if (configuration.hasReports())
+			{
+				out.append(
+					StatisticReport.produceReports(configuration.reports()));
+			}
+		}
+
+		// Generate Stacks documentation.
+		if (configuration.generateDocumentation())
+		{
+			builder.generateDocumentation(
+				configuration.targetModuleName(),
+				configuration.documentationPath(),
+				builder.buildProblemHandler);
+		}
+	}
+
 	/**
 	 * The entry point for command-line invocation of the Avail compiler.
 	 *
@@ -266,22 +340,69 @@ public final class Compiler
 	 */
 	public static void main (final String[] args)
 	{
-		// Configure the compiler according to the command-line arguments and
-		// ensure that any supplied paths are syntactically valid.
+		// Configure the compiler according to the command-line arguments.
 		final CompilerConfiguration configuration;
-		final ModuleNameResolver resolver;
 		try
 		{
 			configuration = configure(args);
+		}
+		catch (final ConfigurationException e)
+		{
+			// The command-line arguments were malformed.
+			System.err.println(e.getMessage());
+			return;
+		}
+
+		// Serve requests from other compilers, if requested.
+		if (configuration.daemon())
+		{
+			try
+			{
+				new CompilerDaemon(configuration.daemonPort()).serve();
+			}
+			catch (final IOException e)
+			{
+				System.err.println(e.getMessage());
+			}
+			return;
+		}
+
+		// Forward the request to the compile daemon, if requested. If no
+		// daemon is listening, then perform the request here.
+		if (configuration.useDaemon())
+		{
+			try
+			{
+				final int status = CompilerDaemon.forward(configuration);
+				if (status != 0)
+				{
+					System.exit(status);
+				}
+				return;
+			}
+			catch (final ConnectException e)
+			{
+				if (configuration.verbosityLevel().displayGlobalProgress())
+				{
+					System.out.println(
+						"No compile daemon is listening; compiling locally.");
+				}
+			}
+			catch (final IOException e)
+			{
+				System.err.println(e.getMessage());
+				System.exit(1);
+			}
+		}
+
+		// Ensure that any supplied paths are syntactically valid.
+		final ModuleNameResolver resolver;
+		try
+		{
 			resolver = configuration.moduleNameResolver();
 		}
-		catch (
-			final
-				ConfigurationException |
-				FileNotFoundException |
-				RenamesFileParserException e)
+		catch (final FileNotFoundException | RenamesFileParserException e)
 		{
-			// The command-line arguments were malformed, or
 			// The arguments specified a missing file, or
 			// The renames file did not parse correctly
 			System.err.println(e.getMessage());
@@ -294,7 +415,6 @@ public final class Compiler
 			doClearRepositories(resolver);
 		}
 
-		final ModuleName moduleName = configuration.targetModuleName();
 		final AvailRuntime runtime = new AvailRuntime(resolver);
 
 		// Mute output, if requested.
@@ -309,33 +429,46 @@ public final class Compiler
 
 		try
 		{
-			// Compile modules.
-			if (configuration.compileModules())
+			// Compile modules, and keep them compiled, until interrupted.
+			if (configuration.compileModules() && configuration.watch())
 			{
+				final ModuleName moduleName = configuration.targetModuleName();
 				final AvailBuilder builder = new AvailBuilder(runtime);
-				builder.buildTarget(
-					moduleName,
-					localTracker(configuration),
-					globalTracker(configuration),
-					builder.buildProblemHandler);
-
-				// Successful compilation.
-				if (configuration.hasReports())
+				try
+				{
+					builder.watchTarget(
+						moduleName,
+						localTracker(configuration, System.out),
+						globalTracker(configuration, System.out),
+						builder.buildProblemHandler,
+						() ->
+						{
+							if (configuration.hasReports())
+							{
+								System.out.append(
+									StatisticReport.produceReports(
+										configuration.reports()));
+							}
+							if (configuration.verbosityLevel()
+								.displayGlobalProgress())
+							{
+								System.out.println(
+									"Watching for changes to "
+										+ moduleName.qualifiedName());
+							}
+						});
+				}
+				catch (final IOException e)
 				{
-					System.out.append(
-						StatisticReport.produceReports(
-							configuration.reports()));
+					System.err.println(e.getMessage());
+					return;
 				}
+				new Semaphore(0).acquireUninterruptibly();
 			}
-
-			// Generate Stacks documentation.
-			if (configuration.generateDocumentation())
+			else
 			{
-				final AvailBuilder builder = new AvailBuilder(runtime);
-				builder.generateDocumentation(
-					moduleName,
-					configuration.documentationPath(),
-					builder.buildProblemHandler);
+				performRequest(
+					configuration, new AvailBuilder(runtime), System.out);
 			}
 		}
 		finally
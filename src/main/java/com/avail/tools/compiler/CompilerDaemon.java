@@ -0,0 +1,603 @@
+/*
+ * CompilerDaemon.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.tools.compiler;
+
+import com.avail.AvailRuntime;
+import com.avail.builder.AvailBuilder;
+import com.avail.builder.ModuleNameResolver;
+import com.avail.builder.RenamesFileParserException;
+import com.avail.io.ConsoleInputChannel;
+import com.avail.io.ConsoleOutputChannel;
+import com.avail.io.TextInterface;
+import com.avail.tools.compiler.configuration.CompilerConfiguration;
+import com.avail.utility.NullOutputStream;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.avail.utility.Nulls.stripNull;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_EXECUTE;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static java.nio.file.attribute.PosixFilePermissions.asFileAttribute;
+
+/**
+ * A {@code CompilerDaemon} keeps an {@link AvailRuntime} and its loaded
+ * modules resident, and performs the build, clean, and documentation requests
+ * of command-line {@linkplain Compiler compilers} that {@linkplain
+ * #forward(CompilerConfiguration) forward} them over a loopback socket.
+ * Because the modules stay loaded between requests, a build only needs to
+ * unload and reload the modules whose sources have changed (and their
+ * successors).
+ *
+ * <p>A client sends the {@link #protocolVersion}, the daemon's secret, and then
+ * its {@linkplain CompilerConfiguration#write(java.io.DataOutputStream)
+ * configuration}.  The secret is generated whenever the daemon starts, and is
+ * written to a {@linkplain #secretFile(int) file} that only the user running
+ * the daemon can read, so other users of the machine can't submit requests
+ * through the loopback port.  The daemon answers a sequence of frames, each
+ * comprising a channel byte, a length, and that many bytes of output for the
+ * client's standard output or standard error, followed by a frame that carries
+ * the exit status.  Requests are performed one at a time, in the order that
+ * they're accepted.</p>
+ */
+final class CompilerDaemon
+{
+	/** The version of the request protocol. */
+	private static final int protocolVersion = 2;
+
+	/** The number of bytes in the daemon's secret. */
+	private static final int secretLength = 32;
+
+	/** The channel of a frame destined for the client's standard output. */
+	private static final byte outChannel = 0;
+
+	/** The channel of a frame destined for the client's standard error. */
+	private static final byte errChannel = 1;
+
+	/** The channel of the final frame, which carries the exit status. */
+	private static final byte exitChannel = 2;
+
+	/** The loopback port on which to listen. */
+	private final int port;
+
+	/**
+	 * The secret that clients must present, which is generated when the
+	 * daemon starts {@linkplain #serve() serving}.
+	 */
+	private final byte[] secret = new byte[secretLength];
+
+	/** The resident {@link AvailRuntime}, if any. */
+	private @Nullable AvailRuntime runtime;
+
+	/** The {@link AvailBuilder} for the resident {@link #runtime}. */
+	private @Nullable AvailBuilder builder;
+
+	/**
+	 * A description of the roots and renames with which the resident {@link
+	 * #runtime} was created.  A request with different roots or renames
+	 * requires a new runtime.
+	 */
+	private String runtimeKey = "";
+
+	/**
+	 * Construct a new {@code CompilerDaemon}.
+	 *
+	 * @param port
+	 *        The loopback port on which to listen.
+	 */
+	CompilerDaemon (final int port)
+	{
+		this.port = port;
+	}
+
+	/**
+	 * An {@code OutputStream} that writes everything as frames on a single
+	 * channel of a client connection.
+	 */
+	private static final class FrameOutputStream
+	extends OutputStream
+	{
+		/** The connection to the client, shared by all channels. */
+		private final DataOutputStream frames;
+
+		/** The channel. */
+		private final byte channel;
+
+		/**
+		 * Construct a new {@code FrameOutputStream}.
+		 *
+		 * @param frames
+		 *        The connection to the client, shared by all channels.
+		 * @param channel
+		 *        The channel.
+		 */
+		FrameOutputStream (final DataOutputStream frames, final byte channel)
+		{
+			this.frames = frames;
+			this.channel = channel;
+		}
+
+		@Override
+		public void write (final int b) throws IOException
+		{
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write (final byte[] b, final int off, final int len)
+			throws IOException
+		{
+			// Fibers of the runtime may write concurrently.
+			synchronized (frames)
+			{
+				frames.writeByte(channel);
+				frames.writeInt(len);
+				frames.write(b, off, len);
+			}
+		}
+
+		@Override
+		public void flush () throws IOException
+		{
+			synchronized (frames)
+			{
+				frames.flush();
+			}
+		}
+	}
+
+	/**
+	 * Answer a description of the roots and renames of the given
+	 * configuration, suitable for deciding whether the resident runtime can
+	 * perform its request.
+	 *
+	 * @param configuration
+	 *        A {@linkplain CompilerConfiguration configuration}.
+	 * @return The description.
+	 */
+	private static String runtimeKey (final CompilerConfiguration configuration)
+	{
+		final StringBuilder key = new StringBuilder();
+		key.append(configuration.availRootsPath());
+		if (configuration.hasRenamesFilePath())
+		{
+			final File renames = new File(configuration.renamesFilePath());
+			key.append('\0');
+			key.append(renames.getPath());
+			key.append('\0');
+			key.append(renames.lastModified());
+			key.append('\0');
+			key.append(renames.length());
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Destroy the resident runtime, if any.  This closes its repositories.
+	 */
+	private void discardRuntime ()
+	{
+		final @Nullable AvailRuntime oldRuntime = runtime;
+		if (oldRuntime != null)
+		{
+			oldRuntime.destroy();
+		}
+		runtime = null;
+		builder = null;
+		runtimeKey = "";
+	}
+
+	/**
+	 * Perform the request described by the given configuration.
+	 *
+	 * @param configuration
+	 *        The {@linkplain CompilerConfiguration configuration} sent by the
+	 *        client.
+	 * @param out
+	 *        The client's standard output.
+	 * @param err
+	 *        The client's standard error.
+	 * @return The exit status for the client.
+	 */
+	private int perform (
+		final CompilerConfiguration configuration,
+		final PrintStream out,
+		final PrintStream err)
+	{
+		final String key = runtimeKey(configuration);
+		// The repositories are opened exclusively, so the resident runtime
+		// must release them before they can be opened again.
+		if (configuration.clearRepositories() || !key.equals(runtimeKey))
+		{
+			discardRuntime();
+		}
+		if (runtime == null)
+		{
+			final ModuleNameResolver resolver;
+			try
+			{
+				resolver = configuration.moduleNameResolver();
+			}
+			catch (final FileNotFoundException|RenamesFileParserException e)
+			{
+				err.println(e.getMessage());
+				return 1;
+			}
+			if (configuration.clearRepositories())
+			{
+				Compiler.doClearRepositories(resolver);
+			}
+			final AvailRuntime newRuntime = new AvailRuntime(resolver);
+			runtime = newRuntime;
+			builder = new AvailBuilder(newRuntime);
+			runtimeKey = key;
+		}
+		final TextInterface textInterface = new TextInterface(
+			new ConsoleInputChannel(new ByteArrayInputStream(new byte[0])),
+			new ConsoleOutputChannel(
+				configuration.quiet()
+					? new PrintStream(new NullOutputStream())
+					: out),
+			new ConsoleOutputChannel(err));
+		stripNull(runtime).setTextInterface(textInterface);
+		final AvailBuilder availBuilder = stripNull(builder);
+		availBuilder.setTextInterface(textInterface);
+		Compiler.performRequest(configuration, availBuilder, out);
+		return availBuilder.shouldStopBuild() ? 1 : 0;
+	}
+
+	/**
+	 * Answer the file that holds the secret of the daemon listening on the
+	 * given port.  It resides in the {@code .avail} directory of the user's
+	 * home directory.
+	 *
+	 * @param port
+	 *        The loopback port of the daemon.
+	 * @return The path of the secret file.
+	 */
+	private static Path secretFile (final int port)
+	{
+		return Paths.get(
+			System.getProperty("user.home"),
+			".avail",
+			"compile-daemon-" + port + ".secret");
+	}
+
+	/**
+	 * Generate a new {@link #secret}, and write it to the {@linkplain
+	 * #secretFile(int) secret file}, replacing any file left behind by an
+	 * earlier daemon.  The file (and its directory, if it must be created) is
+	 * only accessible by its owner.
+	 *
+	 * @throws IOException
+	 *         If the file can't be written.
+	 */
+	private void publishSecret () throws IOException
+	{
+		new SecureRandom().nextBytes(secret);
+		final Path file = secretFile(port);
+		final boolean isPosix = FileSystems.getDefault()
+			.supportedFileAttributeViews().contains("posix");
+		final FileAttribute<?>[] directoryAttributes;
+		final FileAttribute<?>[] fileAttributes;
+		if (isPosix)
+		{
+			final Set<PosixFilePermission> directoryPermissions =
+				EnumSet.of(OWNER_READ, OWNER_WRITE, OWNER_EXECUTE);
+			final Set<PosixFilePermission> filePermissions =
+				EnumSet.of(OWNER_READ, OWNER_WRITE);
+			directoryAttributes =
+				new FileAttribute<?>[] {asFileAttribute(directoryPermissions)};
+			fileAttributes =
+				new FileAttribute<?>[] {asFileAttribute(filePermissions)};
+		}
+		else
+		{
+			directoryAttributes = new FileAttribute<?>[0];
+			fileAttributes = new FileAttribute<?>[0];
+		}
+		Files.createDirectories(file.getParent(), directoryAttributes);
+		// Create the file afresh, so that it can't have been opened by anyone
+		// else before its permissions were set.
+		Files.deleteIfExists(file);
+		Files.createFile(file, fileAttributes);
+		if (!isPosix)
+		{
+			final File plainFile = file.toFile();
+			plainFile.setReadable(false, false);
+			plainFile.setWritable(false, false);
+			plainFile.setReadable(true, true);
+			plainFile.setWritable(true, true);
+		}
+		Files.write(file, secret);
+	}
+
+	/**
+	 * Delete the {@linkplain #secretFile(int) secret file}, if it still holds
+	 * this daemon's secret.
+	 */
+	private void retractSecret ()
+	{
+		final Path file = secretFile(port);
+		try
+		{
+			if (MessageDigest.isEqual(Files.readAllBytes(file), secret))
+			{
+				Files.delete(file);
+			}
+		}
+		catch (final IOException e)
+		{
+			// The file is already gone, or belongs to another daemon.
+		}
+	}
+
+	/**
+	 * Read a request from the given client, perform it, and answer its
+	 * output and exit status.  A request that doesn't present the daemon's
+	 * {@link #secret} is rejected without being read.  If performing the
+	 * request fails unexpectedly, even with an {@link Error}, then report the
+	 * failure to the client and discard the resident runtime, whose state is
+	 * now suspect.  Only a {@link VirtualMachineError} escapes.
+	 *
+	 * @param socket
+	 *        The connection to the client.
+	 * @throws IOException
+	 *         If the connection fails.
+	 */
+	private void serve (final Socket socket) throws IOException
+	{
+		final DataInputStream request = new DataInputStream(
+			new BufferedInputStream(socket.getInputStream()));
+		final DataOutputStream frames = new DataOutputStream(
+			new BufferedOutputStream(socket.getOutputStream()));
+		final PrintStream out = new PrintStream(
+			new FrameOutputStream(frames, outChannel), true, "UTF-8");
+		final PrintStream err = new PrintStream(
+			new FrameOutputStream(frames, errChannel), true, "UTF-8");
+		int status;
+		if (request.readInt() != protocolVersion)
+		{
+			err.println("The compile daemon uses a different protocol.");
+			status = 1;
+		}
+		else if (!presentsSecret(request))
+		{
+			err.println("The compile daemon rejected the request.");
+			status = 1;
+		}
+		else
+		{
+			try
+			{
+				status = perform(new CompilerConfiguration(request), out, err);
+			}
+			catch (final VirtualMachineError e)
+			{
+				// The daemon itself is in trouble, so give up.
+				throw e;
+			}
+			catch (final Throwable e)
+			{
+				e.printStackTrace(err);
+				discardRuntime();
+				status = 1;
+			}
+		}
+		out.flush();
+		err.flush();
+		synchronized (frames)
+		{
+			frames.writeByte(exitChannel);
+			frames.writeInt(status);
+			frames.flush();
+		}
+	}
+
+	/**
+	 * Read the secret presented by a client, and answer whether it's the
+	 * daemon's {@link #secret}.
+	 *
+	 * @param request
+	 *        The client's request.
+	 * @return {@code true} if the client presented the secret, {@code false}
+	 *         otherwise.
+	 * @throws IOException
+	 *         If the connection fails.
+	 */
+	private boolean presentsSecret (final DataInputStream request)
+		throws IOException
+	{
+		final int length = request.readInt();
+		if (length != secretLength)
+		{
+			return false;
+		}
+		final byte[] presented = new byte[length];
+		request.readFully(presented);
+		return MessageDigest.isEqual(presented, secret);
+	}
+
+	/**
+	 * Listen on the loopback interface, and perform requests until the
+	 * process is terminated.
+	 *
+	 * @throws IOException
+	 *         If the port can't be opened, or the secret can't be written.
+	 */
+	void serve () throws IOException
+	{
+		try (final ServerSocket server =
+			new ServerSocket(port, 0, InetAddress.getLoopbackAddress()))
+		{
+			publishSecret();
+			Runtime.getRuntime().addShutdownHook(
+				new Thread(
+					() ->
+					{
+						retractSecret();
+						discardRuntime();
+					},
+					"Avail compile daemon shutdown"));
+			System.out.println(
+				"Avail compile daemon listening on port " + port);
+			while (true)
+			{
+				try (final Socket socket = server.accept())
+				{
+					serve(socket);
+				}
+				catch (final IOException e)
+				{
+					// The client went away.  Serve the next one.
+				}
+				catch (final VirtualMachineError e)
+				{
+					throw e;
+				}
+				catch (final Throwable e)
+				{
+					// The failure wasn't reported.  Serve the next one.
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Forward the request described by the given configuration to the compile
+	 * daemon, copying its output to this process's standard output and
+	 * standard error.
+	 *
+	 * @param configuration
+	 *        The {@linkplain CompilerConfiguration configuration}.
+	 * @return The exit status.
+	 * @throws ConnectException
+	 *         If no daemon is listening.
+	 * @throws IOException
+	 *         If the connection fails.
+	 */
+	static int forward (final CompilerConfiguration configuration)
+		throws IOException
+	{
+		final byte[] secret;
+		try
+		{
+			secret = Files.readAllBytes(
+				secretFile(configuration.daemonPort()));
+		}
+		catch (final NoSuchFileException e)
+		{
+			// A daemon that's running has published its secret.
+			throw new ConnectException(
+				"No compile daemon secret at " + e.getFile());
+		}
+		try (final Socket socket = new Socket(
+			InetAddress.getLoopbackAddress(), configuration.daemonPort()))
+		{
+			final DataOutputStream request = new DataOutputStream(
+				new BufferedOutputStream(socket.getOutputStream()));
+			request.writeInt(protocolVersion);
+			request.writeInt(secret.length);
+			request.write(secret);
+			configuration.write(request);
+			request.flush();
+			final DataInputStream frames = new DataInputStream(
+				new BufferedInputStream(socket.getInputStream()));
+			byte[] buffer = new byte[4096];
+			while (true)
+			{
+				final byte channel;
+				try
+				{
+					channel = frames.readByte();
+				}
+				catch (final EOFException e)
+				{
+					throw new IOException(
+						"The compile daemon closed the connection.", e);
+				}
+				if (channel == exitChannel)
+				{
+					System.out.flush();
+					System.err.flush();
+					return frames.readInt();
+				}
+				final int length = frames.readInt();
+				if (length > buffer.length)
+				{
+					buffer = new byte[length];
+				}
+				frames.readFully(buffer, 0, length);
+				switch (channel)
+				{
+					case outChannel:
+						System.out.write(buffer, 0, length);
+						break;
+					case errChannel:
+						System.err.write(buffer, 0, length);
+						break;
+					default:
+						throw new IOException(
+							"malformed response from compile daemon");
+				}
+			}
+		}
+	}
+}
@@ -124,6 +124,23 @@ implements Configurator<CompilerConfiguration>
 		 */
 		VERBOSE_MODE,
 
+		/**
+		 * The option to keep running after compilation, rebuilding the target
+		 * module whenever a source module changes.
+		 */
+		WATCH,
+
+		/**
+		 * The option to run as a compile daemon, keeping a runtime and its
+		 * loaded modules resident between requests.
+		 */
+		DAEMON,
+
+		/**
+		 * The option to forward the request to a running compile daemon.
+		 */
+		USE_DAEMON,
+
 		/**
 		 * Request display of help text.
 		 */
@@ -136,6 +153,40 @@ implements Configurator<CompilerConfiguration>
 
 	}
 
+	/**
+	 * Parse the argument of a daemon option as a port number.
+	 *
+	 * @param keyword
+	 *        The option keyword.
+	 * @param portString
+	 *        The argument.
+	 * @return The port.
+	 * @throws OptionProcessingException
+	 *         If the argument is not a valid port.
+	 */
+	private static int parsePort (
+		final String keyword,
+		final String portString)
+	{
+		final int port;
+		try
+		{
+			port = Integer.parseInt(portString);
+		}
+		catch (final NumberFormatException e)
+		{
+			throw new OptionProcessingException(
+				keyword + ": Illegal argument.",
+				e);
+		}
+		if (port < 1 || port > 65535)
+		{
+			throw new OptionProcessingException(
+				keyword + ": Illegal argument.");
+		}
+		return port;
+	}
+
 	/**
 	 * Create an {@linkplain OptionProcessor option processor} suitable for
 	 * {@linkplain #updateConfiguration() updating} a {@linkplain
@@ -300,6 +351,61 @@ implements Configurator<CompilerConfiguration>
 				configuration.setReports(reports);
 			}));
 
+		factory.addOption(new GenericOption<>(
+			WATCH,
+			asList("w", "watch"),
+			"Keep running after compiling the target module, and rebuild it "
+				+ "whenever a source module changes. Only the changed modules "
+				+ "are recompiled; modules that depend on them are reloaded "
+				+ "from the repository unless the changes affect what they "
+				+ "import. Requires -c.",
+			(keyword) ->
+			{
+				processor.value().checkEncountered(WATCH, 0);
+				configuration.setWatchFlag();
+			}));
+
+		factory.addOption(new GenericOption<>(
+			DAEMON,
+			asList("d", "daemon"),
+			"Run as a compile daemon, listening on the loopback interface "
+				+ "( -d or --daemon ) or on a specific loopback port "
+				+ "( --daemon=# ). The daemon keeps a runtime and its loaded "
+				+ "modules resident, and serves requests from compilers "
+				+ "started with -D. The default port is 40001. Mutually "
+				+ "exclusive with -c, -f, -g, and -D.",
+			(keyword) ->
+			{
+				processor.value().checkEncountered(DAEMON, 0);
+				configuration.setDaemonFlag();
+			},
+			(keyword, portString) ->
+			{
+				processor.value().checkEncountered(DAEMON, 0);
+				configuration.setDaemonFlag();
+				configuration.setDaemonPort(parsePort(keyword, portString));
+			}));
+
+		factory.addOption(new GenericOption<>(
+			USE_DAEMON,
+			asList("D", "useDaemon"),
+			"Forward the request to the compile daemon listening on the "
+				+ "default loopback port ( -D or --useDaemon ) or on a "
+				+ "specific loopback port ( --useDaemon=# ). If no daemon is "
+				+ "listening, then the request is performed by this process. "
+				+ "Mutually exclusive with -w.",
+			(keyword) ->
+			{
+				processor.value().checkEncountered(USE_DAEMON, 0);
+				configuration.setUseDaemonFlag();
+			},
+			(keyword, portString) ->
+			{
+				processor.value().checkEncountered(USE_DAEMON, 0);
+				configuration.setUseDaemonFlag();
+				configuration.setDaemonPort(parsePort(keyword, portString));
+			}));
+
 		factory.addOption(new GenericOption<>(
 			VERBOSE_MODE,
 			asList("v", "verboseMode"),
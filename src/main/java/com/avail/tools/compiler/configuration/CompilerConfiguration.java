@@ -45,6 +45,8 @@ import com.avail.utility.configuration.Configuration;
 
 import javax.annotation.Nullable;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -54,6 +56,7 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.EnumSet;
 
 import static com.avail.tools.compiler.configuration.VerbosityLevel.ERROR_ONLY;
@@ -69,6 +72,90 @@ import static com.avail.utility.Nulls.stripNull;
 public class CompilerConfiguration
 implements Configuration
 {
+	/**
+	 * Construct a new {@code CompilerConfiguration} with the default settings.
+	 */
+	public CompilerConfiguration ()
+	{
+		// No implementation required.
+	}
+
+	/**
+	 * Reconstruct a {@code CompilerConfiguration} that was {@linkplain
+	 * #write(DataOutputStream) written} by a client of the {@linkplain
+	 * #daemon() compile daemon}.
+	 *
+	 * @param binaryStream
+	 *        Where to read the configuration.
+	 * @throws IOException
+	 *         If the configuration can't be read.
+	 */
+	public CompilerConfiguration (final DataInputStream binaryStream)
+		throws IOException
+	{
+		availRootsPath = binaryStream.readUTF();
+		if (binaryStream.readBoolean())
+		{
+			renamesFilePath = binaryStream.readUTF();
+		}
+		if (binaryStream.readBoolean())
+		{
+			targetModuleName = new ModuleName(binaryStream.readUTF());
+		}
+		compileModules = binaryStream.readBoolean();
+		clearRepositories = binaryStream.readBoolean();
+		generateDocumentation = binaryStream.readBoolean();
+		documentationPath = Paths.get(binaryStream.readUTF());
+		quiet = binaryStream.readBoolean();
+		int reportCount = binaryStream.readInt();
+		while (reportCount-- > 0)
+		{
+			reports.add(StatisticReport.valueOf(binaryStream.readUTF()));
+		}
+		verbosityLevel = VerbosityLevel.valueOf(binaryStream.readUTF());
+	}
+
+	/**
+	 * Write the parts of this configuration that describe a build request, so
+	 * that the {@linkplain #daemon() compile daemon} can {@linkplain
+	 * #CompilerConfiguration(DataInputStream) reconstruct} it.  Relative paths
+	 * are made absolute, since the daemon may be running in a different
+	 * working directory.
+	 *
+	 * @param binaryStream
+	 *        Where to write the configuration.
+	 * @throws IOException
+	 *         If the configuration can't be written.
+	 */
+	public void write (final DataOutputStream binaryStream)
+		throws IOException
+	{
+		binaryStream.writeUTF(availRootsPath);
+		final @Nullable String renames = renamesFilePath;
+		binaryStream.writeBoolean(renames != null);
+		if (renames != null)
+		{
+			binaryStream.writeUTF(new File(renames).getAbsolutePath());
+		}
+		final @Nullable ModuleName target = targetModuleName;
+		binaryStream.writeBoolean(target != null);
+		if (target != null)
+		{
+			binaryStream.writeUTF(target.qualifiedName());
+		}
+		binaryStream.writeBoolean(compileModules);
+		binaryStream.writeBoolean(clearRepositories);
+		binaryStream.writeBoolean(generateDocumentation);
+		binaryStream.writeUTF(documentationPath.toAbsolutePath().toString());
+		binaryStream.writeBoolean(quiet);
+		binaryStream.writeInt(reports.size());
+		for (final StatisticReport report : reports)
+		{
+			binaryStream.writeUTF(report.name());
+		}
+		binaryStream.writeUTF(verbosityLevel.name());
+	}
+
 	/**
 	 * The {@linkplain ModuleRoots Avail roots} path.
 	 */
@@ -131,6 +218,18 @@ implements Configuration
 		return stripNull(renamesFilePath);
 	}
 
+	/**
+	 * Answer whether a {@linkplain RenamesFileParser renames file} was
+	 * specified.
+	 *
+	 * @return {@code true} if there is a renames file, {@code false}
+	 *         otherwise.
+	 */
+	public boolean hasRenamesFilePath ()
+	{
+		return renamesFilePath != null;
+	}
+
 	/**
 	 * Set the path to the {@linkplain RenamesFileParser renames file}.
 	 *
@@ -238,6 +337,109 @@ implements Configuration
 		compileModules = true;
 	}
 
+	/**
+	 * The flag indicating whether the compiler should keep running after
+	 * compilation, rebuilding the target module whenever a source module
+	 * changes.
+	 */
+	private boolean watch = false;
+
+	/**
+	 * Answer whether the compiler should keep rebuilding the target module as
+	 * its sources change.
+	 *
+	 * @return The status of the {@link #watch} flag.
+	 */
+	public boolean watch ()
+	{
+		return watch;
+	}
+
+	/**
+	 * Instruct the compiler to keep rebuilding the target module as its
+	 * sources change.
+	 */
+	public void setWatchFlag ()
+	{
+		watch = true;
+	}
+
+	/**
+	 * The flag indicating whether the compiler should run as a compile daemon,
+	 * keeping a runtime and its loaded modules resident between requests.
+	 */
+	private boolean daemon = false;
+
+	/**
+	 * Answer whether the compiler should run as a compile daemon.
+	 *
+	 * @return The status of the {@link #daemon} flag.
+	 */
+	public boolean daemon ()
+	{
+		return daemon;
+	}
+
+	/**
+	 * Instruct the compiler to run as a compile daemon.
+	 */
+	public void setDaemonFlag ()
+	{
+		daemon = true;
+	}
+
+	/**
+	 * The flag indicating whether the compiler should forward its request to
+	 * a running compile daemon.
+	 */
+	private boolean useDaemon = false;
+
+	/**
+	 * Answer whether the compiler should forward its request to a running
+	 * compile daemon.
+	 *
+	 * @return The status of the {@link #useDaemon} flag.
+	 */
+	public boolean useDaemon ()
+	{
+		return useDaemon;
+	}
+
+	/**
+	 * Instruct the compiler to forward its request to a running compile
+	 * daemon.
+	 */
+	public void setUseDaemonFlag ()
+	{
+		useDaemon = true;
+	}
+
+	/**
+	 * The loopback port on which the compile daemon listens.
+	 */
+	private int daemonPort = 40001;
+
+	/**
+	 * Answer the loopback port on which the compile daemon listens.
+	 *
+	 * @return The port.
+	 */
+	public int daemonPort ()
+	{
+		return daemonPort;
+	}
+
+	/**
+	 * Set the loopback port on which the compile daemon listens.
+	 *
+	 * @param port
+	 *        The port.
+	 */
+	public void setDaemonPort (final int port)
+	{
+		daemonPort = port;
+	}
+
 	/**
 	 * The flag indicating whether the compiler should clear all repositories
 	 * for which a valid source directory has been specified. This option is
@@ -404,12 +606,32 @@ implements Configuration
 	public boolean isValid ()
 	{
 		// Just try to create a module name resolver. If this fails, then the
-		// configuration is invalid. Otherwise, it should be okay.
-		try
+		// configuration is invalid. Otherwise, it should be okay. Creating the
+		// resolver opens the repositories, which a compile daemon holds open
+		// exclusively, so the daemon validates its clients' requests itself.
+		if (!daemon && !useDaemon)
+		{
+			try
+			{
+				moduleNameResolver();
+			}
+			catch (final FileNotFoundException|RenamesFileParserException e)
+			{
+				return false;
+			}
+		}
+		if (watch && !compileModules)
+		{
+			return false;
+		}
+		if (daemon)
 		{
-			moduleNameResolver();
+			// The daemon accepts requests; it doesn't perform any itself.
+			return !useDaemon && !watch && targetModuleName == null
+				&& !compileModules && !generateDocumentation
+				&& !clearRepositories;
 		}
-		catch (final FileNotFoundException|RenamesFileParserException e)
+		if (useDaemon && watch)
 		{
 			return false;
 		}
@@ -0,0 +1,757 @@
+/*
+ * JSONPullParser.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.utility.json;
+
+import java.util.BitSet;
+
+/**
+ * A {@code JSONPullParser} tokenizes JSON text into a sequence of {@linkplain
+ * Event events}, without building any intermediate representation of the
+ * document.  The client repeatedly asks for the {@linkplain #next() next}
+ * event, and consults {@link #stringValue()} or {@link #numberText()} as
+ * appropriate.
+ *
+ * <p>Text may be supplied incrementally, via {@link #feed(CharSequence)}.
+ * When the parser cannot complete a token with the text supplied so far, it
+ * answers {@link Event#NEED_MORE_INPUT} without consuming anything, and
+ * resumes when more text arrives.  Once {@link #endInput()} has been called,
+ * the parser answers {@link Event#END_OF_INPUT} after the last value.</p>
+ *
+ * <p>The input may contain any number of whitespace-separated top-level
+ * values, which makes the parser suitable for streams of documents.  A client
+ * that expects exactly one document should check that {@link
+ * Event#END_OF_INPUT} follows the first complete value.</p>
+ */
+public final class JSONPullParser
+{
+	/**
+	 * The events reported by a {@link JSONPullParser}.
+	 */
+	public enum Event
+	{
+		/** The start of a JSON object. */
+		START_OBJECT,
+
+		/** The end of a JSON object. */
+		END_OBJECT,
+
+		/** The start of a JSON array. */
+		START_ARRAY,
+
+		/** The end of a JSON array. */
+		END_ARRAY,
+
+		/**
+		 * The key of a field of a JSON object.  Its text is available via
+		 * {@link #stringValue()}.
+		 */
+		KEY,
+
+		/**
+		 * A JSON string.  Its text is available via {@link #stringValue()}.
+		 */
+		STRING,
+
+		/**
+		 * A JSON number.  Its text is available via {@link #numberText()}.
+		 */
+		NUMBER,
+
+		/** The JSON value {@code true}. */
+		TRUE,
+
+		/** The JSON value {@code false}. */
+		FALSE,
+
+		/** The JSON value {@code null}. */
+		NULL,
+
+		/**
+		 * The text supplied so far has been exhausted, but more may still be
+		 * {@linkplain #feed(CharSequence) fed}.
+		 */
+		NEED_MORE_INPUT,
+
+		/**
+		 * All text has been consumed, {@linkplain #endInput() no more} will
+		 * arrive, and every top-level value was complete.
+		 */
+		END_OF_INPUT
+	}
+
+	/**
+	 * The syntactic expectations of a {@link JSONPullParser} between tokens.
+	 */
+	private enum Expectation
+	{
+		/** A top-level value, or the end of the input. */
+		TOP_LEVEL_VALUE,
+
+		/** A value, after a colon or after a comma within an array. */
+		VALUE,
+
+		/** A value or the end of an array, just after its start. */
+		VALUE_OR_END_ARRAY,
+
+		/** A key, after a comma within an object. */
+		KEY,
+
+		/** A key or the end of an object, just after its start. */
+		KEY_OR_END_OBJECT,
+
+		/** The colon that follows a key. */
+		COLON,
+
+		/** A comma or the end of the innermost array or object. */
+		COMMA_OR_END
+	}
+
+	/** The text that has been fed but not yet consumed. */
+	private final StringBuilder buffer = new StringBuilder();
+
+	/** The position of the next unconsumed character of the {@link #buffer}. */
+	private int position = 0;
+
+	/** Whether {@link #endInput()} has been called. */
+	private boolean inputEnded = false;
+
+	/** What may come next. */
+	private Expectation expectation = Expectation.TOP_LEVEL_VALUE;
+
+	/**
+	 * The kinds of the open containers, indexed by depth, where a set bit
+	 * indicates an object and a clear bit indicates an array.
+	 */
+	private final BitSet containerIsObject = new BitSet();
+
+	/** The number of open containers. */
+	private int depth = 0;
+
+	/** The text of the most recent {@link Event#KEY} or {@link Event#STRING}. */
+	private String stringValue = "";
+
+	/** The text of the most recent {@link Event#NUMBER}. */
+	private String numberText = "";
+
+	/** Whether the most recent {@link Event#NUMBER} is integral. */
+	private boolean numberIsIntegral = true;
+
+	/**
+	 * A reusable accumulator for strings that contain escape sequences or
+	 * that span more than one {@linkplain #feed(CharSequence) feed}.
+	 */
+	private final StringBuilder scratch = new StringBuilder();
+
+	/**
+	 * If a string is incomplete, the offset from the {@link #position} of its
+	 * opening quotation mark to the first character not yet decoded into the
+	 * {@link #scratch}, otherwise zero.  It's relative to the position so that
+	 * it survives the discarding of the consumed prefix.
+	 */
+	private int stringResumeOffset = 0;
+
+	/**
+	 * Construct a new {@code JSONPullParser} with no text.  Supply text via
+	 * {@link #feed(CharSequence)}.
+	 */
+	public JSONPullParser ()
+	{
+		// No implementation.
+	}
+
+	/**
+	 * Construct a new {@code JSONPullParser} for the complete given text.
+	 *
+	 * @param text
+	 *        The entire JSON text.
+	 */
+	public JSONPullParser (final CharSequence text)
+	{
+		feed(text);
+		endInput();
+	}
+
+	/**
+	 * Supply more JSON text.
+	 *
+	 * @param text
+	 *        The text that follows whatever was supplied previously.
+	 * @throws IllegalStateException
+	 *         If {@link #endInput()} has already been called.
+	 */
+	public void feed (final CharSequence text)
+	{
+		if (inputEnded)
+		{
+			throw new IllegalStateException();
+		}
+		if (position > 0 && position >= buffer.length() >> 1)
+		{
+			// Discard the consumed prefix, but only when that's at least as
+			// much work as has been saved, to keep feeding linear.
+			buffer.delete(0, position);
+			position = 0;
+		}
+		buffer.append(text);
+	}
+
+	/**
+	 * Indicate that no more text will be {@linkplain #feed(CharSequence) fed}.
+	 */
+	public void endInput ()
+	{
+		inputEnded = true;
+	}
+
+	/**
+	 * Answer the number of containers (objects and arrays) that are currently
+	 * open.  This is zero exactly when the most recent value event completed
+	 * a top-level value.
+	 *
+	 * @return The current nesting depth.
+	 */
+	public int depth ()
+	{
+		return depth;
+	}
+
+	/**
+	 * Answer the text of the most recent {@link Event#KEY} or {@link
+	 * Event#STRING}, with all escape sequences decoded.
+	 *
+	 * @return The string.
+	 */
+	public String stringValue ()
+	{
+		return stringValue;
+	}
+
+	/**
+	 * Answer the text of the most recent {@link Event#NUMBER}, which is
+	 * syntactically valid for both {@link java.math.BigDecimal} and, if
+	 * {@linkplain #numberIsIntegral() integral}, {@link java.math.BigInteger}.
+	 *
+	 * @return The number's text.
+	 */
+	public String numberText ()
+	{
+		return numberText;
+	}
+
+	/**
+	 * Answer whether the most recent {@link Event#NUMBER} was written without
+	 * a fraction or an exponent.
+	 *
+	 * @return {@code true} if the number is integral, {@code false} otherwise.
+	 */
+	public boolean numberIsIntegral ()
+	{
+		return numberIsIntegral;
+	}
+
+	/**
+	 * Answer the next {@linkplain Event event}.
+	 *
+	 * @return The next event.
+	 * @throws MalformedJSONException
+	 *         If the text is not valid JSON.
+	 */
+	public Event next () throws MalformedJSONException
+	{
+		while (true)
+		{
+			skipWhitespace();
+			if (position == buffer.length())
+			{
+				if (!inputEnded)
+				{
+					return Event.NEED_MORE_INPUT;
+				}
+				if (expectation == Expectation.TOP_LEVEL_VALUE)
+				{
+					return Event.END_OF_INPUT;
+				}
+				throw new MalformedJSONException();
+			}
+			final char c = buffer.charAt(position);
+			switch (expectation)
+			{
+				case COLON:
+					expect(c == ':');
+					position++;
+					expectation = Expectation.VALUE;
+					continue;
+				case COMMA_OR_END:
+					if (c == ',')
+					{
+						position++;
+						expectation = containerIsObject.get(depth - 1)
+							? Expectation.KEY
+							: Expectation.VALUE;
+						continue;
+					}
+					return closeContainer(c);
+				case KEY_OR_END_OBJECT:
+					if (c == '}')
+					{
+						return closeContainer(c);
+					}
+					return readKey(c);
+				case KEY:
+					return readKey(c);
+				case VALUE_OR_END_ARRAY:
+					if (c == ']')
+					{
+						return closeContainer(c);
+					}
+					return readValue(c);
+				default:
+					return readValue(c);
+			}
+		}
+	}
+
+	/**
+	 * Throw a {@link MalformedJSONException} unless the condition holds.
+	 *
+	 * @param condition
+	 *        The condition that well-formed JSON satisfies here.
+	 * @throws MalformedJSONException
+	 *         If the condition is false.
+	 */
+	private static void expect (final boolean condition)
+		throws MalformedJSONException
+	{
+		if (!condition)
+		{
+			throw new MalformedJSONException();
+		}
+	}
+
+	/**
+	 * Skip whitespace at the current position of the {@link #buffer}.
+	 */
+	private void skipWhitespace ()
+	{
+		final int limit = buffer.length();
+		while (position < limit)
+		{
+			switch (buffer.charAt(position))
+			{
+				case ' ':
+				case '\t':
+				case '\n':
+				case '\r':
+					position++;
+					break;
+				default:
+					return;
+			}
+		}
+	}
+
+	/**
+	 * A value has just been completed.  Decide what may follow it.
+	 */
+	private void valueCompleted ()
+	{
+		expectation = depth == 0
+			? Expectation.TOP_LEVEL_VALUE
+			: Expectation.COMMA_OR_END;
+	}
+
+	/**
+	 * Open a container.
+	 *
+	 * @param isObject
+	 *        Whether the container is an object rather than an array.
+	 */
+	private void openContainer (final boolean isObject)
+	{
+		containerIsObject.set(depth, isObject);
+		depth++;
+		position++;
+		expectation = isObject
+			? Expectation.KEY_OR_END_OBJECT
+			: Expectation.VALUE_OR_END_ARRAY;
+	}
+
+	/**
+	 * Close the innermost container, which must agree with the given closing
+	 * character.
+	 *
+	 * @param c
+	 *        The character at the current position.
+	 * @return {@link Event#END_OBJECT} or {@link Event#END_ARRAY}.
+	 * @throws MalformedJSONException
+	 *         If the character doesn't close the innermost container.
+	 */
+	private Event closeContainer (final char c) throws MalformedJSONException
+	{
+		final boolean isObject = containerIsObject.get(depth - 1);
+		expect(c == (isObject ? '}' : ']'));
+		depth--;
+		position++;
+		valueCompleted();
+		return isObject ? Event.END_OBJECT : Event.END_ARRAY;
+	}
+
+	/**
+	 * Read the key of an object field.
+	 *
+	 * @param c
+	 *        The character at the current position.
+	 * @return {@link Event#KEY} or {@link Event#NEED_MORE_INPUT}.
+	 * @throws MalformedJSONException
+	 *         If a key is not present.
+	 */
+	private Event readKey (final char c) throws MalformedJSONException
+	{
+		expect(c == '"');
+		if (!readString())
+		{
+			return Event.NEED_MORE_INPUT;
+		}
+		expectation = Expectation.COLON;
+		return Event.KEY;
+	}
+
+	/**
+	 * Read a value, or the start of one.
+	 *
+	 * @param c
+	 *        The character at the current position.
+	 * @return The {@link Event} that describes the value.
+	 * @throws MalformedJSONException
+	 *         If a value is not present.
+	 */
+	private Event readValue (final char c) throws MalformedJSONException
+	{
+		switch (c)
+		{
+			case '{':
+				openContainer(true);
+				return Event.START_OBJECT;
+			case '[':
+				openContainer(false);
+				return Event.START_ARRAY;
+			case '"':
+				if (!readString())
+				{
+					return Event.NEED_MORE_INPUT;
+				}
+				valueCompleted();
+				return Event.STRING;
+			case 't':
+				return readKeyword("true", Event.TRUE);
+			case 'f':
+				return readKeyword("false", Event.FALSE);
+			case 'n':
+				return readKeyword("null", Event.NULL);
+			default:
+				expect(c == '-' || (c >= '0' && c <= '9'));
+				if (!readNumber())
+				{
+					return Event.NEED_MORE_INPUT;
+				}
+				valueCompleted();
+				return Event.NUMBER;
+		}
+	}
+
+	/**
+	 * Read one of the keywords {@code true}, {@code false}, or {@code null}.
+	 *
+	 * @param keyword
+	 *        The expected keyword.
+	 * @param event
+	 *        The event to answer if the keyword is present.
+	 * @return The given event, or {@link Event#NEED_MORE_INPUT}.
+	 * @throws MalformedJSONException
+	 *         If the keyword is not present.
+	 */
+	private Event readKeyword (final String keyword, final Event event)
+		throws MalformedJSONException
+	{
+		final int available = buffer.length() - position;
+		final int size = keyword.length();
+		for (int i = 0; i < size; i++)
+		{
+			if (i == available)
+			{
+				expect(!inputEnded);
+				return Event.NEED_MORE_INPUT;
+			}
+			expect(buffer.charAt(position + i) == keyword.charAt(i));
+		}
+		position += size;
+		valueCompleted();
+		return event;
+	}
+
+	/**
+	 * Answer the value of the specified hexadecimal digit, or {@code -1} if
+	 * it isn't one.
+	 *
+	 * @param c
+	 *        A character.
+	 * @return The digit's value, or {@code -1}.
+	 */
+	private static int hexDigitValue (final char c)
+	{
+		if (c >= '0' && c <= '9')
+		{
+			return c - '0';
+		}
+		if (c >= 'a' && c <= 'f')
+		{
+			return c - 'a' + 10;
+		}
+		if (c >= 'A' && c <= 'F')
+		{
+			return c - 'A' + 10;
+		}
+		return -1;
+	}
+
+	/**
+	 * Read a JSON string, starting at its opening quotation mark, into {@link
+	 * #stringValue}.  If the string is incomplete, consume nothing, but keep
+	 * what has been decoded so far, so that the next attempt resumes where
+	 * this one stopped rather than rescanning the whole string.
+	 *
+	 * @return {@code true} if a complete string was read, {@code false} if
+	 *         more input is needed.
+	 * @throws MalformedJSONException
+	 *         If the string is malformed.
+	 */
+	private boolean readString () throws MalformedJSONException
+	{
+		final int limit = buffer.length();
+		int i;
+		if (stringResumeOffset == 0)
+		{
+			final int start = position + 1;
+			// Scan for the common case of a string without escapes.
+			i = start;
+			while (i < limit)
+			{
+				final char c = buffer.charAt(i);
+				if (c == '"')
+				{
+					stringValue = buffer.substring(start, i);
+					position = i + 1;
+					return true;
+				}
+				if (c == '\\')
+				{
+					break;
+				}
+				expect(c >= 0x20);
+				i++;
+			}
+			scratch.setLength(0);
+			scratch.append(buffer, start, i);
+		}
+		else
+		{
+			i = position + stringResumeOffset;
+		}
+		while (i < limit)
+		{
+			final int escapeStart = i;
+			final char c = buffer.charAt(i++);
+			if (c == '"')
+			{
+				stringValue = scratch.toString();
+				position = i;
+				stringResumeOffset = 0;
+				return true;
+			}
+			if (c != '\\')
+			{
+				expect(c >= 0x20);
+				scratch.append(c);
+				continue;
+			}
+			if (i == limit)
+			{
+				// Decode the whole escape sequence next time.
+				i = escapeStart;
+				break;
+			}
+			final char escaped = buffer.charAt(i++);
+			switch (escaped)
+			{
+				case '"':
+				case '\\':
+				case '/':
+					scratch.append(escaped);
+					break;
+				case 'b':
+					scratch.append('\b');
+					break;
+				case 'f':
+					scratch.append('\f');
+					break;
+				case 'n':
+					scratch.append('\n');
+					break;
+				case 'r':
+					scratch.append('\r');
+					break;
+				case 't':
+					scratch.append('\t');
+					break;
+				case 'u':
+					if (i + 4 > limit)
+					{
+						// Verify what's there so far, then wait for the rest.
+						while (i < limit)
+						{
+							expect(hexDigitValue(buffer.charAt(i++)) >= 0);
+						}
+						i = escapeStart;
+						break;
+					}
+					int value = 0;
+					for (int j = 0; j < 4; j++)
+					{
+						final int digit = hexDigitValue(buffer.charAt(i++));
+						expect(digit >= 0);
+						value = (value << 4) + digit;
+					}
+					// Surrogate pairs arrive as two consecutive escapes, and
+					// simply combine in the UTF-16 result.
+					scratch.append((char) value);
+					break;
+				default:
+					throw new MalformedJSONException();
+			}
+			if (i == escapeStart)
+			{
+				// An incomplete Unicode escape.
+				break;
+			}
+		}
+		// The string is incomplete.
+		expect(!inputEnded);
+		stringResumeOffset = i - position;
+		return false;
+	}
+
+	/**
+	 * Read a JSON number into {@link #numberText}.  If the number may continue
+	 * beyond the input supplied so far, consume nothing.
+	 *
+	 * @return {@code true} if a complete number was read, {@code false} if
+	 *         more input is needed.
+	 * @throws MalformedJSONException
+	 *         If the number is malformed.
+	 */
+	private boolean readNumber () throws MalformedJSONException
+	{
+		final int limit = buffer.length();
+		int i = position;
+		boolean integral = true;
+		if (buffer.charAt(i) == '-')
+		{
+			i++;
+		}
+		// Integer part: either a lone zero or a nonzero digit and more digits.
+		final int integerStart = i;
+		i = skipDigits(i, limit);
+		if (i == limit && !inputEnded)
+		{
+			return false;
+		}
+		expect(i > integerStart
+			&& (buffer.charAt(integerStart) != '0' || i == integerStart + 1));
+		if (i < limit && buffer.charAt(i) == '.')
+		{
+			integral = false;
+			final int fractionStart = ++i;
+			i = skipDigits(i, limit);
+			if (i == limit && !inputEnded)
+			{
+				return false;
+			}
+			expect(i > fractionStart);
+		}
+		if (i < limit && (buffer.charAt(i) == 'e' || buffer.charAt(i) == 'E'))
+		{
+			integral = false;
+			i++;
+			if (i < limit
+				&& (buffer.charAt(i) == '+' || buffer.charAt(i) == '-'))
+			{
+				i++;
+			}
+			final int exponentStart = i;
+			i = skipDigits(i, limit);
+			if (i == limit && !inputEnded)
+			{
+				return false;
+			}
+			expect(i > exponentStart);
+		}
+		numberText = buffer.substring(position, i);
+		numberIsIntegral = integral;
+		position = i;
+		return true;
+	}
+
+	/**
+	 * Answer the index of the first non-digit at or after the given index.
+	 *
+	 * @param start
+	 *        Where to start looking.
+	 * @param limit
+	 *        The end of the available text.
+	 * @return The index of the first non-digit, or {@code limit}.
+	 */
+	private int skipDigits (final int start, final int limit)
+	{
+		int i = start;
+		while (i < limit)
+		{
+			final char c = buffer.charAt(i);
+			if (c < '0' || c > '9')
+			{
+				break;
+			}
+			i++;
+		}
+		return i;
+	}
+}
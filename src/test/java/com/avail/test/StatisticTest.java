@@ -0,0 +1,151 @@
+/*
+ * StatisticTest.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.test;
+
+import com.avail.performance.PerInterpreterStatistic;
+import com.avail.performance.Statistic;
+import com.avail.performance.StatisticReport;
+import com.avail.utility.json.JSONWriter;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static com.avail.AvailRuntimeConfiguration.maxInterpreters;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the histograms kept by {@link PerInterpreterStatistic}s, and of the
+ * export of {@link StatisticReport}s.
+ */
+public class StatisticTest
+{
+	/**
+	 * Test: Percentiles are estimated to within the resolution of the
+	 * histogram, and never fall outside the range of the samples.
+	 */
+	@Test
+	public void percentileTest ()
+	{
+		final Statistic statistic = new Statistic(
+			"percentile test", StatisticReport.L2_TRANSLATION_VALUES);
+		try
+		{
+			for (int i = 1; i <= 10000; i++)
+			{
+				statistic.record(i, 0);
+			}
+			final PerInterpreterStatistic aggregate = statistic.aggregate();
+			assertEquals(10000, aggregate.count());
+			assertEquals(5000.5, aggregate.mean(), 1.0e-9);
+			assertEquals(5000.0, aggregate.percentile(50.0), 5000.0 * 0.25);
+			assertEquals(9900.0, aggregate.percentile(99.0), 9900.0 * 0.25);
+			assertEquals(1.0, aggregate.percentile(0.0));
+			assertEquals(10000.0, aggregate.percentile(100.0));
+			statistic.clear();
+			assertEquals(0, statistic.aggregate().count());
+			assertEquals(0.0, statistic.aggregate().percentile(50.0));
+		}
+		finally
+		{
+			StatisticReport.L2_TRANSLATION_VALUES.unregisterStatistic(
+				statistic);
+		}
+	}
+
+	/**
+	 * Test: Aggregating merges the histograms of the statistic's slots.
+	 */
+	@Test
+	public void mergeTest ()
+	{
+		final Statistic statistic = new Statistic(
+			"merge test", StatisticReport.L2_TRANSLATION_VALUES);
+		try
+		{
+			for (int i = 0; i < 99; i++)
+			{
+				statistic.record(10.0, 0);
+			}
+			statistic.record(1.0e6, maxInterpreters - 1);
+			final PerInterpreterStatistic aggregate = statistic.aggregate();
+			assertEquals(100, aggregate.count());
+			assertEquals(10.0, aggregate.percentile(50.0), 10.0 * 0.25);
+			assertEquals(1.0e6, aggregate.percentile(100.0));
+		}
+		finally
+		{
+			StatisticReport.L2_TRANSLATION_VALUES.unregisterStatistic(
+				statistic);
+		}
+	}
+
+	/**
+	 * Test: Reports can be exported in the Prometheus text exposition format
+	 * and as JSON.
+	 */
+	@Test
+	public void exportTest ()
+	{
+		final Statistic statistic = new Statistic(
+			"export \"test\"", StatisticReport.REIFICATIONS);
+		final String labels = "{statistic=\"export \\\"test\\\"\"}";
+		try
+		{
+			statistic.record(2.0e9, 0);
+			final EnumSet<StatisticReport> reports =
+				EnumSet.of(StatisticReport.REIFICATIONS);
+			final String metrics =
+				StatisticReport.producePrometheusReports(reports);
+			assertTrue(metrics.contains(
+				"# TYPE avail_reifications_seconds summary\n"));
+			assertTrue(metrics.contains(
+				"avail_reifications_seconds_count" + labels + " 1\n"));
+			assertTrue(metrics.contains(
+				"avail_reifications_seconds_sum" + labels + " 2.0\n"));
+			final JSONWriter writer = new JSONWriter();
+			StatisticReport.writeJSONOn(reports, writer);
+			final String json = writer.toString();
+			assertTrue(json.contains("\"name\":\"REIFICATIONS\""));
+			assertTrue(json.contains("\"p99\":2.0E9")
+				|| json.contains("\"p99\":2000000000"));
+		}
+		finally
+		{
+			StatisticReport.REIFICATIONS.unregisterStatistic(statistic);
+		}
+		assertFalse(
+			StatisticReport.producePrometheusReports(
+					EnumSet.of(StatisticReport.REIFICATIONS))
+				.contains(labels));
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * TupleSearchTest.java
+ * Copyright © 1993-2019, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.avail.test;
+
+import com.avail.descriptor.A_String;
+import com.avail.descriptor.A_Tuple;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.avail.descriptor.ByteArrayTupleDescriptor.tupleForByteArray;
+import static com.avail.descriptor.ByteBufferTupleDescriptor.tupleForByteBuffer;
+import static com.avail.descriptor.ByteTupleDescriptor.generateByteTupleFrom;
+import static com.avail.descriptor.CharacterDescriptor.fromCodePoint;
+import static com.avail.descriptor.IntTupleDescriptor.generateIntTupleFrom;
+import static com.avail.descriptor.IntegerDescriptor.fromInt;
+import static com.avail.descriptor.ObjectTupleDescriptor.generateObjectTupleFrom;
+import static com.avail.descriptor.StringDescriptor.stringFrom;
+import static com.avail.descriptor.TupleDescriptor.commonPrefixLength;
+import static com.avail.descriptor.TupleDescriptor.firstIndexOfSubsequence;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A test of the bulk search and comparison operations on tuples, which have
+ * word-at-a-time implementations for the packed tuple representations.
+ */
+public class TupleSearchTest
+{
+	/** Long enough to exercise both the word loops and their tails. */
+	private static final String text =
+		"the quick brown fox jumps over the lazy dog, twice: "
+			+ "the quick brown fox jumps over the lazy dog";
+
+	/**
+	 * Test: Search {@linkplain com.avail.descriptor.ByteStringDescriptor byte
+	 * strings} and {@linkplain com.avail.descriptor.TwoByteStringDescriptor
+	 * two-byte strings} for characters.
+	 */
+	@Test
+	public void testStringFirstIndexOf ()
+	{
+		for (final String javaString : new String[] {text, text + "•"})
+		{
+			final A_String string = stringFrom(javaString);
+			for (int start = 1; start <= javaString.length() + 1; start++)
+			{
+				for (final char ch : new char[] {'t', 'g', ':', 'Z', '•'})
+				{
+					assertEquals(
+						javaString.indexOf(ch, start - 1) + 1,
+						string.firstIndexOf(
+							fromCodePoint(ch), start, javaString.length()));
+				}
+			}
+			// Searching for a non-character never succeeds.
+			assertEquals(
+				0,
+				string.firstIndexOf(fromInt('t'), 1, javaString.length()));
+		}
+	}
+
+	/**
+	 * Test: Search the numeric tuple representations for integers.
+	 */
+	@Test
+	public void testNumericFirstIndexOf ()
+	{
+		final int size = 77;
+		final byte[] bytes = new byte[size];
+		for (int i = 0; i < size; i++)
+		{
+			bytes[i] = (byte) (i * 7 % 23);
+		}
+		final A_Tuple[] tuples = {
+			generateByteTupleFrom(size, i -> (short) bytes[i - 1]),
+			generateIntTupleFrom(size, i -> bytes[i - 1]),
+			generateObjectTupleFrom(size, i -> fromInt(bytes[i - 1])),
+			tupleForByteArray(bytes),
+			tupleForByteBuffer(ByteBuffer.wrap(bytes))
+		};
+		for (final A_Tuple tuple : tuples)
+		{
+			for (int value = -1; value <= 23; value++)
+			{
+				int expected = 0;
+				for (int i = 10; i <= size; i++)
+				{
+					if (bytes[i - 1] == value)
+					{
+						expected = i;
+						break;
+					}
+				}
+				assertEquals(
+					expected,
+					tuple.firstIndexOf(fromInt(value), 10, size));
+			}
+		}
+	}
+
+	/**
+	 * Test: Find where strings first differ, and their common prefixes.
+	 */
+	@Test
+	public void testFirstMismatch ()
+	{
+		for (int position = 1; position <= text.length(); position++)
+		{
+			final StringBuilder builder = new StringBuilder(text);
+			builder.setCharAt(position - 1, '#');
+			final A_String original = stringFrom(text);
+			final A_String changed = stringFrom(builder.toString());
+			assertEquals(
+				position,
+				original.firstMismatchFromToWithStartingAt(
+					1, text.length(), changed, 1));
+			assertEquals(position - 1, commonPrefixLength(original, changed));
+			final A_String wideChanged =
+				stringFrom(builder.toString() + "•");
+			final A_String wideOriginal = stringFrom(text + "•");
+			assertEquals(
+				position,
+				wideOriginal.firstMismatchFromToWithStartingAt(
+					1, text.length(), wideChanged, 1));
+		}
+		assertEquals(
+			text.length(),
+			commonPrefixLength(stringFrom(text), stringFrom(text + "!")));
+	}
+
+	/**
+	 * Test: Search for subsequences.
+	 */
+	@Test
+	public void testFirstIndexOfSubsequence ()
+	{
+		final A_String string = stringFrom(text);
+		for (final String sub : new String[] {"the", "lazy dog", "g", "cat"})
+		{
+			for (int start = 1; start <= text.length() + 1; start++)
+			{
+				assertEquals(
+					text.indexOf(sub, start - 1) + 1,
+					firstIndexOfSubsequence(string, stringFrom(sub), start));
+			}
+		}
+	}
+}
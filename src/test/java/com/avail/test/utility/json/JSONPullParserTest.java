@@ -0,0 +1,205 @@
+/*
+ * JSONPullParserTest.java
+ * Copyright © 1993-2018, The Avail Foundation, LLC.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of the contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.avail.test.utility.json;
+import com.avail.utility.json.JSONPullParser;
+import com.avail.utility.json.JSONPullParser.Event;
+import com.avail.utility.json.MalformedJSONException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.avail.utility.json.JSONPullParser.Event.*;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A {@code JSONPullParserTest} contains unit tests for the {@link
+ * JSONPullParser}.
+ */
+public class JSONPullParserTest
+{
+	/**
+	 * Answer the events produced by the given parser until it either needs
+	 * more input or reaches the end of its input, rendering each event that
+	 * carries text as the event name followed by that text in parentheses.
+	 *
+	 * @param parser
+	 *        A {@link JSONPullParser}.
+	 * @return The rendered events, excluding the final one.
+	 */
+	private static List<String> eventsFrom (final JSONPullParser parser)
+	{
+		final List<String> events = new ArrayList<>();
+		while (true)
+		{
+			final Event event = parser.next();
+			switch (event)
+			{
+				case NEED_MORE_INPUT:
+				case END_OF_INPUT:
+					return events;
+				case KEY:
+				case STRING:
+					events.add(event + "(" + parser.stringValue() + ")");
+					break;
+				case NUMBER:
+					events.add(event + "(" + parser.numberText() + ")");
+					break;
+				default:
+					events.add(event.name());
+			}
+		}
+	}
+
+	/**
+	 * The events expected for {@link #document}.
+	 */
+	private static final List<String> documentEvents = asList(
+		START_OBJECT.name(),
+		"KEY(name)",
+		"STRING(Avail \"JSON\"\n\u00e9)",
+		"KEY(numbers)",
+		START_ARRAY.name(),
+		"NUMBER(0)",
+		"NUMBER(-17)",
+		"NUMBER(3.25e-2)",
+		"NUMBER(123456789012345678901234567890)",
+		END_ARRAY.name(),
+		"KEY(flags)",
+		START_OBJECT.name(),
+		"KEY(on)",
+		TRUE.name(),
+		"KEY(off)",
+		FALSE.name(),
+		"KEY(none)",
+		NULL.name(),
+		END_OBJECT.name(),
+		"KEY(empty)",
+		START_ARRAY.name(),
+		END_ARRAY.name(),
+		END_OBJECT.name());
+
+	/** A JSON document that exercises every kind of event. */
+	private static final String document =
+		"{\"name\" : \"Avail \\\"JSON\\\"\\n\\u00e9\",\n"
+		+ "\t\"numbers\":[0, -17, 3.25e-2, 123456789012345678901234567890],"
+		+ "\"flags\":{\"on\":true,\"off\":false,\"none\":null},"
+		+ "\"empty\":[]}";
+
+	@Test
+	@DisplayName("Complete JSON document produces the expected events")
+	void completeDocumentTest ()
+	{
+		final JSONPullParser parser = new JSONPullParser(document);
+		assertEquals(documentEvents, eventsFrom(parser));
+		assertEquals(END_OF_INPUT, parser.next());
+		assertEquals(0, parser.depth());
+	}
+
+	@Test
+	@DisplayName("JSON document fed one character at a time produces the "
+		+ "expected events")
+	void incrementalDocumentTest ()
+	{
+		final JSONPullParser parser = new JSONPullParser();
+		final List<String> events = new ArrayList<>();
+		for (int i = 0; i < document.length(); i++)
+		{
+			parser.feed(document.substring(i, i + 1));
+			events.addAll(eventsFrom(parser));
+		}
+		parser.endInput();
+		events.addAll(eventsFrom(parser));
+		assertEquals(documentEvents, events);
+		assertEquals(END_OF_INPUT, parser.next());
+	}
+
+	@Test
+	@DisplayName("Number split across chunks is not reported early")
+	void splitNumberTest ()
+	{
+		final JSONPullParser parser = new JSONPullParser();
+		parser.feed("12");
+		assertEquals(NEED_MORE_INPUT, parser.next());
+		parser.feed("34 5");
+		assertEquals(NUMBER, parser.next());
+		assertEquals("1234", parser.numberText());
+		assertTrue(parser.numberIsIntegral());
+		assertEquals(NEED_MORE_INPUT, parser.next());
+		parser.endInput();
+		assertEquals(NUMBER, parser.next());
+		assertEquals("5", parser.numberText());
+		assertEquals(END_OF_INPUT, parser.next());
+	}
+
+	@Test
+	@DisplayName("String split across chunks resumes where it stopped")
+	void splitStringTest ()
+	{
+		final JSONPullParser parser = new JSONPullParser();
+		parser.feed("[123456789, \"ab\\");
+		assertEquals(START_ARRAY, parser.next());
+		assertEquals(NUMBER, parser.next());
+		assertEquals(NEED_MORE_INPUT, parser.next());
+		// This discards the consumed prefix, moving the partial string.
+		parser.feed("u00");
+		assertEquals(NEED_MORE_INPUT, parser.next());
+		parser.feed("e9c");
+		assertEquals(NEED_MORE_INPUT, parser.next());
+		parser.feed("d\", 2]");
+		assertEquals(STRING, parser.next());
+		assertEquals("ab\u00e9cd", parser.stringValue());
+		assertEquals(NUMBER, parser.next());
+		assertEquals(END_ARRAY, parser.next());
+		parser.endInput();
+		assertEquals(END_OF_INPUT, parser.next());
+	}
+
+	@Test
+	@DisplayName("Test Failure: malformed JSON is rejected")
+	void malformedJSONTest ()
+	{
+		for (final String text : asList(
+			"[1,]", "{\"a\" 1}", "{\"a\":1,}", "[1 2]", "01", "-", "1.", "1e",
+			"tru", "\"abc", "\"\\x\"", "\"\\u12G4\"", "[", "]", "{]", "\"\t\""))
+		{
+			final JSONPullParser parser = new JSONPullParser(text);
+			assertThrows(
+				MalformedJSONException.class,
+				() -> eventsFrom(parser),
+				text);
+		}
+	}
+}